@@ -0,0 +1,29 @@
+package edu.icet.ecom.analytics;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+public enum CompletionGranularity {
+
+    HOUR("hour", Duration.ofHours(1)),
+    DAY("day", Duration.ofDays(1));
+
+    private final String parameter;
+    private final Duration length;
+
+    CompletionGranularity(String parameter, Duration length) {
+        this.parameter = parameter;
+        this.length = length;
+    }
+
+    public Duration getLength() {
+        return length;
+    }
+
+    public static CompletionGranularity fromParameter(String parameter) {
+        return Arrays.stream(values())
+                .filter(granularity -> granularity.parameter.equals(parameter))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unsupported granularity: " + parameter));
+    }
+}
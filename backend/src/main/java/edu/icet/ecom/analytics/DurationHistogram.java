@@ -0,0 +1,122 @@
+package edu.icet.ecom.analytics;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Counts of non-negative durations in logarithmic buckets: values below 16 are exact, and every power of two above is
+ * split into 16 equal buckets, so any reported value is within about 6% of the recorded one. Every histogram uses the
+ * same bucket boundaries, which makes merging a plain sum of counts.
+ * <p>
+ * Not thread-safe.
+ */
+public class DurationHistogram {
+
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    private long[] counts = new long[SUB_BUCKETS * 2];
+    private long total;
+
+    public void record(long value) {
+        int index = indexOf(Math.max(0, value));
+        ensureIndex(index);
+        counts[index]++;
+        total++;
+    }
+
+    public void merge(DurationHistogram other) {
+        ensureIndex(other.counts.length - 1);
+        for (int i = 0; i < other.counts.length; i++) {
+            counts[i] += other.counts[i];
+        }
+        total += other.total;
+    }
+
+    public long count() {
+        return total;
+    }
+
+    /**
+     * @param quantile between 0 and 1
+     * @return the midpoint of the bucket holding the value at {@code quantile}, or {@code null} when empty
+     */
+    public Long valueAt(double quantile) {
+        if (total == 0) {
+            return null;
+        }
+        long rank = Math.max(1, (long) Math.ceil(quantile * total));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return (lowerBound(i) + upperBound(i)) / 2;
+            }
+        }
+        throw new IllegalStateException("Histogram counts do not add up to its total");
+    }
+
+    /**
+     * Sparse encoding: the number of non-empty buckets followed by an (index, count) pair for each of them.
+     */
+    public byte[] toBytes() {
+        int nonEmpty = 0;
+        for (long count : counts) {
+            if (count != 0) {
+                nonEmpty++;
+            }
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(4 + nonEmpty * (4 + 8)).putInt(nonEmpty);
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] != 0) {
+                buffer.putInt(i).putLong(counts[i]);
+            }
+        }
+        return buffer.array();
+    }
+
+    public static DurationHistogram fromBytes(byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        DurationHistogram histogram = new DurationHistogram();
+        int nonEmpty = buffer.getInt();
+        for (int i = 0; i < nonEmpty; i++) {
+            int index = buffer.getInt();
+            long count = buffer.getLong();
+            histogram.ensureIndex(index);
+            histogram.counts[index] += count;
+            histogram.total += count;
+        }
+        return histogram;
+    }
+
+    static int indexOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int shift = exponent - SUB_BUCKET_BITS;
+        return SUB_BUCKETS * (shift + 1) + (int) (value >>> shift) - SUB_BUCKETS;
+    }
+
+    static long lowerBound(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int shift = index / SUB_BUCKETS - 1;
+        return (long) (index % SUB_BUCKETS + SUB_BUCKETS) << shift;
+    }
+
+    static long upperBound(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int shift = index / SUB_BUCKETS - 1;
+        return ((long) (index % SUB_BUCKETS + SUB_BUCKETS + 1) << shift) - 1;
+    }
+
+    private void ensureIndex(int index) {
+        if (index >= counts.length) {
+            counts = Arrays.copyOf(counts, Math.max(index + 1, counts.length * 2));
+        }
+    }
+}
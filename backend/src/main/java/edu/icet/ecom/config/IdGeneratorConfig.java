@@ -0,0 +1,22 @@
+package edu.icet.ecom.config;
+
+import edu.icet.ecom.id.HibernateIdGenerator;
+import edu.icet.ecom.id.IdGenerator;
+import edu.icet.ecom.id.SnowflakeIdGenerator;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class IdGeneratorConfig {
+
+    @Bean
+    public IdGenerator taskIdGenerator(TaskIdProperties properties) {
+        return new SnowflakeIdGenerator(properties.getNodeId(), properties.getMaxClockDrift());
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer idGeneratorHibernateCustomizer(IdGenerator taskIdGenerator) {
+        return hibernateProperties -> hibernateProperties.put(HibernateIdGenerator.GENERATOR_SETTING, taskIdGenerator);
+    }
+}
@@ -0,0 +1,31 @@
+package edu.icet.ecom.config;
+
+import edu.icet.ecom.repository.logstore.LogStoreTransactionManager;
+import edu.icet.ecom.repository.logstore.TaskLogStore;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Task storage for deployments without MySQL: the embedded {@link TaskLogStore} replaces JPA, and its transaction
+ * manager keeps {@code @Transactional} services and after-commit listeners working unchanged.
+ */
+@Configuration
+@Profile("logstore")
+public class LogStoreConfig {
+
+    @Bean(destroyMethod = "close")
+    public TaskLogStore taskLogStore(LogStoreProperties properties) throws IOException {
+        return TaskLogStore.open(Path.of(properties.getDirectory()),
+                Math.toIntExact(properties.getSegmentSize().toBytes()), properties.isSyncOnWrite());
+    }
+
+    @Bean
+    public PlatformTransactionManager transactionManager(TaskLogStore taskLogStore) {
+        return new LogStoreTransactionManager(taskLogStore);
+    }
+}
@@ -0,0 +1,35 @@
+package edu.icet.ecom.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "todo.logstore")
+@Data
+public class LogStoreProperties {
+
+    private String directory = "data/tasks";
+
+    /**
+     * Size of each memory-mapped segment file; a single transaction must fit in one.
+     */
+    private DataSize segmentSize = DataSize.ofMegabytes(64);
+
+    /**
+     * Force every commit to disk. Without it, commits survive a process crash and are forced every flush interval.
+     */
+    private boolean syncOnWrite = false;
+
+    private Duration flushInterval = Duration.ofSeconds(1);
+
+    private Duration compactionInterval = Duration.ofMinutes(10);
+
+    /**
+     * Compaction runs once at least this share of stored records is superseded or deleted.
+     */
+    private double compactionGarbageRatio = 0.5;
+}
@@ -0,0 +1,31 @@
+package edu.icet.ecom.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "todo.prewarm")
+@Data
+public class PrewarmProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Rounds of synthetic read-only calls through the task endpoints. Each round reads the recent tasks, each of them
+     * by id and all of them in one batch.
+     */
+    private int rounds = 300;
+
+    /**
+     * Recent tasks read by id in each round.
+     */
+    private int sampleSize = 20;
+
+    /**
+     * Upper bound on the whole prewarm, after which the instance reports ready with whatever was warmed.
+     */
+    private Duration timeout = Duration.ofSeconds(30);
+}
@@ -0,0 +1,33 @@
+package edu.icet.ecom.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "todo.recent")
+@Data
+public class RecentTasksProperties {
+
+    /**
+     * Consecutive failed or slow reads after which the breaker opens and the last good result is served.
+     */
+    private int failureThreshold = 3;
+
+    /**
+     * How long the breaker stays open before a background probe read is attempted.
+     */
+    private Duration openDuration = Duration.ofSeconds(5);
+
+    /**
+     * Reads that succeed but take longer than this still count as failures.
+     */
+    private Duration slowCallThreshold = Duration.ofSeconds(1);
+
+    /**
+     * How long a request waits on an identical read that is already running before giving up.
+     */
+    private Duration coalesceTimeout = Duration.ofSeconds(2);
+}
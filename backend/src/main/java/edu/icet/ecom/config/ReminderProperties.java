@@ -0,0 +1,45 @@
+package edu.icet.ecom.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.UUID;
+
+@Component
+@ConfigurationProperties(prefix = "todo.reminders")
+@Data
+public class ReminderProperties {
+
+    private boolean enabled = true;
+
+    private Duration tick = Duration.ofSeconds(1);
+
+    private int bitsPerLevel = 8;
+
+    /**
+     * Only timers due within this window are held in memory; later ones are loaded from the database as time moves on.
+     */
+    private Duration window = Duration.ofHours(1);
+
+    private Duration loadInterval = Duration.ofMinutes(5);
+
+    private int loadBatchSize = 10000;
+
+    /**
+     * After downtime, reminders that fell due up to this far back are still fired; older ones are skipped.
+     */
+    private Duration catchUpWindow = Duration.ofDays(1);
+
+    /**
+     * How long the instance firing reminders keeps the lease without renewing it. It renews on every load, so this must
+     * be longer than {@code load-interval}; another instance takes over once it expires.
+     */
+    private Duration leaseDuration = Duration.ofMinutes(15);
+
+    /**
+     * Identifies this instance as the lease owner; unique per process unless set.
+     */
+    private String instanceId = UUID.randomUUID().toString();
+}
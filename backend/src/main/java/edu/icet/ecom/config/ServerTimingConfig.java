@@ -0,0 +1,25 @@
+package edu.icet.ecom.config;
+
+import edu.icet.ecom.timing.TimedValidator;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.validation.beanvalidation.SpringValidatorAdapter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Times request body validation for the {@code Server-Timing} header.
+ */
+@Configuration
+@Profile("!reactive")
+@RequiredArgsConstructor
+public class ServerTimingConfig implements WebMvcConfigurer {
+
+    private final Validator validator;
+
+    @Override
+    public org.springframework.validation.Validator getValidator() {
+        return new TimedValidator(new SpringValidatorAdapter(validator));
+    }
+}
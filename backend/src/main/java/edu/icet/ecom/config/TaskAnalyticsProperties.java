@@ -0,0 +1,28 @@
+package edu.icet.ecom.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "todo.analytics")
+@Data
+public class TaskAnalyticsProperties {
+
+    /**
+     * How far back hourly completion histograms are held in memory and can be queried. Older rollups stay in the
+     * database.
+     */
+    private Duration retention = Duration.ofDays(90);
+
+    private Duration rollupInterval = Duration.ofMinutes(5);
+
+    /**
+     * How long after an hour ends before it is rolled up, so completions committed right at its end are included.
+     */
+    private Duration rollupDelay = Duration.ofMinutes(5);
+
+    private int maxBuckets = 1000;
+}
@@ -0,0 +1,30 @@
+package edu.icet.ecom.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "todo.attachments")
+@Data
+public class TaskAttachmentProperties {
+
+    private String directory = "data/attachments";
+
+    private DataSize maxSize = DataSize.ofGigabytes(2);
+
+    /**
+     * Hand downloads to the servlet container's sendfile support where it has it, so the bytes go from the page cache
+     * to the socket without passing through the JVM.
+     */
+    private boolean sendfile = true;
+
+    /**
+     * Unreferenced content is only swept once it is older than this, so an upload that has stored its content but
+     * not yet saved its attachment is never swept.
+     */
+    private Duration sweepGrace = Duration.ofHours(1);
+}
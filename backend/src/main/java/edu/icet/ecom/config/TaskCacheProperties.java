@@ -0,0 +1,29 @@
+package edu.icet.ecom.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "todo.cache")
+@Data
+public class TaskCacheProperties {
+
+    /**
+     * Maximum number of tasks kept by id; 0 disables the cache.
+     */
+    private int maxEntries = 10_000;
+
+    /**
+     * How long a cached task is served before it is read again. Changes made through other instances are only seen
+     * after this; zero keeps tasks until they change here.
+     */
+    private Duration ttl = Duration.ofMinutes(1);
+
+    /**
+     * How long a request waits on a load of the same task that is already running before giving up.
+     */
+    private Duration coalesceTimeout = Duration.ofSeconds(2);
+}
@@ -0,0 +1,24 @@
+package edu.icet.ecom.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "todo.changes")
+@Data
+public class TaskChangeProperties {
+
+    private int defaultLimit = 100;
+
+    private int maxLimit = 1000;
+
+    /**
+     * Superseded change entries younger than this are kept so that recent history stays readable.
+     */
+    private Duration retention = Duration.ofDays(7);
+
+    private int compactionBatchSize = 500;
+}
@@ -0,0 +1,24 @@
+package edu.icet.ecom.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "todo.dashboard")
+@Data
+public class TaskDashboardProperties {
+
+    /**
+     * How long a dashboard request waits for its parts. Parts still running then are cancelled and reported as timed
+     * out instead of failing the request.
+     */
+    private Duration deadline = Duration.ofSeconds(1);
+
+    /**
+     * Number of tasks in each of the overdue and oldest-open lists.
+     */
+    private int itemLimit = 5;
+}
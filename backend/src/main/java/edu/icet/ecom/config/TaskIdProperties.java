@@ -0,0 +1,23 @@
+package edu.icet.ecom.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "todo.ids")
+@Data
+public class TaskIdProperties {
+
+    /**
+     * Must be unique per running instance, from 0 to 31.
+     */
+    private int nodeId = 0;
+
+    /**
+     * How far ahead of the clock ids may run when the clock steps back or a millisecond's sequence runs out.
+     */
+    private Duration maxClockDrift = Duration.ofSeconds(1);
+}
@@ -0,0 +1,25 @@
+package edu.icet.ecom.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "todo.purge")
+@Data
+public class TaskPurgeProperties {
+
+    /**
+     * Tombstones younger than this are kept so that change-log readers catching up still find the deleted row.
+     */
+    private Duration grace = Duration.ofMinutes(5);
+
+    private int batchSize = 500;
+
+    /**
+     * Pause between batches, which together with the batch size caps the purge rate.
+     */
+    private Duration batchPause = Duration.ofMillis(50);
+}
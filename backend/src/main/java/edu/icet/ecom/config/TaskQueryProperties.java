@@ -0,0 +1,25 @@
+package edu.icet.ecom.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "todo.query")
+@Data
+public class TaskQueryProperties {
+
+    /**
+     * Rows read per round trip while the in-memory columns are built.
+     */
+    private int loadBatchSize = 10000;
+
+    /**
+     * How often a failed load is retried; queries are rejected until a load succeeds.
+     */
+    private Duration retryInterval = Duration.ofMinutes(1);
+
+    private int maxLimit = 1000;
+}
@@ -0,0 +1,16 @@
+package edu.icet.ecom.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "todo.suggest")
+@Data
+public class TaskSuggestProperties {
+
+    /**
+     * Most suggestions returned for a prefix, and the number of titles ranked ahead of time at each trie node.
+     */
+    private int maxSuggestions = 10;
+}
@@ -0,0 +1,48 @@
+package edu.icet.ecom.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.UUID;
+
+@Component
+@ConfigurationProperties(prefix = "todo.templates")
+@Data
+public class TaskTemplateProperties {
+
+    private boolean enabled = true;
+
+    private Duration interval = Duration.ofMinutes(1);
+
+    /**
+     * Occurrences up to this far ahead are turned into tasks, so a run that is late or fails still leaves every task
+     * in place before it is due.
+     */
+    private Duration horizon = Duration.ofHours(1);
+
+    /**
+     * After downtime, missed occurrences up to this far back are still created; older ones are skipped.
+     */
+    private Duration catchUpWindow = Duration.ofDays(7);
+
+    private int batchSize = 500;
+
+    /**
+     * Caps the tasks one template adds per batch; a template with more due occurrences is picked up again by the next
+     * batch.
+     */
+    private int maxOccurrencesPerBatch = 100;
+
+    /**
+     * How long the instance generating tasks keeps the lease without renewing it. Another instance takes over once it
+     * expires.
+     */
+    private Duration leaseDuration = Duration.ofMinutes(2);
+
+    /**
+     * Identifies this instance as the lease owner; unique per process unless set.
+     */
+    private String instanceId = UUID.randomUUID().toString();
+}
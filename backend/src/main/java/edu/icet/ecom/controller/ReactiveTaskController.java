@@ -0,0 +1,78 @@
+package edu.icet.ecom.controller;
+
+import edu.icet.ecom.dto.BulkDeleteResponse;
+import edu.icet.ecom.dto.CreateTaskRequest;
+import edu.icet.ecom.dto.PatchTaskRequest;
+import edu.icet.ecom.dto.TaskResponse;
+import edu.icet.ecom.service.ReactiveTaskService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+@RestController
+@Profile("reactive")
+@RequestMapping("/api/tasks")
+@CrossOrigin(origins = "http://localhost:3000") // For React frontend
+@RequiredArgsConstructor
+@Slf4j
+public class ReactiveTaskController {
+
+    private final ReactiveTaskService taskService;
+
+    @PostMapping
+    @ResponseStatus(HttpStatus.CREATED)
+    public Mono<TaskResponse> createTask(@Valid @RequestBody CreateTaskRequest request) {
+        log.info("Received request to create task: {}", request.getTitle());
+        return taskService.createTask(request);
+    }
+
+    @GetMapping("/recent")
+    public Flux<TaskResponse> getRecentTasks() {
+        log.info("Received request to get recent tasks");
+        return taskService.getRecentUncompletedTasks();
+    }
+
+    @GetMapping("/{id}")
+    public Mono<TaskResponse> getTask(@PathVariable Long id) {
+        log.info("Received request to get task with id: {}", id);
+        return taskService.getTask(id);
+    }
+
+    @PutMapping("/{id}/complete")
+    public Mono<TaskResponse> completeTask(@PathVariable Long id) {
+        log.info("Received request to complete task with id: {}", id);
+        return taskService.completeTask(id);
+    }
+
+    @PutMapping("/{id}")
+    public Mono<TaskResponse> updateTask(@PathVariable Long id, @Valid @RequestBody CreateTaskRequest request) {
+        log.info("Received request to update task with id: {}", id);
+        return taskService.updateTask(id, request);
+    }
+
+    @PatchMapping("/{id}")
+    public Mono<TaskResponse> patchTask(@PathVariable Long id, @Valid @RequestBody PatchTaskRequest request) {
+        log.info("Received request to patch task with id: {}", id);
+        return taskService.patchTask(id, request);
+    }
+
+    @DeleteMapping("/{id}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public Mono<Void> deleteTask(@PathVariable Long id) {
+        log.info("Received request to delete task with id: {}", id);
+        return taskService.deleteTask(id);
+    }
+
+    @DeleteMapping
+    public Mono<BulkDeleteResponse> deleteTasks(@RequestParam List<Long> ids) {
+        log.info("Received request to delete {} tasks", ids.size());
+        return taskService.deleteTasks(ids);
+    }
+}
@@ -0,0 +1,42 @@
+package edu.icet.ecom.controller;
+
+import edu.icet.ecom.analytics.CompletionGranularity;
+import edu.icet.ecom.dto.TaskCompletionAnalyticsResponse;
+import edu.icet.ecom.service.TaskAnalyticsService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+
+@RestController
+@Profile("!reactive & !logstore")
+@RequestMapping("/api/tasks/analytics")
+@CrossOrigin(origins = "http://localhost:3000") // For React frontend
+@RequiredArgsConstructor
+@Slf4j
+public class TaskAnalyticsController {
+
+    private final TaskAnalyticsService taskAnalyticsService;
+
+    @GetMapping("/completion")
+    public ResponseEntity<TaskCompletionAnalyticsResponse> getCompletionAnalytics(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "hour") String granularity) {
+        log.debug("Received request for completion analytics from {} to {} by {}", from, to, granularity);
+
+        CompletionGranularity bucketSize = CompletionGranularity.fromParameter(granularity);
+        if (!taskAnalyticsService.isLoaded()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "5")
+                    .build();
+        }
+        return ResponseEntity.ok(taskAnalyticsService.getCompletionAnalytics(from, to, bucketSize));
+    }
+}
@@ -0,0 +1,161 @@
+package edu.icet.ecom.controller;
+
+import edu.icet.ecom.config.TaskAttachmentProperties;
+import edu.icet.ecom.dto.TaskAttachmentContent;
+import edu.icet.ecom.dto.TaskAttachmentResponse;
+import edu.icet.ecom.service.TaskAttachmentService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Uploads take the raw request body, which is streamed to the content store rather than parsed as a multipart form.
+ * Downloads honour single byte ranges and are sent with the container's sendfile where available, and otherwise with
+ * {@link FileChannel#transferTo} onto the response stream.
+ */
+@RestController
+@Profile("!reactive & !logstore")
+@RequestMapping("/api/tasks/{id}/attachments")
+@CrossOrigin(origins = "http://localhost:3000") // For React frontend
+@RequiredArgsConstructor
+@Slf4j
+public class TaskAttachmentController {
+
+    // Request attributes of Tomcat's sendfile support; other containers never set the first one.
+    static final String SENDFILE_SUPPORTED = "org.apache.tomcat.sendfile.support";
+    static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    /**
+     * Below this size a buffered write is as fast as sendfile; the same threshold as Tomcat's default servlet.
+     */
+    static final long SENDFILE_MIN_BYTES = 48 * 1024;
+
+    private final TaskAttachmentService attachmentService;
+    private final TaskAttachmentProperties properties;
+
+    @PostMapping
+    public ResponseEntity<TaskAttachmentResponse> addAttachment(
+            @PathVariable Long id,
+            @RequestParam String name,
+            @RequestHeader(value = HttpHeaders.CONTENT_TYPE, required = false) String contentType,
+            @RequestHeader(value = HttpHeaders.CONTENT_LENGTH, required = false) Long contentLength,
+            InputStream body) throws IOException {
+        log.info("Received request to add attachment '{}' to task with id: {}", name, id);
+        TaskAttachmentResponse response = attachmentService.addAttachment(id, name, contentType, contentLength, body);
+        return new ResponseEntity<>(response, HttpStatus.CREATED);
+    }
+
+    @GetMapping
+    public ResponseEntity<List<TaskAttachmentResponse>> getAttachments(@PathVariable Long id) {
+        log.info("Received request to get attachments of task with id: {}", id);
+        return ResponseEntity.ok(attachmentService.getAttachments(id));
+    }
+
+    @GetMapping("/{attachmentId}")
+    public void downloadAttachment(@PathVariable Long id, @PathVariable Long attachmentId,
+                                   HttpServletRequest request, HttpServletResponse response) throws IOException {
+        log.info("Received request to download attachment {} of task with id: {}", attachmentId, id);
+        TaskAttachmentContent content = attachmentService.getAttachmentContent(id, attachmentId);
+        TaskAttachmentResponse attachment = content.getAttachment();
+        long length = Files.size(content.getPath());
+        String etag = "\"" + attachment.getSha256() + "\"";
+
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename(attachment.getFileName(), StandardCharsets.UTF_8).build().toString());
+        response.setHeader("X-Content-Type-Options", "nosniff");
+        response.setContentType(attachment.getContentType());
+
+        long start = 0;
+        long end = length;
+        HttpRange range = singleRange(request, etag);
+        if (range != null) {
+            start = range.getRangeStart(length);
+            if (start >= length) {
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+                return;
+            }
+            end = range.getRangeEnd(length) + 1;
+            response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + (end - 1) + "/" + length);
+        }
+
+        response.setContentLengthLong(end - start);
+        if (!HttpMethod.HEAD.matches(request.getMethod())) {
+            writeContent(content.getPath(), start, end, request, response);
+        }
+    }
+
+    @DeleteMapping("/{attachmentId}")
+    public ResponseEntity<Void> deleteAttachment(@PathVariable Long id, @PathVariable Long attachmentId) {
+        log.info("Received request to delete attachment {} of task with id: {}", attachmentId, id);
+        attachmentService.deleteAttachment(id, attachmentId);
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * The one range requested, or {@code null} to send the whole content: for no or a malformed {@code Range}, for
+     * several ranges, and when {@code If-Range} names other content.
+     */
+    private static HttpRange singleRange(HttpServletRequest request, String etag) {
+        String header = request.getHeader(HttpHeaders.RANGE);
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (header == null || ifRange != null && !ifRange.equals(etag)) {
+            return null;
+        }
+        try {
+            List<HttpRange> ranges = HttpRange.parseRanges(header);
+            return ranges.size() == 1 ? ranges.get(0) : null;
+        } catch (IllegalArgumentException ex) {
+            return null;
+        }
+    }
+
+    private void writeContent(Path path, long start, long end, HttpServletRequest request,
+                              HttpServletResponse response) throws IOException {
+        if (properties.isSendfile() && end - start >= SENDFILE_MIN_BYTES
+                && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED))) {
+            // The container sends the file once the request returns, straight from the page cache to the socket.
+            request.setAttribute(SENDFILE_FILENAME, path.toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end);
+            return;
+        }
+
+        try (FileChannel file = FileChannel.open(path, StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            while (position < end) {
+                long sent = file.transferTo(position, end - position, out);
+                if (sent <= 0) {
+                    throw new IOException("Attachment content ended at byte " + position + " of " + end);
+                }
+                position += sent;
+            }
+        }
+    }
+}
@@ -1,25 +1,38 @@
 package edu.icet.ecom.controller;
 
+import edu.icet.ecom.dto.BulkDeleteResponse;
 import edu.icet.ecom.dto.CreateTaskRequest;
+import edu.icet.ecom.dto.PatchTaskRequest;
+import edu.icet.ecom.dto.RecentTasksResult;
+import edu.icet.ecom.dto.TaskBatchResponse;
 import edu.icet.ecom.dto.TaskResponse;
+import edu.icet.ecom.service.RecentTasksService;
 import edu.icet.ecom.service.TaskService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
+@Profile("!reactive")
 @RequestMapping("/api/tasks")
 @CrossOrigin(origins = "http://localhost:3000") // For React frontend
 @RequiredArgsConstructor
 @Slf4j
 public class TaskController {
 
+    static final String STALE_HEADER = "X-Stale";
+
     private final TaskService taskService;
+    private final RecentTasksService recentTasksService;
 
     @PostMapping
     public ResponseEntity<TaskResponse> createTask(@Valid @RequestBody CreateTaskRequest request) {
@@ -31,8 +44,30 @@ public class TaskController {
     @GetMapping("/recent")
     public ResponseEntity<List<TaskResponse>> getRecentTasks() {
         log.info("Received request to get recent tasks");
-        List<TaskResponse> tasks = taskService.getRecentUncompletedTasks();
-        return ResponseEntity.ok(tasks);
+        RecentTasksResult result = recentTasksService.getRecentUncompletedTasks();
+        if (!result.isStale()) {
+            return ResponseEntity.ok(result.getTasks());
+        }
+
+        long age = Duration.between(result.getFetchedAt(), LocalDateTime.now()).toSeconds();
+        return ResponseEntity.ok()
+                .header(STALE_HEADER, "true")
+                .header(HttpHeaders.AGE, String.valueOf(Math.max(0, age)))
+                .body(result.getTasks());
+    }
+
+    @GetMapping
+    public ResponseEntity<TaskBatchResponse> getTasks(@RequestParam List<Long> ids) {
+        log.info("Received request to get {} tasks by id", ids.size());
+        TaskBatchResponse response = taskService.getTasks(ids);
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<TaskResponse> getTask(@PathVariable Long id) {
+        log.info("Received request to get task with id: {}", id);
+        TaskResponse response = taskService.getTask(id);
+        return ResponseEntity.ok(response);
     }
 
     @PutMapping("/{id}/complete")
@@ -48,4 +83,25 @@ public class TaskController {
         TaskResponse response = taskService.updateTask(id, request);
         return ResponseEntity.ok(response);
     }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deleteTask(@PathVariable Long id) {
+        log.info("Received request to delete task with id: {}", id);
+        taskService.deleteTask(id);
+        return ResponseEntity.noContent().build();
+    }
+
+    @DeleteMapping
+    public ResponseEntity<BulkDeleteResponse> deleteTasks(@RequestParam List<Long> ids) {
+        log.info("Received request to delete {} tasks", ids.size());
+        BulkDeleteResponse response = taskService.deleteTasks(ids);
+        return ResponseEntity.ok(response);
+    }
+
+    @PatchMapping("/{id}")
+    public ResponseEntity<TaskResponse> patchTask(@PathVariable Long id, @Valid @RequestBody PatchTaskRequest request) {
+        log.info("Received request to patch task with id: {}", id);
+        TaskResponse response = taskService.patchTask(id, request);
+        return ResponseEntity.ok(response);
+    }
 }
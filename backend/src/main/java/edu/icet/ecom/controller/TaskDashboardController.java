@@ -0,0 +1,26 @@
+package edu.icet.ecom.controller;
+
+import edu.icet.ecom.dto.TaskDashboardResponse;
+import edu.icet.ecom.service.TaskDashboardService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@Profile("!reactive")
+@RequestMapping("/api/tasks")
+@CrossOrigin(origins = "http://localhost:3000") // For React frontend
+@RequiredArgsConstructor
+@Slf4j
+public class TaskDashboardController {
+
+    private final TaskDashboardService taskDashboardService;
+
+    @GetMapping("/dashboard")
+    public ResponseEntity<TaskDashboardResponse> getDashboard() {
+        log.debug("Received request to get the task dashboard");
+        return ResponseEntity.ok(taskDashboardService.getDashboard());
+    }
+}
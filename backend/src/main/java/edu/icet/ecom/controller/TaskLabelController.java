@@ -0,0 +1,58 @@
+package edu.icet.ecom.controller;
+
+import edu.icet.ecom.dto.TaskQueryResponse;
+import edu.icet.ecom.service.TaskLabelService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@Profile("!reactive & !logstore")
+@RequestMapping("/api/tasks")
+@CrossOrigin(origins = "http://localhost:3000") // For React frontend
+@RequiredArgsConstructor
+@Slf4j
+public class TaskLabelController {
+
+    private final TaskLabelService taskLabelService;
+
+    @GetMapping("/{id}/labels")
+    public ResponseEntity<List<String>> getLabels(@PathVariable Long id) {
+        log.info("Received request to get labels of task with id: {}", id);
+        return ResponseEntity.ok(taskLabelService.getLabels(id));
+    }
+
+    @PutMapping("/{id}/labels")
+    public ResponseEntity<List<String>> setLabels(@PathVariable Long id, @RequestBody List<String> labels) {
+        log.info("Received request to set {} labels on task with id: {}", labels.size(), id);
+        return ResponseEntity.ok(taskLabelService.setLabels(id, labels));
+    }
+
+    /**
+     * Takes precedence over the lookup by ids on the same path whenever {@code labels} is given.
+     */
+    @GetMapping(params = "labels")
+    public ResponseEntity<TaskQueryResponse> findByLabels(
+            @RequestParam List<String> labels,
+            @RequestParam(defaultValue = "and") String mode,
+            @RequestParam(required = false) Boolean completed,
+            @RequestParam(defaultValue = "20") int limit) {
+        log.debug("Received label filter: labels={}, mode={}, completed={}, limit={}", labels, mode, completed, limit);
+
+        if (!"and".equalsIgnoreCase(mode) && !"or".equalsIgnoreCase(mode)) {
+            throw new IllegalArgumentException("Mode must be and or or");
+        }
+        if (!taskLabelService.isLoaded()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "5")
+                    .build();
+        }
+        return ResponseEntity.ok(taskLabelService.findByLabels(labels, "and".equalsIgnoreCase(mode), completed, limit));
+    }
+}
@@ -0,0 +1,62 @@
+package edu.icet.ecom.controller;
+
+import edu.icet.ecom.dto.TaskQueryResponse;
+import edu.icet.ecom.query.TaskQuery;
+import edu.icet.ecom.query.TaskSortField;
+import edu.icet.ecom.service.TaskQueryService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+
+@RestController
+@Profile("!reactive")
+@RequestMapping("/api/tasks")
+@CrossOrigin(origins = "http://localhost:3000") // For React frontend
+@RequiredArgsConstructor
+@Slf4j
+public class TaskQueryController {
+
+    private final TaskQueryService taskQueryService;
+
+    @GetMapping("/query")
+    public ResponseEntity<TaskQueryResponse> query(
+            @RequestParam(required = false) Boolean completed,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdAfter,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdBefore,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime dueBefore,
+            @RequestParam(required = false) String title,
+            @RequestParam(defaultValue = "createdAt") String sort,
+            @RequestParam(defaultValue = "desc") String direction,
+            @RequestParam(defaultValue = "20") int limit) {
+        log.debug("Received task query: completed={}, title={}, sort={} {}, limit={}",
+                completed, title, sort, direction, limit);
+
+        if (!"asc".equalsIgnoreCase(direction) && !"desc".equalsIgnoreCase(direction)) {
+            throw new IllegalArgumentException("Direction must be asc or desc");
+        }
+        if (!taskQueryService.isLoaded()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "5")
+                    .build();
+        }
+
+        TaskQuery query = TaskQuery.builder()
+                .completed(completed)
+                .createdFrom(createdAfter)
+                .createdTo(createdBefore)
+                .dueBefore(dueBefore)
+                .titleContains(title)
+                .sort(TaskSortField.fromParameter(sort))
+                .descending("desc".equalsIgnoreCase(direction))
+                .limit(limit)
+                .build();
+        return ResponseEntity.ok(taskQueryService.query(query));
+    }
+}
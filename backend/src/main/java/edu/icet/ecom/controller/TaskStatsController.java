@@ -0,0 +1,26 @@
+package edu.icet.ecom.controller;
+
+import edu.icet.ecom.dto.TaskStatsResponse;
+import edu.icet.ecom.service.TaskStatsService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@Profile("!reactive")
+@RequestMapping("/api/tasks")
+@CrossOrigin(origins = "http://localhost:3000") // For React frontend
+@RequiredArgsConstructor
+@Slf4j
+public class TaskStatsController {
+
+    private final TaskStatsService taskStatsService;
+
+    @GetMapping("/stats")
+    public ResponseEntity<TaskStatsResponse> getStats() {
+        log.debug("Received request to get task statistics");
+        return ResponseEntity.ok(taskStatsService.getStats());
+    }
+}
@@ -0,0 +1,36 @@
+package edu.icet.ecom.controller;
+
+import edu.icet.ecom.service.TaskSuggestService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@Profile("!reactive")
+@RequestMapping("/api/tasks")
+@CrossOrigin(origins = "http://localhost:3000") // For React frontend
+@RequiredArgsConstructor
+@Slf4j
+public class TaskSuggestController {
+
+    private final TaskSuggestService taskSuggestService;
+
+    @GetMapping("/suggest")
+    public ResponseEntity<List<String>> suggest(@RequestParam(defaultValue = "") String prefix,
+                                                @RequestParam(required = false) Integer limit) {
+        log.debug("Received title suggestion request: prefix={}, limit={}", prefix, limit);
+
+        if (!taskSuggestService.isLoaded()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "5")
+                    .build();
+        }
+        return ResponseEntity.ok(taskSuggestService.suggest(prefix, limit));
+    }
+}
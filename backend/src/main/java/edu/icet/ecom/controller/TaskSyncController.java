@@ -0,0 +1,29 @@
+package edu.icet.ecom.controller;
+
+import edu.icet.ecom.dto.TaskChangesResponse;
+import edu.icet.ecom.service.TaskChangeService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@Profile("!reactive & !logstore")
+@RequestMapping("/api/tasks")
+@CrossOrigin(origins = "http://localhost:3000") // For React frontend
+@RequiredArgsConstructor
+@Slf4j
+public class TaskSyncController {
+
+    private final TaskChangeService taskChangeService;
+
+    @GetMapping("/changes")
+    public ResponseEntity<TaskChangesResponse> getChanges(
+            @RequestParam(defaultValue = "0") Long since,
+            @RequestParam(required = false) Integer limit) {
+        log.info("Received request to get task changes since: {}", since);
+        TaskChangesResponse response = taskChangeService.getChangesSince(since, limit);
+        return ResponseEntity.ok(response);
+    }
+}
@@ -0,0 +1,42 @@
+package edu.icet.ecom.controller;
+
+import edu.icet.ecom.dto.CreateTaskTemplateRequest;
+import edu.icet.ecom.dto.TaskTemplateResponse;
+import edu.icet.ecom.service.TaskTemplateService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@Profile("!reactive & !logstore")
+@RequestMapping("/api/task-templates")
+@CrossOrigin(origins = "http://localhost:3000") // For React frontend
+@RequiredArgsConstructor
+@Slf4j
+public class TaskTemplateController {
+
+    private final TaskTemplateService taskTemplateService;
+
+    @PostMapping
+    public ResponseEntity<TaskTemplateResponse> createTemplate(@Valid @RequestBody CreateTaskTemplateRequest request) {
+        log.info("Received request to create task template: {}", request.getTitle());
+        return new ResponseEntity<>(taskTemplateService.createTemplate(request), HttpStatus.CREATED);
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<TaskTemplateResponse> getTemplate(@PathVariable Long id) {
+        log.info("Received request to get task template with id: {}", id);
+        return ResponseEntity.ok(taskTemplateService.getTemplate(id));
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deleteTemplate(@PathVariable Long id) {
+        log.info("Received request to delete task template with id: {}", id);
+        taskTemplateService.deleteTemplate(id);
+        return ResponseEntity.noContent().build();
+    }
+}
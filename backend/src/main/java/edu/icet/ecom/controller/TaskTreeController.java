@@ -0,0 +1,59 @@
+package edu.icet.ecom.controller;
+
+import edu.icet.ecom.dto.CreateTaskRequest;
+import edu.icet.ecom.dto.SubtaskResponse;
+import edu.icet.ecom.dto.TaskResponse;
+import edu.icet.ecom.dto.TaskSubtreeResponse;
+import edu.icet.ecom.service.TaskTreeService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@Profile("!reactive & !logstore")
+@RequestMapping("/api/tasks")
+@CrossOrigin(origins = "http://localhost:3000") // For React frontend
+@RequiredArgsConstructor
+@Slf4j
+public class TaskTreeController {
+
+    private final TaskTreeService taskTreeService;
+
+    @GetMapping("/{id}/subtasks")
+    public ResponseEntity<TaskSubtreeResponse> getSubtree(
+            @PathVariable Long id,
+            @RequestParam(required = false) Integer maxDepth,
+            @RequestParam(defaultValue = "100") int limit) {
+        log.debug("Received request to get subtree of task with id {}: maxDepth={}, limit={}", id, maxDepth, limit);
+        return ResponseEntity.ok(taskTreeService.getSubtree(id, maxDepth, limit));
+    }
+
+    @PostMapping("/{id}/subtasks")
+    public ResponseEntity<TaskResponse> createSubtask(@PathVariable Long id,
+                                                      @Valid @RequestBody CreateTaskRequest request) {
+        log.info("Received request to create subtask of task with id {}: {}", id, request.getTitle());
+        return new ResponseEntity<>(taskTreeService.createSubtask(id, request), HttpStatus.CREATED);
+    }
+
+    @PutMapping("/{id}/subtasks/complete")
+    public ResponseEntity<SubtaskResponse> completeSubtree(@PathVariable Long id) {
+        log.info("Received request to complete subtree of task with id: {}", id);
+        return ResponseEntity.ok(taskTreeService.completeSubtree(id));
+    }
+
+    @PutMapping("/{id}/parent/{parentId}")
+    public ResponseEntity<SubtaskResponse> moveTask(@PathVariable Long id, @PathVariable Long parentId) {
+        log.info("Received request to move task with id {} under task with id {}", id, parentId);
+        return ResponseEntity.ok(taskTreeService.moveTask(id, parentId));
+    }
+
+    @DeleteMapping("/{id}/parent")
+    public ResponseEntity<SubtaskResponse> detachTask(@PathVariable Long id) {
+        log.info("Received request to detach task with id {} from its parent", id);
+        return ResponseEntity.ok(taskTreeService.detachTask(id));
+    }
+}
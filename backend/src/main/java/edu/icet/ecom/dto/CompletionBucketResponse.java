@@ -0,0 +1,21 @@
+package edu.icet.ecom.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CompletionBucketResponse {
+
+    private LocalDateTime start;
+    private long completed;
+    private Long p50Seconds;
+    private Long p90Seconds;
+    private Long p99Seconds;
+}
@@ -6,6 +6,8 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.LocalDateTime;
+
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -16,4 +18,11 @@ public class CreateTaskRequest {
     private String title;
 
     private String description;
+
+    private LocalDateTime dueAt;
+
+    public CreateTaskRequest(String title, String description) {
+        this.title = title;
+        this.description = description;
+    }
 }
@@ -0,0 +1,51 @@
+package edu.icet.ecom.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CreateTaskTemplateRequest {
+
+    @NotBlank(message = "Title is required")
+    @Size(max = 255, message = "Title must not exceed 255 characters")
+    private String title;
+
+    private String description;
+
+    @NotNull(message = "Frequency is required")
+    private TemplateFrequency frequency;
+
+    /**
+     * Time of day of daily and weekly occurrences; midnight when not given.
+     */
+    private LocalTime time;
+
+    /**
+     * Day of weekly occurrences.
+     */
+    private DayOfWeek dayOfWeek;
+
+    /**
+     * Six-field Spring cron expression, or a macro such as {@code @daily}, for the {@code CRON} frequency.
+     */
+    @Size(max = 120, message = "Cron expression must not exceed 120 characters")
+    private String cron;
+
+    /**
+     * Occurrences before this are never materialised; now when not given. A start in the past is caught up like
+     * scheduler downtime.
+     */
+    private LocalDateTime startAt;
+}
@@ -0,0 +1,26 @@
+package edu.icet.ecom.dto;
+
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Partial update of a task. Fields left {@code null} keep their current value.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PatchTaskRequest {
+
+    @Size(max = 255, message = "Title must not exceed 255 characters")
+    private String title;
+
+    private String description;
+
+    private LocalDateTime dueAt;
+}
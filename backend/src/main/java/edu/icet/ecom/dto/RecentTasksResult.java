@@ -0,0 +1,22 @@
+package edu.icet.ecom.dto;
+
+import lombok.Value;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Recent tasks together with when they were read from the database and whether they are a cached copy served while
+ * the database is unavailable.
+ */
+@Value
+public class RecentTasksResult {
+
+    List<TaskResponse> tasks;
+    LocalDateTime fetchedAt;
+    boolean stale;
+
+    public RecentTasksResult asStale() {
+        return stale ? this : new RecentTasksResult(tasks, fetchedAt, true);
+    }
+}
@@ -0,0 +1,39 @@
+package edu.icet.ecom.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SubtaskResponse {
+
+    private Long id;
+    private Long parentId;
+
+    /**
+     * Levels below the task the tree was read from; 0 for that task itself.
+     */
+    private Integer depth;
+
+    private String title;
+    private Boolean completed;
+    private LocalDateTime createdAt;
+    private LocalDateTime dueAt;
+
+    /**
+     * Number of tasks anywhere below this one, and how many of them are still open.
+     */
+    private Integer subtaskCount;
+    private Integer openSubtaskCount;
+
+    /**
+     * Whether the task has subtasks and every one of them is completed.
+     */
+    private Boolean subtasksCompleted;
+}
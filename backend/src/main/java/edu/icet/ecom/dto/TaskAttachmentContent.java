@@ -0,0 +1,15 @@
+package edu.icet.ecom.dto;
+
+import lombok.Value;
+
+import java.nio.file.Path;
+
+/**
+ * An attachment together with the stored file holding its content.
+ */
+@Value
+public class TaskAttachmentContent {
+
+    TaskAttachmentResponse attachment;
+    Path path;
+}
@@ -0,0 +1,23 @@
+package edu.icet.ecom.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaskAttachmentResponse {
+
+    private Long id;
+    private Long taskId;
+    private String fileName;
+    private String contentType;
+    private Long size;
+    private String sha256;
+    private LocalDateTime createdAt;
+}
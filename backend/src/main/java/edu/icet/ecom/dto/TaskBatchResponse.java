@@ -0,0 +1,22 @@
+package edu.icet.ecom.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Tasks in the order their ids were requested, with {@code null} where a task was not found. The ids that were not
+ * found are also listed in {@code missing}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaskBatchResponse {
+
+    private List<TaskResponse> tasks;
+    private List<Long> missing;
+}
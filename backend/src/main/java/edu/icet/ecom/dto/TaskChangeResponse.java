@@ -0,0 +1,25 @@
+package edu.icet.ecom.dto;
+
+import edu.icet.ecom.entity.TaskChangeType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaskChangeResponse {
+
+    private Long seq;
+    private Long taskId;
+    private TaskChangeType changeType;
+    private String title;
+    private String description;
+    private Boolean completed;
+    private LocalDateTime dueAt;
+    private LocalDateTime changedAt;
+}
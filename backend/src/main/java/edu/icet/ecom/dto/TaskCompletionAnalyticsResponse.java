@@ -0,0 +1,29 @@
+package edu.icet.ecom.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Throughput and time-to-complete percentiles of the tasks completed in a range. Percentiles are in seconds, accurate to
+ * about 6%, and {@code null} when nothing was completed.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaskCompletionAnalyticsResponse {
+
+    private LocalDateTime from;
+    private LocalDateTime to;
+    private String granularity;
+    private long completed;
+    private Long p50Seconds;
+    private Long p90Seconds;
+    private Long p99Seconds;
+    private List<CompletionBucketResponse> buckets;
+}
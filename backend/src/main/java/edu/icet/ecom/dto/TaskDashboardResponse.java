@@ -0,0 +1,27 @@
+package edu.icet.ecom.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Everything the dashboard shows, read in one request. When {@code partial} is set, the parts named in
+ * {@code timedOut} did not finish before the deadline and are {@code null}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaskDashboardResponse {
+
+    private List<TaskResponse> recent;
+    private Boolean recentStale;
+    private TaskStatsResponse stats;
+    private List<TaskResponse> overdue;
+    private List<TaskResponse> oldestOpen;
+    private Boolean partial;
+    private List<String> timedOut;
+}
@@ -0,0 +1,26 @@
+package edu.icet.ecom.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaskQueryResponse {
+
+    /**
+     * The first {@code limit} matching tasks in the requested order. Descriptions are not part of the index and are
+     * always omitted.
+     */
+    private List<TaskResponse> tasks;
+
+    /**
+     * Number of tasks matching the filters, regardless of the limit.
+     */
+    private long matched;
+}
@@ -18,4 +18,7 @@ public class TaskResponse {
     private String description;
     private LocalDateTime createdAt;
     private Boolean completed;
+    private LocalDateTime dueAt;
+    private LocalDateTime completedAt;
+    private Boolean descriptionTruncated;
 }
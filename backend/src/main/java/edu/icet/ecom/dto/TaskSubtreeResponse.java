@@ -0,0 +1,25 @@
+package edu.icet.ecom.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaskSubtreeResponse {
+
+    private SubtaskResponse task;
+
+    /**
+     * The first {@code limit} tasks below {@link #task}, level by level and in id order within a level. Descriptions
+     * are omitted.
+     */
+    private List<SubtaskResponse> subtasks;
+
+    private boolean hasMore;
+}
@@ -0,0 +1,27 @@
+package edu.icet.ecom.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaskTemplateResponse {
+
+    private Long id;
+    private String title;
+    private String description;
+    private String cron;
+
+    /**
+     * Earliest occurrence that is not a task yet; {@code null} once the template never recurs again.
+     */
+    private LocalDateTime nextRunAt;
+
+    private LocalDateTime createdAt;
+}
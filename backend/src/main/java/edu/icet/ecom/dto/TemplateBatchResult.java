@@ -0,0 +1,20 @@
+package edu.icet.ecom.dto;
+
+import lombok.Value;
+
+/**
+ * Outcome of materialising one batch of due task templates.
+ */
+@Value
+public class TemplateBatchResult {
+
+    public static final TemplateBatchResult LEASE_LOST = new TemplateBatchResult(false, 0, 0);
+
+    /**
+     * False when another instance took the lease over, in which case the batch did nothing.
+     */
+    boolean leaseHeld;
+
+    int templates;
+    int tasks;
+}
@@ -0,0 +1,10 @@
+package edu.icet.ecom.dto;
+
+/**
+ * How often a task template recurs. Daily and weekly rules are shorthands that are stored as cron expressions too.
+ */
+public enum TemplateFrequency {
+    DAILY,
+    WEEKLY,
+    CRON
+}
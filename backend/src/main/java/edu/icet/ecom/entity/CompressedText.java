@@ -0,0 +1,173 @@
+package edu.icet.ecom.entity;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Text stored compressed once it is longer than {@value #COMPRESSION_THRESHOLD} characters, for columns such as task
+ * descriptions that sometimes hold pasted logs.
+ * <p>
+ * The stored form of short text is the text itself. Long text is stored as its first {@value #HEAD_LENGTH} characters,
+ * a NUL marker, a format character and the Base64 of the deflated UTF-8 bytes, prefixed with their uncompressed
+ * length. The plain head keeps SQL {@code SUBSTRING} previews working without decompression. NUL characters in the
+ * text are replaced with U+FFFD so that the marker is unambiguous. Values written before compression existed are read
+ * as plain text.
+ * <p>
+ * Reading a value from the database only keeps the stored form; the text is decompressed on the first call to
+ * {@link #text()}.
+ */
+public final class CompressedText {
+
+    static final int COMPRESSION_THRESHOLD = 4 * 1024;
+    static final int HEAD_LENGTH = 256;
+
+    private static final char MARKER = '\u0000';
+    private static final char REPLACEMENT = '\uFFFD';
+    private static final char FORMAT_DEFLATE = 'D';
+    private static final int LENGTH_PREFIX_BYTES = Integer.BYTES;
+
+    private final String stored;
+    private final int markerIndex;
+    private volatile String text;
+
+    private CompressedText(String stored, int markerIndex, String text) {
+        this.stored = stored;
+        this.markerIndex = markerIndex;
+        this.text = text;
+    }
+
+    /**
+     * @return the value for {@code text}, compressed if it is long, or {@code null} for {@code null}
+     */
+    public static CompressedText of(String text) {
+        if (text == null) {
+            return null;
+        }
+        if (text.indexOf(MARKER) >= 0) {
+            text = text.replace(MARKER, REPLACEMENT);
+        }
+        if (text.length() <= COMPRESSION_THRESHOLD) {
+            return new CompressedText(text, -1, text);
+        }
+
+        String head = head(text);
+        String stored = head + MARKER + FORMAT_DEFLATE + Base64.getEncoder().encodeToString(deflate(text));
+        return new CompressedText(stored, head.length(), text);
+    }
+
+    /**
+     * @return the value read from a column or record, or {@code null} for {@code null}
+     */
+    public static CompressedText fromStored(String stored) {
+        if (stored == null) {
+            return null;
+        }
+        int markerIndex = stored.indexOf(MARKER);
+        if (markerIndex < 0 || markerIndex + 1 >= stored.length() || stored.charAt(markerIndex + 1) != FORMAT_DEFLATE) {
+            return new CompressedText(stored, -1, stored);
+        }
+        return new CompressedText(stored, markerIndex, null);
+    }
+
+    public String text() {
+        String current = text;
+        if (current == null) {
+            current = inflate(stored.substring(markerIndex + 2));
+            text = current;
+        }
+        return current;
+    }
+
+    /**
+     * Same result as {@code text().substring(0, length)} for longer text, without decompressing when the stored head
+     * is long enough.
+     */
+    public String head(int length) {
+        if (!isCompressed()) {
+            return stored.length() <= length ? stored : stored.substring(0, length);
+        }
+        return length <= markerIndex ? stored.substring(0, length) : text().substring(0, length);
+    }
+
+    public String stored() {
+        return stored;
+    }
+
+    public boolean isCompressed() {
+        return markerIndex >= 0;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return this == other || other instanceof CompressedText that && stored.equals(that.stored);
+    }
+
+    @Override
+    public int hashCode() {
+        return stored.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return text();
+    }
+
+    private static String head(String text) {
+        int end = HEAD_LENGTH;
+        if (Character.isHighSurrogate(text.charAt(end - 1))) {
+            end--;
+        }
+        return text.substring(0, end);
+    }
+
+    private static byte[] deflate(String text) {
+        byte[] input = text.getBytes(StandardCharsets.UTF_8);
+        Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION);
+        try {
+            deflater.setInput(input);
+            deflater.finish();
+
+            ByteArrayOutputStream out = new ByteArrayOutputStream(input.length / 4 + 64);
+            out.writeBytes(ByteBuffer.allocate(LENGTH_PREFIX_BYTES).putInt(input.length).array());
+            byte[] chunk = new byte[8192];
+            while (!deflater.finished()) {
+                out.write(chunk, 0, deflater.deflate(chunk));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static String inflate(String encoded) {
+        Inflater inflater = new Inflater();
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(Base64.getDecoder().decode(encoded));
+            byte[] output = new byte[buffer.getInt()];
+            inflater.setInput(buffer);
+            int length = 0;
+            while (length < output.length) {
+                int inflated = inflater.inflate(output, length, output.length - length);
+                if (inflated == 0 && (inflater.finished() || inflater.needsInput())) {
+                    break;
+                }
+                length += inflated;
+            }
+            if (length != output.length) {
+                throw new IllegalStateException("Compressed text is truncated: " + length + " of " + output.length
+                        + " bytes");
+            }
+            return new String(output, StandardCharsets.UTF_8);
+        } catch (DataFormatException | IllegalArgumentException | BufferUnderflowException ex) {
+            throw new IllegalStateException("Compressed text is corrupt", ex);
+        } finally {
+            inflater.end();
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package edu.icet.ecom.entity;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+import org.hibernate.annotations.Immutable;
+
+/**
+ * Maps {@link CompressedText} to its stored form. Converting in either direction never compresses or decompresses, and
+ * values are immutable, so Hibernate compares them by their stored form instead of copying them for dirty checks.
+ */
+@Converter
+@Immutable
+public class CompressedTextConverter implements AttributeConverter<CompressedText, String> {
+
+    @Override
+    public String convertToDatabaseColumn(CompressedText text) {
+        return text != null ? text.stored() : null;
+    }
+
+    @Override
+    public CompressedText convertToEntityAttribute(String stored) {
+        return CompressedText.fromStored(stored);
+    }
+}
@@ -0,0 +1,36 @@
+package edu.icet.ecom.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Lets one instance at a time run a job. Whoever holds the lease renews it at the start of every batch; the token
+ * grows whenever another instance takes it over.
+ */
+@Entity
+@Table(name = "scheduler_lease")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SchedulerLease {
+
+    @Id
+    @Column(length = 64)
+    private String name;
+
+    @Column(length = 64)
+    private String owner;
+
+    @Column(nullable = false)
+    private Long token;
+
+    @Column(name = "expires_at")
+    private LocalDateTime expiresAt;
+}
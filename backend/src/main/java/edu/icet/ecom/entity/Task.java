@@ -1,25 +1,42 @@
 package edu.icet.ecom.entity;
 
+import edu.icet.ecom.id.GeneratedId;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.SQLRestriction;
 
 import java.time.LocalDateTime;
 
+/**
+ * A task. Deleting only sets the {@code deleted} tombstone; the row itself is removed later by the purger. Tombstoned
+ * rows are invisible to every JPA read of this entity.
+ * <p>
+ * Long descriptions are stored compressed, see {@link CompressedText}. {@link #getDescription()} decompresses on first
+ * use; code that only moves the description around should use {@link #getDescriptionText()}.
+ * <p>
+ * The subtask columns are read-only here: the parent link and the rollup of open tasks below this one are written by
+ * the set-based statements of the subtask tree, which a stale entity must never overwrite.
+ */
 @Entity
 @Table(name = "task")
+@DynamicUpdate
+@SQLRestriction("deleted = false")
 @Data
+@EqualsAndHashCode(doNotUseGetters = true)
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 public class Task {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedId
     private Long id;
 
     @NotBlank(message = "Title is required")
@@ -28,7 +45,8 @@ public class Task {
     private String title;
 
     @Column(columnDefinition = "TEXT")
-    private String description;
+    @Convert(converter = CompressedTextConverter.class)
+    private CompressedText description;
 
     @Column(name = "created_at", nullable = false, updatable = false)
     @Builder.Default
@@ -38,11 +56,57 @@ public class Task {
     @Builder.Default
     private Boolean completed = false;
 
+    @Column(name = "due_at")
+    private LocalDateTime dueAt;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private Boolean deleted = false;
+
+    @Column(name = "deleted_at")
+    private LocalDateTime deletedAt;
+
+    @Column(name = "parent_id", insertable = false, updatable = false)
+    private Long parentId;
+
+    /**
+     * Number of tasks anywhere below this one.
+     */
+    @Column(name = "subtask_count", insertable = false, updatable = false)
+    @Builder.Default
+    private Integer subtaskCount = 0;
+
+    @Column(name = "open_subtask_count", insertable = false, updatable = false)
+    @Builder.Default
+    private Integer openSubtaskCount = 0;
+
     public Task(String title, String description) {
         this.title = title;
-        this.description = description;
+        this.description = CompressedText.of(description);
         this.createdAt = LocalDateTime.now();
         this.completed = false;
+        this.deleted = false;
+        this.subtaskCount = 0;
+        this.openSubtaskCount = 0;
+    }
+
+    public String getDescription() {
+        return description != null ? description.text() : null;
+    }
+
+    public void setDescription(String description) {
+        this.description = CompressedText.of(description);
+    }
+
+    public CompressedText getDescriptionText() {
+        return description;
+    }
+
+    public void setDescriptionText(CompressedText description) {
+        this.description = description;
     }
 
     @PrePersist
@@ -50,5 +114,21 @@ public class Task {
         if (createdAt == null) {
             createdAt = LocalDateTime.now();
         }
+        if (deleted == null) {
+            deleted = false;
+        }
+    }
+
+    public static class TaskBuilder {
+
+        public TaskBuilder description(String description) {
+            this.description = CompressedText.of(description);
+            return this;
+        }
+
+        public TaskBuilder descriptionText(CompressedText description) {
+            this.description = description;
+            return this;
+        }
     }
 }
@@ -0,0 +1,83 @@
+package edu.icet.ecom.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * One entry of the task change log. The sequence is assigned by the database and only ever grows, and entries are
+ * inserted under a lock that is held until commit, so they also become visible in sequence order. Clients can
+ * therefore resume a sync from the last sequence they have seen. The description is stored like
+ * {@link Task#getDescriptionText()} and copied from the task without decompressing it.
+ */
+@Entity
+@Table(name = "task_change", indexes = @Index(name = "idx_task_change_task_id", columnList = "task_id"))
+@Data
+@EqualsAndHashCode(doNotUseGetters = true)
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaskChange {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long seq;
+
+    @Column(name = "task_id", nullable = false)
+    private Long taskId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "change_type", nullable = false, length = 16)
+    private TaskChangeType changeType;
+
+    @Column(nullable = false)
+    private String title;
+
+    @Column(columnDefinition = "TEXT")
+    @Convert(converter = CompressedTextConverter.class)
+    private CompressedText description;
+
+    @Column(nullable = false)
+    private Boolean completed;
+
+    @Column(name = "due_at")
+    private LocalDateTime dueAt;
+
+    @Column(name = "changed_at", nullable = false)
+    @Builder.Default
+    private LocalDateTime changedAt = LocalDateTime.now();
+
+    public String getDescription() {
+        return description != null ? description.text() : null;
+    }
+
+    public void setDescription(String description) {
+        this.description = CompressedText.of(description);
+    }
+
+    public CompressedText getDescriptionText() {
+        return description;
+    }
+
+    public void setDescriptionText(CompressedText description) {
+        this.description = description;
+    }
+
+    public static class TaskChangeBuilder {
+
+        public TaskChangeBuilder description(String description) {
+            this.description = CompressedText.of(description);
+            return this;
+        }
+
+        public TaskChangeBuilder descriptionText(CompressedText description) {
+            this.description = description;
+            return this;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package edu.icet.ecom.entity;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * The single row that writers lock before inserting change entries, see
+ * {@link edu.icet.ecom.repository.TaskChangeRepository#lockSequence()}. Mapped so that a schema generated by Hibernate
+ * includes the table; the row itself is created on startup.
+ */
+@Entity
+@Table(name = "task_change_lock")
+@Data
+@NoArgsConstructor
+public class TaskChangeLock {
+
+    @Id
+    private Integer id;
+}
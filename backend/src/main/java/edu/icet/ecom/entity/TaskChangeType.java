@@ -0,0 +1,8 @@
+package edu.icet.ecom.entity;
+
+public enum TaskChangeType {
+    CREATED,
+    UPDATED,
+    COMPLETED,
+    DELETED
+}
@@ -0,0 +1,47 @@
+package edu.icet.ecom.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * One ancestor/descendant pair of a subtask tree; a task in a tree is also paired with itself at depth 0. Rows are
+ * only written by the set-based statements in {@link edu.icet.ecom.repository.TaskClosureRepository}.
+ */
+@Entity
+@Table(name = "task_closure",
+        indexes = {
+            @Index(name = "idx_task_closure_ancestor_depth", columnList = "ancestor_id, depth, descendant_id"),
+            @Index(name = "idx_task_closure_descendant_depth", columnList = "descendant_id, depth")
+        })
+@IdClass(TaskClosure.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaskClosure {
+
+    @Id
+    @Column(name = "ancestor_id")
+    private Long ancestorId;
+
+    @Id
+    @Column(name = "descendant_id")
+    private Long descendantId;
+
+    @Column(nullable = false)
+    private Integer depth;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+
+        private Long ancestorId;
+        private Long descendantId;
+    }
+}
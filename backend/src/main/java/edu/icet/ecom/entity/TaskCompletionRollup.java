@@ -0,0 +1,33 @@
+package edu.icet.ecom.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Completions of one closed hour: how many tasks were completed in it and a serialized
+ * {@link edu.icet.ecom.analytics.DurationHistogram} of how long they had been open, in seconds.
+ */
+@Entity
+@Table(name = "task_completion_rollup")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaskCompletionRollup {
+
+    @Id
+    @Column(name = "hour_start")
+    private LocalDateTime hourStart;
+
+    @Column(name = "completed_count", nullable = false)
+    private Long completedCount;
+
+    @Lob
+    @Column(nullable = false)
+    private byte[] histogram;
+}
@@ -0,0 +1,31 @@
+package edu.icet.ecom.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One label of a task. Labels are stored lowercase, at most once per task.
+ */
+@Entity
+@Table(name = "task_label",
+        uniqueConstraints = @UniqueConstraint(name = "uk_task_label", columnNames = {"task_id", "label"}),
+        indexes = @Index(name = "idx_task_label_label_task_id", columnList = "label, task_id"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaskLabel {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "task_id", nullable = false)
+    private Long taskId;
+
+    @Column(nullable = false, length = 64)
+    private String label;
+}
@@ -0,0 +1,48 @@
+package edu.icet.ecom.entity;
+
+import edu.icet.ecom.id.GeneratedId;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A recurring task. Occurrences of its cron expression are turned into tasks ahead of time; {@code nextRunAt} is the
+ * first occurrence that has not been, and {@code null} once the expression never fires again.
+ */
+@Entity
+@Table(name = "task_template",
+        indexes = @Index(name = "idx_task_template_next_run_at", columnList = "next_run_at, id"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaskTemplate {
+
+    @Id
+    @GeneratedId
+    private Long id;
+
+    @Column(nullable = false)
+    private String title;
+
+    /**
+     * Compressed once here and shared by every task made from the template.
+     */
+    @Column(columnDefinition = "TEXT")
+    @Convert(converter = CompressedTextConverter.class)
+    private CompressedText description;
+
+    @Column(nullable = false, length = 120)
+    private String cron;
+
+    @Column(name = "next_run_at")
+    private LocalDateTime nextRunAt;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    @Builder.Default
+    private LocalDateTime createdAt = LocalDateTime.now();
+}
@@ -0,0 +1,34 @@
+package edu.icet.ecom.event;
+
+import edu.icet.ecom.entity.TaskChangeType;
+import lombok.Setter;
+import lombok.Value;
+import lombok.experimental.NonFinal;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published for every recorded task change. Listeners that keep derived in-memory state should use
+ * {@code @TransactionalEventListener} so they only observe committed writes. Listeners that keep derived rows in step
+ * with the write, like the subtask rollups, use a plain {@code @EventListener} and run inside the writing transaction.
+ * <p>
+ * After-commit listeners of different transactions can run in any order, so such a listener may see a change after a
+ * newer one to the same task. {@link #seq} orders them: it is set while the transaction commits, in commit order, and
+ * is {@code null} before that and where no order is kept.
+ */
+@Value
+public class TaskChangedEvent {
+
+    Long taskId;
+    TaskChangeType changeType;
+    String title;
+    Boolean completed;
+    LocalDateTime createdAt;
+    LocalDateTime dueAt;
+    LocalDateTime completedAt;
+    Long parentId;
+    Integer subtaskCount;
+    @NonFinal
+    @Setter
+    Long seq;
+}
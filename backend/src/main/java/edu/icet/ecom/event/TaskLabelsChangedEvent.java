@@ -0,0 +1,13 @@
+package edu.icet.ecom.event;
+
+import lombok.Value;
+
+/**
+ * Published when a task's labels are replaced. Listeners read the labels again, as events of different transactions
+ * may arrive out of order.
+ */
+@Value
+public class TaskLabelsChangedEvent {
+
+    Long taskId;
+}
@@ -0,0 +1,15 @@
+package edu.icet.ecom.event;
+
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published when the due date of an open task is reached.
+ */
+@Value
+public class TaskReminderEvent {
+
+    Long taskId;
+    LocalDateTime firedAt;
+}
@@ -0,0 +1,7 @@
+package edu.icet.ecom.exception;
+
+public class AttachmentNotFoundException extends RuntimeException {
+    public AttachmentNotFoundException(Long taskId, Long attachmentId) {
+        super("Attachment not found with id: " + attachmentId + " for task: " + taskId);
+    }
+}
@@ -0,0 +1,7 @@
+package edu.icet.ecom.exception;
+
+public class AttachmentTooLargeException extends RuntimeException {
+    public AttachmentTooLargeException(long maxSize) {
+        super("Attachment is larger than the limit of " + maxSize + " bytes");
+    }
+}
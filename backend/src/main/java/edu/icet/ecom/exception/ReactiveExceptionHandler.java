@@ -0,0 +1,94 @@
+package edu.icet.ecom.exception;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * WebFlux counterpart of {@link GlobalExceptionHandler}. Produces the same {@link ErrorResponse} bodies and statuses so
+ * clients see one error contract regardless of the active stack.
+ */
+@RestControllerAdvice
+@Profile("reactive")
+@Slf4j
+public class ReactiveExceptionHandler {
+
+    @ExceptionHandler(TaskNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleTaskNotFoundException(
+            TaskNotFoundException ex, ServerWebExchange exchange) {
+
+        log.error("Task not found: {}", ex.getMessage());
+        return error(HttpStatus.NOT_FOUND, "Task Not Found", ex.getMessage(), exchange);
+    }
+
+    @ExceptionHandler(TaskCreationException.class)
+    public ResponseEntity<ErrorResponse> handleTaskCreationException(
+            TaskCreationException ex, ServerWebExchange exchange) {
+
+        log.error("Task creation failed: {}", ex.getMessage(), ex);
+        return error(HttpStatus.BAD_REQUEST, "Task Creation Failed", ex.getMessage(), exchange);
+    }
+
+    @ExceptionHandler(WebExchangeBindException.class)
+    public ResponseEntity<ErrorResponse> handleValidationExceptions(
+            WebExchangeBindException ex, ServerWebExchange exchange) {
+
+        Map<String, String> errors = new HashMap<>();
+        ex.getBindingResult().getAllErrors().forEach((error) -> {
+            String fieldName = ((FieldError) error).getField();
+            String errorMessage = error.getDefaultMessage();
+            errors.put(fieldName, errorMessage);
+        });
+
+        log.error("Validation failed: {}", errors);
+        return error(HttpStatus.BAD_REQUEST, "Validation Failed", "Invalid input data: " + errors, exchange);
+    }
+
+    @ExceptionHandler(DataAccessException.class)
+    public ResponseEntity<ErrorResponse> handleDataAccessException(
+            DataAccessException ex, ServerWebExchange exchange) {
+
+        log.error("Database error occurred: {}", ex.getMessage(), ex);
+        return error(HttpStatus.INTERNAL_SERVER_ERROR, "Database Error",
+                "An error occurred while accessing the database", exchange);
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<ErrorResponse> handleIllegalArgumentException(
+            IllegalArgumentException ex, ServerWebExchange exchange) {
+
+        log.error("Invalid argument: {}", ex.getMessage());
+        return error(HttpStatus.BAD_REQUEST, "Invalid Argument", ex.getMessage(), exchange);
+    }
+
+    @ExceptionHandler(Exception.class)
+    public ResponseEntity<ErrorResponse> handleGenericException(
+            Exception ex, ServerWebExchange exchange) {
+
+        log.error("Unexpected error occurred: {}", ex.getMessage(), ex);
+        return error(HttpStatus.INTERNAL_SERVER_ERROR, "Internal Server Error",
+                "An unexpected error occurred. Please try again later.", exchange);
+    }
+
+    private ResponseEntity<ErrorResponse> error(HttpStatus status, String error, String message,
+                                                ServerWebExchange exchange) {
+        ErrorResponse errorResponse = new ErrorResponse(
+                error,
+                message,
+                status.value(),
+                exchange.getRequest().getPath().value()
+        );
+
+        return ResponseEntity.status(status).body(errorResponse);
+    }
+}
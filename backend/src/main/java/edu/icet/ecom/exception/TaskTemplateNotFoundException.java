@@ -0,0 +1,7 @@
+package edu.icet.ecom.exception;
+
+public class TaskTemplateNotFoundException extends RuntimeException {
+    public TaskTemplateNotFoundException(Long id) {
+        super("Task template not found with id: " + id);
+    }
+}
@@ -0,0 +1,33 @@
+package edu.icet.ecom.id;
+
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.hibernate.id.factory.spi.CustomIdGeneratorCreationContext;
+
+import java.lang.reflect.Member;
+
+/**
+ * Bridges {@link GeneratedId} to the {@link IdGenerator} bean, which the application passes to Hibernate as the
+ * {@link #GENERATOR_SETTING} setting. Because the id is known before the insert, Hibernate can batch task inserts.
+ */
+public class HibernateIdGenerator implements IdentifierGenerator {
+
+    public static final String GENERATOR_SETTING = "edu.icet.ecom.id.generator";
+
+    private final IdGenerator generator;
+
+    public HibernateIdGenerator(GeneratedId annotation, Member member, CustomIdGeneratorCreationContext context) {
+        Object setting = context.getServiceRegistry().requireService(ConfigurationService.class)
+                .getSettings().get(GENERATOR_SETTING);
+        if (!(setting instanceof IdGenerator idGenerator)) {
+            throw new IllegalStateException("No IdGenerator registered under the Hibernate setting " + GENERATOR_SETTING);
+        }
+        this.generator = idGenerator;
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object entity) {
+        return generator.nextId();
+    }
+}
@@ -0,0 +1,9 @@
+package edu.icet.ecom.id;
+
+/**
+ * Source of unique task ids that are assigned by the application before the row is inserted.
+ */
+public interface IdGenerator {
+
+    long nextId();
+}
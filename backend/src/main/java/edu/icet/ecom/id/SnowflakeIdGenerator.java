@@ -0,0 +1,78 @@
+package edu.icet.ecom.id;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Time-ordered ids in the Snowflake layout: milliseconds since {@link #EPOCH}, then the node id, then a per-millisecond
+ * sequence. The widths add up to 53 bits so that ids stay exact as JavaScript numbers in the frontend; that leaves room
+ * for 32 nodes and 128 ids per millisecond per node until the year 2093.
+ * <p>
+ * The last issued millisecond and sequence live in one {@link AtomicLong}, so threads claim ids with a single
+ * compare-and-set. When a millisecond's sequence runs out, or the clock steps back, ids continue on the following
+ * milliseconds ahead of the clock. They stay unique and ordered, but only up to {@code maxClockDrift} ahead; past that
+ * {@link #nextId()} fails instead of issuing ids that would sort after those of other nodes for a long time.
+ */
+public class SnowflakeIdGenerator implements IdGenerator {
+
+    public static final Instant EPOCH = Instant.parse("2024-01-01T00:00:00Z");
+
+    static final int NODE_BITS = 5;
+    static final int SEQUENCE_BITS = 7;
+    static final int TIMESTAMP_BITS = 41;
+    static final int MAX_NODE_ID = (1 << NODE_BITS) - 1;
+
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    private final long nodeBits;
+    private final long maxDriftMillis;
+    private final LongSupplier clock;
+
+    /**
+     * The last issued id without its node bits: milliseconds since the epoch shifted left by the sequence width, plus
+     * the sequence.
+     */
+    private final AtomicLong last = new AtomicLong();
+
+    public SnowflakeIdGenerator(int nodeId, Duration maxClockDrift) {
+        this(nodeId, maxClockDrift, System::currentTimeMillis);
+    }
+
+    SnowflakeIdGenerator(int nodeId, Duration maxClockDrift, LongSupplier clock) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("Node id must be between 0 and " + MAX_NODE_ID);
+        }
+        this.nodeBits = (long) nodeId << SEQUENCE_BITS;
+        this.maxDriftMillis = maxClockDrift.toMillis();
+        this.clock = clock;
+    }
+
+    @Override
+    public long nextId() {
+        while (true) {
+            long previous = last.get();
+            long now = clock.getAsLong() - EPOCH.toEpochMilli();
+            // A later millisecond restarts the sequence; otherwise the increment carries into the next millisecond.
+            long next = now > previous >>> SEQUENCE_BITS ? now << SEQUENCE_BITS : previous + 1;
+
+            long millis = next >>> SEQUENCE_BITS;
+            if (millis - now > maxDriftMillis) {
+                throw new IllegalStateException("Clock is " + (millis - now) + " ms behind the last issued id; "
+                        + "refusing to run further ahead than " + maxDriftMillis + " ms");
+            }
+            if (last.compareAndSet(previous, next)) {
+                return (millis << (NODE_BITS + SEQUENCE_BITS)) | nodeBits | (next & SEQUENCE_MASK);
+            }
+        }
+    }
+
+    public static Instant timestampOf(long id) {
+        return EPOCH.plusMillis(id >>> (NODE_BITS + SEQUENCE_BITS));
+    }
+
+    public static int nodeOf(long id) {
+        return (int) (id >>> SEQUENCE_BITS) & MAX_NODE_ID;
+    }
+}
@@ -0,0 +1,473 @@
+package edu.icet.ecom.query;
+
+import java.util.Arrays;
+
+/**
+ * Compressed set of non-negative {@code int}s in the style of Roaring bitmaps. Values are grouped into chunks by their
+ * high 16 bits. A chunk holding at most {@value #ARRAY_LIMIT} values is a sorted {@code char[]} of the low bits; a
+ * fuller one is a bitmap of 1024 {@code long} words, which then takes no more space than the array would. Sparse sets
+ * cost two bytes per value and dense ones one bit, and set operations work a chunk at a time with the cheapest loop
+ * for the pair of representations they meet.
+ * <p>
+ * Not thread-safe.
+ */
+public final class CompressedBitmap {
+
+    /**
+     * Largest array chunk; at this size the array and the bitmap both take 8 KB.
+     */
+    static final int ARRAY_LIMIT = 4096;
+
+    private static final int BITMAP_WORDS = 1024;
+
+    private char[] keys;
+    private char[][] arrays;
+    private long[][] bitmaps;
+    private int[] counts;
+    private int chunks;
+
+    public CompressedBitmap() {
+        this(4);
+    }
+
+    private CompressedBitmap(int capacity) {
+        int initial = Math.max(1, capacity);
+        keys = new char[initial];
+        arrays = new char[initial][];
+        bitmaps = new long[initial][];
+        counts = new int[initial];
+    }
+
+    /**
+     * @return whether the value was not in the set yet
+     */
+    public boolean add(int value) {
+        checkValue(value);
+        char low = (char) value;
+        int chunk = findChunk((char) (value >>> 16));
+        if (chunk < 0) {
+            chunk = -chunk - 1;
+            char[] array = new char[4];
+            array[0] = low;
+            insertChunk(chunk, (char) (value >>> 16), array, null, 1);
+            return true;
+        }
+
+        long[] words = bitmaps[chunk];
+        if (words != null) {
+            long bit = 1L << low;
+            if ((words[low >>> 6] & bit) != 0) {
+                return false;
+            }
+            words[low >>> 6] |= bit;
+            counts[chunk]++;
+            return true;
+        }
+
+        char[] array = arrays[chunk];
+        int count = counts[chunk];
+        int at = Arrays.binarySearch(array, 0, count, low);
+        if (at >= 0) {
+            return false;
+        }
+        at = -at - 1;
+        if (count == ARRAY_LIMIT) {
+            words = toBitmap(array, count);
+            words[low >>> 6] |= 1L << low;
+            bitmaps[chunk] = words;
+            arrays[chunk] = null;
+            counts[chunk]++;
+            return true;
+        }
+        if (count == array.length) {
+            array = Arrays.copyOf(array, Math.min(ARRAY_LIMIT, count * 2));
+            arrays[chunk] = array;
+        }
+        System.arraycopy(array, at, array, at + 1, count - at);
+        array[at] = low;
+        counts[chunk]++;
+        return true;
+    }
+
+    /**
+     * A bitmap chunk only turns back into an array once it is half the limit, so values added and removed around the
+     * limit do not convert the chunk back and forth.
+     *
+     * @return whether the value was in the set
+     */
+    public boolean remove(int value) {
+        checkValue(value);
+        char low = (char) value;
+        int chunk = findChunk((char) (value >>> 16));
+        if (chunk < 0) {
+            return false;
+        }
+
+        long[] words = bitmaps[chunk];
+        if (words != null) {
+            long bit = 1L << low;
+            if ((words[low >>> 6] & bit) == 0) {
+                return false;
+            }
+            words[low >>> 6] &= ~bit;
+            if (--counts[chunk] <= ARRAY_LIMIT / 2) {
+                arrays[chunk] = toArray(words, counts[chunk]);
+                bitmaps[chunk] = null;
+            }
+            return true;
+        }
+
+        char[] array = arrays[chunk];
+        int count = counts[chunk];
+        int at = Arrays.binarySearch(array, 0, count, low);
+        if (at < 0) {
+            return false;
+        }
+        System.arraycopy(array, at + 1, array, at, count - at - 1);
+        if (--counts[chunk] == 0) {
+            removeChunk(chunk);
+        }
+        return true;
+    }
+
+    public boolean contains(int value) {
+        checkValue(value);
+        int chunk = findChunk((char) (value >>> 16));
+        if (chunk < 0) {
+            return false;
+        }
+        char low = (char) value;
+        long[] words = bitmaps[chunk];
+        return words != null
+                ? (words[low >>> 6] & (1L << low)) != 0
+                : Arrays.binarySearch(arrays[chunk], 0, counts[chunk], low) >= 0;
+    }
+
+    public long cardinality() {
+        long cardinality = 0;
+        for (int chunk = 0; chunk < chunks; chunk++) {
+            cardinality += counts[chunk];
+        }
+        return cardinality;
+    }
+
+    public boolean isEmpty() {
+        return chunks == 0;
+    }
+
+    /**
+     * @return up to {@code limit} of the largest values, largest first
+     */
+    public int[] largest(int limit) {
+        int[] values = new int[(int) Math.min(limit, cardinality())];
+        int size = 0;
+        for (int chunk = chunks - 1; chunk >= 0 && size < values.length; chunk--) {
+            int high = keys[chunk] << 16;
+            long[] words = bitmaps[chunk];
+            if (words == null) {
+                char[] array = arrays[chunk];
+                for (int i = counts[chunk] - 1; i >= 0 && size < values.length; i--) {
+                    values[size++] = high | array[i];
+                }
+                continue;
+            }
+            for (int word = BITMAP_WORDS - 1; word >= 0 && size < values.length; word--) {
+                long bits = words[word];
+                while (bits != 0 && size < values.length) {
+                    int bit = 63 - Long.numberOfLeadingZeros(bits);
+                    values[size++] = high | (word << 6) | bit;
+                    bits &= ~(1L << bit);
+                }
+            }
+        }
+        return values;
+    }
+
+    /**
+     * @return the values in both sets, as a new bitmap
+     */
+    public CompressedBitmap and(CompressedBitmap other) {
+        CompressedBitmap result = new CompressedBitmap(Math.min(chunks, other.chunks));
+        int i = 0;
+        int j = 0;
+        while (i < chunks && j < other.chunks) {
+            if (keys[i] < other.keys[j]) {
+                i++;
+            } else if (keys[i] > other.keys[j]) {
+                j++;
+            } else {
+                result.appendAnd(keys[i], this, i, other, j);
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return the values in either set, as a new bitmap
+     */
+    public CompressedBitmap or(CompressedBitmap other) {
+        CompressedBitmap result = new CompressedBitmap(chunks + other.chunks);
+        int i = 0;
+        int j = 0;
+        while (i < chunks || j < other.chunks) {
+            if (j == other.chunks || i < chunks && keys[i] < other.keys[j]) {
+                result.appendCopy(keys[i], this, i++);
+            } else if (i == chunks || keys[i] > other.keys[j]) {
+                result.appendCopy(other.keys[j], other, j++);
+            } else {
+                result.appendOr(keys[i], this, i, other, j);
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return the values in this set but not in {@code other}, as a new bitmap
+     */
+    public CompressedBitmap andNot(CompressedBitmap other) {
+        CompressedBitmap result = new CompressedBitmap(chunks);
+        int j = 0;
+        for (int i = 0; i < chunks; i++) {
+            while (j < other.chunks && other.keys[j] < keys[i]) {
+                j++;
+            }
+            if (j < other.chunks && other.keys[j] == keys[i]) {
+                result.appendAndNot(keys[i], this, i, other, j);
+            } else {
+                result.appendCopy(keys[i], this, i);
+            }
+        }
+        return result;
+    }
+
+    private void appendAnd(char key, CompressedBitmap a, int i, CompressedBitmap b, int j) {
+        long[] wordsA = a.bitmaps[i];
+        long[] wordsB = b.bitmaps[j];
+        if (wordsA != null && wordsB != null) {
+            long[] words = new long[BITMAP_WORDS];
+            int count = 0;
+            for (int word = 0; word < BITMAP_WORDS; word++) {
+                words[word] = wordsA[word] & wordsB[word];
+                count += Long.bitCount(words[word]);
+            }
+            appendWords(key, words, count);
+        } else if (wordsA != null || wordsB != null) {
+            long[] words = wordsA != null ? wordsA : wordsB;
+            char[] array = wordsA != null ? b.arrays[j] : a.arrays[i];
+            int arrayCount = wordsA != null ? b.counts[j] : a.counts[i];
+            char[] kept = new char[arrayCount];
+            int count = 0;
+            for (int k = 0; k < arrayCount; k++) {
+                char low = array[k];
+                if ((words[low >>> 6] & (1L << low)) != 0) {
+                    kept[count++] = low;
+                }
+            }
+            appendArray(key, kept, count);
+        } else {
+            char[] arrayA = a.arrays[i];
+            char[] arrayB = b.arrays[j];
+            int countA = a.counts[i];
+            int countB = b.counts[j];
+            char[] kept = new char[Math.min(countA, countB)];
+            int count = 0;
+            for (int x = 0, y = 0; x < countA && y < countB; ) {
+                if (arrayA[x] < arrayB[y]) {
+                    x++;
+                } else if (arrayA[x] > arrayB[y]) {
+                    y++;
+                } else {
+                    kept[count++] = arrayA[x];
+                    x++;
+                    y++;
+                }
+            }
+            appendArray(key, kept, count);
+        }
+    }
+
+    private void appendOr(char key, CompressedBitmap a, int i, CompressedBitmap b, int j) {
+        long[] wordsA = a.bitmaps[i];
+        long[] wordsB = b.bitmaps[j];
+        if (wordsA == null && wordsB == null && a.counts[i] + b.counts[j] <= ARRAY_LIMIT) {
+            char[] arrayA = a.arrays[i];
+            char[] arrayB = b.arrays[j];
+            int countA = a.counts[i];
+            int countB = b.counts[j];
+            char[] merged = new char[countA + countB];
+            int count = 0;
+            int x = 0;
+            int y = 0;
+            while (x < countA || y < countB) {
+                if (y == countB || x < countA && arrayA[x] < arrayB[y]) {
+                    merged[count++] = arrayA[x++];
+                } else if (x == countA || arrayA[x] > arrayB[y]) {
+                    merged[count++] = arrayB[y++];
+                } else {
+                    merged[count++] = arrayA[x++];
+                    y++;
+                }
+            }
+            appendArray(key, merged, count);
+            return;
+        }
+
+        long[] words = wordsA != null ? wordsA.clone() : toBitmap(a.arrays[i], a.counts[i]);
+        if (wordsB != null) {
+            for (int word = 0; word < BITMAP_WORDS; word++) {
+                words[word] |= wordsB[word];
+            }
+        } else {
+            char[] array = b.arrays[j];
+            for (int k = 0; k < b.counts[j]; k++) {
+                words[array[k] >>> 6] |= 1L << array[k];
+            }
+        }
+        appendWords(key, words, bitCount(words));
+    }
+
+    private void appendAndNot(char key, CompressedBitmap a, int i, CompressedBitmap b, int j) {
+        long[] wordsA = a.bitmaps[i];
+        long[] wordsB = b.bitmaps[j];
+        if (wordsA != null) {
+            long[] words = wordsA.clone();
+            if (wordsB != null) {
+                for (int word = 0; word < BITMAP_WORDS; word++) {
+                    words[word] &= ~wordsB[word];
+                }
+            } else {
+                char[] array = b.arrays[j];
+                for (int k = 0; k < b.counts[j]; k++) {
+                    words[array[k] >>> 6] &= ~(1L << array[k]);
+                }
+            }
+            appendWords(key, words, bitCount(words));
+            return;
+        }
+
+        char[] array = a.arrays[i];
+        int countA = a.counts[i];
+        char[] kept = new char[countA];
+        int count = 0;
+        if (wordsB != null) {
+            for (int k = 0; k < countA; k++) {
+                if ((wordsB[array[k] >>> 6] & (1L << array[k])) == 0) {
+                    kept[count++] = array[k];
+                }
+            }
+        } else {
+            char[] arrayB = b.arrays[j];
+            int countB = b.counts[j];
+            int y = 0;
+            for (int x = 0; x < countA; x++) {
+                while (y < countB && arrayB[y] < array[x]) {
+                    y++;
+                }
+                if (y == countB || arrayB[y] != array[x]) {
+                    kept[count++] = array[x];
+                }
+            }
+        }
+        appendArray(key, kept, count);
+    }
+
+    private void appendCopy(char key, CompressedBitmap source, int chunk) {
+        if (source.bitmaps[chunk] != null) {
+            append(key, null, source.bitmaps[chunk].clone(), source.counts[chunk]);
+        } else {
+            append(key, Arrays.copyOf(source.arrays[chunk], source.counts[chunk]), null, source.counts[chunk]);
+        }
+    }
+
+    private void appendWords(char key, long[] words, int count) {
+        if (count > ARRAY_LIMIT) {
+            append(key, null, words, count);
+        } else if (count > 0) {
+            append(key, toArray(words, count), null, count);
+        }
+    }
+
+    private void appendArray(char key, char[] array, int count) {
+        if (count > 0) {
+            append(key, count == array.length ? array : Arrays.copyOf(array, count), null, count);
+        }
+    }
+
+    private void append(char key, char[] array, long[] words, int count) {
+        insertChunk(chunks, key, array, words, count);
+    }
+
+    private void insertChunk(int chunk, char key, char[] array, long[] words, int count) {
+        if (chunks == keys.length) {
+            int capacity = chunks * 2;
+            keys = Arrays.copyOf(keys, capacity);
+            arrays = Arrays.copyOf(arrays, capacity);
+            bitmaps = Arrays.copyOf(bitmaps, capacity);
+            counts = Arrays.copyOf(counts, capacity);
+        }
+        int moved = chunks - chunk;
+        System.arraycopy(keys, chunk, keys, chunk + 1, moved);
+        System.arraycopy(arrays, chunk, arrays, chunk + 1, moved);
+        System.arraycopy(bitmaps, chunk, bitmaps, chunk + 1, moved);
+        System.arraycopy(counts, chunk, counts, chunk + 1, moved);
+        keys[chunk] = key;
+        arrays[chunk] = array;
+        bitmaps[chunk] = words;
+        counts[chunk] = count;
+        chunks++;
+    }
+
+    private void removeChunk(int chunk) {
+        int moved = chunks - chunk - 1;
+        System.arraycopy(keys, chunk + 1, keys, chunk, moved);
+        System.arraycopy(arrays, chunk + 1, arrays, chunk, moved);
+        System.arraycopy(bitmaps, chunk + 1, bitmaps, chunk, moved);
+        System.arraycopy(counts, chunk + 1, counts, chunk, moved);
+        chunks--;
+        arrays[chunks] = null;
+        bitmaps[chunks] = null;
+    }
+
+    private int findChunk(char key) {
+        return Arrays.binarySearch(keys, 0, chunks, key);
+    }
+
+    private static long[] toBitmap(char[] array, int count) {
+        long[] words = new long[BITMAP_WORDS];
+        for (int i = 0; i < count; i++) {
+            words[array[i] >>> 6] |= 1L << array[i];
+        }
+        return words;
+    }
+
+    private static char[] toArray(long[] words, int count) {
+        char[] array = new char[count];
+        int size = 0;
+        for (int word = 0; word < BITMAP_WORDS; word++) {
+            long bits = words[word];
+            while (bits != 0) {
+                array[size++] = (char) ((word << 6) | Long.numberOfTrailingZeros(bits));
+                bits &= bits - 1;
+            }
+        }
+        return array;
+    }
+
+    private static int bitCount(long[] words) {
+        int count = 0;
+        for (long word : words) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    private static void checkValue(int value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Value must not be negative: " + value);
+        }
+    }
+}
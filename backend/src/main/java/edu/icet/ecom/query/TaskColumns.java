@@ -0,0 +1,413 @@
+package edu.icet.ecom.query;
+
+import edu.icet.ecom.repository.projection.TaskColumnView;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.IntStream;
+
+/**
+ * Column-oriented, in-memory copy of the task fields used for filtering and ordering. Each field is a primitive
+ * array indexed by row: ids and timestamps (epoch microseconds) as {@code long[]}, completion as a bitmap of
+ * {@code long} words and titles as codes into a dictionary of distinct titles.
+ * <p>
+ * A query first builds a selection bitmap per block of rows with tight loops over one column at a time, then keeps the
+ * best {@code limit} rows of the block in a bounded heap. Large tables are split into blocks evaluated in parallel on
+ * the common fork-join pool and their heaps merged.
+ * <p>
+ * Reads run concurrently; updates are serialised and exclude reads.
+ */
+public class TaskColumns {
+
+    static final long NO_DUE = Long.MAX_VALUE;
+
+    /**
+     * Rows per block; a multiple of 64 so that blocks never share a bitmap word.
+     */
+    static final int BLOCK_ROWS = 1 << 16;
+
+    static final int PARALLEL_THRESHOLD = 4 * BLOCK_ROWS;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private long[] ids;
+    private long[] createdAt;
+    private long[] dueAt;
+    private int[] titleCodes;
+    private long[] completedWords;
+    private int size;
+
+    private final LongIntHashMap rowsById;
+    private final List<String> dictionary = new ArrayList<>();
+    private final Map<String, Integer> codes = new HashMap<>();
+
+    public TaskColumns() {
+        this(1024);
+    }
+
+    public TaskColumns(int expectedSize) {
+        int capacity = Math.max(64, expectedSize);
+        ids = new long[capacity];
+        createdAt = new long[capacity];
+        dueAt = new long[capacity];
+        titleCodes = new int[capacity];
+        completedWords = new long[wordsFor(capacity)];
+        rowsById = new LongIntHashMap(capacity);
+    }
+
+    public void upsert(long id, String title, LocalDateTime created, boolean completed, LocalDateTime due) {
+        lock.writeLock().lock();
+        try {
+            int row = rowsById.get(id);
+            if (row == LongIntHashMap.MISSING) {
+                ensureCapacity(size + 1);
+                row = size++;
+                rowsById.put(id, row);
+                ids[row] = id;
+            }
+            createdAt[row] = toMicros(created);
+            dueAt[row] = due == null ? NO_DUE : toMicros(due);
+            titleCodes[row] = encode(title);
+            if (completed) {
+                completedWords[row >>> 6] |= 1L << row;
+            } else {
+                completedWords[row >>> 6] &= ~(1L << row);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes the task by moving the last row into its place, so rows stay dense. Its title stays in the dictionary.
+     */
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            int row = rowsById.get(id);
+            if (row == LongIntHashMap.MISSING) {
+                return;
+            }
+            rowsById.remove(id);
+
+            int last = --size;
+            if (row != last) {
+                ids[row] = ids[last];
+                createdAt[row] = createdAt[last];
+                dueAt[row] = dueAt[last];
+                titleCodes[row] = titleCodes[last];
+                if ((completedWords[last >>> 6] & (1L << last)) != 0) {
+                    completedWords[row >>> 6] |= 1L << row;
+                } else {
+                    completedWords[row >>> 6] &= ~(1L << row);
+                }
+                rowsById.put(ids[row], row);
+            }
+            completedWords[last >>> 6] &= ~(1L << last);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public TaskQueryResult query(TaskQuery query) {
+        if (query.getLimit() <= 0) {
+            throw new IllegalArgumentException("Limit must be positive");
+        }
+
+        lock.readLock().lock();
+        try {
+            Plan plan = new Plan(query);
+            int blocks = (size + BLOCK_ROWS - 1) / BLOCK_ROWS;
+            IntStream blockIndexes = IntStream.range(0, blocks);
+            if (size >= PARALLEL_THRESHOLD) {
+                blockIndexes = blockIndexes.parallel();
+            }
+
+            BlockResult merged = blockIndexes
+                    .mapToObj(block -> evaluate(plan, block * BLOCK_ROWS, Math.min(size, (block + 1) * BLOCK_ROWS)))
+                    .reduce(BlockResult::merge)
+                    .orElseGet(() -> new BlockResult(new TopK(plan), 0));
+
+            List<TaskColumnView> tasks = new ArrayList<>();
+            for (int row : merged.topK.sortedRows()) {
+                tasks.add(view(row));
+            }
+            return new TaskQueryResult(tasks, merged.matched);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * A query resolved against the current dictionary and converted to column units.
+     */
+    private final class Plan {
+
+        final TaskQuery query;
+        final long createdFrom;
+        final long createdTo;
+        final long dueBefore;
+        final boolean[] titleMatches;
+
+        Plan(TaskQuery query) {
+            this.query = query;
+            this.createdFrom = query.getCreatedFrom() == null ? Long.MIN_VALUE : toMicros(query.getCreatedFrom());
+            this.createdTo = query.getCreatedTo() == null ? Long.MAX_VALUE : toMicros(query.getCreatedTo());
+            this.dueBefore = query.getDueBefore() == null ? Long.MAX_VALUE : toMicros(query.getDueBefore());
+
+            // The substring test runs once per distinct title rather than once per row.
+            String needle = query.getTitleContains();
+            if (needle == null || needle.isEmpty()) {
+                titleMatches = null;
+            } else {
+                String lowerNeedle = needle.toLowerCase(Locale.ROOT);
+                titleMatches = new boolean[dictionary.size()];
+                for (int code = 0; code < titleMatches.length; code++) {
+                    String title = dictionary.get(code);
+                    titleMatches[code] = title != null && title.toLowerCase(Locale.ROOT).contains(lowerNeedle);
+                }
+            }
+        }
+
+        long sortKey(int row) {
+            return switch (query.getSort()) {
+                case ID -> ids[row];
+                case CREATED_AT -> createdAt[row];
+                case DUE_AT -> dueAt[row];
+            };
+        }
+
+        /**
+         * Negative if {@code a} comes before {@code b}. Tasks without a due date sort last in either direction.
+         */
+        int compare(int a, int b) {
+            long keyA = sortKey(a);
+            long keyB = sortKey(b);
+            if (query.getSort() == TaskSortField.DUE_AT && (keyA == NO_DUE) != (keyB == NO_DUE)) {
+                return keyA == NO_DUE ? 1 : -1;
+            }
+            int order = keyA != keyB ? Long.compare(keyA, keyB) : Long.compare(ids[a], ids[b]);
+            return query.isDescending() ? -order : order;
+        }
+    }
+
+    /**
+     * Matches of one or more blocks. Merging reuses the heap of the left side, which is never shared between threads.
+     */
+    private record BlockResult(TopK topK, long matched) {
+
+        BlockResult merge(BlockResult other) {
+            topK.addAll(other.topK);
+            return new BlockResult(topK, matched + other.matched);
+        }
+    }
+
+    private BlockResult evaluate(Plan plan, int start, int end) {
+        long[] selection = select(plan, start, end);
+
+        TopK topK = new TopK(plan);
+        long matched = 0;
+        for (int word = 0; word < selection.length; word++) {
+            long bits = selection[word];
+            matched += Long.bitCount(bits);
+            while (bits != 0) {
+                topK.offer(start + (word << 6) + Long.numberOfTrailingZeros(bits));
+                bits &= bits - 1;
+            }
+        }
+        return new BlockResult(topK, matched);
+    }
+
+    /**
+     * One pass per active filter, each narrowing the selection bitmap of rows {@code [start, end)}.
+     */
+    private long[] select(Plan plan, int start, int end) {
+        int words = wordsFor(end - start);
+        int firstWord = start >>> 6;
+        long[] selection = new long[words];
+        Arrays.fill(selection, -1L);
+        int tail = (end - start) & 63;
+        if (tail != 0) {
+            selection[words - 1] = (1L << tail) - 1;
+        }
+
+        Boolean completed = plan.query.getCompleted();
+        if (completed != null) {
+            for (int word = 0; word < words; word++) {
+                long completedBits = completedWords[firstWord + word];
+                selection[word] &= completed ? completedBits : ~completedBits;
+            }
+        }
+
+        if (plan.createdFrom != Long.MIN_VALUE || plan.createdTo != Long.MAX_VALUE) {
+            long from = plan.createdFrom;
+            long to = plan.createdTo;
+            for (int word = 0; word < words; word++) {
+                int base = start + (word << 6);
+                int count = Math.min(64, end - base);
+                long bits = 0;
+                for (int bit = 0; bit < count; bit++) {
+                    long value = createdAt[base + bit];
+                    bits |= (value >= from & value < to ? 1L : 0L) << bit;
+                }
+                selection[word] &= bits;
+            }
+        }
+
+        if (plan.dueBefore != Long.MAX_VALUE) {
+            long before = plan.dueBefore;
+            for (int word = 0; word < words; word++) {
+                int base = start + (word << 6);
+                int count = Math.min(64, end - base);
+                long bits = 0;
+                for (int bit = 0; bit < count; bit++) {
+                    bits |= (dueAt[base + bit] < before ? 1L : 0L) << bit;
+                }
+                selection[word] &= bits;
+            }
+        }
+
+        if (plan.titleMatches != null) {
+            boolean[] matches = plan.titleMatches;
+            for (int word = 0; word < words; word++) {
+                int base = start + (word << 6);
+                int count = Math.min(64, end - base);
+                long bits = 0;
+                for (int bit = 0; bit < count; bit++) {
+                    bits |= (matches[titleCodes[base + bit]] ? 1L : 0L) << bit;
+                }
+                selection[word] &= bits;
+            }
+        }
+        return selection;
+    }
+
+    /**
+     * Bounded max-heap of row numbers keeping the best {@code limit} rows seen; the worst of them sits at the root.
+     */
+    private static final class TopK {
+
+        private final Plan plan;
+        private final int[] heap;
+        private int size;
+
+        TopK(Plan plan) {
+            this.plan = plan;
+            this.heap = new int[plan.query.getLimit()];
+        }
+
+        void offer(int row) {
+            if (size < heap.length) {
+                heap[size] = row;
+                siftUp(size++);
+            } else if (plan.compare(row, heap[0]) < 0) {
+                heap[0] = row;
+                siftDown(0);
+            }
+        }
+
+        void addAll(TopK other) {
+            for (int i = 0; i < other.size; i++) {
+                offer(other.heap[i]);
+            }
+        }
+
+        int[] sortedRows() {
+            return IntStream.of(Arrays.copyOf(heap, size))
+                    .boxed()
+                    .sorted(plan::compare)
+                    .mapToInt(Integer::intValue)
+                    .toArray();
+        }
+
+        private void siftUp(int index) {
+            while (index > 0) {
+                int parent = (index - 1) >>> 1;
+                if (plan.compare(heap[index], heap[parent]) <= 0) {
+                    return;
+                }
+                swap(index, parent);
+                index = parent;
+            }
+        }
+
+        private void siftDown(int index) {
+            while (true) {
+                int left = 2 * index + 1;
+                if (left >= size) {
+                    return;
+                }
+                int worst = left + 1 < size && plan.compare(heap[left + 1], heap[left]) > 0 ? left + 1 : left;
+                if (plan.compare(heap[worst], heap[index]) <= 0) {
+                    return;
+                }
+                swap(index, worst);
+                index = worst;
+            }
+        }
+
+        private void swap(int a, int b) {
+            int row = heap[a];
+            heap[a] = heap[b];
+            heap[b] = row;
+        }
+    }
+
+    private TaskColumnView view(int row) {
+        boolean completed = (completedWords[row >>> 6] & (1L << row)) != 0;
+        return new TaskColumnView(ids[row], dictionary.get(titleCodes[row]), fromMicros(createdAt[row]), completed,
+                dueAt[row] == NO_DUE ? null : fromMicros(dueAt[row]));
+    }
+
+    private int encode(String title) {
+        Integer code = codes.get(title);
+        if (code == null) {
+            code = dictionary.size();
+            dictionary.add(title);
+            codes.put(title, code);
+        }
+        return code;
+    }
+
+    private void ensureCapacity(int required) {
+        if (required <= ids.length) {
+            return;
+        }
+        int capacity = Math.max(required, ids.length + (ids.length >> 1));
+        ids = Arrays.copyOf(ids, capacity);
+        createdAt = Arrays.copyOf(createdAt, capacity);
+        dueAt = Arrays.copyOf(dueAt, capacity);
+        titleCodes = Arrays.copyOf(titleCodes, capacity);
+        completedWords = Arrays.copyOf(completedWords, wordsFor(capacity));
+    }
+
+    private static int wordsFor(int rows) {
+        return (rows + 63) >>> 6;
+    }
+
+    static long toMicros(LocalDateTime value) {
+        return ChronoUnit.MICROS.between(LocalDateTime.of(1970, 1, 1, 0, 0), value);
+    }
+
+    static LocalDateTime fromMicros(long micros) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000L),
+                (int) Math.floorMod(micros, 1_000_000L) * 1000, ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,207 @@
+package edu.icet.ecom.query;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory label filter over tasks. Each task gets a row number the first time it is seen, and every label, as well
+ * as completion, is a {@link CompressedBitmap} of rows. A filter intersects or unites the bitmaps of its labels,
+ * smallest first, then applies completion.
+ * <p>
+ * Rows are never reused, so row order is the order tasks were first seen: ascending id for the initial load and
+ * creation order afterwards. Filters return the highest rows first, newest tasks first. A deleted task is cleared from
+ * every label bitmap, which costs one lookup per label in use.
+ * <p>
+ * Reads run concurrently; updates are serialised and exclude reads.
+ */
+public class TaskLabelIndex {
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final LongIntHashMap rowsById;
+    private long[] ids;
+    private int rows;
+    private int size;
+
+    private final Map<String, CompressedBitmap> rowsByLabel = new HashMap<>();
+    private final CompressedBitmap completed = new CompressedBitmap();
+
+    public TaskLabelIndex() {
+        this(1024);
+    }
+
+    public TaskLabelIndex(int expectedTasks) {
+        int capacity = Math.max(64, expectedTasks);
+        ids = new long[capacity];
+        rowsById = new LongIntHashMap(capacity);
+    }
+
+    public void upsertTask(long id, boolean isCompleted) {
+        lock.writeLock().lock();
+        try {
+            int row = rowsById.get(id);
+            if (row == LongIntHashMap.MISSING) {
+                if (rows == ids.length) {
+                    ids = Arrays.copyOf(ids, rows + (rows >> 1));
+                }
+                row = rows++;
+                ids[row] = id;
+                rowsById.put(id, row);
+                size++;
+            }
+            if (isCompleted) {
+                completed.add(row);
+            } else {
+                completed.remove(row);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void removeTask(long id) {
+        lock.writeLock().lock();
+        try {
+            int row = rowsById.get(id);
+            if (row == LongIntHashMap.MISSING) {
+                return;
+            }
+            rowsById.remove(id);
+            completed.remove(row);
+            size--;
+
+            Iterator<CompressedBitmap> bitmaps = rowsByLabel.values().iterator();
+            while (bitmaps.hasNext()) {
+                CompressedBitmap bitmap = bitmaps.next();
+                if (bitmap.remove(row) && bitmap.isEmpty()) {
+                    bitmaps.remove();
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Labels of tasks the index does not hold, such as deleted ones, are ignored.
+     */
+    public void addLabels(long id, Collection<String> labels) {
+        lock.writeLock().lock();
+        try {
+            int row = rowsById.get(id);
+            if (row == LongIntHashMap.MISSING) {
+                return;
+            }
+            for (String label : labels) {
+                rowsByLabel.computeIfAbsent(label, key -> new CompressedBitmap()).add(row);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Replaces the task's labels. Like a delete, this costs one lookup per label in use.
+     *
+     * @return whether the index holds the task; if not, the labels are ignored
+     */
+    public boolean setLabels(long id, Collection<String> labels) {
+        lock.writeLock().lock();
+        try {
+            int row = rowsById.get(id);
+            if (row == LongIntHashMap.MISSING) {
+                return false;
+            }
+            Set<String> wanted = new HashSet<>(labels);
+            Iterator<Map.Entry<String, CompressedBitmap>> bitmaps = rowsByLabel.entrySet().iterator();
+            while (bitmaps.hasNext()) {
+                Map.Entry<String, CompressedBitmap> bitmap = bitmaps.next();
+                if (!wanted.contains(bitmap.getKey()) && bitmap.getValue().remove(row) && bitmap.getValue().isEmpty()) {
+                    bitmaps.remove();
+                }
+            }
+            for (String label : wanted) {
+                rowsByLabel.computeIfAbsent(label, key -> new CompressedBitmap()).add(row);
+            }
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @param matchAll  whether a task needs every label rather than any of them
+     * @param completed completion to filter on, or {@code null} for both
+     * @return up to {@code limit} matching task ids, newest first, and the number of matches
+     */
+    public TaskLabelQueryResult query(Collection<String> labels, boolean matchAll, Boolean completed, int limit) {
+        if (labels.isEmpty()) {
+            throw new IllegalArgumentException("At least one label is required");
+        }
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Limit must be positive");
+        }
+
+        lock.readLock().lock();
+        try {
+            List<CompressedBitmap> bitmaps = new ArrayList<>(labels.size());
+            for (String label : labels) {
+                CompressedBitmap bitmap = rowsByLabel.get(label);
+                if (bitmap != null) {
+                    bitmaps.add(bitmap);
+                } else if (matchAll) {
+                    return new TaskLabelQueryResult(List.of(), 0);
+                }
+            }
+            if (bitmaps.isEmpty()) {
+                return new TaskLabelQueryResult(List.of(), 0);
+            }
+
+            // Intersections only shrink, so starting from the smallest keeps every step small.
+            bitmaps.sort(Comparator.comparingLong(CompressedBitmap::cardinality));
+            CompressedBitmap matched = bitmaps.get(0);
+            for (int i = 1; i < bitmaps.size(); i++) {
+                matched = matchAll ? matched.and(bitmaps.get(i)) : matched.or(bitmaps.get(i));
+            }
+            if (completed != null) {
+                matched = completed ? matched.and(this.completed) : matched.andNot(this.completed);
+            }
+
+            int[] top = matched.largest(limit);
+            List<Long> taskIds = new ArrayList<>(top.length);
+            for (int row : top) {
+                taskIds.add(ids[row]);
+            }
+            return new TaskLabelQueryResult(taskIds, matched.cardinality());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int labelCount() {
+        lock.readLock().lock();
+        try {
+            return rowsByLabel.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package edu.icet.ecom.query;
+
+import java.util.List;
+
+/**
+ * @param taskIds the first {@code limit} matching task ids, newest first
+ * @param matched how many tasks matched, regardless of the limit
+ */
+public record TaskLabelQueryResult(List<Long> taskIds, long matched) {
+}
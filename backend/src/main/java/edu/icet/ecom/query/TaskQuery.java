@@ -0,0 +1,38 @@
+package edu.icet.ecom.query;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+/**
+ * Filter, order and size of a {@link TaskColumns} query. Unset filters match every task; time ranges include their
+ * start and exclude their end.
+ */
+@Value
+@Builder
+public class TaskQuery {
+
+    Boolean completed;
+    LocalDateTime createdFrom;
+    LocalDateTime createdTo;
+
+    /**
+     * Only tasks with a due date before this.
+     */
+    LocalDateTime dueBefore;
+
+    /**
+     * Case-insensitive substring of the title.
+     */
+    String titleContains;
+
+    @Builder.Default
+    TaskSortField sort = TaskSortField.CREATED_AT;
+
+    @Builder.Default
+    boolean descending = true;
+
+    @Builder.Default
+    int limit = 20;
+}
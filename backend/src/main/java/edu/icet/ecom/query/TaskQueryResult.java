@@ -0,0 +1,11 @@
+package edu.icet.ecom.query;
+
+import edu.icet.ecom.repository.projection.TaskColumnView;
+
+import java.util.List;
+
+/**
+ * @param matched how many tasks passed the filters, of which {@code tasks} holds the first {@code limit}
+ */
+public record TaskQueryResult(List<TaskColumnView> tasks, long matched) {
+}
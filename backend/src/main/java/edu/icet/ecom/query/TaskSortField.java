@@ -0,0 +1,23 @@
+package edu.icet.ecom.query;
+
+import java.util.Arrays;
+
+public enum TaskSortField {
+
+    ID("id"),
+    CREATED_AT("createdAt"),
+    DUE_AT("dueAt");
+
+    private final String parameter;
+
+    TaskSortField(String parameter) {
+        this.parameter = parameter;
+    }
+
+    public static TaskSortField fromParameter(String parameter) {
+        return Arrays.stream(values())
+                .filter(field -> field.parameter.equals(parameter))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unsupported sort field: " + parameter));
+    }
+}
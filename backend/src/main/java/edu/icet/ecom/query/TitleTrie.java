@@ -0,0 +1,604 @@
+package edu.icet.ecom.query;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Case-insensitive prefix index over the titles of open tasks, for autocomplete. Tasks with the same title, ignoring
+ * case, share one entry, ranked by its most recently created open task and shown as the title of the latest task
+ * added to it.
+ * <p>
+ * The index is a radix trie stored as primitive arrays indexed by node. A node's label is a range of the title of one
+ * of the entries below it, so a label costs its bounds plus its first character, kept to pick children by. Every node
+ * whose subtree holds more than {@code maxSuggestions} entries keeps its best entries, most recent first, so a lookup
+ * costs one walk down the prefix. Smaller subtrees are ranked on the fly. A change updates those lists along the path
+ * of the changed title only.
+ * <p>
+ * Reads run concurrently; updates are serialised and exclude reads.
+ */
+public class TitleTrie {
+
+    private static final int NONE = -1;
+    private static final int ROOT = 0;
+
+    private final int maxSuggestions;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private int[] labelEntry;
+    private int[] labelStart;
+    private int[] labelEnd;
+    private char[] labelFirst;
+    private int[] firstChild;
+    private int[] nextSibling;
+    private int[] terminal;
+    private int[] entryCount;
+    private int[][] best;
+    private int nodes;
+    private int freeNodes = NONE;
+
+    private String[] titles;
+    private long[] latest;
+    private long[] soleTask;
+    private int[] openTasks;
+    private int entries;
+    private int[] freeEntries = new int[16];
+    private int freeEntryCount;
+
+    /**
+     * Task id and creation time pairs of the entries with more than one open task, in the first
+     * {@code 2 * openTasks} slots of an array that grows by doubling.
+     */
+    private final Map<Integer, long[]> sharedEntries = new HashMap<>();
+    private final LongIntHashMap entriesByTask;
+    private int[] path = new int[64];
+    private int pathLength;
+
+    public TitleTrie(int maxSuggestions) {
+        this(maxSuggestions, 1024);
+    }
+
+    public TitleTrie(int maxSuggestions, int expectedTasks) {
+        if (maxSuggestions <= 0) {
+            throw new IllegalArgumentException("maxSuggestions must be positive");
+        }
+        this.maxSuggestions = maxSuggestions;
+        int capacity = Math.max(64, expectedTasks);
+        int nodeCapacity = capacity * 2;
+        labelEntry = new int[nodeCapacity];
+        labelStart = new int[nodeCapacity];
+        labelEnd = new int[nodeCapacity];
+        labelFirst = new char[nodeCapacity];
+        firstChild = new int[nodeCapacity];
+        nextSibling = new int[nodeCapacity];
+        terminal = new int[nodeCapacity];
+        entryCount = new int[nodeCapacity];
+        best = new int[nodeCapacity][];
+        titles = new String[capacity];
+        latest = new long[capacity];
+        soleTask = new long[capacity];
+        openTasks = new int[capacity];
+        entriesByTask = new LongIntHashMap(capacity);
+
+        nodes = 1;
+        labelEntry[ROOT] = NONE;
+        firstChild[ROOT] = NONE;
+        nextSibling[ROOT] = NONE;
+        terminal[ROOT] = NONE;
+    }
+
+    /**
+     * Adds the open task, or moves it to its new title.
+     */
+    public void put(long taskId, String title, LocalDateTime createdAt) {
+        long created = toMicros(createdAt);
+        lock.writeLock().lock();
+        try {
+            int current = entriesByTask.get(taskId);
+            if (current != LongIntHashMap.MISSING) {
+                if (titles[current].equals(title)) {
+                    return;
+                }
+                removeTask(taskId, current);
+            }
+            addTask(taskId, title, created);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long taskId) {
+        lock.writeLock().lock();
+        try {
+            int entry = entriesByTask.get(taskId);
+            if (entry != LongIntHashMap.MISSING) {
+                removeTask(taskId, entry);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return up to {@code limit} titles starting with {@code prefix}, ignoring case, most recent first
+     */
+    public List<String> suggest(String prefix, int limit) {
+        if (limit <= 0 || limit > maxSuggestions) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + maxSuggestions);
+        }
+
+        lock.readLock().lock();
+        try {
+            int node = ROOT;
+            int depth = 0;
+            while (depth < prefix.length()) {
+                int child = child(node, fold(prefix.charAt(depth)));
+                if (child == NONE) {
+                    return List.of();
+                }
+                String label = titles[labelEntry[child]];
+                for (int i = labelStart[child]; i < labelEnd[child] && depth < prefix.length(); i++, depth++) {
+                    if (fold(label.charAt(i)) != fold(prefix.charAt(depth))) {
+                        return List.of();
+                    }
+                }
+                node = child;
+            }
+
+            int[] ranked = best[node] != null ? best[node] : rank(node);
+            List<String> suggestions = new ArrayList<>(Math.min(limit, ranked.length));
+            for (int i = 0; i < ranked.length && i < limit; i++) {
+                suggestions.add(titles[ranked[i]]);
+            }
+            return suggestions;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return the number of distinct titles
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return entryCount[ROOT];
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void addTask(long taskId, String title, long created) {
+        int node = find(title);
+        int entry = node != NONE ? terminal[node] : NONE;
+
+        if (entry == NONE) {
+            entry = newEntry(taskId, title, created);
+            node = insert(title, entry);
+            terminal[node] = entry;
+            for (int i = 0; i < pathLength; i++) {
+                entryCount[path[i]]++;
+            }
+        } else {
+            long[] shared = sharedEntries.get(entry);
+            if (shared == null) {
+                shared = new long[8];
+                shared[0] = soleTask[entry];
+                shared[1] = latest[entry];
+                sharedEntries.put(entry, shared);
+            } else if (shared.length == openTasks[entry] * 2) {
+                shared = Arrays.copyOf(shared, shared.length * 2);
+                sharedEntries.put(entry, shared);
+            }
+            shared[openTasks[entry] * 2] = taskId;
+            shared[openTasks[entry] * 2 + 1] = created;
+            openTasks[entry]++;
+            if (created < latest[entry]) {
+                entriesByTask.put(taskId, entry);
+                return;
+            }
+            latest[entry] = created;
+            titles[entry] = title;
+        }
+
+        entriesByTask.put(taskId, entry);
+        promoteAlongPath(entry);
+    }
+
+    private void removeTask(long taskId, int entry) {
+        entriesByTask.remove(taskId);
+        find(titles[entry]);
+
+        if (openTasks[entry] > 1) {
+            long[] shared = sharedEntries.get(entry);
+            int last = (openTasks[entry] - 1) * 2;
+            int slot = 0;
+            while (shared[slot] != taskId) {
+                slot += 2;
+            }
+            long removedCreated = shared[slot + 1];
+            shared[slot] = shared[last];
+            shared[slot + 1] = shared[last + 1];
+            openTasks[entry]--;
+
+            if (openTasks[entry] == 1) {
+                sharedEntries.remove(entry);
+                soleTask[entry] = shared[0];
+            }
+            if (removedCreated == latest[entry]) {
+                long newest = Long.MIN_VALUE;
+                for (int i = 1; i < last; i += 2) {
+                    newest = Math.max(newest, shared[i]);
+                }
+                if (newest != latest[entry]) {
+                    latest[entry] = newest;
+                    demoteAlongPath(entry);
+                }
+            }
+            return;
+        }
+
+        int node = path[pathLength - 1];
+        terminal[node] = NONE;
+        for (int i = 0; i < pathLength; i++) {
+            entryCount[path[i]]--;
+        }
+
+        // Drop nodes left without titles, then fold a remaining pass-through node into its only child.
+        while (node != ROOT && terminal[node] == NONE && firstChild[node] == NONE) {
+            int parent = path[pathLength - 2];
+            replaceChild(parent, node, NONE);
+            freeNode(node);
+            pathLength--;
+            node = parent;
+        }
+        if (node != ROOT && terminal[node] == NONE && nextSibling[firstChild[node]] == NONE) {
+            int child = firstChild[node];
+            labelStart[child] = labelStart[node];
+            labelFirst[child] = labelFirst[node];
+            replaceChild(path[pathLength - 2], node, child);
+            freeNode(node);
+            path[pathLength - 1] = child;
+        }
+
+        // Labels may point into the removed title; point them at a title still below them.
+        for (int i = 1; i < pathLength; i++) {
+            if (labelEntry[path[i]] == entry) {
+                labelEntry[path[i]] = anyEntryBelow(path[i]);
+            }
+        }
+        demoteAlongPath(entry);
+        freeEntry(entry);
+    }
+
+    /**
+     * Walks down {@code title}, recording the nodes passed in {@link #path}.
+     *
+     * @return the node the title ends at, or {@link #NONE} if it ends inside a label or leaves the trie
+     */
+    private int find(String title) {
+        pathLength = 0;
+        pushPath(ROOT);
+        int node = ROOT;
+        int depth = 0;
+        while (depth < title.length()) {
+            int child = child(node, fold(title.charAt(depth)));
+            if (child == NONE) {
+                return NONE;
+            }
+            String label = titles[labelEntry[child]];
+            for (int i = labelStart[child]; i < labelEnd[child]; i++, depth++) {
+                if (depth == title.length() || fold(label.charAt(i)) != fold(title.charAt(depth))) {
+                    return NONE;
+                }
+            }
+            node = child;
+            pushPath(node);
+        }
+        return node;
+    }
+
+    /**
+     * Adds the nodes needed for {@code title}, splitting a label where the title leaves it.
+     *
+     * @return the node the title ends at, with the path to it in {@link #path}
+     */
+    private int insert(String title, int entry) {
+        pathLength = 0;
+        pushPath(ROOT);
+        int node = ROOT;
+        int depth = 0;
+        while (depth < title.length()) {
+            int child = child(node, fold(title.charAt(depth)));
+            if (child == NONE) {
+                int leaf = newNode(entry, depth, title.length());
+                addChild(node, leaf);
+                pushPath(leaf);
+                return leaf;
+            }
+
+            String label = titles[labelEntry[child]];
+            int end = labelEnd[child];
+            while (depth < end && depth < title.length() && fold(label.charAt(depth)) == fold(title.charAt(depth))) {
+                depth++;
+            }
+            if (depth == end) {
+                node = child;
+                pushPath(node);
+                continue;
+            }
+
+            int split = newNode(labelEntry[child], labelStart[child], depth);
+            replaceChild(node, child, split);
+            labelStart[child] = depth;
+            labelFirst[child] = fold(label.charAt(depth));
+            nextSibling[child] = NONE;
+            firstChild[split] = child;
+            entryCount[split] = entryCount[child];
+            pushPath(split);
+            if (depth == title.length()) {
+                return split;
+            }
+            int leaf = newNode(entry, depth, title.length());
+            addChild(split, leaf);
+            pushPath(leaf);
+            return leaf;
+        }
+        return node;
+    }
+
+    /**
+     * Updates the lists along {@link #path} for an entry that was added or became more recent. A list that already
+     * exists only needs the entry moved into place.
+     */
+    private void promoteAlongPath(int entry) {
+        for (int i = pathLength - 1; i >= 0; i--) {
+            int node = path[i];
+            if (entryCount[node] <= maxSuggestions) {
+                best[node] = null;
+            } else if (best[node] == null) {
+                best[node] = rank(node);
+            } else {
+                promote(best[node], entry);
+            }
+        }
+    }
+
+    /**
+     * Updates the lists along {@link #path} for an entry that was removed or became less recent. Only the lists that
+     * held it need ranking again, from their children's lists.
+     */
+    private void demoteAlongPath(int entry) {
+        for (int i = pathLength - 1; i >= 0; i--) {
+            int node = path[i];
+            if (entryCount[node] <= maxSuggestions) {
+                best[node] = null;
+            } else if (best[node] == null || indexOf(best[node], entry) >= 0) {
+                best[node] = rank(node);
+            }
+        }
+    }
+
+    /**
+     * Moves {@code entry} up to its place in a full ranking, entering it if it was not ranked yet.
+     */
+    private void promote(int[] ranked, int entry) {
+        int position = indexOf(ranked, entry);
+        if (position < 0) {
+            position = ranked.length - 1;
+            if (!ranksBefore(entry, ranked[position])) {
+                return;
+            }
+        }
+        while (position > 0 && ranksBefore(entry, ranked[position - 1])) {
+            ranked[position] = ranked[position - 1];
+            position--;
+        }
+        ranked[position] = entry;
+    }
+
+    private static int indexOf(int[] ranked, int entry) {
+        for (int i = 0; i < ranked.length; i++) {
+            if (ranked[i] == entry) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * The best entries of the subtree from its own title and its children's lists, or all entries of children too
+     * small to keep one.
+     */
+    private int[] rank(int node) {
+        int[] ranked = new int[maxSuggestions];
+        int size = 0;
+        if (terminal[node] != NONE) {
+            size = offer(ranked, size, terminal[node]);
+        }
+        for (int child = firstChild[node]; child != NONE; child = nextSibling[child]) {
+            if (best[child] != null) {
+                for (int entry : best[child]) {
+                    // The list is ranked, so once one entry misses out the rest do too.
+                    if (size == ranked.length && !ranksBefore(entry, ranked[size - 1])) {
+                        break;
+                    }
+                    size = offer(ranked, size, entry);
+                }
+            } else {
+                size = offerAll(ranked, size, child);
+            }
+        }
+        return size == ranked.length ? ranked : Arrays.copyOf(ranked, size);
+    }
+
+    private int offerAll(int[] ranked, int size, int node) {
+        if (terminal[node] != NONE) {
+            size = offer(ranked, size, terminal[node]);
+        }
+        for (int child = firstChild[node]; child != NONE; child = nextSibling[child]) {
+            size = offerAll(ranked, size, child);
+        }
+        return size;
+    }
+
+    /**
+     * Inserts {@code entry} into the ranking if it is among the best.
+     *
+     * @return the new size of the ranking
+     */
+    private int offer(int[] ranked, int size, int entry) {
+        int position = size;
+        while (position > 0 && ranksBefore(entry, ranked[position - 1])) {
+            position--;
+        }
+        if (position == ranked.length) {
+            return size;
+        }
+        int moved = Math.min(size, ranked.length - 1) - position;
+        System.arraycopy(ranked, position, ranked, position + 1, moved);
+        ranked[position] = entry;
+        return Math.min(size + 1, ranked.length);
+    }
+
+    private boolean ranksBefore(int entry, int other) {
+        return latest[entry] != latest[other] ? latest[entry] > latest[other] : entry < other;
+    }
+
+    private int child(int node, char first) {
+        for (int child = firstChild[node]; child != NONE; child = nextSibling[child]) {
+            if (labelFirst[child] == first) {
+                return child;
+            }
+        }
+        return NONE;
+    }
+
+    private void addChild(int parent, int child) {
+        nextSibling[child] = firstChild[parent];
+        firstChild[parent] = child;
+    }
+
+    /**
+     * Puts {@code replacement} in the place of {@code child} among its siblings, or unlinks it for {@link #NONE}.
+     */
+    private void replaceChild(int parent, int child, int replacement) {
+        int next = nextSibling[child];
+        if (replacement != NONE) {
+            nextSibling[replacement] = next;
+            next = replacement;
+        }
+        if (firstChild[parent] == child) {
+            firstChild[parent] = next;
+            return;
+        }
+        int previous = firstChild[parent];
+        while (nextSibling[previous] != child) {
+            previous = nextSibling[previous];
+        }
+        nextSibling[previous] = next;
+    }
+
+    private int anyEntryBelow(int node) {
+        while (terminal[node] == NONE) {
+            node = firstChild[node];
+        }
+        return terminal[node];
+    }
+
+    private int newNode(int entry, int start, int end) {
+        int node;
+        if (freeNodes != NONE) {
+            node = freeNodes;
+            freeNodes = nextSibling[node];
+        } else {
+            if (nodes == labelEntry.length) {
+                growNodes(nodes + (nodes >> 1));
+            }
+            node = nodes++;
+        }
+        labelEntry[node] = entry;
+        labelStart[node] = start;
+        labelEnd[node] = end;
+        labelFirst[node] = fold(titles[entry].charAt(start));
+        firstChild[node] = NONE;
+        nextSibling[node] = NONE;
+        terminal[node] = NONE;
+        entryCount[node] = 0;
+        best[node] = null;
+        return node;
+    }
+
+    private void freeNode(int node) {
+        best[node] = null;
+        labelEntry[node] = NONE;
+        nextSibling[node] = freeNodes;
+        freeNodes = node;
+    }
+
+    private int newEntry(long taskId, String title, long created) {
+        int entry;
+        if (freeEntryCount > 0) {
+            entry = freeEntries[--freeEntryCount];
+        } else {
+            if (entries == titles.length) {
+                int capacity = entries + (entries >> 1);
+                titles = Arrays.copyOf(titles, capacity);
+                latest = Arrays.copyOf(latest, capacity);
+                soleTask = Arrays.copyOf(soleTask, capacity);
+                openTasks = Arrays.copyOf(openTasks, capacity);
+            }
+            entry = entries++;
+        }
+        titles[entry] = title;
+        latest[entry] = created;
+        soleTask[entry] = taskId;
+        openTasks[entry] = 1;
+        return entry;
+    }
+
+    private void freeEntry(int entry) {
+        titles[entry] = null;
+        openTasks[entry] = 0;
+        if (freeEntryCount == freeEntries.length) {
+            freeEntries = Arrays.copyOf(freeEntries, freeEntryCount * 2);
+        }
+        freeEntries[freeEntryCount++] = entry;
+    }
+
+    private void growNodes(int capacity) {
+        labelEntry = Arrays.copyOf(labelEntry, capacity);
+        labelStart = Arrays.copyOf(labelStart, capacity);
+        labelEnd = Arrays.copyOf(labelEnd, capacity);
+        labelFirst = Arrays.copyOf(labelFirst, capacity);
+        firstChild = Arrays.copyOf(firstChild, capacity);
+        nextSibling = Arrays.copyOf(nextSibling, capacity);
+        terminal = Arrays.copyOf(terminal, capacity);
+        entryCount = Arrays.copyOf(entryCount, capacity);
+        best = Arrays.copyOf(best, capacity);
+    }
+
+    private void pushPath(int node) {
+        if (pathLength == path.length) {
+            path = Arrays.copyOf(path, pathLength * 2);
+        }
+        path[pathLength++] = node;
+    }
+
+    private static char fold(char c) {
+        if (c < 128) {
+            return c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+        }
+        return Character.toLowerCase(Character.toUpperCase(c));
+    }
+
+    private static long toMicros(LocalDateTime dateTime) {
+        return dateTime == null ? Long.MIN_VALUE
+                : dateTime.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + dateTime.getNano() / 1_000;
+    }
+}
@@ -0,0 +1,156 @@
+package edu.icet.ecom.repository;
+
+import edu.icet.ecom.entity.CompressedText;
+import edu.icet.ecom.entity.Task;
+import edu.icet.ecom.entity.TaskChangeType;
+import edu.icet.ecom.id.IdGenerator;
+import edu.icet.ecom.repository.projection.TaskSummaryView;
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.r2dbc.core.DatabaseClient.GenericExecuteSpec;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+/**
+ * R2DBC access to the same {@code task} and {@code task_change} tables that {@link TaskRepository} maps through JPA.
+ * Like the JPA mapping, every read skips tombstoned tasks.
+ */
+@Repository
+@Profile("reactive")
+@RequiredArgsConstructor
+public class ReactiveTaskRepository {
+
+    private final DatabaseClient databaseClient;
+    private final IdGenerator idGenerator;
+
+    public Mono<Task> findById(Long id) {
+        return databaseClient.sql("SELECT id, title, description, created_at, completed, due_at, completed_at " +
+                        "FROM task WHERE id = :id AND deleted = false")
+                .bind("id", id)
+                .map(ReactiveTaskRepository::toTask)
+                .one();
+    }
+
+    public Flux<TaskSummaryView> findRecentUncompletedSummaries(int headLength, int limit) {
+        return databaseClient.sql("SELECT id, title, SUBSTRING(description, 1, :headLength) AS description_head, " +
+                        "created_at, completed, due_at FROM task WHERE deleted = false AND completed = false " +
+                        "ORDER BY created_at DESC LIMIT :limit")
+                .bind("headLength", headLength)
+                .bind("limit", limit)
+                .map(row -> new TaskSummaryView(
+                        row.get("id", Long.class),
+                        row.get("title", String.class),
+                        row.get("description_head", String.class),
+                        row.get("created_at", LocalDateTime.class),
+                        row.get("completed", Boolean.class),
+                        row.get("due_at", LocalDateTime.class)))
+                .all();
+    }
+
+    public Mono<Task> insert(Task task) {
+        if (task.getId() == null) {
+            task.setId(idGenerator.nextId());
+        }
+        GenericExecuteSpec spec = databaseClient.sql("INSERT INTO task (id, title, description, created_at, completed, due_at) " +
+                        "VALUES (:id, :title, :description, :createdAt, :completed, :dueAt)")
+                .bind("id", task.getId())
+                .bind("title", task.getTitle())
+                .bind("createdAt", task.getCreatedAt())
+                .bind("completed", task.getCompleted());
+        spec = bindNullable(spec, "description", storedDescription(task), String.class);
+        spec = bindNullable(spec, "dueAt", task.getDueAt(), LocalDateTime.class);
+
+        return spec.fetch().rowsUpdated().thenReturn(task);
+    }
+
+    public Mono<Long> update(Task task) {
+        GenericExecuteSpec spec = databaseClient.sql("UPDATE task SET title = :title, description = :description, " +
+                        "due_at = :dueAt WHERE id = :id")
+                .bind("id", task.getId())
+                .bind("title", task.getTitle());
+        spec = bindNullable(spec, "description", storedDescription(task), String.class);
+        spec = bindNullable(spec, "dueAt", task.getDueAt(), LocalDateTime.class);
+
+        return spec.fetch().rowsUpdated();
+    }
+
+    public Mono<Long> markCompleted(Long id, LocalDateTime completedAt) {
+        return databaseClient.sql("UPDATE task SET completed = true, completed_at = :completedAt " +
+                        "WHERE id = :id AND completed = false AND deleted = false")
+                .bind("id", id)
+                .bind("completedAt", completedAt)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    public Mono<Long> markDeleted(Long id, LocalDateTime deletedAt) {
+        return databaseClient.sql("UPDATE task SET deleted = true, deleted_at = :deletedAt " +
+                        "WHERE id = :id AND deleted = false")
+                .bind("id", id)
+                .bind("deletedAt", deletedAt)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    /**
+     * Locks the {@code task_change_lock} row first, like the JPA change log, so entries become visible in sequence
+     * order. Call it after the transaction's other writes, so the lock is never held while waiting on a task row.
+     */
+    public Mono<Long> insertChange(Task task, TaskChangeType changeType) {
+        GenericExecuteSpec spec = databaseClient.sql("INSERT INTO task_change " +
+                        "(task_id, change_type, title, description, completed, due_at, changed_at) " +
+                        "VALUES (:taskId, :changeType, :title, :description, :completed, :dueAt, :changedAt)")
+                .bind("taskId", task.getId())
+                .bind("changeType", changeType.name())
+                .bind("title", task.getTitle())
+                .bind("completed", task.getCompleted())
+                .bind("changedAt", LocalDateTime.now());
+        spec = bindNullable(spec, "description", storedDescription(task), String.class);
+        spec = bindNullable(spec, "dueAt", task.getDueAt(), LocalDateTime.class);
+
+        return lockChangeSequence().then(spec.fetch().rowsUpdated());
+    }
+
+    /**
+     * Creates the row locked before change entries are inserted unless it exists, for a schema that did not come from
+     * the migrations.
+     */
+    public Mono<Long> createChangeSequenceLock() {
+        return databaseClient.sql("INSERT IGNORE INTO task_change_lock (id) VALUES (1)")
+                .fetch()
+                .rowsUpdated();
+    }
+
+    private Mono<Void> lockChangeSequence() {
+        return databaseClient.sql("SELECT id FROM task_change_lock WHERE id = 1 FOR UPDATE")
+                .fetch()
+                .all()
+                .then();
+    }
+
+    private static GenericExecuteSpec bindNullable(GenericExecuteSpec spec, String name, Object value, Class<?> type) {
+        return value != null ? spec.bind(name, value) : spec.bindNull(name, type);
+    }
+
+    private static String storedDescription(Task task) {
+        CompressedText description = task.getDescriptionText();
+        return description != null ? description.stored() : null;
+    }
+
+    private static Task toTask(Readable row) {
+        return Task.builder()
+                .id(row.get("id", Long.class))
+                .title(row.get("title", String.class))
+                .descriptionText(CompressedText.fromStored(row.get("description", String.class)))
+                .createdAt(row.get("created_at", LocalDateTime.class))
+                .completed(row.get("completed", Boolean.class))
+                .dueAt(row.get("due_at", LocalDateTime.class))
+                .completedAt(row.get("completed_at", LocalDateTime.class))
+                .build();
+    }
+}
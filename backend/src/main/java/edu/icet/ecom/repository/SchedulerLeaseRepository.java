@@ -0,0 +1,60 @@
+package edu.icet.ecom.repository;
+
+import edu.icet.ecom.entity.SchedulerLease;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Leases are only ever changed by conditional updates of their row, so the database decides who holds one and the
+ * row lock taken by the update orders every holder's work after the previous holder's commit.
+ */
+@Repository
+public interface SchedulerLeaseRepository extends JpaRepository<SchedulerLease, String> {
+
+    /**
+     * Creates a free lease unless it exists. The migration that seeds the leases does not run where Hibernate
+     * generates the schema.
+     *
+     * @return 1 if the lease was created
+     */
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO scheduler_lease (name, token) VALUES (:name, 0)", nativeQuery = true)
+    int createIfMissing(@Param("name") String name);
+
+    /**
+     * Takes the lease when it is free or expired, or extends it when the owner already holds it. The token only grows
+     * when the owner changes.
+     *
+     * @return 1 if the owner now holds the lease
+     */
+    @Modifying
+    @Query(value = "UPDATE scheduler_lease " +
+            "SET token = CASE WHEN owner = :owner THEN token ELSE token + 1 END, " +
+            "owner = :owner, expires_at = :expiresAt " +
+            "WHERE name = :name AND (owner = :owner OR owner IS NULL OR expires_at < :now)", nativeQuery = true)
+    int acquire(@Param("name") String name,
+                @Param("owner") String owner,
+                @Param("now") LocalDateTime now,
+                @Param("expiresAt") LocalDateTime expiresAt);
+
+    @Query(value = "SELECT token FROM scheduler_lease WHERE name = :name AND owner = :owner", nativeQuery = true)
+    Optional<Long> findToken(@Param("name") String name, @Param("owner") String owner);
+
+    /**
+     * Extends the lease only if it is still held under the given token. Matching nothing means another instance took
+     * it over.
+     */
+    @Modifying
+    @Query(value = "UPDATE scheduler_lease SET expires_at = :expiresAt " +
+            "WHERE name = :name AND owner = :owner AND token = :token", nativeQuery = true)
+    int renew(@Param("name") String name,
+              @Param("owner") String owner,
+              @Param("token") long token,
+              @Param("expiresAt") LocalDateTime expiresAt);
+}
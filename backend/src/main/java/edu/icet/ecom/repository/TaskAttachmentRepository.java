@@ -0,0 +1,19 @@
+package edu.icet.ecom.repository;
+
+import edu.icet.ecom.entity.TaskAttachment;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface TaskAttachmentRepository extends JpaRepository<TaskAttachment, Long> {
+
+    List<TaskAttachment> findByTaskIdOrderByIdAsc(Long taskId);
+
+    @Query("SELECT DISTINCT a.sha256 FROM TaskAttachment a WHERE a.sha256 IN :hashes")
+    List<String> findReferencedSha256(@Param("hashes") Collection<String> hashes);
+}
@@ -0,0 +1,39 @@
+package edu.icet.ecom.repository;
+
+import edu.icet.ecom.entity.TaskChange;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface TaskChangeRepository extends JpaRepository<TaskChange, Long> {
+
+    List<TaskChange> findBySeqGreaterThanOrderBySeqAsc(Long seq, Pageable pageable);
+
+    /**
+     * Locks the {@code task_change_lock} row until the current transaction ends. Writers take it right before
+     * inserting change entries, so sequences are handed out in commit order.
+     */
+    @Query(value = "SELECT id FROM task_change_lock WHERE id = 1 FOR UPDATE", nativeQuery = true)
+    Integer lockSequence();
+
+    /**
+     * Creates the row locked by {@link #lockSequence()} unless it exists. The migration that seeds it does not run
+     * where Hibernate generates the schema.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT IGNORE INTO task_change_lock (id) VALUES (1)", nativeQuery = true)
+    int createSequenceLock();
+
+    @Query("SELECT c.seq FROM TaskChange c WHERE c.changedAt < :cutoff " +
+            "AND c.seq < (SELECT MAX(n.seq) FROM TaskChange n WHERE n.taskId = c.taskId) ORDER BY c.seq")
+    List<Long> findSupersededSeqsBefore(@Param("cutoff") LocalDateTime cutoff, Pageable pageable);
+}
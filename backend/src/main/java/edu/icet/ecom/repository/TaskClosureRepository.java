@@ -0,0 +1,141 @@
+package edu.icet.ecom.repository;
+
+import edu.icet.ecom.entity.TaskClosure;
+import edu.icet.ecom.repository.projection.SubtaskView;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Reads and set-based writes of the subtask trees. Every statement touches a whole subtree or ancestor chain at once
+ * through {@code task_closure}, so no operation walks the tree one level at a time.
+ * <p>
+ * The statements that change {@code task_closure} while reading it wrap the read in a derived table, which MySQL
+ * requires for a table that is both read and written by one statement.
+ */
+@Repository
+public interface TaskClosureRepository extends JpaRepository<TaskClosure, TaskClosure.Key> {
+
+    @Query("SELECT new edu.icet.ecom.repository.projection.SubtaskView(" +
+            "t.id, t.parentId, 0, t.title, t.completed, t.createdAt, t.dueAt, t.subtaskCount, t.openSubtaskCount) " +
+            "FROM Task t WHERE t.id = :taskId")
+    Optional<SubtaskView> findNode(@Param("taskId") Long taskId);
+
+    /**
+     * Tasks below the given one, level by level, read off the {@code (ancestor_id, depth, descendant_id)} index.
+     */
+    @Query("SELECT new edu.icet.ecom.repository.projection.SubtaskView(" +
+            "t.id, t.parentId, c.depth, t.title, t.completed, t.createdAt, t.dueAt, t.subtaskCount, " +
+            "t.openSubtaskCount) " +
+            "FROM TaskClosure c JOIN Task t ON t.id = c.descendantId " +
+            "WHERE c.ancestorId = :taskId AND c.depth BETWEEN 1 AND :maxDepth " +
+            "ORDER BY c.depth, c.descendantId")
+    List<SubtaskView> findSubtree(@Param("taskId") Long taskId,
+                                  @Param("maxDepth") int maxDepth,
+                                  Pageable pageable);
+
+    boolean existsByAncestorIdAndDescendantId(Long ancestorId, Long descendantId);
+
+    @Query("SELECT c.ancestorId FROM TaskClosure c WHERE c.descendantId = :taskId AND c.depth = 1")
+    Optional<Long> findParentId(@Param("taskId") Long taskId);
+
+    @Query(value = "SELECT t.id FROM task t JOIN task_closure c ON c.descendant_id = t.id " +
+            "WHERE c.ancestor_id = :taskId AND t.completed = false AND t.deleted = false", nativeQuery = true)
+    List<Long> findOpenSubtreeIds(@Param("taskId") Long taskId);
+
+    /**
+     * Pairs the task with itself unless it already is part of a tree.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = "INSERT INTO task_closure (ancestor_id, descendant_id, depth) " +
+            "SELECT :taskId, :taskId, 0 FROM DUAL WHERE NOT EXISTS (" +
+            "SELECT 1 FROM task_closure WHERE ancestor_id = :taskId AND descendant_id = :taskId)", nativeQuery = true)
+    int insertSelf(@Param("taskId") Long taskId);
+
+    /**
+     * Pairs every ancestor of the parent, the parent included, with every task of the subtree being attached.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = "INSERT INTO task_closure (ancestor_id, descendant_id, depth) " +
+            "SELECT a.ancestor_id, d.descendant_id, a.depth + d.depth + 1 " +
+            "FROM task_closure a JOIN task_closure d ON d.ancestor_id = :taskId " +
+            "WHERE a.descendant_id = :parentId", nativeQuery = true)
+    int link(@Param("taskId") Long taskId, @Param("parentId") Long parentId);
+
+    /**
+     * Removes the pairs between the task's ancestors and its subtree, leaving the subtree intact as its own tree.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = "DELETE FROM task_closure " +
+            "WHERE ancestor_id IN (SELECT ancestor_id FROM (" +
+            "SELECT ancestor_id FROM task_closure WHERE descendant_id = :taskId AND depth > 0) above) " +
+            "AND descendant_id IN (SELECT descendant_id FROM (" +
+            "SELECT descendant_id FROM task_closure WHERE ancestor_id = :taskId) below)", nativeQuery = true)
+    int unlink(@Param("taskId") Long taskId);
+
+    /**
+     * Shortens every path that runs through the task by one level, for taking it out of the middle of a tree.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = "UPDATE task_closure SET depth = depth - 1 " +
+            "WHERE ancestor_id IN (SELECT ancestor_id FROM (" +
+            "SELECT ancestor_id FROM task_closure WHERE descendant_id = :taskId AND depth > 0) above) " +
+            "AND descendant_id IN (SELECT descendant_id FROM (" +
+            "SELECT descendant_id FROM task_closure WHERE ancestor_id = :taskId AND depth > 0) below)",
+            nativeQuery = true)
+    int shortenPathsThrough(@Param("taskId") Long taskId);
+
+    @Modifying(flushAutomatically = true)
+    @Query(value = "DELETE FROM task_closure WHERE ancestor_id = :taskId OR descendant_id = :taskId",
+            nativeQuery = true)
+    int deleteTask(@Param("taskId") Long taskId);
+
+    /**
+     * Adds to the rollups of the task's ancestors from {@code minDepth} up; 0 includes the task itself.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = "UPDATE task SET subtask_count = subtask_count + :subtasks, " +
+            "open_subtask_count = open_subtask_count + :openSubtasks " +
+            "WHERE id IN (SELECT ancestor_id FROM task_closure WHERE descendant_id = :taskId AND depth >= :minDepth)",
+            nativeQuery = true)
+    int adjustRollups(@Param("taskId") Long taskId,
+                      @Param("minDepth") int minDepth,
+                      @Param("subtasks") int subtasks,
+                      @Param("openSubtasks") int openSubtasks);
+
+    @Modifying(flushAutomatically = true)
+    @Query(value = "UPDATE task SET parent_id = :parentId WHERE id = :taskId", nativeQuery = true)
+    int setParent(@Param("taskId") Long taskId, @Param("parentId") Long parentId);
+
+    @Modifying(flushAutomatically = true)
+    @Query(value = "UPDATE task SET parent_id = :parentId WHERE parent_id = :taskId", nativeQuery = true)
+    int reparentChildren(@Param("taskId") Long taskId, @Param("parentId") Long parentId);
+
+    @Modifying(flushAutomatically = true)
+    @Query(value = "UPDATE task SET parent_id = NULL, subtask_count = 0, open_subtask_count = 0 WHERE id = :taskId",
+            nativeQuery = true)
+    int clearTree(@Param("taskId") Long taskId);
+
+    /**
+     * Completes the task and every open task below it.
+     *
+     * @return the number of tasks this completed
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "UPDATE task SET completed = true, completed_at = :now " +
+            "WHERE completed = false AND deleted = false " +
+            "AND id IN (SELECT descendant_id FROM task_closure WHERE ancestor_id = :taskId)", nativeQuery = true)
+    int completeSubtree(@Param("taskId") Long taskId, @Param("now") LocalDateTime now);
+
+    @Modifying(flushAutomatically = true)
+    @Query(value = "UPDATE task SET open_subtask_count = 0 WHERE open_subtask_count <> 0 " +
+            "AND id IN (SELECT descendant_id FROM task_closure WHERE ancestor_id = :taskId)", nativeQuery = true)
+    int clearOpenSubtasks(@Param("taskId") Long taskId);
+}
@@ -0,0 +1,17 @@
+package edu.icet.ecom.repository;
+
+import edu.icet.ecom.entity.TaskCompletionRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface TaskCompletionRollupRepository extends JpaRepository<TaskCompletionRollup, LocalDateTime> {
+
+    List<TaskCompletionRollup> findByHourStartGreaterThanEqualOrderByHourStartAsc(LocalDateTime from);
+
+    Optional<TaskCompletionRollup> findTopByOrderByHourStartDesc();
+}
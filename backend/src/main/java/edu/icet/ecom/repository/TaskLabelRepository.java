@@ -0,0 +1,31 @@
+package edu.icet.ecom.repository;
+
+import edu.icet.ecom.entity.TaskLabel;
+import edu.icet.ecom.repository.projection.TaskLabelView;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface TaskLabelRepository extends JpaRepository<TaskLabel, Long> {
+
+    @Query("SELECT l.label FROM TaskLabel l WHERE l.taskId = :taskId ORDER BY l.label")
+    List<String> findLabelsByTaskId(@Param("taskId") Long taskId);
+
+    @Modifying
+    @Query("DELETE FROM TaskLabel l WHERE l.taskId = :taskId AND l.label IN :labels")
+    int deleteLabels(@Param("taskId") Long taskId, @Param("labels") Collection<String> labels);
+
+    /**
+     * Keyset page of all labels in id order, for building the in-memory label index.
+     */
+    @Query("SELECT new edu.icet.ecom.repository.projection.TaskLabelView(l.id, l.taskId, l.label) " +
+            "FROM TaskLabel l WHERE l.id > :afterId ORDER BY l.id")
+    List<TaskLabelView> findViewsAfter(@Param("afterId") Long afterId, Pageable pageable);
+}
@@ -1,15 +1,88 @@
 package edu.icet.ecom.repository;
 
 import edu.icet.ecom.entity.Task;
+import edu.icet.ecom.repository.projection.TaskColumnView;
+import edu.icet.ecom.repository.projection.TaskCompletionView;
+import edu.icet.ecom.repository.projection.TaskCountView;
+import edu.icet.ecom.repository.projection.TaskDueView;
+import edu.icet.ecom.repository.projection.TaskSummaryView;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
 public interface TaskRepository extends JpaRepository<Task, Long> {
 
-    @Query("SELECT t FROM Task t WHERE t.completed = false ORDER BY t.createdAt DESC")
-    List<Task> findTop5UncompletedTasksOrderByCreatedAtDesc();
+    @Query("SELECT new edu.icet.ecom.repository.projection.TaskSummaryView(" +
+            "t.id, t.title, SUBSTRING(t.description, 1, :headLength), t.createdAt, t.completed, t.dueAt) " +
+            "FROM Task t WHERE t.completed = false ORDER BY t.createdAt DESC")
+    List<TaskSummaryView> findRecentUncompletedSummaries(@Param("headLength") int headLength, Pageable pageable);
+
+    /**
+     * This and {@link #findOverdueSummaries} order by the full {@code (deleted, completed, ...)} index prefix even
+     * though the filter fixes its first two columns. MySQL reads the range in index order either way, but H2 only skips
+     * the sort when the ORDER BY names the prefix.
+     */
+    @Query("SELECT new edu.icet.ecom.repository.projection.TaskSummaryView(" +
+            "t.id, t.title, SUBSTRING(t.description, 1, :headLength), t.createdAt, t.completed, t.dueAt) " +
+            "FROM Task t WHERE t.completed = false ORDER BY t.deleted, t.completed, t.createdAt")
+    List<TaskSummaryView> findOldestUncompletedSummaries(@Param("headLength") int headLength, Pageable pageable);
+
+    @Query("SELECT new edu.icet.ecom.repository.projection.TaskSummaryView(" +
+            "t.id, t.title, SUBSTRING(t.description, 1, :headLength), t.createdAt, t.completed, t.dueAt) " +
+            "FROM Task t WHERE t.completed = false AND t.dueAt < :now ORDER BY t.deleted, t.completed, t.dueAt")
+    List<TaskSummaryView> findOverdueSummaries(@Param("now") LocalDateTime now,
+                                               @Param("headLength") int headLength,
+                                               Pageable pageable);
+
+    @Query("SELECT new edu.icet.ecom.repository.projection.TaskDueView(t.id, t.dueAt) FROM Task t " +
+            "WHERE t.completed = false AND t.dueAt < :until " +
+            "AND (t.dueAt > :afterDue OR (t.dueAt = :afterDue AND t.id > :afterId)) " +
+            "ORDER BY t.dueAt, t.id")
+    List<TaskDueView> findOpenDueAfter(@Param("afterDue") LocalDateTime afterDue,
+                                       @Param("afterId") Long afterId,
+                                       @Param("until") LocalDateTime until,
+                                       Pageable pageable);
+
+    @Query("SELECT new edu.icet.ecom.repository.projection.TaskCountView(t.completed, COUNT(t)) " +
+            "FROM Task t GROUP BY t.completed")
+    List<TaskCountView> countByCompleted();
+
+    @Query("SELECT new edu.icet.ecom.repository.projection.TaskColumnView(" +
+            "t.id, t.title, t.createdAt, t.completed, t.dueAt) " +
+            "FROM Task t WHERE t.id > :afterId ORDER BY t.id")
+    List<TaskColumnView> findColumnViewsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("SELECT new edu.icet.ecom.repository.projection.TaskCompletionView(t.id, t.createdAt, t.completedAt) " +
+            "FROM Task t WHERE t.completedAt >= :from AND t.completedAt < :to")
+    List<TaskCompletionView> findCompletionsBetween(@Param("from") LocalDateTime from,
+                                                    @Param("to") LocalDateTime to);
+
+    @Query("SELECT MIN(t.completedAt) FROM Task t")
+    LocalDateTime findFirstCompletedAt();
+
+    /**
+     * Native so that the tombstone restriction on {@link Task} does not hide the rows being looked for. Ordering by
+     * the full {@code (deleted, id)} index prefix lets the database read the batch straight off the index instead of
+     * sorting every tombstone.
+     */
+    @Query(value = "SELECT id FROM task WHERE deleted = true AND id > :afterId AND deleted_at < :cutoff " +
+            "ORDER BY deleted, id LIMIT :limit", nativeQuery = true)
+    List<Long> findPurgeableIdsAfter(@Param("afterId") Long afterId,
+                                     @Param("cutoff") LocalDateTime cutoff,
+                                     @Param("limit") int limit);
+
+    /**
+     * Only called with ids from {@link #findPurgeableIdsAfter}; tombstones are never cleared, so the ids are matched on
+     * the primary key alone.
+     */
+    @Modifying
+    @Query(value = "DELETE FROM task WHERE id IN (:ids)", nativeQuery = true)
+    int purgeDeleted(@Param("ids") List<Long> ids);
 }
@@ -0,0 +1,22 @@
+package edu.icet.ecom.repository;
+
+import edu.icet.ecom.entity.TaskTemplate;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface TaskTemplateRepository extends JpaRepository<TaskTemplate, Long> {
+
+    /**
+     * Templates with an occurrence at or before {@code until} that is not a task yet, read off the
+     * {@code (next_run_at, id)} index.
+     */
+    @Query("SELECT t FROM TaskTemplate t WHERE t.nextRunAt <= :until ORDER BY t.nextRunAt, t.id")
+    List<TaskTemplate> findDue(@Param("until") LocalDateTime until, Pageable pageable);
+}
@@ -0,0 +1,170 @@
+package edu.icet.ecom.repository.content;
+
+import edu.icet.ecom.config.TaskAttachmentProperties;
+import edu.icet.ecom.exception.AttachmentTooLargeException;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Content-addressed file store: each piece of content is kept once, at {@code objects/<first two hex digits>/<hash>}
+ * under the configured directory, where the hash is its SHA-256.
+ * <p>
+ * Writes stream through one fixed buffer into a temporary file, hashing as they go, are forced to disk and are then
+ * renamed into place, so an object path only ever names complete content. Temporary files live next to the objects so
+ * that the rename stays on one file system.
+ */
+@Component
+@Profile("!reactive & !logstore")
+public class ContentStore {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int SWEEP_BATCH_SIZE = 500;
+    private static final Pattern SHA_256 = Pattern.compile("[0-9a-f]{64}");
+    private static final HexFormat HEX = HexFormat.of();
+
+    private final Path objects;
+    private final Path incoming;
+
+    public ContentStore(TaskAttachmentProperties properties) {
+        Path root = Path.of(properties.getDirectory()).toAbsolutePath().normalize();
+        this.objects = root.resolve("objects");
+        this.incoming = root.resolve("incoming");
+    }
+
+    public record StoredContent(String sha256, long size) {
+    }
+
+    /**
+     * Reads {@code content} to the end and stores it.
+     *
+     * @throws AttachmentTooLargeException once more than {@code maxSize} bytes have been read; nothing is stored
+     */
+    public StoredContent write(InputStream content, long maxSize) throws IOException {
+        Files.createDirectories(incoming);
+        Path temp = Files.createTempFile(incoming, "upload-", ".tmp");
+        try {
+            MessageDigest digest = sha256Digest();
+            long size = 0;
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                byte[] buffer = new byte[BUFFER_SIZE];
+                ByteBuffer wrapped = ByteBuffer.wrap(buffer);
+                int read;
+                while ((read = content.read(buffer)) != -1) {
+                    size += read;
+                    if (size > maxSize) {
+                        throw new AttachmentTooLargeException(maxSize);
+                    }
+                    digest.update(buffer, 0, read);
+                    wrapped.clear().limit(read);
+                    while (wrapped.hasRemaining()) {
+                        channel.write(wrapped);
+                    }
+                }
+                channel.force(false);
+            }
+
+            String sha256 = HEX.formatHex(digest.digest());
+            Path target = path(sha256);
+            Files.createDirectories(target.getParent());
+            // Replacing an existing object swaps in identical bytes and refreshes its age for the sweep.
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+            return new StoredContent(sha256, size);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    public Path path(String sha256) {
+        if (!SHA_256.matcher(sha256).matches()) {
+            throw new IllegalArgumentException("Not a SHA-256 hex digest: " + sha256);
+        }
+        return objects.resolve(sha256.substring(0, 2)).resolve(sha256);
+    }
+
+    /**
+     * Deletes objects last modified before {@code cutoff} whose hash is not among those {@code referenced} returns for
+     * a batch of hashes, and temporary files abandoned before {@code cutoff}.
+     *
+     * @return the number of files deleted
+     */
+    public int sweep(Instant cutoff, Function<List<String>, ? extends Iterable<String>> referenced) throws IOException {
+        FileTime before = FileTime.from(cutoff);
+        int deleted = 0;
+
+        if (Files.isDirectory(incoming)) {
+            for (Path temp : olderThan(incoming, 1, before)) {
+                deleted += Files.deleteIfExists(temp) ? 1 : 0;
+            }
+        }
+        if (!Files.isDirectory(objects)) {
+            return deleted;
+        }
+
+        List<Path> candidates = olderThan(objects, 2, before);
+        for (int from = 0; from < candidates.size(); from += SWEEP_BATCH_SIZE) {
+            List<Path> batch = candidates.subList(from, Math.min(from + SWEEP_BATCH_SIZE, candidates.size()));
+            Set<String> inUse = new HashSet<>();
+            referenced.apply(batch.stream().map(object -> object.getFileName().toString()).toList())
+                    .forEach(inUse::add);
+
+            for (Path object : batch) {
+                // Checked again right before deleting: an upload of the same content renames a fresh file over this
+                // one before it saves its attachment.
+                if (!inUse.contains(object.getFileName().toString()) && isOlderThan(object, before)) {
+                    deleted += Files.deleteIfExists(object) ? 1 : 0;
+                }
+            }
+        }
+        return deleted;
+    }
+
+    private static List<Path> olderThan(Path directory, int depth, FileTime before) throws IOException {
+        List<Path> files = new ArrayList<>();
+        try (Stream<Path> walk = Files.walk(directory, depth)) {
+            for (Path file : (Iterable<Path>) walk::iterator) {
+                if (Files.isRegularFile(file) && isOlderThan(file, before)) {
+                    files.add(file);
+                }
+            }
+        }
+        return files;
+    }
+
+    private static boolean isOlderThan(Path file, FileTime before) throws IOException {
+        try {
+            return Files.getLastModifiedTime(file).compareTo(before) < 0;
+        } catch (NoSuchFileException ex) {
+            return false;
+        }
+    }
+
+    private static MessageDigest sha256Digest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package edu.icet.ecom.repository.logstore;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32C;
+
+/**
+ * A fixed-size, memory-mapped log file. Records are laid out as
+ * {@code [int bodyLength][int crc32c(body)][body]}; a zero length marks the end of the written part, so a file whose
+ * tail was never written, or was zeroed after a torn write, simply stops there.
+ */
+final class LogFile implements AutoCloseable {
+
+    static final int RECORD_HEADER_LENGTH = 8;
+
+    private final int fileNo;
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private Path path;
+    private int writePosition;
+    private long operations;
+
+    private LogFile(int fileNo, Path path, FileChannel channel, MappedByteBuffer buffer) {
+        this.fileNo = fileNo;
+        this.path = path;
+        this.channel = channel;
+        this.buffer = buffer;
+    }
+
+    static LogFile open(int fileNo, Path path, int capacity) throws IOException {
+        FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        int size = (int) Math.max(capacity, Math.min(channel.size(), Integer.MAX_VALUE));
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        return new LogFile(fileNo, path, channel, buffer);
+    }
+
+    int fileNo() {
+        return fileNo;
+    }
+
+    Path path() {
+        return path;
+    }
+
+    ByteBuffer buffer() {
+        return buffer;
+    }
+
+    int writePosition() {
+        return writePosition;
+    }
+
+    /**
+     * Operations stored in this file, live or superseded; used to estimate how much compaction would reclaim.
+     */
+    long operations() {
+        return operations;
+    }
+
+    void addOperations(int count) {
+        operations += count;
+    }
+
+    boolean fits(int bodyLength) {
+        return (long) writePosition + RECORD_HEADER_LENGTH + bodyLength <= buffer.capacity();
+    }
+
+    /**
+     * @return the file offset of the body, which operation offsets inside the body are relative to
+     */
+    int append(byte[] body) {
+        int bodyOffset = writePosition + RECORD_HEADER_LENGTH;
+        CRC32C crc = new CRC32C();
+        crc.update(body);
+
+        // Body first, length last: a reader never sees a length whose body is not yet in place.
+        buffer.put(bodyOffset, body);
+        buffer.putInt(writePosition + 4, (int) crc.getValue());
+        buffer.putInt(writePosition, body.length);
+        writePosition = bodyOffset + body.length;
+        return bodyOffset;
+    }
+
+    interface RecordVisitor {
+        void visit(int bodyOffset, int bodyLength) throws IOException;
+    }
+
+    /**
+     * Visits every intact record from the start and leaves the write position after the last one. Scanning stops at the
+     * first zero length, an impossible length or a checksum mismatch.
+     *
+     * @return whether the scan ended on a damaged record rather than a clean end
+     */
+    boolean scan(RecordVisitor visitor) throws IOException {
+        int position = 0;
+        int capacity = buffer.capacity();
+        boolean damaged = false;
+
+        while (position + RECORD_HEADER_LENGTH <= capacity) {
+            int length = buffer.getInt(position);
+            if (length == 0) {
+                break;
+            }
+            if (length < 0 || (long) position + RECORD_HEADER_LENGTH + length > capacity) {
+                damaged = true;
+                break;
+            }
+
+            int bodyOffset = position + RECORD_HEADER_LENGTH;
+            CRC32C crc = new CRC32C();
+            crc.update(buffer.slice(bodyOffset, length));
+            if ((int) crc.getValue() != buffer.getInt(position + 4)) {
+                damaged = true;
+                break;
+            }
+
+            visitor.visit(bodyOffset, length);
+            position = bodyOffset + length;
+        }
+
+        writePosition = position;
+        return damaged;
+    }
+
+    /**
+     * Zeroes everything after the write position, so bytes left behind by a torn write can never be read back as
+     * records once newer ones are appended in front of them.
+     */
+    void truncateTail() {
+        int capacity = buffer.capacity();
+        int position = writePosition;
+        while (position + 8 <= capacity) {
+            buffer.putLong(position, 0L);
+            position += 8;
+        }
+        while (position < capacity) {
+            buffer.put(position++, (byte) 0);
+        }
+    }
+
+    void force() {
+        buffer.force();
+    }
+
+    void moveTo(Path target) throws IOException {
+        Files.move(path, target, StandardCopyOption.ATOMIC_MOVE);
+        path = target;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    void delete() throws IOException {
+        close();
+        Files.deleteIfExists(path);
+    }
+}
@@ -0,0 +1,349 @@
+package edu.icet.ecom.repository.logstore;
+
+import edu.icet.ecom.entity.CompressedText;
+import edu.icet.ecom.entity.Task;
+import edu.icet.ecom.repository.TaskRepository;
+import edu.icet.ecom.repository.projection.TaskColumnView;
+import edu.icet.ecom.repository.projection.TaskCompletionView;
+import edu.icet.ecom.repository.projection.TaskCountView;
+import edu.icet.ecom.repository.projection.TaskDueView;
+import edu.icet.ecom.repository.projection.TaskSummaryView;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Example;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.repository.query.FluentQuery;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * {@link TaskRepository} on top of {@link TaskLogStore}, so the service layer runs unchanged without a database.
+ * <p>
+ * Inside a transaction, saves and deletes are buffered and become visible to other readers on commit; outside one they
+ * are appended immediately. Queries read committed state only. Sorting and query-by-example are not supported.
+ * Saving a tombstoned task deletes it straight away, because log compaction already reclaims the space a purge would.
+ */
+@Repository
+@Profile("logstore")
+@RequiredArgsConstructor
+public class LogStoreTaskRepository implements TaskRepository {
+
+    private final TaskLogStore store;
+
+    @Override
+    public <S extends Task> S save(S task) {
+        if (Boolean.TRUE.equals(task.getDeleted())) {
+            deleteById(task.getId());
+            return task;
+        }
+        if (task.getId() == null) {
+            task.setId(store.allocateId());
+        }
+        if (task.getCreatedAt() == null) {
+            task.setCreatedAt(LocalDateTime.now());
+        }
+        if (task.getCompleted() == null) {
+            task.setCompleted(false);
+        }
+
+        LogStoreTransaction transaction = LogStoreTransactionManager.currentTransaction(store);
+        if (transaction != null) {
+            transaction.put(task);
+        } else {
+            store.apply(Map.of(task.getId(), task));
+        }
+        return task;
+    }
+
+    @Override
+    public Optional<Task> findById(Long id) {
+        LogStoreTransaction transaction = LogStoreTransactionManager.currentTransaction(store);
+        if (transaction != null && transaction.touches(id)) {
+            return Optional.ofNullable(transaction.pending(id));
+        }
+        return Optional.ofNullable(store.get(id));
+    }
+
+    @Override
+    public boolean existsById(Long id) {
+        return findById(id).isPresent();
+    }
+
+    @Override
+    public void deleteById(Long id) {
+        LogStoreTransaction transaction = LogStoreTransactionManager.currentTransaction(store);
+        if (transaction != null) {
+            transaction.delete(id);
+        } else if (store.contains(id)) {
+            Map<Long, Task> change = new HashMap<>();
+            change.put(id, null);
+            store.apply(change);
+        }
+    }
+
+    @Override
+    public List<TaskSummaryView> findRecentUncompletedSummaries(int headLength, Pageable pageable) {
+        return store.findOpenNewestFirst((int) pageable.getOffset(), pageable.getPageSize()).stream()
+                .map(task -> summary(task, headLength))
+                .toList();
+    }
+
+    @Override
+    public List<TaskSummaryView> findOldestUncompletedSummaries(int headLength, Pageable pageable) {
+        return store.findOpenOldestFirst((int) pageable.getOffset(), pageable.getPageSize()).stream()
+                .map(task -> summary(task, headLength))
+                .toList();
+    }
+
+    @Override
+    public List<TaskSummaryView> findOverdueSummaries(LocalDateTime now, int headLength, Pageable pageable) {
+        return store.findOpenDueAfter(LocalDateTime.MIN, 0, now, pageable.getPageSize()).stream()
+                .map(due -> store.get(due.id()))
+                .filter(Objects::nonNull)
+                .map(task -> summary(task, headLength))
+                .toList();
+    }
+
+    @Override
+    public List<TaskDueView> findOpenDueAfter(LocalDateTime afterDue, Long afterId, LocalDateTime until,
+                                              Pageable pageable) {
+        return store.findOpenDueAfter(afterDue, afterId, until, pageable.getPageSize());
+    }
+
+    @Override
+    public List<TaskCountView> countByCompleted() {
+        List<TaskCountView> counts = new ArrayList<>(2);
+        long open = store.openCount();
+        long completed = store.completedCount();
+        if (open > 0) {
+            counts.add(new TaskCountView(false, open));
+        }
+        if (completed > 0) {
+            counts.add(new TaskCountView(true, completed));
+        }
+        return counts;
+    }
+
+    @Override
+    public List<TaskColumnView> findColumnViewsAfter(Long afterId, Pageable pageable) {
+        return store.findAfter(afterId, pageable.getPageSize()).stream()
+                .map(task -> new TaskColumnView(task.getId(), task.getTitle(), task.getCreatedAt(),
+                        task.getCompleted(), task.getDueAt()))
+                .toList();
+    }
+
+    /**
+     * Completion times are not indexed by the log store, so this reads every task.
+     */
+    @Override
+    public List<TaskCompletionView> findCompletionsBetween(LocalDateTime from, LocalDateTime to) {
+        return store.findAll().stream()
+                .filter(task -> task.getCompletedAt() != null
+                        && !task.getCompletedAt().isBefore(from) && task.getCompletedAt().isBefore(to))
+                .map(task -> new TaskCompletionView(task.getId(), task.getCreatedAt(), task.getCompletedAt()))
+                .toList();
+    }
+
+    @Override
+    public LocalDateTime findFirstCompletedAt() {
+        return store.findAll().stream()
+                .map(Task::getCompletedAt)
+                .filter(Objects::nonNull)
+                .min(Comparator.naturalOrder())
+                .orElse(null);
+    }
+
+    @Override
+    public List<Long> findPurgeableIdsAfter(Long afterId, LocalDateTime cutoff, int limit) {
+        return List.of();
+    }
+
+    @Override
+    public int purgeDeleted(List<Long> ids) {
+        return 0;
+    }
+
+    @Override
+    public List<Task> findAll() {
+        return store.findAll();
+    }
+
+    @Override
+    public List<Task> findAllById(Iterable<Long> ids) {
+        List<Task> tasks = new ArrayList<>();
+        for (Long id : ids) {
+            findById(id).ifPresent(tasks::add);
+        }
+        return tasks;
+    }
+
+    @Override
+    public Page<Task> findAll(Pageable pageable) {
+        requireUnsorted(pageable.getSort());
+        List<Task> all = store.findAll();
+        if (pageable.isUnpaged()) {
+            return new PageImpl<>(all);
+        }
+        int from = (int) Math.min(pageable.getOffset(), all.size());
+        int to = Math.min(from + pageable.getPageSize(), all.size());
+        return new PageImpl<>(all.subList(from, to), pageable, all.size());
+    }
+
+    @Override
+    public List<Task> findAll(Sort sort) {
+        requireUnsorted(sort);
+        return store.findAll();
+    }
+
+    @Override
+    public long count() {
+        return store.size();
+    }
+
+    @Override
+    public <S extends Task> List<S> saveAll(Iterable<S> tasks) {
+        List<S> saved = new ArrayList<>();
+        for (S task : tasks) {
+            saved.add(save(task));
+        }
+        return saved;
+    }
+
+    @Override
+    public void delete(Task task) {
+        deleteById(task.getId());
+    }
+
+    @Override
+    public void deleteAllById(Iterable<? extends Long> ids) {
+        ids.forEach(this::deleteById);
+    }
+
+    @Override
+    public void deleteAll(Iterable<? extends Task> tasks) {
+        tasks.forEach(this::delete);
+    }
+
+    @Override
+    public void deleteAll() {
+        store.findAll().forEach(this::delete);
+    }
+
+    @Override
+    public void flush() {
+        // Changes are appended on commit, or immediately outside a transaction.
+    }
+
+    @Override
+    public <S extends Task> S saveAndFlush(S task) {
+        return save(task);
+    }
+
+    @Override
+    public <S extends Task> List<S> saveAllAndFlush(Iterable<S> tasks) {
+        return saveAll(tasks);
+    }
+
+    @Override
+    public void deleteAllInBatch(Iterable<Task> tasks) {
+        deleteAll(tasks);
+    }
+
+    @Override
+    public void deleteAllByIdInBatch(Iterable<Long> ids) {
+        deleteAllById(ids);
+    }
+
+    @Override
+    public void deleteAllInBatch() {
+        deleteAll();
+    }
+
+    @Override
+    @Deprecated
+    public Task getOne(Long id) {
+        return getReferenceById(id);
+    }
+
+    @Override
+    @Deprecated
+    public Task getById(Long id) {
+        return getReferenceById(id);
+    }
+
+    @Override
+    public Task getReferenceById(Long id) {
+        return findById(id).orElseThrow(() -> new EntityNotFoundException("Task not found with id: " + id));
+    }
+
+    @Override
+    public <S extends Task> Optional<S> findOne(Example<S> example) {
+        throw unsupportedExample();
+    }
+
+    @Override
+    public <S extends Task> List<S> findAll(Example<S> example) {
+        throw unsupportedExample();
+    }
+
+    @Override
+    public <S extends Task> List<S> findAll(Example<S> example, Sort sort) {
+        throw unsupportedExample();
+    }
+
+    @Override
+    public <S extends Task> Page<S> findAll(Example<S> example, Pageable pageable) {
+        throw unsupportedExample();
+    }
+
+    @Override
+    public <S extends Task> long count(Example<S> example) {
+        throw unsupportedExample();
+    }
+
+    @Override
+    public <S extends Task> boolean exists(Example<S> example) {
+        throw unsupportedExample();
+    }
+
+    @Override
+    public <S extends Task, R> R findBy(Example<S> example,
+                                        Function<FluentQuery.FetchableFluentQuery<S>, R> queryFunction) {
+        throw unsupportedExample();
+    }
+
+    private static TaskSummaryView summary(Task task, int headLength) {
+        return new TaskSummaryView(task.getId(), task.getTitle(), head(task.getDescriptionText(), headLength),
+                task.getCreatedAt(), task.getCompleted(), task.getDueAt());
+    }
+
+    /**
+     * Same result as JPQL {@code SUBSTRING(description, 1, length)}.
+     */
+    private static String head(CompressedText description, int length) {
+        return description != null ? description.head(length) : null;
+    }
+
+    private static void requireUnsorted(Sort sort) {
+        if (sort.isSorted()) {
+            throw new UnsupportedOperationException("The task log store only returns tasks in id order");
+        }
+    }
+
+    private static UnsupportedOperationException unsupportedExample() {
+        return new UnsupportedOperationException("The task log store does not support query by example");
+    }
+}
@@ -0,0 +1,51 @@
+package edu.icet.ecom.repository.logstore;
+
+import edu.icet.ecom.entity.Task;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Writes buffered by one transaction. They are encoded and appended as a single batch on commit, so reading a task
+ * inside the transaction sees its own changes while other readers do not.
+ */
+class LogStoreTransaction {
+
+    private final Map<Long, Task> changes = new LinkedHashMap<>();
+    private boolean rollbackOnly;
+
+    void put(Task task) {
+        changes.put(task.getId(), task);
+    }
+
+    void delete(long id) {
+        changes.put(id, null);
+    }
+
+    boolean touches(long id) {
+        return changes.containsKey(id);
+    }
+
+    /**
+     * @return the pending version, or {@code null} if the task was deleted in this transaction
+     */
+    Task pending(long id) {
+        return changes.get(id);
+    }
+
+    Map<Long, Task> changes() {
+        return changes;
+    }
+
+    boolean isRollbackOnly() {
+        return rollbackOnly;
+    }
+
+    void setRollbackOnly() {
+        rollbackOnly = true;
+    }
+
+    void clear() {
+        changes.clear();
+    }
+}
@@ -0,0 +1,101 @@
+package edu.icet.ecom.repository.logstore;
+
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionSystemException;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.SmartTransactionObject;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Transaction manager for {@link TaskLogStore}. Repository writes inside a transaction are buffered and appended as
+ * one batch on commit; rollback discards them. Transaction synchronization works as usual, so
+ * {@code @TransactionalEventListener}s still fire after commit.
+ */
+public class LogStoreTransactionManager extends AbstractPlatformTransactionManager {
+
+    private final transient TaskLogStore store;
+
+    public LogStoreTransactionManager(TaskLogStore store) {
+        this.store = store;
+    }
+
+    /**
+     * @return the transaction bound to the current thread, or {@code null} outside a transaction
+     */
+    static LogStoreTransaction currentTransaction(TaskLogStore store) {
+        return (LogStoreTransaction) TransactionSynchronizationManager.getResource(store);
+    }
+
+    @Override
+    protected Object doGetTransaction() {
+        return new TransactionObject(currentTransaction(store));
+    }
+
+    @Override
+    protected boolean isExistingTransaction(Object transaction) {
+        return ((TransactionObject) transaction).transaction != null;
+    }
+
+    @Override
+    protected void doBegin(Object transaction, TransactionDefinition definition) {
+        LogStoreTransaction started = new LogStoreTransaction();
+        ((TransactionObject) transaction).transaction = started;
+        TransactionSynchronizationManager.bindResource(store, started);
+    }
+
+    @Override
+    protected Object doSuspend(Object transaction) {
+        ((TransactionObject) transaction).transaction = null;
+        return TransactionSynchronizationManager.unbindResource(store);
+    }
+
+    @Override
+    protected void doResume(Object transaction, Object suspendedResources) {
+        TransactionSynchronizationManager.bindResource(store, suspendedResources);
+    }
+
+    @Override
+    protected void doCommit(DefaultTransactionStatus status) {
+        LogStoreTransaction transaction = ((TransactionObject) status.getTransaction()).transaction;
+        try {
+            store.apply(transaction.changes());
+        } catch (RuntimeException ex) {
+            throw new TransactionSystemException("Could not append transaction to the task log", ex);
+        }
+    }
+
+    @Override
+    protected void doRollback(DefaultTransactionStatus status) {
+        ((TransactionObject) status.getTransaction()).transaction.clear();
+    }
+
+    @Override
+    protected void doSetRollbackOnly(DefaultTransactionStatus status) {
+        ((TransactionObject) status.getTransaction()).transaction.setRollbackOnly();
+    }
+
+    @Override
+    protected void doCleanupAfterCompletion(Object transaction) {
+        TransactionSynchronizationManager.unbindResourceIfPossible(store);
+    }
+
+    private static class TransactionObject implements SmartTransactionObject {
+
+        private LogStoreTransaction transaction;
+
+        TransactionObject(LogStoreTransaction transaction) {
+            this.transaction = transaction;
+        }
+
+        @Override
+        public boolean isRollbackOnly() {
+            return transaction != null && transaction.isRollbackOnly();
+        }
+
+        @Override
+        public void flush() {
+            // Nothing to flush before commit; changes are appended in one batch.
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package edu.icet.ecom.repository.logstore;
+
+import java.util.Arrays;
+
+/**
+ * A sparse, growable {@code long} array addressed by task id, allocated in pages so that ten million ids cost about
+ * 80 MB instead of a map entry object each. Unset slots read as zero.
+ */
+final class LongPages {
+
+    private static final int PAGE_BITS = 16;
+    private static final int PAGE_SIZE = 1 << PAGE_BITS;
+    private static final int PAGE_MASK = PAGE_SIZE - 1;
+
+    private long[][] pages = new long[16][];
+
+    long get(long index) {
+        long page = index >>> PAGE_BITS;
+        if (page >= pages.length) {
+            return 0L;
+        }
+        long[] values = pages[(int) page];
+        return values == null ? 0L : values[(int) (index & PAGE_MASK)];
+    }
+
+    void set(long index, long value) {
+        int page = Math.toIntExact(index >>> PAGE_BITS);
+        if (page >= pages.length) {
+            if (value == 0L) {
+                return;
+            }
+            pages = Arrays.copyOf(pages, Math.max(page + 1, pages.length * 2));
+        }
+        long[] values = pages[page];
+        if (values == null) {
+            if (value == 0L) {
+                return;
+            }
+            values = new long[PAGE_SIZE];
+            pages[page] = values;
+        }
+        values[(int) (index & PAGE_MASK)] = value;
+    }
+}
@@ -0,0 +1,655 @@
+package edu.icet.ecom.repository.logstore;
+
+import edu.icet.ecom.entity.Task;
+import edu.icet.ecom.repository.projection.TaskDueView;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static edu.icet.ecom.repository.logstore.TaskRecordCodec.*;
+
+/**
+ * Embedded task storage on an append-only, checksummed log of memory-mapped segment files.
+ * <p>
+ * Every committed batch is one record, so it survives a crash whole or not at all. An in-memory index maps each task id
+ * to the file and offset of its latest version; open tasks and due dates have their own in-memory indexes, rebuilt
+ * from record headers on startup. Compaction writes the live records into a snapshot and deletes the files it covers,
+ * while writes carry on in a fresh segment. Recovery loads the newest complete snapshot, replays the segments written
+ * after it and cuts off a torn tail.
+ * <p>
+ * Writes are serialised; reads run in parallel with each other.
+ */
+@Slf4j
+public class TaskLogStore implements AutoCloseable {
+
+    private static final Pattern SEGMENT_NAME = Pattern.compile("segment-(\\d+)\\.log");
+    private static final Pattern SNAPSHOT_NAME = Pattern.compile("snapshot-(\\d+)-(\\d+)\\.log");
+    private static final String TMP_SUFFIX = ".tmp";
+    private static final int SNAPSHOT_BATCH_SIZE = 1024;
+
+    private final Path directory;
+    private final int segmentSize;
+    private final boolean syncOnWrite;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Object compactionLock = new Object();
+
+    private final Map<Integer, LogFile> files = new HashMap<>();
+    private LogFile active;
+    private int nextFileNo = 1;
+    private int snapshotBase;
+
+    private final LongPages locations = new LongPages();
+    private final BitSet open = new BitSet();
+    private final NavigableSet<DueKey> dueIndex = new TreeSet<>();
+    private long liveCount;
+    private long openCount;
+    private long completedCount;
+    private final AtomicLong nextId = new AtomicLong(1);
+
+    private record DueKey(LocalDateTime dueAt, long id) implements Comparable<DueKey> {
+
+        @Override
+        public int compareTo(DueKey other) {
+            int byDue = dueAt.compareTo(other.dueAt);
+            return byDue != 0 ? byDue : Long.compare(id, other.id);
+        }
+    }
+
+    private TaskLogStore(Path directory, int segmentSize, boolean syncOnWrite) {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.syncOnWrite = syncOnWrite;
+    }
+
+    /**
+     * Opens the store in {@code directory}, creating it if needed, and recovers its contents.
+     *
+     * @param syncOnWrite force every batch to disk before returning; otherwise writes survive a process crash but may be
+     *                    lost in an operating system crash until the next {@link #flush()}
+     */
+    public static TaskLogStore open(Path directory, int segmentSize, boolean syncOnWrite) throws IOException {
+        Files.createDirectories(directory);
+        TaskLogStore store = new TaskLogStore(directory, segmentSize, syncOnWrite);
+
+        long start = System.nanoTime();
+        store.recover();
+        log.info("Recovered {} tasks from {} in {} ms", store.liveCount, directory,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return store;
+    }
+
+    public long allocateId() {
+        return nextId.getAndIncrement();
+    }
+
+    public Task get(long id) {
+        lock.readLock().lock();
+        try {
+            long location = locations.get(id);
+            return location == 0 ? null : readTask(bufferOf(location), offsetOf(location));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean contains(long id) {
+        lock.readLock().lock();
+        try {
+            return locations.get(id) != 0;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Appends the changes as one record and applies them to the indexes. A {@code null} value deletes the task.
+     */
+    public void apply(Map<Long, Task> changes) {
+        if (changes.isEmpty()) {
+            return;
+        }
+
+        BatchWriter batch = new BatchWriter();
+        long[] ids = new long[changes.size()];
+        int[] offsets = new int[changes.size()];
+        Task[] tasks = new Task[changes.size()];
+        int i = 0;
+        for (Map.Entry<Long, Task> change : changes.entrySet()) {
+            ids[i] = change.getKey();
+            tasks[i] = change.getValue();
+            offsets[i] = tasks[i] != null ? batch.put(tasks[i]) : batch.delete(ids[i]);
+            i++;
+        }
+        byte[] body = batch.toByteArray();
+        if (body.length > segmentSize - LogFile.RECORD_HEADER_LENGTH) {
+            throw new IllegalArgumentException("Batch of " + body.length + " bytes exceeds the segment size");
+        }
+
+        lock.writeLock().lock();
+        try {
+            if (!active.fits(body.length)) {
+                roll();
+            }
+            int bodyOffset = active.append(body);
+            active.addOperations(ids.length);
+            if (syncOnWrite) {
+                active.force();
+            }
+
+            for (int j = 0; j < ids.length; j++) {
+                long id = ids[j];
+                long previous = locations.get(id);
+                if (previous != 0) {
+                    PutHeader header = readPutHeader(bufferOf(previous), offsetOf(previous));
+                    unindex(id, header.completed(), header.dueAt());
+                }
+                if (tasks[j] != null) {
+                    locations.set(id, location(active.fileNo(), bodyOffset + offsets[j]));
+                    index(id, Boolean.TRUE.equals(tasks[j].getCompleted()), tasks[j].getDueAt());
+                } else {
+                    locations.set(id, 0L);
+                }
+                reserveId(id);
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to append to the task log", ex);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Open tasks, newest first. Ids are allocated in creation order, so this is also {@code createdAt} order.
+     */
+    public List<Task> findOpenNewestFirst(int skip, int limit) {
+        List<Task> result = new ArrayList<>(Math.min(limit, 64));
+        lock.readLock().lock();
+        try {
+            int remainingSkip = skip;
+            for (int id = open.length() - 1; id >= 0 && result.size() < limit; id = open.previousSetBit(id - 1)) {
+                if (remainingSkip > 0) {
+                    remainingSkip--;
+                    continue;
+                }
+                long location = locations.get(id);
+                result.add(readTask(bufferOf(location), offsetOf(location)));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Open tasks, oldest first.
+     */
+    public List<Task> findOpenOldestFirst(int skip, int limit) {
+        List<Task> result = new ArrayList<>(Math.min(limit, 64));
+        lock.readLock().lock();
+        try {
+            int remainingSkip = skip;
+            for (int id = open.nextSetBit(0); id >= 0 && result.size() < limit; id = open.nextSetBit(id + 1)) {
+                if (remainingSkip > 0) {
+                    remainingSkip--;
+                    continue;
+                }
+                long location = locations.get(id);
+                result.add(readTask(bufferOf(location), offsetOf(location)));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Open tasks due before {@code until}, ordered by due date and id, strictly after the given keyset position.
+     */
+    public List<TaskDueView> findOpenDueAfter(LocalDateTime afterDue, long afterId, LocalDateTime until, int limit) {
+        List<TaskDueView> result = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            for (DueKey key : dueIndex.tailSet(new DueKey(afterDue, afterId), false)) {
+                if (result.size() >= limit || !key.dueAt().isBefore(until)) {
+                    break;
+                }
+                result.add(new TaskDueView(key.id(), key.dueAt()));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Up to {@code limit} live tasks with ids greater than {@code afterId}, in id order.
+     */
+    public List<Task> findAfter(long afterId, int limit) {
+        lock.readLock().lock();
+        try {
+            List<Task> result = new ArrayList<>(Math.min(limit, 1024));
+            long maxId = nextId.get();
+            for (long id = Math.max(afterId, 0) + 1; id < maxId && result.size() < limit; id++) {
+                long location = locations.get(id);
+                if (location != 0) {
+                    result.add(readTask(bufferOf(location), offsetOf(location)));
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * All live tasks in id order.
+     */
+    public List<Task> findAll() {
+        lock.readLock().lock();
+        try {
+            List<Task> result = new ArrayList<>((int) Math.min(liveCount, Integer.MAX_VALUE));
+            long maxId = nextId.get();
+            for (long id = 1; id < maxId; id++) {
+                long location = locations.get(id);
+                if (location != 0) {
+                    result.add(readTask(bufferOf(location), offsetOf(location)));
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long size() {
+        lock.readLock().lock();
+        try {
+            return liveCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long openCount() {
+        lock.readLock().lock();
+        try {
+            return openCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long completedCount() {
+        lock.readLock().lock();
+        try {
+            return completedCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Share of stored operations that are superseded or deleted, i.e. what compaction would reclaim.
+     */
+    public double garbageRatio() {
+        lock.readLock().lock();
+        try {
+            long operations = files.values().stream().mapToLong(LogFile::operations).sum();
+            return operations == 0 ? 0.0 : 1.0 - (double) liveCount / operations;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Forces written records to disk.
+     */
+    public void flush() {
+        lock.readLock().lock();
+        try {
+            active.force();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Writes every live record into a new snapshot and deletes the files it replaces. Writes are only blocked while the
+     * active segment is rolled and while the index is switched over to the snapshot, not while it is written.
+     */
+    public void compact() throws IOException {
+        synchronized (compactionLock) {
+            long start = System.nanoTime();
+            int base;
+            long snapshotNextId;
+            lock.writeLock().lock();
+            try {
+                roll();
+                base = active.fileNo();
+                snapshotNextId = nextId.get();
+            } finally {
+                lock.writeLock().unlock();
+            }
+
+            // Everything in files numbered below the base is sealed and no longer changes.
+            LongPages moved = new LongPages();
+            List<LogFile> parts = new ArrayList<>();
+            parts.add(newSnapshotPart(base));
+            BatchWriter batch = new BatchWriter();
+            long[] batchIds = new long[SNAPSHOT_BATCH_SIZE];
+            int[] batchOffsets = new int[SNAPSHOT_BATCH_SIZE];
+            long copied = 0;
+
+            for (long id = 1; id < snapshotNextId; id++) {
+                byte[] operation;
+                lock.readLock().lock();
+                try {
+                    long location = locations.get(id);
+                    if (location == 0 || fileNoOf(location) >= base) {
+                        continue;
+                    }
+                    ByteBuffer buffer = bufferOf(location);
+                    int offset = offsetOf(location);
+                    operation = new byte[operationLength(buffer, offset)];
+                    buffer.get(offset, operation);
+                } finally {
+                    lock.readLock().unlock();
+                }
+
+                batchIds[batch.count()] = id;
+                batchOffsets[batch.count()] = batch.copy(operation);
+                copied++;
+                if (batch.count() == SNAPSHOT_BATCH_SIZE || batch.size() >= segmentSize / 4) {
+                    writeSnapshotBatch(parts, base, batch, batchIds, batchOffsets, moved);
+                    batch = new BatchWriter();
+                }
+            }
+            if (batch.count() > 0) {
+                writeSnapshotBatch(parts, base, batch, batchIds, batchOffsets, moved);
+            }
+            appendToSnapshot(parts, base, snapshotEnd(snapshotNextId, copied));
+
+            // The part holding the end marker is renamed last, so a snapshot on disk is complete only once it is.
+            for (LogFile part : parts) {
+                part.force();
+                part.moveTo(directory.resolve(snapshotName(base, part.fileNo())));
+            }
+
+            List<LogFile> obsolete = new ArrayList<>();
+            lock.writeLock().lock();
+            try {
+                for (long id = 1; id < snapshotNextId; id++) {
+                    long target = moved.get(id);
+                    long current = locations.get(id);
+                    if (target != 0 && current != 0 && fileNoOf(current) < base) {
+                        locations.set(id, target);
+                    }
+                }
+                Iterator<LogFile> iterator = files.values().iterator();
+                while (iterator.hasNext()) {
+                    LogFile file = iterator.next();
+                    if (file.fileNo() < base) {
+                        obsolete.add(file);
+                        iterator.remove();
+                    }
+                }
+                for (LogFile part : parts) {
+                    files.put(part.fileNo(), part);
+                }
+                snapshotBase = base;
+            } finally {
+                lock.writeLock().unlock();
+            }
+
+            for (LogFile file : obsolete) {
+                file.delete();
+            }
+            log.info("Compacted task log into {} live records in {} ms, removed {} files", copied,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), obsolete.size());
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        lock.writeLock().lock();
+        try {
+            for (LogFile file : files.values()) {
+                file.force();
+                file.close();
+            }
+            files.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void writeSnapshotBatch(List<LogFile> parts, int base, BatchWriter batch,
+                                    long[] batchIds, int[] batchOffsets, LongPages moved) throws IOException {
+        int count = batch.count();
+        int bodyOffset = appendToSnapshot(parts, base, batch.toByteArray());
+        LogFile part = parts.get(parts.size() - 1);
+        part.addOperations(count);
+        int fileNo = part.fileNo();
+        for (int i = 0; i < count; i++) {
+            moved.set(batchIds[i], location(fileNo, bodyOffset + batchOffsets[i]));
+        }
+    }
+
+    private int appendToSnapshot(List<LogFile> parts, int base, byte[] body) throws IOException {
+        LogFile part = parts.get(parts.size() - 1);
+        if (!part.fits(body.length)) {
+            part = newSnapshotPart(base);
+            parts.add(part);
+        }
+        return part.append(body);
+    }
+
+    private LogFile newSnapshotPart(int base) throws IOException {
+        int fileNo;
+        lock.writeLock().lock();
+        try {
+            fileNo = nextFileNo++;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        return LogFile.open(fileNo, directory.resolve(snapshotName(base, fileNo) + TMP_SUFFIX), segmentSize);
+    }
+
+    private void roll() throws IOException {
+        if (active != null) {
+            active.force();
+        }
+        int fileNo = nextFileNo++;
+        LogFile segment = LogFile.open(fileNo, directory.resolve(segmentName(fileNo)), segmentSize);
+        files.put(fileNo, segment);
+        active = segment;
+    }
+
+    private void recover() throws IOException {
+        NavigableMap<Integer, Path> segments = new TreeMap<>();
+        NavigableMap<Integer, NavigableMap<Integer, Path>> snapshots = new TreeMap<>();
+
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(directory)) {
+            for (Path path : entries) {
+                String name = path.getFileName().toString();
+                Matcher segment = SEGMENT_NAME.matcher(name);
+                Matcher snapshot = SNAPSHOT_NAME.matcher(name);
+                if (segment.matches()) {
+                    int fileNo = Integer.parseInt(segment.group(1));
+                    segments.put(fileNo, path);
+                    nextFileNo = Math.max(nextFileNo, fileNo + 1);
+                } else if (snapshot.matches()) {
+                    int fileNo = Integer.parseInt(snapshot.group(2));
+                    snapshots.computeIfAbsent(Integer.parseInt(snapshot.group(1)), key -> new TreeMap<>())
+                            .put(fileNo, path);
+                    nextFileNo = Math.max(nextFileNo, fileNo + 1);
+                } else if (name.endsWith(TMP_SUFFIX)) {
+                    // Left behind by a compaction that never finished; the files it covers are still in place.
+                    Files.delete(path);
+                }
+            }
+        }
+
+        for (Map.Entry<Integer, NavigableMap<Integer, Path>> snapshot : snapshots.descendingMap().entrySet()) {
+            if (loadSnapshot(snapshot.getValue())) {
+                snapshotBase = snapshot.getKey();
+                break;
+            }
+            log.warn("Ignoring incomplete snapshot with base {}", snapshot.getKey());
+        }
+        for (Map.Entry<Integer, NavigableMap<Integer, Path>> snapshot : snapshots.entrySet()) {
+            if (snapshot.getKey() != snapshotBase) {
+                for (Path part : snapshot.getValue().values()) {
+                    Files.delete(part);
+                }
+            }
+        }
+
+        for (Map.Entry<Integer, Path> segment : segments.entrySet()) {
+            if (segment.getKey() < snapshotBase) {
+                Files.delete(segment.getValue());
+                continue;
+            }
+            LogFile file = LogFile.open(segment.getKey(), segment.getValue(), segmentSize);
+            files.put(file.fileNo(), file);
+            if (file.scan((bodyOffset, length) -> replay(file, bodyOffset))) {
+                log.warn("Discarding damaged records in {} after offset {}", segment.getValue(), file.writePosition());
+                file.truncateTail();
+            }
+            active = file;
+        }
+        if (active == null) {
+            roll();
+        }
+
+        rebuildIndexes();
+    }
+
+    private boolean loadSnapshot(NavigableMap<Integer, Path> parts) throws IOException {
+        List<LogFile> opened = new ArrayList<>();
+        for (Map.Entry<Integer, Path> part : parts.entrySet()) {
+            opened.add(LogFile.open(part.getKey(), part.getValue(), segmentSize));
+        }
+
+        LogFile last = opened.get(opened.size() - 1);
+        boolean[] complete = new boolean[1];
+        last.scan((bodyOffset, length) -> complete[0] |= last.buffer().get(bodyOffset) == RECORD_SNAPSHOT_END);
+        if (!complete[0]) {
+            for (LogFile file : opened) {
+                file.close();
+            }
+            return false;
+        }
+
+        for (LogFile file : opened) {
+            files.put(file.fileNo(), file);
+            file.scan((bodyOffset, length) -> replay(file, bodyOffset));
+        }
+        return true;
+    }
+
+    private void replay(LogFile file, int bodyOffset) {
+        ByteBuffer buffer = file.buffer();
+        if (buffer.get(bodyOffset) == RECORD_SNAPSHOT_END) {
+            reserveId(buffer.getLong(bodyOffset + 1) - 1);
+            return;
+        }
+
+        int count = buffer.getInt(bodyOffset + 1);
+        int position = bodyOffset + BATCH_HEADER_LENGTH;
+        for (int i = 0; i < count; i++) {
+            long id = buffer.getLong(position + 1);
+            locations.set(id, buffer.get(position) == OP_PUT ? location(file.fileNo(), position) : 0L);
+            reserveId(id);
+            position += operationLength(buffer, position);
+        }
+        file.addOperations(count);
+    }
+
+    private void rebuildIndexes() {
+        long maxId = nextId.get();
+        for (long id = 1; id < maxId; id++) {
+            long location = locations.get(id);
+            if (location != 0) {
+                PutHeader header = readPutHeader(bufferOf(location), offsetOf(location));
+                index(id, header.completed(), header.dueAt());
+            }
+        }
+    }
+
+    private void index(long id, boolean completed, LocalDateTime dueAt) {
+        liveCount++;
+        if (completed) {
+            completedCount++;
+            return;
+        }
+        openCount++;
+        open.set(Math.toIntExact(id));
+        if (dueAt != null) {
+            dueIndex.add(new DueKey(dueAt, id));
+        }
+    }
+
+    private void unindex(long id, boolean completed, LocalDateTime dueAt) {
+        liveCount--;
+        if (completed) {
+            completedCount--;
+            return;
+        }
+        openCount--;
+        open.clear(Math.toIntExact(id));
+        if (dueAt != null) {
+            dueIndex.remove(new DueKey(dueAt, id));
+        }
+    }
+
+    private void reserveId(long id) {
+        nextId.accumulateAndGet(id + 1, Math::max);
+    }
+
+    private ByteBuffer bufferOf(long location) {
+        return files.get(fileNoOf(location)).buffer();
+    }
+
+    private static long location(int fileNo, int offset) {
+        return ((long) fileNo << 32) | (offset & 0xFFFFFFFFL);
+    }
+
+    private static int fileNoOf(long location) {
+        return (int) (location >>> 32);
+    }
+
+    private static int offsetOf(long location) {
+        return (int) location;
+    }
+
+    private static String segmentName(int fileNo) {
+        return "segment-" + fileNo + ".log";
+    }
+
+    private static String snapshotName(int base, int fileNo) {
+        return "snapshot-" + base + "-" + fileNo + ".log";
+    }
+}
@@ -0,0 +1,225 @@
+package edu.icet.ecom.repository.logstore;
+
+import edu.icet.ecom.entity.CompressedText;
+import edu.icet.ecom.entity.Task;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Binary layout of log records. A record body starts with its kind; a batch carries the operations of one
+ * transaction so that they become durable together under a single checksum.
+ * <p>
+ * A put operation stores its fixed-size fields before the strings, so index rebuilds can read completion and due date
+ * without decoding the title or description.
+ */
+final class TaskRecordCodec {
+
+    static final byte RECORD_BATCH = 1;
+    static final byte RECORD_SNAPSHOT_END = 2;
+
+    static final byte OP_PUT = 1;
+    static final byte OP_DELETE = 2;
+
+    /**
+     * Offset of the first operation inside a batch body: kind byte plus operation count.
+     */
+    static final int BATCH_HEADER_LENGTH = 1 + 4;
+
+    private TaskRecordCodec() {
+    }
+
+    /**
+     * Appends operations to a batch body under construction and remembers where each one starts.
+     */
+    static final class BatchWriter {
+
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        private final DataOutputStream out = new DataOutputStream(bytes);
+        private int count;
+
+        BatchWriter() {
+            try {
+                out.writeByte(RECORD_BATCH);
+                out.writeInt(0);
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }
+
+        int put(Task task) {
+            int offset = out.size();
+            try {
+                out.writeByte(OP_PUT);
+                out.writeLong(task.getId());
+                out.writeBoolean(Boolean.TRUE.equals(task.getCompleted()));
+                writeDateTime(out, task.getCreatedAt());
+                writeDateTime(out, task.getDueAt());
+                writeDateTime(out, task.getCompletedAt());
+                writeString(out, task.getTitle());
+                writeString(out, storedDescription(task));
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+            count++;
+            return offset;
+        }
+
+        int delete(long id) {
+            int offset = out.size();
+            try {
+                out.writeByte(OP_DELETE);
+                out.writeLong(id);
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+            count++;
+            return offset;
+        }
+
+        /**
+         * Copies an already encoded operation, as compaction does when moving live records into a snapshot.
+         */
+        int copy(byte[] operation) {
+            int offset = out.size();
+            try {
+                out.write(operation);
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+            count++;
+            return offset;
+        }
+
+        int count() {
+            return count;
+        }
+
+        int size() {
+            return out.size();
+        }
+
+        byte[] toByteArray() {
+            byte[] body = bytes.toByteArray();
+            ByteBuffer.wrap(body).putInt(1, count);
+            return body;
+        }
+    }
+
+    static byte[] snapshotEnd(long nextId, long liveCount) {
+        return ByteBuffer.allocate(1 + 8 + 8)
+                .put(RECORD_SNAPSHOT_END)
+                .putLong(nextId)
+                .putLong(liveCount)
+                .array();
+    }
+
+    /**
+     * Header fields of a put operation, enough to maintain the secondary indexes.
+     */
+    record PutHeader(long id, boolean completed, LocalDateTime dueAt) {
+    }
+
+    static PutHeader readPutHeader(ByteBuffer buffer, int offset) {
+        ByteBuffer in = buffer.duplicate().position(offset + 1);
+        long id = in.getLong();
+        boolean completed = in.get() != 0;
+        readDateTime(in);
+        LocalDateTime dueAt = readDateTime(in);
+        return new PutHeader(id, completed, dueAt);
+    }
+
+    static Task readTask(ByteBuffer buffer, int offset) {
+        ByteBuffer in = buffer.duplicate().position(offset + 1);
+        Task task = new Task();
+        task.setId(in.getLong());
+        task.setCompleted(in.get() != 0);
+        task.setCreatedAt(readDateTime(in));
+        task.setDueAt(readDateTime(in));
+        task.setCompletedAt(readDateTime(in));
+        task.setTitle(readString(in));
+        task.setDescriptionText(CompressedText.fromStored(readString(in)));
+        return task;
+    }
+
+    /**
+     * @return the number of bytes the operation at {@code offset} occupies
+     */
+    static int operationLength(ByteBuffer buffer, int offset) {
+        ByteBuffer in = buffer.duplicate().position(offset);
+        byte kind = in.get();
+        in.getLong();
+        if (kind == OP_PUT) {
+            in.get();
+            skipDateTime(in);
+            skipDateTime(in);
+            skipDateTime(in);
+            skipString(in);
+            skipString(in);
+        }
+        return in.position() - offset;
+    }
+
+    private static String storedDescription(Task task) {
+        CompressedText description = task.getDescriptionText();
+        return description != null ? description.stored() : null;
+    }
+
+    private static void writeDateTime(DataOutputStream out, LocalDateTime value) throws IOException {
+        if (value == null) {
+            out.writeBoolean(false);
+            return;
+        }
+        out.writeBoolean(true);
+        out.writeLong(value.toEpochSecond(ZoneOffset.UTC));
+        out.writeInt(value.getNano());
+    }
+
+    private static LocalDateTime readDateTime(ByteBuffer in) {
+        if (in.get() == 0) {
+            return null;
+        }
+        long seconds = in.getLong();
+        int nanos = in.getInt();
+        return LocalDateTime.ofEpochSecond(seconds, nanos, ZoneOffset.UTC);
+    }
+
+    private static void skipDateTime(ByteBuffer in) {
+        if (in.get() != 0) {
+            in.position(in.position() + 8 + 4);
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer in) {
+        int length = in.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void skipString(ByteBuffer in) {
+        int length = in.getInt();
+        if (length > 0) {
+            in.position(in.position() + length);
+        }
+    }
+}
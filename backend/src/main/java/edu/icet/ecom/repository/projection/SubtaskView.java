@@ -0,0 +1,8 @@
+package edu.icet.ecom.repository.projection;
+
+import java.time.LocalDateTime;
+
+public record SubtaskView(Long id, Long parentId, Integer depth, String title, Boolean completed,
+                          LocalDateTime createdAt, LocalDateTime dueAt, Integer subtaskCount,
+                          Integer openSubtaskCount) {
+}
@@ -0,0 +1,6 @@
+package edu.icet.ecom.repository.projection;
+
+import java.time.LocalDateTime;
+
+public record TaskColumnView(Long id, String title, LocalDateTime createdAt, Boolean completed, LocalDateTime dueAt) {
+}
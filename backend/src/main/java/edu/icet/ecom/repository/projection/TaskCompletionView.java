@@ -0,0 +1,6 @@
+package edu.icet.ecom.repository.projection;
+
+import java.time.LocalDateTime;
+
+public record TaskCompletionView(Long id, LocalDateTime createdAt, LocalDateTime completedAt) {
+}
@@ -0,0 +1,4 @@
+package edu.icet.ecom.repository.projection;
+
+public record TaskCountView(Boolean completed, Long count) {
+}
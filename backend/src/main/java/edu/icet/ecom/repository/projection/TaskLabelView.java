@@ -0,0 +1,4 @@
+package edu.icet.ecom.repository.projection;
+
+public record TaskLabelView(Long id, Long taskId, String label) {
+}
@@ -0,0 +1,14 @@
+package edu.icet.ecom.repository.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * List view of a task that carries only the head of the description instead of the full TEXT column.
+ */
+public record TaskSummaryView(Long id,
+                              String title,
+                              String descriptionHead,
+                              LocalDateTime createdAt,
+                              Boolean completed,
+                              LocalDateTime dueAt) {
+}
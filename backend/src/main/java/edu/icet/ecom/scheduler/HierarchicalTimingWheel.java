@@ -0,0 +1,189 @@
+package edu.icet.ecom.scheduler;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hashed hierarchical timing wheel keyed by id. Every level has {@code 2^bitsPerLevel} slots and each slot of a level
+ * spans a whole rotation of the level below, so timers far in the future sit in a coarse slot and are cascaded down as
+ * their time approaches. Scheduling and cancelling are O(1): a timer is an intrusive list node that is linked into, or
+ * unlinked from, its slot directly.
+ */
+public class HierarchicalTimingWheel {
+
+    private final long tickMs;
+    private final int bits;
+    private final long mask;
+    private final int levels;
+    private final Entry[][] slots;
+    private final Map<Long, Entry> entries = new HashMap<>();
+    private long currentTick;
+
+    public HierarchicalTimingWheel(long tickMs, int bitsPerLevel, long startMs) {
+        if (tickMs <= 0) {
+            throw new IllegalArgumentException("Tick must be a positive number of milliseconds");
+        }
+        if (bitsPerLevel < 1 || bitsPerLevel > 16) {
+            throw new IllegalArgumentException("Bits per level must be between 1 and 16");
+        }
+        this.tickMs = tickMs;
+        this.bits = bitsPerLevel;
+        this.mask = (1L << bitsPerLevel) - 1;
+        this.levels = (63 + bitsPerLevel - 1) / bitsPerLevel;
+        this.slots = new Entry[levels][1 << bitsPerLevel];
+        this.currentTick = startMs / tickMs;
+    }
+
+    /**
+     * Schedules a timer, replacing any pending timer with the same id. Deadlines that have already passed fire on the
+     * next tick.
+     */
+    public synchronized void schedule(long id, long deadlineMs) {
+        Entry existing = entries.remove(id);
+        if (existing != null) {
+            unlink(existing);
+        }
+        add(id, deadlineMs);
+    }
+
+    /**
+     * Schedules a timer only when no timer with the same id is pending.
+     */
+    public synchronized boolean scheduleIfAbsent(long id, long deadlineMs) {
+        if (entries.containsKey(id)) {
+            return false;
+        }
+        add(id, deadlineMs);
+        return true;
+    }
+
+    public synchronized boolean cancel(long id) {
+        Entry entry = entries.remove(id);
+        if (entry == null) {
+            return false;
+        }
+        unlink(entry);
+        return true;
+    }
+
+    /**
+     * Advances the wheel tick by tick up to {@code nowMs}, cascading coarse slots on level boundaries.
+     *
+     * @return ids of the timers that expired, in deadline order
+     */
+    public synchronized List<Long> advanceTo(long nowMs) {
+        long targetTick = nowMs / tickMs;
+        List<Long> expired = new ArrayList<>();
+
+        while (currentTick < targetTick) {
+            currentTick++;
+
+            // Higher levels first: their entries may land in a lower-level slot that is due for cascading on this tick.
+            for (int level = levels - 1; level >= 1; level--) {
+                int shift = bits * level;
+                if ((currentTick & ((1L << shift) - 1)) == 0) {
+                    cascade(level, (int) ((currentTick >>> shift) & mask));
+                }
+            }
+
+            int slot = (int) (currentTick & mask);
+            Entry entry = slots[0][slot];
+            slots[0][slot] = null;
+            while (entry != null) {
+                Entry next = entry.next;
+                entry.prev = null;
+                entry.next = null;
+                entries.remove(entry.id);
+                expired.add(entry.id);
+                entry = next;
+            }
+        }
+        return expired;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized boolean contains(long id) {
+        return entries.containsKey(id);
+    }
+
+    public long getTickMs() {
+        return tickMs;
+    }
+
+    private void add(long id, long deadlineMs) {
+        // Round up so a timer never fires before its deadline.
+        long deadlineTick = Math.max((deadlineMs + tickMs - 1) / tickMs, currentTick + 1);
+        Entry entry = new Entry(id, deadlineTick);
+        entries.put(id, entry);
+        link(entry);
+    }
+
+    private void cascade(int level, int slot) {
+        Entry entry = slots[level][slot];
+        slots[level][slot] = null;
+        while (entry != null) {
+            Entry next = entry.next;
+            entry.prev = null;
+            entry.next = null;
+            link(entry);
+            entry = next;
+        }
+    }
+
+    /**
+     * Places the entry on the lowest level whose current rotation still contains its deadline.
+     */
+    private void link(Entry entry) {
+        long deadline = entry.deadlineTick;
+        int level = 0;
+        while (level < levels - 1) {
+            int shift = bits * (level + 1);
+            if (shift >= 63 || (deadline >>> shift) == (currentTick >>> shift)) {
+                break;
+            }
+            level++;
+        }
+
+        int slot = (int) ((deadline >>> (bits * level)) & mask);
+        Entry head = slots[level][slot];
+        entry.level = level;
+        entry.slot = slot;
+        entry.next = head;
+        if (head != null) {
+            head.prev = entry;
+        }
+        slots[level][slot] = entry;
+    }
+
+    private void unlink(Entry entry) {
+        if (entry.prev != null) {
+            entry.prev.next = entry.next;
+        } else {
+            slots[entry.level][entry.slot] = entry.next;
+        }
+        if (entry.next != null) {
+            entry.next.prev = entry.prev;
+        }
+        entry.prev = null;
+        entry.next = null;
+    }
+
+    private static final class Entry {
+        private final long id;
+        private final long deadlineTick;
+        private Entry prev;
+        private Entry next;
+        private int level;
+        private int slot;
+
+        private Entry(long id, long deadlineTick) {
+            this.id = id;
+            this.deadlineTick = deadlineTick;
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package edu.icet.ecom.scheduler;
+
+import edu.icet.ecom.service.TaskAttachmentService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@Profile("!reactive & !logstore")
+@RequiredArgsConstructor
+@Slf4j
+public class TaskAttachmentSweepJob {
+
+    private final TaskAttachmentService taskAttachmentService;
+
+    @Scheduled(fixedDelayString = "${todo.attachments.sweep-interval:PT1H}")
+    public void sweep() {
+        try {
+            int deleted = taskAttachmentService.sweepUnreferencedContent();
+            if (deleted > 0) {
+                log.info("Attachment sweep deleted {} unreferenced files", deleted);
+            }
+        } catch (Exception ex) {
+            log.error("Attachment sweep failed: {}", ex.getMessage(), ex);
+        }
+    }
+}
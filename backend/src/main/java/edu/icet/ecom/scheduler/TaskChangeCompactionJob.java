@@ -0,0 +1,40 @@
+package edu.icet.ecom.scheduler;
+
+import edu.icet.ecom.config.TaskChangeProperties;
+import edu.icet.ecom.service.TaskChangeService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@Profile("!reactive & !logstore")
+@RequiredArgsConstructor
+@Slf4j
+public class TaskChangeCompactionJob {
+
+    private final TaskChangeService taskChangeService;
+    private final TaskChangeProperties properties;
+
+    /**
+     * Compacts in small batches, each in its own transaction, so the change log is never locked for long.
+     */
+    @Scheduled(fixedDelayString = "${todo.changes.compaction-interval:PT1H}")
+    public void compact() {
+        try {
+            int total = 0;
+            int removed;
+            do {
+                removed = taskChangeService.compactChanges();
+                total += removed;
+            } while (removed >= properties.getCompactionBatchSize());
+
+            if (total > 0) {
+                log.info("Task change compaction removed {} entries", total);
+            }
+        } catch (Exception ex) {
+            log.error("Task change compaction failed: {}", ex.getMessage(), ex);
+        }
+    }
+}
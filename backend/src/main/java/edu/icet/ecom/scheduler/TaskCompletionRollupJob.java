@@ -0,0 +1,42 @@
+package edu.icet.ecom.scheduler;
+
+import edu.icet.ecom.service.TaskAnalyticsService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Loads completion analytics at startup, retrying on the rollup schedule until that succeeds, then rolls up closed
+ * hours.
+ */
+@Component
+@Profile("!reactive & !logstore")
+@RequiredArgsConstructor
+@Slf4j
+public class TaskCompletionRollupJob {
+
+    private final TaskAnalyticsService taskAnalyticsService;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        rollUp();
+    }
+
+    @Scheduled(fixedDelayString = "${todo.analytics.rollup-interval:PT5M}",
+            initialDelayString = "${todo.analytics.rollup-interval:PT5M}")
+    public void rollUp() {
+        try {
+            if (taskAnalyticsService.isLoaded()) {
+                taskAnalyticsService.rollUp();
+            } else {
+                taskAnalyticsService.load();
+            }
+        } catch (Exception ex) {
+            log.error("Task completion rollup failed: {}", ex.getMessage(), ex);
+        }
+    }
+}
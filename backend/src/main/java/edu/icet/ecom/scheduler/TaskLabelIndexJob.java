@@ -0,0 +1,40 @@
+package edu.icet.ecom.scheduler;
+
+import edu.icet.ecom.service.TaskLabelService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Builds the in-memory label index at startup and retries on the query index's interval until one load succeeds.
+ */
+@Component
+@Profile("!reactive & !logstore")
+@RequiredArgsConstructor
+@Slf4j
+public class TaskLabelIndexJob {
+
+    private final TaskLabelService taskLabelService;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        loadIfMissing();
+    }
+
+    @Scheduled(fixedDelayString = "${todo.query.retry-interval:PT1M}",
+            initialDelayString = "${todo.query.retry-interval:PT1M}")
+    public void loadIfMissing() {
+        if (taskLabelService.isLoaded()) {
+            return;
+        }
+        try {
+            taskLabelService.load();
+        } catch (Exception ex) {
+            log.error("Failed to load the task label index: {}", ex.getMessage(), ex);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package edu.icet.ecom.scheduler;
+
+import edu.icet.ecom.config.LogStoreProperties;
+import edu.icet.ecom.repository.logstore.TaskLogStore;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@Profile("logstore")
+@RequiredArgsConstructor
+@Slf4j
+public class TaskLogStoreMaintenanceJob {
+
+    private final TaskLogStore taskLogStore;
+    private final LogStoreProperties properties;
+
+    @Scheduled(fixedDelayString = "${todo.logstore.flush-interval:PT1S}")
+    public void flush() {
+        try {
+            taskLogStore.flush();
+        } catch (Exception ex) {
+            log.error("Task log flush failed: {}", ex.getMessage(), ex);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${todo.logstore.compaction-interval:PT10M}")
+    public void compact() {
+        try {
+            double garbageRatio = taskLogStore.garbageRatio();
+            if (garbageRatio >= properties.getCompactionGarbageRatio()) {
+                log.info("Compacting task log with {}% superseded records", Math.round(garbageRatio * 100));
+                taskLogStore.compact();
+            }
+        } catch (Exception ex) {
+            log.error("Task log compaction failed: {}", ex.getMessage(), ex);
+        }
+    }
+}
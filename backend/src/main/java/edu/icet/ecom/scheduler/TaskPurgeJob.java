@@ -0,0 +1,47 @@
+package edu.icet.ecom.scheduler;
+
+import edu.icet.ecom.config.TaskPurgeProperties;
+import edu.icet.ecom.service.TaskPurgeService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+@Profile("!reactive & !logstore")
+@RequiredArgsConstructor
+@Slf4j
+public class TaskPurgeJob {
+
+    private final TaskPurgeService taskPurgeService;
+    private final TaskPurgeProperties properties;
+
+    /**
+     * Walks the tombstones in id order, pausing between batches so the purge never competes with live traffic for
+     * long. A failed run resumes from the start on the next one; batches already purged are simply gone.
+     */
+    @Scheduled(fixedDelayString = "${todo.purge.interval:PT1M}", initialDelayString = "${todo.purge.interval:PT1M}")
+    public void purge() {
+        try {
+            long afterId = 0L;
+            int total = 0;
+            List<Long> purged;
+            while (!(purged = taskPurgeService.purgeBatch(afterId)).isEmpty()) {
+                total += purged.size();
+                afterId = purged.get(purged.size() - 1);
+                Thread.sleep(properties.getBatchPause().toMillis());
+            }
+
+            if (total > 0) {
+                log.info("Purged {} deleted tasks", total);
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (Exception ex) {
+            log.error("Task purge failed: {}", ex.getMessage(), ex);
+        }
+    }
+}
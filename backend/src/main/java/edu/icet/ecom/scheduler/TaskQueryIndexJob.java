@@ -0,0 +1,49 @@
+package edu.icet.ecom.scheduler;
+
+import edu.icet.ecom.service.TaskQueryService;
+import edu.icet.ecom.service.TaskSuggestService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Builds the in-memory query and title suggestion indexes at startup and keeps retrying each until one load succeeds.
+ * After that they are maintained from change events and never reloaded.
+ */
+@Component
+@Profile("!reactive")
+@RequiredArgsConstructor
+@Slf4j
+public class TaskQueryIndexJob {
+
+    private final TaskQueryService taskQueryService;
+    private final TaskSuggestService taskSuggestService;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        loadIfMissing();
+    }
+
+    @Scheduled(fixedDelayString = "${todo.query.retry-interval:PT1M}",
+            initialDelayString = "${todo.query.retry-interval:PT1M}")
+    public void loadIfMissing() {
+        if (!taskQueryService.isLoaded()) {
+            try {
+                taskQueryService.load();
+            } catch (Exception ex) {
+                log.error("Failed to load the task query index: {}", ex.getMessage(), ex);
+            }
+        }
+        if (!taskSuggestService.isLoaded()) {
+            try {
+                taskSuggestService.load();
+            } catch (Exception ex) {
+                log.error("Failed to load the task title suggestion index: {}", ex.getMessage(), ex);
+            }
+        }
+    }
+}
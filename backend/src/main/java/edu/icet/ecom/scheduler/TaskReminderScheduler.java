@@ -0,0 +1,276 @@
+package edu.icet.ecom.scheduler;
+
+import edu.icet.ecom.config.ReminderProperties;
+import edu.icet.ecom.entity.Task;
+import edu.icet.ecom.entity.TaskChangeType;
+import edu.icet.ecom.event.TaskChangedEvent;
+import edu.icet.ecom.event.TaskReminderEvent;
+import edu.icet.ecom.repository.TaskRepository;
+import edu.icet.ecom.repository.projection.TaskDueView;
+import edu.icet.ecom.service.SchedulerLeaseService;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HashSet;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fires {@link TaskReminderEvent}s when open tasks become due. Timers live in a {@link HierarchicalTimingWheel} and only
+ * cover the configured window ahead of now; the rest stay in the database until the loader reaches them. A timer can
+ * still outlive its task by a moment, so every task is checked to be open before its reminder is published.
+ * <p>
+ * Only the instance holding the {@code task-reminders} lease keeps a wheel and fires reminders; it renews the lease on
+ * every load. An instance taking the lease over, including after a restart, first loads the reminders that fell due
+ * since the previous holder last renewed it, at most {@code todo.reminders.catch-up-window} back. Reminders due between
+ * that renewal and the previous holder stopping may therefore fire twice. The log store profile keeps tasks on local
+ * disk and has no lease; each instance there fires its own reminders, catching up the whole window on start.
+ */
+@Component
+@Profile("!reactive")
+@ConditionalOnProperty(prefix = "todo.reminders", name = "enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+@Slf4j
+public class TaskReminderScheduler {
+
+    static final String LEASE_NAME = "task-reminders";
+
+    private final TaskRepository taskRepository;
+    private final ObjectProvider<SchedulerLeaseService> schedulerLeaseService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ReminderProperties properties;
+
+    /**
+     * {@code null} while another instance holds the lease. Replaced only by the loader, under {@link #loadLock}.
+     */
+    private volatile HierarchicalTimingWheel wheel;
+    private volatile long loadedUntilMs;
+    private long leaseToken;
+    private ScheduledExecutorService executor;
+
+    /**
+     * Tasks changed while a window load runs; {@code null} when none runs. The pages of the load may have been read
+     * before those changes committed, so the load leaves these tasks to {@link #onTaskChanged}. Guarded by
+     * {@link #loadLock}, which also makes checking a task and scheduling it one step.
+     */
+    private Set<Long> changedDuringLoad;
+    private final Object loadLock = new Object();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        // Separate threads so that a long window load never delays a tick.
+        executor = Executors.newScheduledThreadPool(2, runnable -> {
+            Thread thread = new Thread(runnable, "task-reminders");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleAtFixedRate(this::tick, properties.getTick().toMillis(),
+                properties.getTick().toMillis(), TimeUnit.MILLISECONDS);
+        executor.scheduleWithFixedDelay(this::loadWindow, 0,
+                properties.getLoadInterval().toMillis(), TimeUnit.MILLISECONDS);
+
+        log.info("Task reminder scheduler started with {} ms ticks and a {} window",
+                properties.getTick().toMillis(), properties.getWindow());
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    @TransactionalEventListener
+    public void onTaskChanged(TaskChangedEvent event) {
+        synchronized (loadLock) {
+            HierarchicalTimingWheel current = wheel;
+            if (current == null) {
+                return;
+            }
+            if (changedDuringLoad != null) {
+                changedDuringLoad.add(event.getTaskId());
+            }
+
+            if (event.getChangeType() == TaskChangeType.DELETED
+                    || Boolean.TRUE.equals(event.getCompleted()) || event.getDueAt() == null) {
+                current.cancel(event.getTaskId());
+                return;
+            }
+
+            long dueMs = toEpochMillis(event.getDueAt());
+            if (dueMs < loadedUntilMs) {
+                current.schedule(event.getTaskId(), dueMs);
+            } else {
+                // Beyond the loaded window: the loader will pick it up from the database when the window reaches it.
+                current.cancel(event.getTaskId());
+            }
+        }
+    }
+
+    public int getPendingCount() {
+        HierarchicalTimingWheel current = wheel;
+        return current != null ? current.size() : 0;
+    }
+
+    void tick() {
+        HierarchicalTimingWheel current = wheel;
+        if (current == null) {
+            return;
+        }
+        try {
+            List<Long> due = current.advanceTo(System.currentTimeMillis());
+            if (due.isEmpty()) {
+                return;
+            }
+
+            LocalDateTime firedAt = LocalDateTime.now();
+            int fired = 0;
+            for (int from = 0; from < due.size(); from += properties.getLoadBatchSize()) {
+                List<Long> chunk = due.subList(from, Math.min(from + properties.getLoadBatchSize(), due.size()));
+                for (Task task : taskRepository.findAllById(chunk)) {
+                    if (!Boolean.TRUE.equals(task.getCompleted())) {
+                        eventPublisher.publishEvent(new TaskReminderEvent(task.getId(), firedAt));
+                        fired++;
+                    }
+                }
+            }
+            log.debug("Fired {} task reminders, skipped {} completed or deleted tasks", fired, due.size() - fired);
+        } catch (Exception ex) {
+            log.error("Task reminder tick failed: {}", ex.getMessage(), ex);
+        }
+    }
+
+    void loadWindow() {
+        long now = System.currentTimeMillis();
+        try {
+            if (!holdLease(now)) {
+                return;
+            }
+        } catch (Exception ex) {
+            log.error("Failed to renew the task reminder lease: {}", ex.getMessage(), ex);
+            return;
+        }
+
+        long from = loadedUntilMs;
+        long until = now + properties.getWindow().toMillis();
+        if (from >= until) {
+            return;
+        }
+
+        try {
+            // Advance the horizon and start recording changes before the first read, so writes committed during the
+            // load are scheduled by onTaskChanged and left alone by the load.
+            synchronized (loadLock) {
+                changedDuringLoad = new HashSet<>();
+                loadedUntilMs = until;
+            }
+
+            LocalDateTime afterDue = toLocalDateTime(from);
+            LocalDateTime untilDue = toLocalDateTime(until);
+            Long afterId = 0L;
+            int loaded = 0;
+            List<TaskDueView> page;
+            do {
+                page = taskRepository.findOpenDueAfter(afterDue, afterId, untilDue,
+                        PageRequest.of(0, properties.getLoadBatchSize()));
+                synchronized (loadLock) {
+                    for (TaskDueView view : page) {
+                        // A write seen through onTaskChanged is newer than this read, so never overwrite it.
+                        if (!changedDuringLoad.contains(view.id())) {
+                            wheel.scheduleIfAbsent(view.id(), toEpochMillis(view.dueAt()));
+                        }
+                    }
+                }
+                if (!page.isEmpty()) {
+                    TaskDueView last = page.get(page.size() - 1);
+                    afterDue = last.dueAt();
+                    afterId = last.id();
+                }
+                loaded += page.size();
+            } while (page.size() == properties.getLoadBatchSize());
+
+            log.debug("Loaded {} task reminders due before {}", loaded, untilDue);
+        } catch (Exception ex) {
+            // Reloading is idempotent, so retry the whole window on the next run.
+            loadedUntilMs = from;
+            log.error("Failed to load task reminders: {}", ex.getMessage(), ex);
+        } finally {
+            synchronized (loadLock) {
+                changedDuringLoad = null;
+            }
+        }
+    }
+
+    /**
+     * Takes or renews the lease. On taking it, a fresh wheel is started and the next load begins where the previous
+     * holder may have stopped firing.
+     *
+     * @return whether this instance holds the lease
+     */
+    private boolean holdLease(long nowMs) {
+        SchedulerLeaseService leases = schedulerLeaseService.getIfAvailable();
+        LocalDateTime previousExpiry = null;
+        OptionalLong token = OptionalLong.of(0);
+        if (leases != null) {
+            previousExpiry = leases.findExpiresAt(LEASE_NAME).orElse(null);
+            token = leases.acquire(LEASE_NAME, properties.getInstanceId(), properties.getLeaseDuration());
+        }
+
+        synchronized (loadLock) {
+            if (token.isEmpty()) {
+                if (wheel != null) {
+                    log.warn("Lost the task reminder lease to another instance");
+                    wheel = null;
+                }
+                return false;
+            }
+            if (wheel == null || token.getAsLong() != leaseToken) {
+                leaseToken = token.getAsLong();
+                wheel = new HierarchicalTimingWheel(properties.getTick().toMillis(), properties.getBitsPerLevel(),
+                        nowMs);
+                loadedUntilMs = catchUpFrom(previousExpiry, nowMs);
+                log.info("Took the task reminder lease, firing reminders due since {}",
+                        toLocalDateTime(loadedUntilMs));
+            }
+            return true;
+        }
+    }
+
+    /**
+     * The previous holder renewed the lease one lease duration before it expires, and had fired the reminders due by
+     * then.
+     */
+    private long catchUpFrom(LocalDateTime previousExpiry, long nowMs) {
+        long earliest = nowMs - properties.getCatchUpWindow().toMillis();
+        if (previousExpiry == null) {
+            return earliest;
+        }
+        long renewedAt = toEpochMillis(previousExpiry) - properties.getLeaseDuration().toMillis();
+        return Math.min(Math.max(renewedAt, earliest), nowMs);
+    }
+
+    private static long toEpochMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static LocalDateTime toLocalDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+}
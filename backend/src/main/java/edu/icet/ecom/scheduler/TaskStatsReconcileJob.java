@@ -0,0 +1,34 @@
+package edu.icet.ecom.scheduler;
+
+import edu.icet.ecom.service.TaskStatsService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@Profile("!reactive")
+@RequiredArgsConstructor
+@Slf4j
+public class TaskStatsReconcileJob {
+
+    private final TaskStatsService taskStatsService;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconcileOnStartup() {
+        reconcile();
+    }
+
+    @Scheduled(fixedDelayString = "${todo.stats.reconcile-interval:PT10M}",
+            initialDelayString = "${todo.stats.reconcile-interval:PT10M}")
+    public void reconcile() {
+        try {
+            taskStatsService.reconcile();
+        } catch (Exception ex) {
+            log.error("Task counter reconciliation failed: {}", ex.getMessage(), ex);
+        }
+    }
+}
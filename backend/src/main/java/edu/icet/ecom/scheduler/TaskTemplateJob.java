@@ -0,0 +1,64 @@
+package edu.icet.ecom.scheduler;
+
+import edu.icet.ecom.config.TaskTemplateProperties;
+import edu.icet.ecom.dto.TemplateBatchResult;
+import edu.icet.ecom.service.TaskTemplateService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.OptionalLong;
+
+@Component
+@Profile("!reactive & !logstore")
+@ConditionalOnProperty(prefix = "todo.templates", name = "enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+@Slf4j
+public class TaskTemplateJob {
+
+    private final TaskTemplateService taskTemplateService;
+    private final TaskTemplateProperties properties;
+
+    @Scheduled(fixedDelayString = "${todo.templates.interval:PT1M}",
+            initialDelayString = "${todo.templates.interval:PT1M}")
+    public void run() {
+        try {
+            materialize(properties.getInstanceId());
+        } catch (Exception ex) {
+            log.error("Task template run failed: {}", ex.getMessage(), ex);
+        }
+    }
+
+    /**
+     * Materialises batch after batch until no template is due within the horizon, which after downtime catches up
+     * every missed occurrence in the same run. Only the instance holding the lease does anything.
+     *
+     * @return the number of tasks created
+     */
+    public int materialize(String owner) {
+        OptionalLong token = taskTemplateService.acquireLease(owner);
+        if (token.isEmpty()) {
+            log.debug("Task template lease is held by another instance");
+            return 0;
+        }
+
+        LocalDateTime until = LocalDateTime.now().plus(properties.getHorizon());
+        int templates = 0;
+        int tasks = 0;
+        TemplateBatchResult batch;
+        do {
+            batch = taskTemplateService.materializeBatch(owner, token.getAsLong(), until);
+            templates += batch.getTemplates();
+            tasks += batch.getTasks();
+        } while (batch.getTemplates() > 0);
+
+        if (tasks > 0) {
+            log.info("Materialised {} tasks from {} task templates due by {}", tasks, templates, until);
+        }
+        return tasks;
+    }
+}
@@ -0,0 +1,32 @@
+package edu.icet.ecom.service;
+
+import edu.icet.ecom.dto.BulkDeleteResponse;
+import edu.icet.ecom.dto.CreateTaskRequest;
+import edu.icet.ecom.dto.PatchTaskRequest;
+import edu.icet.ecom.dto.TaskResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Non-blocking counterpart of {@link TaskService}, used when the application runs with the "reactive" profile.
+ */
+public interface ReactiveTaskService {
+
+    Mono<TaskResponse> createTask(CreateTaskRequest request);
+
+    Flux<TaskResponse> getRecentUncompletedTasks();
+
+    Mono<TaskResponse> getTask(Long id);
+
+    Mono<TaskResponse> completeTask(Long id);
+
+    Mono<TaskResponse> updateTask(Long id, CreateTaskRequest request);
+
+    Mono<TaskResponse> patchTask(Long id, PatchTaskRequest request);
+
+    Mono<Void> deleteTask(Long id);
+
+    Mono<BulkDeleteResponse> deleteTasks(List<Long> ids);
+}
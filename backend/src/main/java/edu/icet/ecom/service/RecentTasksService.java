@@ -0,0 +1,8 @@
+package edu.icet.ecom.service;
+
+import edu.icet.ecom.dto.RecentTasksResult;
+
+public interface RecentTasksService {
+
+    RecentTasksResult getRecentUncompletedTasks();
+}
@@ -0,0 +1,22 @@
+package edu.icet.ecom.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.OptionalLong;
+
+public interface SchedulerLeaseService {
+
+    /**
+     * Takes the lease {@code name} for {@code owner}, or extends it if the owner already holds it. A missing lease is
+     * created first.
+     *
+     * @return the lease token, empty while another instance holds the lease
+     */
+    OptionalLong acquire(String name, String owner, Duration duration);
+
+    /**
+     * @return when the lease expires, empty if nobody has held it yet
+     */
+    Optional<LocalDateTime> findExpiresAt(String name);
+}
@@ -0,0 +1,18 @@
+package edu.icet.ecom.service;
+
+import edu.icet.ecom.analytics.CompletionGranularity;
+import edu.icet.ecom.dto.TaskCompletionAnalyticsResponse;
+
+import java.time.LocalDateTime;
+
+public interface TaskAnalyticsService {
+
+    TaskCompletionAnalyticsResponse getCompletionAnalytics(LocalDateTime from, LocalDateTime to,
+                                                           CompletionGranularity granularity);
+
+    void load();
+
+    boolean isLoaded();
+
+    void rollUp();
+}
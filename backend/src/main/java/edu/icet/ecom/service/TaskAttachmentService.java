@@ -0,0 +1,22 @@
+package edu.icet.ecom.service;
+
+import edu.icet.ecom.dto.TaskAttachmentContent;
+import edu.icet.ecom.dto.TaskAttachmentResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+public interface TaskAttachmentService {
+
+    TaskAttachmentResponse addAttachment(Long taskId, String fileName, String contentType, Long contentLength,
+                                         InputStream content) throws IOException;
+
+    List<TaskAttachmentResponse> getAttachments(Long taskId);
+
+    TaskAttachmentContent getAttachmentContent(Long taskId, Long attachmentId);
+
+    void deleteAttachment(Long taskId, Long attachmentId);
+
+    int sweepUnreferencedContent() throws IOException;
+}
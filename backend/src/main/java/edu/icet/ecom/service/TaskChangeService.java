@@ -0,0 +1,20 @@
+package edu.icet.ecom.service;
+
+import edu.icet.ecom.dto.TaskChangesResponse;
+import edu.icet.ecom.entity.Task;
+import edu.icet.ecom.entity.TaskChangeType;
+
+public interface TaskChangeService {
+
+    void recordChange(Task task, TaskChangeType changeType);
+
+    TaskChangesResponse getChangesSince(Long since, Integer limit);
+
+    int compactChanges();
+
+    /**
+     * @return a sequence below which every committed change has reached the after-commit listeners, so no
+     * {@link edu.icet.ecom.event.TaskChangedEvent} with a lower sequence can still arrive
+     */
+    long deliveredBefore();
+}
@@ -0,0 +1,8 @@
+package edu.icet.ecom.service;
+
+import edu.icet.ecom.dto.TaskDashboardResponse;
+
+public interface TaskDashboardService {
+
+    TaskDashboardResponse getDashboard();
+}
@@ -0,0 +1,18 @@
+package edu.icet.ecom.service;
+
+import edu.icet.ecom.dto.TaskQueryResponse;
+
+import java.util.List;
+
+public interface TaskLabelService {
+
+    List<String> getLabels(Long taskId);
+
+    List<String> setLabels(Long taskId, List<String> labels);
+
+    TaskQueryResponse findByLabels(List<String> labels, boolean matchAll, Boolean completed, int limit);
+
+    void load();
+
+    boolean isLoaded();
+}
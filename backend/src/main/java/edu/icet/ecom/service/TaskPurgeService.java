@@ -0,0 +1,13 @@
+package edu.icet.ecom.service;
+
+import java.util.List;
+
+public interface TaskPurgeService {
+
+    /**
+     * Physically deletes the next batch of tombstoned tasks with an id greater than {@code afterId}.
+     *
+     * @return the purged ids in ascending order, empty once nothing is left to purge
+     */
+    List<Long> purgeBatch(long afterId);
+}
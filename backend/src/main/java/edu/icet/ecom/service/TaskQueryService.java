@@ -0,0 +1,13 @@
+package edu.icet.ecom.service;
+
+import edu.icet.ecom.dto.TaskQueryResponse;
+import edu.icet.ecom.query.TaskQuery;
+
+public interface TaskQueryService {
+
+    TaskQueryResponse query(TaskQuery query);
+
+    void load();
+
+    boolean isLoaded();
+}
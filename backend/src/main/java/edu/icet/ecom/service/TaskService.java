@@ -1,6 +1,9 @@
 package edu.icet.ecom.service;
 
+import edu.icet.ecom.dto.BulkDeleteResponse;
 import edu.icet.ecom.dto.CreateTaskRequest;
+import edu.icet.ecom.dto.PatchTaskRequest;
+import edu.icet.ecom.dto.TaskBatchResponse;
 import edu.icet.ecom.dto.TaskResponse;
 
 import java.util.List;
@@ -11,7 +14,17 @@ public interface TaskService {
 
     List<TaskResponse> getRecentUncompletedTasks();
 
+    TaskResponse getTask(Long id);
+
+    TaskBatchResponse getTasks(List<Long> ids);
+
     TaskResponse completeTask(Long id);
 
     TaskResponse updateTask(Long id, CreateTaskRequest request);
+
+    TaskResponse patchTask(Long id, PatchTaskRequest request);
+
+    void deleteTask(Long id);
+
+    BulkDeleteResponse deleteTasks(List<Long> ids);
 }
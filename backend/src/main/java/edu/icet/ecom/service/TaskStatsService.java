@@ -0,0 +1,10 @@
+package edu.icet.ecom.service;
+
+import edu.icet.ecom.dto.TaskStatsResponse;
+
+public interface TaskStatsService {
+
+    TaskStatsResponse getStats();
+
+    void reconcile();
+}
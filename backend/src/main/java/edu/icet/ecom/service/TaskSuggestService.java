@@ -0,0 +1,12 @@
+package edu.icet.ecom.service;
+
+import java.util.List;
+
+public interface TaskSuggestService {
+
+    List<String> suggest(String prefix, Integer limit);
+
+    void load();
+
+    boolean isLoaded();
+}
@@ -0,0 +1,30 @@
+package edu.icet.ecom.service;
+
+import edu.icet.ecom.dto.CreateTaskTemplateRequest;
+import edu.icet.ecom.dto.TaskTemplateResponse;
+import edu.icet.ecom.dto.TemplateBatchResult;
+
+import java.time.LocalDateTime;
+import java.util.OptionalLong;
+
+public interface TaskTemplateService {
+
+    TaskTemplateResponse createTemplate(CreateTaskTemplateRequest request);
+
+    TaskTemplateResponse getTemplate(Long id);
+
+    void deleteTemplate(Long id);
+
+    /**
+     * Takes the materialisation lease for {@code owner}, or extends it if the owner already holds it.
+     *
+     * @return the lease token, empty while another instance holds the lease
+     */
+    OptionalLong acquireLease(String owner);
+
+    /**
+     * Turns the next batch of occurrences up to {@code until} into tasks, provided the lease is still held under
+     * {@code token}.
+     */
+    TemplateBatchResult materializeBatch(String owner, long token, LocalDateTime until);
+}
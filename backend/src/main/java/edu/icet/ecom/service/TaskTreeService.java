@@ -0,0 +1,19 @@
+package edu.icet.ecom.service;
+
+import edu.icet.ecom.dto.CreateTaskRequest;
+import edu.icet.ecom.dto.SubtaskResponse;
+import edu.icet.ecom.dto.TaskResponse;
+import edu.icet.ecom.dto.TaskSubtreeResponse;
+
+public interface TaskTreeService {
+
+    TaskResponse createSubtask(Long parentId, CreateTaskRequest request);
+
+    TaskSubtreeResponse getSubtree(Long taskId, Integer maxDepth, int limit);
+
+    SubtaskResponse moveTask(Long taskId, Long parentId);
+
+    SubtaskResponse detachTask(Long taskId);
+
+    SubtaskResponse completeSubtree(Long taskId);
+}
@@ -0,0 +1,82 @@
+package edu.icet.ecom.service.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs a few independent calls concurrently and waits for all of them until a deadline. The first failure cancels the
+ * calls still running and is rethrown to the caller; calls that have not finished by the deadline are cancelled and
+ * left for the caller to report. This is the shape of {@code StructuredTaskScope.ShutdownOnFailure} with
+ * {@code joinUntil}, which is still a preview API in Java 21.
+ * <p>
+ * A scope is used by one thread and for one round of forks.
+ */
+public class DeadlineScope {
+
+    private final Executor executor;
+    private final List<Future<?>> forks = new ArrayList<>();
+    private final BlockingQueue<Future<?>> completed = new LinkedBlockingQueue<>();
+
+    public DeadlineScope(Executor executor) {
+        this.executor = executor;
+    }
+
+    public <T> Future<T> fork(Callable<T> call) {
+        FutureTask<T> task = new FutureTask<>(call) {
+            @Override
+            protected void done() {
+                completed.add(this);
+            }
+        };
+        forks.add(task);
+        executor.execute(task);
+        return task;
+    }
+
+    /**
+     * Waits until every fork has finished or the deadline, on the {@link System#nanoTime()} clock, has passed.
+     *
+     * @return whether every fork finished in time; otherwise the unfinished ones have been cancelled
+     * @throws ExecutionException the first failure, after the remaining forks have been cancelled
+     */
+    public boolean joinUntil(long deadlineNanos) throws InterruptedException, ExecutionException {
+        try {
+            for (int remaining = forks.size(); remaining > 0; remaining--) {
+                Future<?> next = completed.poll(deadlineNanos - System.nanoTime(), TimeUnit.NANOSECONDS);
+                if (next == null) {
+                    cancelAll();
+                    return false;
+                }
+                if (next.state() == Future.State.FAILED) {
+                    cancelAll();
+                    next.get();
+                }
+            }
+            return true;
+        } catch (InterruptedException ex) {
+            cancelAll();
+            throw ex;
+        }
+    }
+
+    /**
+     * @return the result of a fork that succeeded, or {@code null} if it was cancelled at the deadline
+     */
+    public static <T> T resultOrNull(Future<T> fork) {
+        return fork.state() == Future.State.SUCCESS ? fork.resultNow() : null;
+    }
+
+    private void cancelAll() {
+        for (Future<?> fork : forks) {
+            fork.cancel(true);
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package edu.icet.ecom.service.impl;
+
+import edu.icet.ecom.dto.TaskChangesResponse;
+import edu.icet.ecom.entity.Task;
+import edu.icet.ecom.entity.TaskChangeType;
+import edu.icet.ecom.event.TaskChangedEvent;
+import edu.icet.ecom.service.TaskChangeService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Change notification for the log store profile. Changes still reach after-commit listeners, but no change history is
+ * kept, so the sync endpoint is not available there.
+ * <p>
+ * Events still carry a sequence, counted in memory from the start of the process. Transactions take them one at a time
+ * from just before their commit until their after-commit listeners have run, which keeps sequences in commit order.
+ * The store applies commits one at a time anyway, so this adds little waiting.
+ */
+@Service
+@Profile("logstore")
+@RequiredArgsConstructor
+@Slf4j
+public class LogStoreTaskChangeServiceImpl implements TaskChangeService {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final ReentrantLock commitOrder = new ReentrantLock();
+    private final UndeliveredChanges undelivered = new UndeliveredChanges();
+
+    /**
+     * Guarded by {@link #commitOrder}.
+     */
+    private long lastSeq;
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordChange(Task task, TaskChangeType changeType) {
+        TaskChangedEvent event = new TaskChangedEvent(task.getId(), changeType, task.getTitle(), task.getCompleted(),
+                task.getCreatedAt(), task.getDueAt(), task.getCompletedAt(), task.getParentId(), task.getSubtaskCount(),
+                null);
+        pendingEvents().add(event);
+        eventPublisher.publishEvent(event);
+        log.debug("Published {} change for task with id: {}", changeType, task.getId());
+    }
+
+    @Override
+    public TaskChangesResponse getChangesSince(Long since, Integer limit) {
+        throw new UnsupportedOperationException("Task change history is not kept by the log store");
+    }
+
+    @Override
+    public int compactChanges() {
+        return 0;
+    }
+
+    @Override
+    public long deliveredBefore() {
+        return undelivered.deliveredBefore();
+    }
+
+    private List<TaskChangedEvent> pendingEvents() {
+        PendingEvents pending = (PendingEvents) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            pending = new PendingEvents();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        return pending.events;
+    }
+
+    /**
+     * The events of one transaction, numbered under {@link #commitOrder} before it commits.
+     */
+    private final class PendingEvents implements TransactionSynchronization {
+
+        private final List<TaskChangedEvent> events = new ArrayList<>();
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            commitOrder.lock();
+            // Registered after the event listeners, so the next transaction waits until they have run.
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    commitOrder.unlock();
+                }
+            });
+            long firstSeq = lastSeq + 1;
+            for (TaskChangedEvent event : events) {
+                event.setSeq(++lastSeq);
+            }
+            undelivered.track(firstSeq);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResource(LogStoreTaskChangeServiceImpl.this);
+        }
+    }
+}
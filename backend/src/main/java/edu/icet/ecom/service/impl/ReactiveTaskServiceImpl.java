@@ -0,0 +1,193 @@
+package edu.icet.ecom.service.impl;
+
+import edu.icet.ecom.dto.BulkDeleteResponse;
+import edu.icet.ecom.dto.CreateTaskRequest;
+import edu.icet.ecom.dto.PatchTaskRequest;
+import edu.icet.ecom.dto.TaskResponse;
+import edu.icet.ecom.entity.Task;
+import edu.icet.ecom.entity.TaskChangeType;
+import edu.icet.ecom.exception.TaskCreationException;
+import edu.icet.ecom.exception.TaskNotFoundException;
+import edu.icet.ecom.repository.ReactiveTaskRepository;
+import edu.icet.ecom.service.ReactiveTaskService;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.modelmapper.ModelMapper;
+import org.springframework.boot.sql.init.dependency.DependsOnDatabaseInitialization;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Mirrors the validation, change logging and error behaviour of {@link TaskServiceImpl} on R2DBC. Transactions are
+ * bound to the reactive pipeline, so no thread or connection is held while waiting on the database.
+ */
+@Service
+@Profile("reactive")
+@DependsOnDatabaseInitialization
+@Transactional
+@RequiredArgsConstructor
+@Slf4j
+public class ReactiveTaskServiceImpl implements ReactiveTaskService {
+
+    private final ReactiveTaskRepository taskRepository;
+    private final ModelMapper modelMapper;
+
+    /**
+     * Runs once at startup, after any schema scripts and before any request, so blocking here holds no event loop
+     * thread.
+     */
+    @PostConstruct
+    void createChangeSequenceLock() {
+        if (taskRepository.createChangeSequenceLock().block() > 0) {
+            log.info("Created the task change lock row");
+        }
+    }
+
+    @Override
+    public Mono<TaskResponse> createTask(CreateTaskRequest request) {
+        if (request.getTitle() == null || request.getTitle().trim().isEmpty()) {
+            return Mono.error(new IllegalArgumentException("Task title cannot be null or empty"));
+        }
+
+        log.info("Creating new task with title: {}", request.getTitle());
+        Task task = modelMapper.map(request, Task.class);
+
+        return taskRepository.insert(task)
+                .flatMap(savedTask -> taskRepository.insertChange(savedTask, TaskChangeType.CREATED).thenReturn(savedTask))
+                .map(savedTask -> modelMapper.map(savedTask, TaskResponse.class))
+                .doOnNext(response -> log.info("Successfully created task with id: {}", response.getId()))
+                .onErrorMap(DataAccessException.class,
+                        ex -> new TaskCreationException("Failed to create task due to database error", ex));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Flux<TaskResponse> getRecentUncompletedTasks() {
+        log.info("Fetching recent uncompleted tasks");
+        return taskRepository.findRecentUncompletedSummaries(
+                        TaskServiceImpl.DESCRIPTION_PREVIEW_LENGTH + 1, TaskServiceImpl.RECENT_TASK_LIMIT)
+                .map(TaskServiceImpl::toSummaryResponse);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Mono<TaskResponse> getTask(Long id) {
+        return findExisting(id)
+                .map(task -> modelMapper.map(task, TaskResponse.class));
+    }
+
+    @Override
+    public Mono<TaskResponse> completeTask(Long id) {
+        return findExisting(id)
+                .flatMap(task -> {
+                    if (task.getCompleted()) {
+                        log.warn("Task with id {} is already completed", id);
+                        return Mono.just(task);
+                    }
+                    task.setCompleted(true);
+                    task.setCompletedAt(LocalDateTime.now());
+                    // A concurrent complete or delete got there first: only the writer that changed the row logs it.
+                    return taskRepository.markCompleted(id, task.getCompletedAt())
+                            .flatMap(updated -> updated > 0
+                                    ? taskRepository.insertChange(task, TaskChangeType.COMPLETED).thenReturn(task)
+                                    : findExisting(id));
+                })
+                .map(task -> modelMapper.map(task, TaskResponse.class));
+    }
+
+    @Override
+    public Mono<TaskResponse> updateTask(Long id, CreateTaskRequest request) {
+        if (request.getTitle() == null || request.getTitle().trim().isEmpty()) {
+            return Mono.error(new IllegalArgumentException("Task title cannot be null or empty"));
+        }
+
+        return findExisting(id)
+                .flatMap(task -> {
+                    task.setTitle(request.getTitle().trim());
+                    task.setDescription(request.getDescription() != null ? request.getDescription().trim() : null);
+                    task.setDueAt(request.getDueAt());
+                    return save(task);
+                })
+                .map(task -> modelMapper.map(task, TaskResponse.class));
+    }
+
+    @Override
+    public Mono<TaskResponse> patchTask(Long id, PatchTaskRequest request) {
+        if (request.getTitle() != null && request.getTitle().trim().isEmpty()) {
+            return Mono.error(new IllegalArgumentException("Task title cannot be empty"));
+        }
+
+        return findExisting(id)
+                .flatMap(task -> TaskServiceImpl.applyPatch(task, request) ? save(task) : Mono.just(task))
+                .map(task -> modelMapper.map(task, TaskResponse.class));
+    }
+
+    @Override
+    public Mono<Void> deleteTask(Long id) {
+        return findExisting(id)
+                .flatMap(task -> tombstone(task)
+                        .flatMap(deleted -> deleted
+                                ? taskRepository.insertChange(task, TaskChangeType.DELETED).thenReturn(true)
+                                : Mono.just(false)))
+                .doOnNext(deleted -> log.info("Successfully deleted task with id: {}", id))
+                .then();
+    }
+
+    @Override
+    public Mono<BulkDeleteResponse> deleteTasks(List<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return Mono.error(new IllegalArgumentException("At least one task ID is required"));
+        }
+        if (ids.size() > TaskServiceImpl.MAX_BULK_DELETE) {
+            return Mono.error(new IllegalArgumentException(
+                    "At most " + TaskServiceImpl.MAX_BULK_DELETE + " tasks can be deleted at once"));
+        }
+
+        // Every tombstone is written before the change entries, which lock the change log until the commit.
+        return Flux.fromIterable(ids)
+                .distinct()
+                .concatMap(taskRepository::findById)
+                .concatMap(task -> tombstone(task).filter(Boolean::booleanValue).map(deleted -> task))
+                .collectList()
+                .flatMap(deleted -> Flux.fromIterable(deleted)
+                        .concatMap(task -> taskRepository.insertChange(task, TaskChangeType.DELETED))
+                        .then(Mono.just(deleted.size())))
+                .map(deleted -> BulkDeleteResponse.builder()
+                        .requested(ids.size())
+                        .deleted(deleted)
+                        .build());
+    }
+
+    /**
+     * @return whether this call deleted the task, as opposed to a concurrent delete
+     */
+    private Mono<Boolean> tombstone(Task task) {
+        task.setDeleted(true);
+        task.setDeletedAt(LocalDateTime.now());
+        return taskRepository.markDeleted(task.getId(), task.getDeletedAt())
+                .map(updated -> updated > 0);
+    }
+
+    private Mono<Task> save(Task task) {
+        return taskRepository.update(task)
+                .then(taskRepository.insertChange(task, TaskChangeType.UPDATED))
+                .thenReturn(task)
+                .doOnNext(saved -> log.info("Successfully updated task with id: {}", saved.getId()));
+    }
+
+    private Mono<Task> findExisting(Long id) {
+        if (id == null || id <= 0) {
+            return Mono.error(new IllegalArgumentException("Task ID must be a positive number"));
+        }
+        return taskRepository.findById(id)
+                .switchIfEmpty(Mono.error(() -> new TaskNotFoundException(id)));
+    }
+}
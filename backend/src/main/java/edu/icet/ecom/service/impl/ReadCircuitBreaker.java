@@ -0,0 +1,57 @@
+package edu.icet.ecom.service.impl;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Minimal closed/open/half-open breaker. Callers check {@link #isClosed()} before reading; once open, a single caller
+ * wins {@link #tryAcquireProbe()} after the open duration and reports the probe outcome through {@link #onSuccess()}
+ * or {@link #onFailure()}.
+ */
+class ReadCircuitBreaker {
+
+    enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final int failureThreshold;
+    private final long openNanos;
+
+    private final AtomicReference<State> state = new AtomicReference<>(State.CLOSED);
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private volatile long openedAt;
+
+    ReadCircuitBreaker(int failureThreshold, Duration openDuration) {
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.openNanos = openDuration.toNanos();
+    }
+
+    State state() {
+        return state.get();
+    }
+
+    boolean isClosed() {
+        return state.get() == State.CLOSED;
+    }
+
+    boolean tryAcquireProbe() {
+        return state.get() == State.OPEN
+                && System.nanoTime() - openedAt >= openNanos
+                && state.compareAndSet(State.OPEN, State.HALF_OPEN);
+    }
+
+    void onSuccess() {
+        consecutiveFailures.set(0);
+        state.set(State.CLOSED);
+    }
+
+    /**
+     * @return whether this failure opened the breaker
+     */
+    boolean onFailure() {
+        if (state.get() == State.HALF_OPEN || consecutiveFailures.incrementAndGet() >= failureThreshold) {
+            openedAt = System.nanoTime();
+            return state.getAndSet(State.OPEN) != State.OPEN;
+        }
+        return false;
+    }
+}
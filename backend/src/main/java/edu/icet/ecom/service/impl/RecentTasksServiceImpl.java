@@ -0,0 +1,126 @@
+package edu.icet.ecom.service.impl;
+
+import edu.icet.ecom.config.RecentTasksProperties;
+import edu.icet.ecom.dto.RecentTasksResult;
+import edu.icet.ecom.dto.TaskResponse;
+import edu.icet.ecom.event.TaskChangedEvent;
+import edu.icet.ecom.service.RecentTasksService;
+import edu.icet.ecom.service.TaskService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Reads recent tasks through a circuit breaker. While the database fails or is slow, callers get the last good result
+ * marked stale instead of an error, and the database is only probed by one background read per open interval.
+ * Transaction exceptions count as database failures because an unreachable database fails when the read-only
+ * transaction begins, before any query runs.
+ * <p>
+ * Concurrent reads share one query, keyed by the number of task changes committed so far. A caller that arrives after
+ * a change committed, such as the client that made it, starts a new query instead of joining one that may predate it.
+ */
+@Service
+@Profile("!reactive")
+@Slf4j
+public class RecentTasksServiceImpl implements RecentTasksService {
+
+    private final TaskService taskService;
+    private final ReadCircuitBreaker breaker;
+    private final long slowCallNanos;
+    private final Duration coalesceTimeout;
+    private final SingleFlight<Long, RecentTasksResult> singleFlight = new SingleFlight<>();
+    private final AtomicLong writeEpoch = new AtomicLong();
+    private final Executor refreshExecutor = probe -> Thread.ofVirtual().name("recent-tasks-probe").start(probe);
+
+    private final AtomicReference<RecentTasksResult> lastGood = new AtomicReference<>();
+
+    public RecentTasksServiceImpl(TaskService taskService, RecentTasksProperties properties) {
+        this.taskService = taskService;
+        this.breaker = new ReadCircuitBreaker(properties.getFailureThreshold(), properties.getOpenDuration());
+        this.slowCallNanos = properties.getSlowCallThreshold().toNanos();
+        this.coalesceTimeout = properties.getCoalesceTimeout();
+    }
+
+    @Override
+    public RecentTasksResult getRecentUncompletedTasks() {
+        RecentTasksResult cached = lastGood.get();
+
+        if (!breaker.isClosed()) {
+            if (breaker.tryAcquireProbe()) {
+                refreshExecutor.execute(this::probe);
+            }
+            if (cached == null) {
+                throw new DataAccessResourceFailureException("Recent tasks are unavailable while the database is down");
+            }
+            return cached.asStale();
+        }
+
+        try {
+            // Concurrent callers share one query; only the caller that runs it updates the breaker.
+            return singleFlight.execute(writeEpoch.get(), coalesceTimeout, this::read);
+        } catch (DataAccessException | TransactionException ex) {
+            if (cached == null) {
+                throw ex;
+            }
+            log.warn("Serving stale recent tasks from {}: {}", cached.getFetchedAt(), ex.getMessage());
+            return cached.asStale();
+        }
+    }
+
+    @TransactionalEventListener
+    public void onTaskChanged(TaskChangedEvent event) {
+        writeEpoch.incrementAndGet();
+    }
+
+    private RecentTasksResult read() {
+        long start = System.nanoTime();
+        List<TaskResponse> tasks;
+        try {
+            tasks = taskService.getRecentUncompletedTasks();
+        } catch (DataAccessException | TransactionException ex) {
+            recordFailure();
+            throw ex;
+        }
+
+        RecentTasksResult result = new RecentTasksResult(tasks, LocalDateTime.now(), false);
+        lastGood.set(result);
+
+        if (System.nanoTime() - start > slowCallNanos) {
+            recordFailure();
+        } else {
+            breaker.onSuccess();
+        }
+        return result;
+    }
+
+    private void probe() {
+        try {
+            read();
+            if (breaker.isClosed()) {
+                log.info("Recent tasks read recovered; circuit closed");
+            }
+        } catch (DataAccessException | TransactionException ex) {
+            log.debug("Recent tasks probe failed: {}", ex.getMessage());
+        } catch (Exception ex) {
+            breaker.onFailure();
+            log.error("Unexpected error while probing recent tasks: {}", ex.getMessage(), ex);
+        }
+    }
+
+    private void recordFailure() {
+        if (breaker.onFailure()) {
+            log.warn("Recent tasks read failing; circuit opened");
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package edu.icet.ecom.service.impl;
+
+import edu.icet.ecom.entity.SchedulerLease;
+import edu.icet.ecom.repository.SchedulerLeaseRepository;
+import edu.icet.ecom.service.SchedulerLeaseService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.OptionalLong;
+
+@Service
+@Profile("!reactive & !logstore")
+@Transactional
+@RequiredArgsConstructor
+@Slf4j
+public class SchedulerLeaseServiceImpl implements SchedulerLeaseService {
+
+    private final SchedulerLeaseRepository leaseRepository;
+
+    /**
+     * A lease held by another instance is recognised from a plain read first, so instances that are not running the
+     * job never queue up behind the row lock of the holder's work in flight. A missing lease is created free, then
+     * taken as usual.
+     */
+    @Override
+    public OptionalLong acquire(String name, String owner, Duration duration) {
+        LocalDateTime now = LocalDateTime.now();
+        SchedulerLease lease = leaseRepository.findById(name).orElse(null);
+        if (lease == null && leaseRepository.createIfMissing(name) > 0) {
+            log.info("Created scheduler lease: {}", name);
+        }
+        boolean heldByOther = lease != null && lease.getOwner() != null && !lease.getOwner().equals(owner)
+                && lease.getExpiresAt() != null && !lease.getExpiresAt().isBefore(now);
+        if (heldByOther || leaseRepository.acquire(name, owner, now, now.plus(duration)) == 0) {
+            return OptionalLong.empty();
+        }
+        return leaseRepository.findToken(name, owner)
+                .map(OptionalLong::of)
+                .orElseGet(OptionalLong::empty);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<LocalDateTime> findExpiresAt(String name) {
+        return leaseRepository.findById(name).map(SchedulerLease::getExpiresAt);
+    }
+}
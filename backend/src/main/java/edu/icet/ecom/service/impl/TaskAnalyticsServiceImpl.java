@@ -0,0 +1,276 @@
+package edu.icet.ecom.service.impl;
+
+import edu.icet.ecom.analytics.CompletionGranularity;
+import edu.icet.ecom.analytics.DurationHistogram;
+import edu.icet.ecom.config.TaskAnalyticsProperties;
+import edu.icet.ecom.dto.CompletionBucketResponse;
+import edu.icet.ecom.dto.TaskCompletionAnalyticsResponse;
+import edu.icet.ecom.entity.TaskChangeType;
+import edu.icet.ecom.entity.TaskCompletionRollup;
+import edu.icet.ecom.event.TaskChangedEvent;
+import edu.icet.ecom.repository.TaskCompletionRollupRepository;
+import edu.icet.ecom.repository.TaskRepository;
+import edu.icet.ecom.repository.projection.TaskCompletionView;
+import edu.icet.ecom.service.TaskAnalyticsService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Time-to-complete histograms per hour of completion, merged on read into the requested buckets.
+ * <p>
+ * The current hour and any hour not yet rolled up are built from completion events as they commit. Once an hour has
+ * been closed for {@code todo.analytics.rollup-delay}, it is recomputed from an index range read of the tasks completed
+ * in it, stored in {@code task_completion_rollup} and never touched again. A restart loads the stored hours and reads
+ * only the hours after the last one.
+ */
+@Service
+@Profile("!reactive & !logstore")
+@RequiredArgsConstructor
+@Slf4j
+public class TaskAnalyticsServiceImpl implements TaskAnalyticsService {
+
+    private record Completion(Long taskId, LocalDateTime completedAt) {
+    }
+
+    private final TaskRepository taskRepository;
+    private final TaskCompletionRollupRepository rollupRepository;
+    private final TaskAnalyticsProperties properties;
+
+    private final ConcurrentSkipListMap<LocalDateTime, DurationHistogram> hours = new ConcurrentSkipListMap<>();
+
+    /**
+     * Start of the first hour that is not rolled up yet.
+     */
+    private volatile LocalDateTime rolledUpUntil;
+    private volatile boolean loaded;
+
+    /**
+     * Completions of open hours counted from the table by {@link #load}. Their events may still arrive afterwards, and
+     * are skipped until the hour is rolled up.
+     */
+    private final Set<Completion> loadedCompletions = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Completion events received while {@link #load} reads the open hours; {@code null} when no load runs. The read may
+     * or may not include them, so the load counts those it did not see. Guarded by {@link #loadLock}.
+     */
+    private List<TaskChangedEvent> completedDuringLoad;
+    private final Object loadLock = new Object();
+
+    @Override
+    public TaskCompletionAnalyticsResponse getCompletionAnalytics(LocalDateTime from, LocalDateTime to,
+                                                                  CompletionGranularity granularity) {
+        if (!loaded) {
+            throw new IllegalStateException("Completion analytics are not loaded yet");
+        }
+
+        LocalDateTime end = to != null ? to : LocalDateTime.now();
+        LocalDateTime start = from != null ? from
+                : end.minus(granularity == CompletionGranularity.HOUR ? Duration.ofDays(1) : Duration.ofDays(30));
+        if (!start.isBefore(end)) {
+            throw new IllegalArgumentException("from must be before to");
+        }
+        if (start.isBefore(retentionStart())) {
+            throw new IllegalArgumentException("Completion analytics only cover the last " + properties.getRetention());
+        }
+
+        LocalDateTime bucketStart = start.truncatedTo(granularity == CompletionGranularity.HOUR
+                ? ChronoUnit.HOURS : ChronoUnit.DAYS);
+        long bucketCount = (Duration.between(bucketStart, end).toHours() + granularity.getLength().toHours() - 1)
+                / granularity.getLength().toHours();
+        if (bucketCount > properties.getMaxBuckets()) {
+            throw new IllegalArgumentException("Range spans more than " + properties.getMaxBuckets() + " buckets");
+        }
+
+        DurationHistogram total = new DurationHistogram();
+        List<CompletionBucketResponse> buckets = new ArrayList<>();
+        for (; bucketStart.isBefore(end); bucketStart = bucketStart.plus(granularity.getLength())) {
+            DurationHistogram bucket = new DurationHistogram();
+            for (DurationHistogram hour : hours.subMap(bucketStart, bucketStart.plus(granularity.getLength())).values()) {
+                synchronized (hour) {
+                    bucket.merge(hour);
+                }
+            }
+            total.merge(bucket);
+            buckets.add(CompletionBucketResponse.builder()
+                    .start(bucketStart)
+                    .completed(bucket.count())
+                    .p50Seconds(bucket.valueAt(0.5))
+                    .p90Seconds(bucket.valueAt(0.9))
+                    .p99Seconds(bucket.valueAt(0.99))
+                    .build());
+        }
+
+        return TaskCompletionAnalyticsResponse.builder()
+                .from(start)
+                .to(end)
+                .granularity(granularity.name().toLowerCase())
+                .completed(total.count())
+                .p50Seconds(total.valueAt(0.5))
+                .p90Seconds(total.valueAt(0.9))
+                .p99Seconds(total.valueAt(0.99))
+                .buckets(buckets)
+                .build();
+    }
+
+    @Override
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * Loads the stored rollups, rolls up every closed hour missing from the table and reads the remaining open hours.
+     * Completion events are collected from before that read starts; once it is done, those the read did not include
+     * are counted, so each completion is counted once whether it committed before, during or after the read.
+     */
+    @Override
+    public void load() {
+        synchronized (loadLock) {
+            completedDuringLoad = new ArrayList<>();
+        }
+        try {
+            List<TaskCompletionRollup> rollups =
+                    rollupRepository.findByHourStartGreaterThanEqualOrderByHourStartAsc(retentionStart());
+            for (TaskCompletionRollup rollup : rollups) {
+                hours.put(rollup.getHourStart(), DurationHistogram.fromBytes(rollup.getHistogram()));
+            }
+
+            rolledUpUntil = rollupRepository.findTopByOrderByHourStartDesc()
+                    .map(rollup -> rollup.getHourStart().plusHours(1))
+                    .orElseGet(this::firstCompletionHour);
+            rollUp();
+
+            Set<Completion> read = new HashSet<>();
+            for (TaskCompletionView completion : taskRepository.findCompletionsBetween(rolledUpUntil,
+                    LocalDateTime.now().plusDays(1))) {
+                read.add(new Completion(completion.id(), completion.completedAt()));
+                record(completion.createdAt(), completion.completedAt());
+            }
+
+            synchronized (loadLock) {
+                loadedCompletions.addAll(read);
+                for (TaskChangedEvent event : completedDuringLoad) {
+                    recordIfNew(event);
+                }
+                loaded = true;
+            }
+        } finally {
+            synchronized (loadLock) {
+                completedDuringLoad = null;
+            }
+        }
+
+        log.info("Loaded {} hours of completion analytics, rolled up until {}", hours.size(), rolledUpUntil);
+    }
+
+    /**
+     * Rolls up every hour that ended at least {@code todo.analytics.rollup-delay} ago and drops hours that fell out of
+     * the retention window from memory.
+     */
+    @Override
+    public void rollUp() {
+        LocalDateTime closedBefore = hourOf(LocalDateTime.now().minus(properties.getRollupDelay()));
+        int rolledUp = 0;
+        while (rolledUpUntil.plusHours(1).compareTo(closedBefore) <= 0) {
+            rollUpHour(rolledUpUntil);
+            rolledUpUntil = rolledUpUntil.plusHours(1);
+            rolledUp++;
+        }
+        hours.headMap(retentionStart()).clear();
+        loadedCompletions.removeIf(completion -> completion.completedAt().isBefore(rolledUpUntil));
+
+        if (rolledUp > 0) {
+            log.debug("Rolled up {} hours of completion analytics until {}", rolledUp, rolledUpUntil);
+        }
+    }
+
+    @TransactionalEventListener
+    public void onTaskChanged(TaskChangedEvent event) {
+        if (event.getChangeType() != TaskChangeType.COMPLETED || event.getCompletedAt() == null) {
+            return;
+        }
+        if (!loaded) {
+            synchronized (loadLock) {
+                if (completedDuringLoad != null) {
+                    completedDuringLoad.add(event);
+                    return;
+                }
+                if (!loaded) {
+                    // Committed before any load started, so the next load reads it from the table.
+                    return;
+                }
+            }
+        }
+        recordIfNew(event);
+    }
+
+    private void recordIfNew(TaskChangedEvent event) {
+        if (event.getCompletedAt().isBefore(rolledUpUntil)) {
+            // Already rolled up from the table, which includes this completion if it committed in time.
+            return;
+        }
+        if (loadedCompletions.contains(new Completion(event.getTaskId(), event.getCompletedAt()))) {
+            // Counted by the load, which read it from the table before this event arrived.
+            return;
+        }
+        record(event.getCreatedAt(), event.getCompletedAt());
+    }
+
+    /**
+     * Replaces the hour with one computed from the table. Empty hours are not stored.
+     */
+    private void rollUpHour(LocalDateTime hourStart) {
+        DurationHistogram histogram = new DurationHistogram();
+        for (TaskCompletionView completion : taskRepository.findCompletionsBetween(hourStart, hourStart.plusHours(1))) {
+            histogram.record(secondsOpen(completion.createdAt(), completion.completedAt()));
+        }
+
+        if (histogram.count() > 0) {
+            rollupRepository.save(TaskCompletionRollup.builder()
+                    .hourStart(hourStart)
+                    .completedCount(histogram.count())
+                    .histogram(histogram.toBytes())
+                    .build());
+            hours.put(hourStart, histogram);
+        } else {
+            hours.remove(hourStart);
+        }
+    }
+
+    private void record(LocalDateTime createdAt, LocalDateTime completedAt) {
+        DurationHistogram hour = hours.computeIfAbsent(hourOf(completedAt), key -> new DurationHistogram());
+        synchronized (hour) {
+            hour.record(secondsOpen(createdAt, completedAt));
+        }
+    }
+
+    private LocalDateTime firstCompletionHour() {
+        LocalDateTime first = taskRepository.findFirstCompletedAt();
+        return hourOf(first != null ? first : LocalDateTime.now());
+    }
+
+    private LocalDateTime retentionStart() {
+        return hourOf(LocalDateTime.now().minus(properties.getRetention()));
+    }
+
+    private static long secondsOpen(LocalDateTime createdAt, LocalDateTime completedAt) {
+        return Duration.between(createdAt, completedAt).getSeconds();
+    }
+
+    private static LocalDateTime hourOf(LocalDateTime dateTime) {
+        return dateTime.truncatedTo(ChronoUnit.HOURS);
+    }
+}
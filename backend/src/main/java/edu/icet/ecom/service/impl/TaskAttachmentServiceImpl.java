@@ -0,0 +1,137 @@
+package edu.icet.ecom.service.impl;
+
+import edu.icet.ecom.config.TaskAttachmentProperties;
+import edu.icet.ecom.dto.TaskAttachmentContent;
+import edu.icet.ecom.dto.TaskAttachmentResponse;
+import edu.icet.ecom.entity.TaskAttachment;
+import edu.icet.ecom.exception.AttachmentNotFoundException;
+import edu.icet.ecom.exception.AttachmentTooLargeException;
+import edu.icet.ecom.repository.TaskAttachmentRepository;
+import edu.icet.ecom.repository.content.ContentStore;
+import edu.icet.ecom.service.TaskAttachmentService;
+import edu.icet.ecom.service.TaskService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Attachment metadata lives in the database and content in the {@link ContentStore}. Uploads stream the content to
+ * the store outside any transaction, so a long upload never holds a connection, and only then save the attachment.
+ * Content no attachment refers to any more, such as after a delete or a task purge, is removed by the sweep.
+ * <p>
+ * Whether the task still exists is checked through {@link TaskService#getTask}, whose cache lets repeated downloads
+ * of a task's attachments skip that query.
+ */
+@Service
+@Profile("!reactive & !logstore")
+@RequiredArgsConstructor
+@Slf4j
+public class TaskAttachmentServiceImpl implements TaskAttachmentService {
+
+    static final int MAX_FILE_NAME_LENGTH = 255;
+    static final int MAX_CONTENT_TYPE_LENGTH = 127;
+    static final String DEFAULT_CONTENT_TYPE = "application/octet-stream";
+
+    private final TaskAttachmentRepository attachmentRepository;
+    private final TaskService taskService;
+    private final ContentStore contentStore;
+    private final TaskAttachmentProperties properties;
+
+    @Override
+    public TaskAttachmentResponse addAttachment(Long taskId, String fileName, String contentType, Long contentLength,
+                                                InputStream content) throws IOException {
+        String name = baseName(fileName);
+        String type = contentType == null || contentType.isBlank() ? DEFAULT_CONTENT_TYPE : contentType.strip();
+        if (name.isEmpty() || name.length() > MAX_FILE_NAME_LENGTH) {
+            throw new IllegalArgumentException("Attachment name must be 1 to " + MAX_FILE_NAME_LENGTH + " characters");
+        }
+        if (type.length() > MAX_CONTENT_TYPE_LENGTH) {
+            throw new IllegalArgumentException("Content type must be at most " + MAX_CONTENT_TYPE_LENGTH + " characters");
+        }
+        long maxSize = properties.getMaxSize().toBytes();
+        if (contentLength != null && contentLength > maxSize) {
+            throw new AttachmentTooLargeException(maxSize);
+        }
+        taskService.getTask(taskId);
+
+        log.info("Storing attachment '{}' for task with id: {}", name, taskId);
+        ContentStore.StoredContent stored = contentStore.write(content, maxSize);
+
+        TaskAttachment attachment = attachmentRepository.save(TaskAttachment.builder()
+                .taskId(taskId)
+                .fileName(name)
+                .contentType(type)
+                .size(stored.size())
+                .sha256(stored.sha256())
+                .build());
+        log.info("Stored attachment {} ({} bytes) for task with id: {}", attachment.getId(), stored.size(), taskId);
+        return toResponse(attachment);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<TaskAttachmentResponse> getAttachments(Long taskId) {
+        taskService.getTask(taskId);
+        return attachmentRepository.findByTaskIdOrderByIdAsc(taskId).stream()
+                .map(TaskAttachmentServiceImpl::toResponse)
+                .toList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public TaskAttachmentContent getAttachmentContent(Long taskId, Long attachmentId) {
+        TaskAttachment attachment = findAttachment(taskId, attachmentId);
+        return new TaskAttachmentContent(toResponse(attachment), contentStore.path(attachment.getSha256()));
+    }
+
+    @Override
+    @Transactional
+    public void deleteAttachment(Long taskId, Long attachmentId) {
+        TaskAttachment attachment = findAttachment(taskId, attachmentId);
+        attachmentRepository.delete(attachment);
+        log.info("Deleted attachment {} of task with id: {}", attachmentId, taskId);
+    }
+
+    @Override
+    public int sweepUnreferencedContent() throws IOException {
+        return contentStore.sweep(Instant.now().minus(properties.getSweepGrace()),
+                attachmentRepository::findReferencedSha256);
+    }
+
+    private TaskAttachment findAttachment(Long taskId, Long attachmentId) {
+        taskService.getTask(taskId);
+        return attachmentRepository.findById(attachmentId)
+                .filter(attachment -> attachment.getTaskId().equals(taskId))
+                .orElseThrow(() -> new AttachmentNotFoundException(taskId, attachmentId));
+    }
+
+    /**
+     * Clients may send a full path; only the last segment is kept.
+     */
+    private static String baseName(String fileName) {
+        if (fileName == null) {
+            return "";
+        }
+        int separator = Math.max(fileName.lastIndexOf('/'), fileName.lastIndexOf('\\'));
+        return fileName.substring(separator + 1).strip();
+    }
+
+    private static TaskAttachmentResponse toResponse(TaskAttachment attachment) {
+        return TaskAttachmentResponse.builder()
+                .id(attachment.getId())
+                .taskId(attachment.getTaskId())
+                .fileName(attachment.getFileName())
+                .contentType(attachment.getContentType())
+                .size(attachment.getSize())
+                .sha256(attachment.getSha256())
+                .createdAt(attachment.getCreatedAt())
+                .build();
+    }
+}
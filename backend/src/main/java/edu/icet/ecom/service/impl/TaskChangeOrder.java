@@ -0,0 +1,55 @@
+package edu.icet.ecom.service.impl;
+
+import edu.icet.ecom.event.TaskChangedEvent;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The sequence of the last change applied per task, for after-commit listeners that keep state per task. Listeners of
+ * different transactions can run in any order, so a change may arrive after a newer one to the same task and must then
+ * be skipped. A task is forgotten once no older change to it can still arrive.
+ * <p>
+ * Not thread-safe; callers apply changes under their own lock.
+ */
+final class TaskChangeOrder {
+
+    private record Applied(Long taskId, long seq) {
+    }
+
+    private final Map<Long, Long> lastSeqs = new HashMap<>();
+    private final ArrayDeque<Applied> applied = new ArrayDeque<>();
+
+    /**
+     * Records the change unless a newer one to the same task came first. Changes without a sequence always apply.
+     *
+     * @param deliveredBefore from {@link edu.icet.ecom.service.TaskChangeService#deliveredBefore()}
+     * @return whether the change should be applied
+     */
+    boolean advance(TaskChangedEvent event, long deliveredBefore) {
+        forget(deliveredBefore);
+
+        Long seq = event.getSeq();
+        if (seq == null) {
+            return true;
+        }
+        Long last = lastSeqs.get(event.getTaskId());
+        if (last != null && last >= seq) {
+            return false;
+        }
+        lastSeqs.put(event.getTaskId(), seq);
+        applied.addLast(new Applied(event.getTaskId(), seq));
+        return true;
+    }
+
+    /**
+     * Changes arrive roughly in sequence order, so checking from the oldest one applied is enough to keep the map small.
+     */
+    private void forget(long deliveredBefore) {
+        while (!applied.isEmpty() && applied.peekFirst().seq() < deliveredBefore) {
+            Applied oldest = applied.pollFirst();
+            lastSeqs.remove(oldest.taskId(), oldest.seq());
+        }
+    }
+}
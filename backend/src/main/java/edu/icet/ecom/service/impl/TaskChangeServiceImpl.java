@@ -0,0 +1,197 @@
+package edu.icet.ecom.service.impl;
+
+import edu.icet.ecom.config.TaskChangeProperties;
+import edu.icet.ecom.dto.TaskChangeResponse;
+import edu.icet.ecom.dto.TaskChangesResponse;
+import edu.icet.ecom.entity.Task;
+import edu.icet.ecom.entity.TaskChange;
+import edu.icet.ecom.entity.TaskChangeType;
+import edu.icet.ecom.event.TaskChangedEvent;
+import edu.icet.ecom.repository.TaskChangeRepository;
+import edu.icet.ecom.service.TaskChangeService;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@Service
+@Profile("!reactive & !logstore")
+@Transactional
+@RequiredArgsConstructor
+@Slf4j
+public class TaskChangeServiceImpl implements TaskChangeService {
+
+    private final TaskChangeRepository taskChangeRepository;
+    private final TaskChangeProperties properties;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final UndeliveredChanges undelivered = new UndeliveredChanges();
+
+    @PostConstruct
+    void createSequenceLock() {
+        if (taskChangeRepository.createSequenceLock() > 0) {
+            log.info("Created the task change lock row");
+        }
+    }
+
+    /**
+     * Must run inside the caller's transaction so that a task write and its change entry commit or roll back together.
+     * The entry is only inserted when that transaction commits, see {@link PendingChanges}. The published
+     * {@link TaskChangedEvent} reaches plain listeners right away and transactional listeners after the commit, by
+     * which time it carries the entry's sequence.
+     */
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordChange(Task task, TaskChangeType changeType) {
+        TaskChange change = TaskChange.builder()
+                .taskId(task.getId())
+                .changeType(changeType)
+                .title(task.getTitle())
+                .descriptionText(task.getDescriptionText())
+                .completed(task.getCompleted())
+                .dueAt(task.getDueAt())
+                .build();
+
+        TaskChangedEvent event = new TaskChangedEvent(task.getId(), changeType, task.getTitle(), task.getCompleted(),
+                task.getCreatedAt(), task.getDueAt(), task.getCompletedAt(), task.getParentId(), task.getSubtaskCount(),
+                null);
+        pendingChanges().add(change, event);
+        eventPublisher.publishEvent(event);
+        log.debug("Recorded {} change for task with id: {}", changeType, task.getId());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public TaskChangesResponse getChangesSince(Long since, Integer limit) {
+        long from = since != null ? since : 0L;
+        int pageSize = limit != null ? limit : properties.getDefaultLimit();
+
+        if (from < 0) {
+            throw new IllegalArgumentException("Change sequence must not be negative");
+        }
+        if (pageSize <= 0 || pageSize > properties.getMaxLimit()) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + properties.getMaxLimit());
+        }
+
+        log.info("Fetching up to {} task changes after sequence {}", pageSize, from);
+
+        // Fetch one extra row to learn whether another page exists without a separate COUNT query.
+        List<TaskChange> changes = taskChangeRepository.findBySeqGreaterThanOrderBySeqAsc(
+                from, PageRequest.of(0, pageSize + 1));
+
+        boolean hasMore = changes.size() > pageSize;
+        List<TaskChangeResponse> page = changes.stream()
+                .limit(pageSize)
+                .map(this::toResponse)
+                .toList();
+        long nextSince = page.isEmpty() ? from : page.get(page.size() - 1).getSeq();
+
+        return TaskChangesResponse.builder()
+                .changes(page)
+                .nextSince(nextSince)
+                .hasMore(hasMore)
+                .build();
+    }
+
+    /**
+     * Removes change entries that are older than the retention window and superseded by a later entry for the same
+     * task. A client resuming from any sequence still ends up with the latest state of every task it missed.
+     */
+    @Override
+    public int compactChanges() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(properties.getRetention());
+        List<Long> superseded = taskChangeRepository.findSupersededSeqsBefore(
+                cutoff, PageRequest.of(0, properties.getCompactionBatchSize()));
+
+        if (superseded.isEmpty()) {
+            return 0;
+        }
+
+        taskChangeRepository.deleteAllByIdInBatch(superseded);
+        log.info("Compacted {} superseded task changes older than {}", superseded.size(), cutoff);
+        return superseded.size();
+    }
+
+    /**
+     * Sequences are committed in order, see {@link PendingChanges}, and a transaction is tracked from before its commit
+     * until its after-commit listeners have run.
+     */
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public long deliveredBefore() {
+        return undelivered.deliveredBefore();
+    }
+
+    private PendingChanges pendingChanges() {
+        PendingChanges pending = (PendingChanges) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            pending = new PendingChanges();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        return pending;
+    }
+
+    /**
+     * The change entries of one transaction. Their sequences come from an identity column, which hands them out on
+     * insert rather than on commit; two writers could otherwise commit out of order and a client reading in between
+     * would move its cursor past the entry still in flight. The entries are therefore inserted at the very end of the
+     * transaction, after its other writes have been flushed, under the {@code task_change_lock} row, which stays
+     * locked until the commit. Row locks on tasks are all taken before it, so holding it never waits on them.
+     * <p>
+     * Once inserted, each entry's sequence is copied to its event, which after-commit listeners receive next.
+     */
+    private final class PendingChanges implements TransactionSynchronization {
+
+        private final List<TaskChange> changes = new ArrayList<>();
+        private final List<TaskChangedEvent> events = new ArrayList<>();
+
+        void add(TaskChange change, TaskChangedEvent event) {
+            changes.add(change);
+            events.add(event);
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            taskChangeRepository.flush();
+            if (taskChangeRepository.lockSequence() == null) {
+                // Without the row nothing is locked, and entries could become visible out of sequence order.
+                throw new IllegalStateException("Missing task change lock row");
+            }
+            taskChangeRepository.saveAll(changes);
+            for (int i = 0; i < changes.size(); i++) {
+                events.get(i).setSeq(changes.get(i).getSeq());
+            }
+            undelivered.track(changes.get(0).getSeq());
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResource(TaskChangeServiceImpl.this);
+        }
+    }
+
+    private TaskChangeResponse toResponse(TaskChange change) {
+        return TaskChangeResponse.builder()
+                .seq(change.getSeq())
+                .taskId(change.getTaskId())
+                .changeType(change.getChangeType())
+                .title(change.getTitle())
+                .description(change.getDescription())
+                .completed(change.getCompleted())
+                .dueAt(change.getDueAt())
+                .changedAt(change.getChangedAt())
+                .build();
+    }
+}
@@ -0,0 +1,130 @@
+package edu.icet.ecom.service.impl;
+
+import edu.icet.ecom.config.TaskDashboardProperties;
+import edu.icet.ecom.dto.RecentTasksResult;
+import edu.icet.ecom.dto.TaskDashboardResponse;
+import edu.icet.ecom.dto.TaskResponse;
+import edu.icet.ecom.dto.TaskStatsResponse;
+import edu.icet.ecom.repository.TaskRepository;
+import edu.icet.ecom.repository.projection.TaskSummaryView;
+import edu.icet.ecom.service.RecentTasksService;
+import edu.icet.ecom.service.TaskDashboardService;
+import edu.icet.ecom.service.TaskStatsService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+/**
+ * Reads the dashboard parts concurrently, each on its own virtual thread, under one per-request deadline. Counts come
+ * from the in-memory stats and are read on the request thread. A failing part cancels the others and fails the
+ * request; a part still running at the deadline is cancelled and reported in {@code timedOut}.
+ * <p>
+ * Database parts run in read-only transactions that time out in the first whole second after the deadline, so the
+ * statement of a part cancelled at the deadline is also stopped by the database rather than only abandoned.
+ */
+@Service
+@Profile("!reactive")
+@Slf4j
+public class TaskDashboardServiceImpl implements TaskDashboardService {
+
+    static final String RECENT = "recent";
+    static final String OVERDUE = "overdue";
+    static final String OLDEST_OPEN = "oldestOpen";
+
+    private final RecentTasksService recentTasksService;
+    private final TaskStatsService taskStatsService;
+    private final TaskRepository taskRepository;
+    private final TransactionTemplate readTransaction;
+    private final Duration deadline;
+    private final int itemLimit;
+    private final Executor partExecutor = part -> Thread.ofVirtual().name("task-dashboard").start(part);
+
+    public TaskDashboardServiceImpl(RecentTasksService recentTasksService, TaskStatsService taskStatsService,
+                                    TaskRepository taskRepository, PlatformTransactionManager transactionManager,
+                                    TaskDashboardProperties properties) {
+        this.recentTasksService = recentTasksService;
+        this.taskStatsService = taskStatsService;
+        this.taskRepository = taskRepository;
+        this.deadline = properties.getDeadline();
+        this.itemLimit = properties.getItemLimit();
+
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+        this.readTransaction.setTimeout((int) deadline.toSeconds() + 1);
+    }
+
+    @Override
+    public TaskDashboardResponse getDashboard() {
+        long deadlineNanos = System.nanoTime() + deadline.toNanos();
+        LocalDateTime now = LocalDateTime.now();
+        log.info("Fetching task dashboard");
+
+        DeadlineScope scope = new DeadlineScope(partExecutor);
+        Future<RecentTasksResult> recent = scope.fork(recentTasksService::getRecentUncompletedTasks);
+        Future<List<TaskResponse>> overdue = scope.fork(() -> readSummaries(() ->
+                taskRepository.findOverdueSummaries(now, TaskServiceImpl.DESCRIPTION_PREVIEW_LENGTH + 1,
+                        PageRequest.of(0, itemLimit))));
+        Future<List<TaskResponse>> oldestOpen = scope.fork(() -> readSummaries(() ->
+                taskRepository.findOldestUncompletedSummaries(TaskServiceImpl.DESCRIPTION_PREVIEW_LENGTH + 1,
+                        PageRequest.of(0, itemLimit))));
+        TaskStatsResponse stats = taskStatsService.getStats();
+
+        boolean complete;
+        try {
+            complete = scope.joinUntil(deadlineNanos);
+        } catch (ExecutionException ex) {
+            log.error("Failed to fetch task dashboard: {}", ex.getCause().getMessage(), ex.getCause());
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new RuntimeException("Failed to fetch task dashboard", ex.getCause());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while fetching task dashboard", ex);
+        }
+
+        List<String> timedOut = new ArrayList<>();
+        RecentTasksResult recentResult = resultOrTimedOut(recent, RECENT, timedOut);
+        List<TaskResponse> overdueTasks = resultOrTimedOut(overdue, OVERDUE, timedOut);
+        List<TaskResponse> oldestOpenTasks = resultOrTimedOut(oldestOpen, OLDEST_OPEN, timedOut);
+        if (!complete) {
+            log.warn("Task dashboard parts {} missed the {} deadline", timedOut, deadline);
+        }
+
+        return TaskDashboardResponse.builder()
+                .recent(recentResult != null ? recentResult.getTasks() : null)
+                .recentStale(recentResult != null ? recentResult.isStale() : null)
+                .stats(stats)
+                .overdue(overdueTasks)
+                .oldestOpen(oldestOpenTasks)
+                .partial(!complete)
+                .timedOut(timedOut)
+                .build();
+    }
+
+    private List<TaskResponse> readSummaries(Supplier<List<TaskSummaryView>> query) {
+        return readTransaction.execute(status -> query.get().stream()
+                .map(TaskServiceImpl::toSummaryResponse)
+                .toList());
+    }
+
+    private static <T> T resultOrTimedOut(Future<T> part, String name, List<String> timedOut) {
+        T result = DeadlineScope.resultOrNull(part);
+        if (result == null) {
+            timedOut.add(name);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,306 @@
+package edu.icet.ecom.service.impl;
+
+import edu.icet.ecom.config.TaskQueryProperties;
+import edu.icet.ecom.dto.TaskQueryResponse;
+import edu.icet.ecom.dto.TaskResponse;
+import edu.icet.ecom.entity.TaskChangeType;
+import edu.icet.ecom.entity.TaskLabel;
+import edu.icet.ecom.event.TaskChangedEvent;
+import edu.icet.ecom.event.TaskLabelsChangedEvent;
+import edu.icet.ecom.query.TaskLabelIndex;
+import edu.icet.ecom.query.TaskLabelQueryResult;
+import edu.icet.ecom.repository.TaskLabelRepository;
+import edu.icet.ecom.repository.TaskRepository;
+import edu.icet.ecom.repository.projection.TaskColumnView;
+import edu.icet.ecom.repository.projection.TaskLabelView;
+import edu.icet.ecom.service.TaskChangeService;
+import edu.icet.ecom.service.TaskLabelService;
+import edu.icet.ecom.service.TaskService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Labels are stored in the {@code task_label} table and filtered in a {@link TaskLabelIndex}. The index is built once
+ * from the tables and then kept current by committed events: task changes for completion and deletes, and
+ * {@link TaskLabelsChangedEvent} for labels. Matching tasks are then read through {@link TaskService#getTasks}, so
+ * repeated filters are mostly served from its cache.
+ * <p>
+ * Listeners of different transactions can run in any order. Task changes older than the last one applied to their
+ * task are skipped, see {@link TaskChangeOrder}. Label changes carry no sequence, so a task's labels are read again
+ * from the table, outside the lock. The labels of a read are applied only if no later read of the same task started
+ * meanwhile; that read began after the later change committed and so returns the newer labels.
+ */
+@Service
+@Profile("!reactive & !logstore")
+@RequiredArgsConstructor
+@Slf4j
+public class TaskLabelServiceImpl implements TaskLabelService {
+
+    static final int MAX_LABEL_LENGTH = 64;
+    static final int MAX_LABELS_PER_TASK = 20;
+    static final int MAX_FILTER_LABELS = 20;
+
+    private final TaskLabelRepository labelRepository;
+    private final TaskRepository taskRepository;
+    private final TaskService taskService;
+    private final TaskQueryProperties queryProperties;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TaskChangeService taskChangeService;
+
+    private final Object lock = new Object();
+    private final TaskChangeOrder changeOrder = new TaskChangeOrder();
+    private volatile TaskLabelIndex index;
+    private List<TaskChangedEvent> pendingDuringLoad;
+    private Set<Long> relabeledDuringLoad;
+    private long labelReads;
+
+    /**
+     * The latest read of labels started per task, removed by the read when it is applied.
+     */
+    private final Map<Long, Long> latestLabelReads = new HashMap<>();
+
+    /**
+     * Tasks whose labels changed before the index held them, because their own change had not arrived yet. Their labels
+     * are read again once it does.
+     */
+    private final Set<Long> labelsAwaitingTask = new HashSet<>();
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<String> getLabels(Long taskId) {
+        taskService.getTask(taskId);
+        return labelRepository.findLabelsByTaskId(taskId);
+    }
+
+    /**
+     * Replaces the task's labels, writing only the difference.
+     */
+    @Override
+    @Transactional
+    public List<String> setLabels(Long taskId, List<String> labels) {
+        Set<String> wanted = normalize(labels, MAX_LABELS_PER_TASK);
+        taskService.getTask(taskId);
+
+        Set<String> current = new HashSet<>(labelRepository.findLabelsByTaskId(taskId));
+        Set<String> added = new TreeSet<>(wanted);
+        added.removeAll(current);
+        Set<String> removed = new TreeSet<>(current);
+        removed.removeAll(wanted);
+
+        if (!removed.isEmpty()) {
+            labelRepository.deleteLabels(taskId, removed);
+        }
+        if (!added.isEmpty()) {
+            labelRepository.saveAll(added.stream()
+                    .map(label -> TaskLabel.builder().taskId(taskId).label(label).build())
+                    .toList());
+        }
+        if (!added.isEmpty() || !removed.isEmpty()) {
+            eventPublisher.publishEvent(new TaskLabelsChangedEvent(taskId));
+        }
+
+        log.info("Set labels of task with id {}: {} added, {} removed", taskId, added.size(), removed.size());
+        return List.copyOf(wanted);
+    }
+
+    @Override
+    public TaskQueryResponse findByLabels(List<String> labels, boolean matchAll, Boolean completed, int limit) {
+        if (limit <= 0 || limit > TaskServiceImpl.MAX_BATCH_GET) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + TaskServiceImpl.MAX_BATCH_GET);
+        }
+        Set<String> wanted = normalize(labels, MAX_FILTER_LABELS);
+        if (wanted.isEmpty()) {
+            throw new IllegalArgumentException("At least one label is required");
+        }
+
+        TaskLabelIndex current = index;
+        if (current == null) {
+            throw new IllegalStateException("Task label index is not loaded yet");
+        }
+
+        TaskLabelQueryResult result = current.query(wanted, matchAll, completed, limit);
+        List<TaskResponse> tasks = result.taskIds().isEmpty()
+                ? List.of()
+                : taskService.getTasks(result.taskIds()).getTasks().stream().filter(Objects::nonNull).toList();
+        return TaskQueryResponse.builder()
+                .tasks(tasks)
+                .matched(result.matched())
+                .build();
+    }
+
+    @Override
+    public boolean isLoaded() {
+        return index != null;
+    }
+
+    /**
+     * Builds a fresh index from the tables and swaps it in, replaying task changes committed during the load as the
+     * query index does. The labels of tasks relabeled during the load are read again once it is swapped in.
+     */
+    @Override
+    public void load() {
+        synchronized (lock) {
+            pendingDuringLoad = new ArrayList<>();
+            relabeledDuringLoad = new HashSet<>();
+        }
+
+        TaskLabelIndex loaded;
+        try {
+            loaded = readAll();
+        } catch (RuntimeException ex) {
+            synchronized (lock) {
+                pendingDuringLoad = null;
+                relabeledDuringLoad = null;
+            }
+            throw ex;
+        }
+
+        Set<Long> relabel;
+        synchronized (lock) {
+            relabel = relabeledDuringLoad;
+            for (TaskChangedEvent event : pendingDuringLoad) {
+                if (apply(loaded, event)) {
+                    relabel.add(event.getTaskId());
+                }
+            }
+            pendingDuringLoad = null;
+            relabeledDuringLoad = null;
+            index = loaded;
+        }
+        relabel.forEach(this::relabel);
+    }
+
+    @TransactionalEventListener
+    public void onTaskChanged(TaskChangedEvent event) {
+        boolean relabel;
+        synchronized (lock) {
+            if (!changeOrder.advance(event, taskChangeService.deliveredBefore())) {
+                log.debug("Skipping change {} to task {}, a newer one was applied", event.getSeq(), event.getTaskId());
+                return;
+            }
+            if (pendingDuringLoad != null) {
+                pendingDuringLoad.add(event);
+            }
+            relabel = index != null && apply(index, event);
+        }
+        if (relabel) {
+            relabel(event.getTaskId());
+        }
+    }
+
+    @TransactionalEventListener
+    public void onLabelsChanged(TaskLabelsChangedEvent event) {
+        relabel(event.getTaskId());
+    }
+
+    private TaskLabelIndex readAll() {
+        long started = System.nanoTime();
+        int batchSize = queryProperties.getLoadBatchSize();
+        TaskLabelIndex loaded = new TaskLabelIndex((int) Math.min(taskRepository.count(), Integer.MAX_VALUE - 8));
+
+        Long afterId = 0L;
+        List<TaskColumnView> tasks;
+        do {
+            tasks = taskRepository.findColumnViewsAfter(afterId, PageRequest.of(0, batchSize));
+            for (TaskColumnView view : tasks) {
+                loaded.upsertTask(view.id(), Boolean.TRUE.equals(view.completed()));
+            }
+            if (!tasks.isEmpty()) {
+                afterId = tasks.get(tasks.size() - 1).id();
+            }
+        } while (tasks.size() == batchSize);
+
+        afterId = 0L;
+        List<TaskLabelView> labels;
+        do {
+            labels = labelRepository.findViewsAfter(afterId, PageRequest.of(0, batchSize));
+            for (TaskLabelView view : labels) {
+                loaded.addLabels(view.taskId(), List.of(view.label()));
+            }
+            if (!labels.isEmpty()) {
+                afterId = labels.get(labels.size() - 1).id();
+            }
+        } while (labels.size() == batchSize);
+
+        log.info("Loaded {} tasks with {} labels into the label index in {} ms", loaded.size(), loaded.labelCount(),
+                (System.nanoTime() - started) / 1_000_000);
+        return loaded;
+    }
+
+    /**
+     * @return whether the task's labels must be read again, because they changed before the task was added
+     */
+    private boolean apply(TaskLabelIndex target, TaskChangedEvent event) {
+        if (event.getChangeType() == TaskChangeType.DELETED) {
+            target.removeTask(event.getTaskId());
+            labelsAwaitingTask.remove(event.getTaskId());
+            return false;
+        }
+        target.upsertTask(event.getTaskId(), Boolean.TRUE.equals(event.getCompleted()));
+        return labelsAwaitingTask.remove(event.getTaskId());
+    }
+
+    /**
+     * Reads the task's labels without holding the lock, so listeners of other tasks do not wait on the database.
+     */
+    private void relabel(Long taskId) {
+        long read;
+        synchronized (lock) {
+            read = ++labelReads;
+            latestLabelReads.put(taskId, read);
+            if (relabeledDuringLoad != null) {
+                relabeledDuringLoad.add(taskId);
+            }
+        }
+
+        List<String> labels = labelRepository.findLabelsByTaskId(taskId);
+
+        synchronized (lock) {
+            if (!latestLabelReads.remove(taskId, read)) {
+                log.debug("Skipping labels of task {}, a later read will apply them", taskId);
+                return;
+            }
+            if (index != null && !index.setLabels(taskId, labels)) {
+                labelsAwaitingTask.add(taskId);
+            }
+        }
+    }
+
+    /**
+     * Trims and lowercases labels and drops duplicates, keeping them sorted.
+     */
+    static Set<String> normalize(List<String> labels, int maxLabels) {
+        if (labels == null) {
+            throw new IllegalArgumentException("Labels are required");
+        }
+        Set<String> normalized = new TreeSet<>();
+        for (String label : labels) {
+            String value = label == null ? "" : label.strip().toLowerCase(Locale.ROOT);
+            if (value.isEmpty() || value.length() > MAX_LABEL_LENGTH || value.indexOf(',') >= 0) {
+                throw new IllegalArgumentException(
+                        "Labels must be 1 to " + MAX_LABEL_LENGTH + " characters without commas");
+            }
+            normalized.add(value);
+        }
+        if (normalized.size() > maxLabels) {
+            throw new IllegalArgumentException("At most " + maxLabels + " labels are allowed");
+        }
+        return normalized;
+    }
+}
@@ -0,0 +1,42 @@
+package edu.icet.ecom.service.impl;
+
+import edu.icet.ecom.config.TaskPurgeProperties;
+import edu.icet.ecom.repository.TaskRepository;
+import edu.icet.ecom.service.TaskPurgeService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Service
+@Profile("!reactive & !logstore")
+@Transactional
+@RequiredArgsConstructor
+@Slf4j
+public class TaskPurgeServiceImpl implements TaskPurgeService {
+
+    private final TaskRepository taskRepository;
+    private final TaskPurgeProperties properties;
+
+    /**
+     * Each batch is its own short transaction that only locks the rows it deletes, so reads of live tasks never wait
+     * on the purge.
+     */
+    @Override
+    public List<Long> purgeBatch(long afterId) {
+        LocalDateTime cutoff = LocalDateTime.now().minus(properties.getGrace());
+        List<Long> ids = taskRepository.findPurgeableIdsAfter(afterId, cutoff, properties.getBatchSize());
+
+        if (ids.isEmpty()) {
+            return ids;
+        }
+
+        int purged = taskRepository.purgeDeleted(ids);
+        log.debug("Purged {} deleted tasks up to id {}", purged, ids.get(ids.size() - 1));
+        return ids;
+    }
+}
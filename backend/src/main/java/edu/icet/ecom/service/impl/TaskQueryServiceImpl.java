@@ -0,0 +1,154 @@
+package edu.icet.ecom.service.impl;
+
+import edu.icet.ecom.config.TaskQueryProperties;
+import edu.icet.ecom.dto.TaskQueryResponse;
+import edu.icet.ecom.dto.TaskResponse;
+import edu.icet.ecom.entity.TaskChangeType;
+import edu.icet.ecom.event.TaskChangedEvent;
+import edu.icet.ecom.query.TaskColumns;
+import edu.icet.ecom.query.TaskQuery;
+import edu.icet.ecom.query.TaskQueryResult;
+import edu.icet.ecom.repository.TaskRepository;
+import edu.icet.ecom.repository.projection.TaskColumnView;
+import edu.icet.ecom.service.TaskChangeService;
+import edu.icet.ecom.service.TaskQueryService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Answers task queries from {@link TaskColumns} instead of the database. The columns are built once from the table
+ * and then kept current by committed change events. A change that arrives after a newer one to the same task is
+ * skipped, see {@link TaskChangeOrder}.
+ */
+@Service
+@Profile("!reactive")
+@RequiredArgsConstructor
+@Slf4j
+public class TaskQueryServiceImpl implements TaskQueryService {
+
+    private final TaskRepository taskRepository;
+    private final TaskQueryProperties properties;
+    private final TaskChangeService taskChangeService;
+
+    private final Object lock = new Object();
+    private final TaskChangeOrder changeOrder = new TaskChangeOrder();
+    private volatile TaskColumns columns;
+    private List<TaskChangedEvent> pendingDuringLoad;
+
+    @Override
+    public TaskQueryResponse query(TaskQuery query) {
+        if (query.getLimit() <= 0 || query.getLimit() > properties.getMaxLimit()) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + properties.getMaxLimit());
+        }
+
+        TaskColumns current = columns;
+        if (current == null) {
+            throw new IllegalStateException("Task query index is not loaded yet");
+        }
+
+        TaskQueryResult result = current.query(query);
+        return TaskQueryResponse.builder()
+                .tasks(result.tasks().stream().map(TaskQueryServiceImpl::toResponse).toList())
+                .matched(result.matched())
+                .build();
+    }
+
+    @Override
+    public boolean isLoaded() {
+        return columns != null;
+    }
+
+    /**
+     * Builds fresh columns from the table and swaps them in. Changes committed while the table is read are buffered
+     * and replayed over the new columns before the swap, so none of them is lost to a page read before the change.
+     * Only changes newer than the last one to their task are buffered, so the replay cannot undo a later change either.
+     */
+    @Override
+    public void load() {
+        synchronized (lock) {
+            pendingDuringLoad = new ArrayList<>();
+        }
+
+        TaskColumns loaded;
+        try {
+            loaded = readAll();
+        } catch (RuntimeException ex) {
+            synchronized (lock) {
+                pendingDuringLoad = null;
+            }
+            throw ex;
+        }
+
+        synchronized (lock) {
+            for (TaskChangedEvent event : pendingDuringLoad) {
+                apply(loaded, event);
+            }
+            pendingDuringLoad = null;
+            columns = loaded;
+        }
+    }
+
+    @TransactionalEventListener
+    public void onTaskChanged(TaskChangedEvent event) {
+        synchronized (lock) {
+            if (!changeOrder.advance(event, taskChangeService.deliveredBefore())) {
+                log.debug("Skipping change {} to task {}, a newer one was applied", event.getSeq(), event.getTaskId());
+                return;
+            }
+            if (pendingDuringLoad != null) {
+                pendingDuringLoad.add(event);
+            }
+            if (columns != null) {
+                apply(columns, event);
+            }
+        }
+    }
+
+    private TaskColumns readAll() {
+        long started = System.nanoTime();
+        TaskColumns loaded = new TaskColumns((int) Math.min(taskRepository.count(), Integer.MAX_VALUE - 8));
+
+        Long afterId = 0L;
+        List<TaskColumnView> page;
+        do {
+            page = taskRepository.findColumnViewsAfter(afterId, PageRequest.of(0, properties.getLoadBatchSize()));
+            for (TaskColumnView view : page) {
+                loaded.upsert(view.id(), view.title(), view.createdAt(), Boolean.TRUE.equals(view.completed()),
+                        view.dueAt());
+            }
+            if (!page.isEmpty()) {
+                afterId = page.get(page.size() - 1).id();
+            }
+        } while (page.size() == properties.getLoadBatchSize());
+
+        log.info("Loaded {} tasks into the query index in {} ms", loaded.size(),
+                (System.nanoTime() - started) / 1_000_000);
+        return loaded;
+    }
+
+    private static TaskResponse toResponse(TaskColumnView view) {
+        return TaskResponse.builder()
+                .id(view.id())
+                .title(view.title())
+                .createdAt(view.createdAt())
+                .completed(view.completed())
+                .dueAt(view.dueAt())
+                .build();
+    }
+
+    private static void apply(TaskColumns target, TaskChangedEvent event) {
+        if (event.getChangeType() == TaskChangeType.DELETED) {
+            target.remove(event.getTaskId());
+            return;
+        }
+        target.upsert(event.getTaskId(), event.getTitle(), event.getCreatedAt(),
+                Boolean.TRUE.equals(event.getCompleted()), event.getDueAt());
+    }
+}
@@ -0,0 +1,161 @@
+package edu.icet.ecom.service.impl;
+
+import edu.icet.ecom.config.TaskCacheProperties;
+import edu.icet.ecom.dto.TaskResponse;
+import edu.icet.ecom.event.TaskChangedEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Full task responses by id, dropped after every committed change to the task. Cached responses are shared between
+ * callers and must not be modified.
+ * <p>
+ * A read takes a {@link #ticket()} before it queries the database, passes it to {@link #put}, and hands it back with
+ * {@link #release} when done. An invalidation leaves a newer marker behind, so a read that started before a change
+ * committed cannot put its older copy back. When the cache grows past its limit, entries are dropped only if they are
+ * older than every read still running, since any newer one may be all that stops such a read from putting back a stale
+ * copy; until those reads finish, the cache can stay over its limit, and it is not scanned again until the oldest of
+ * them has finished.
+ * <p>
+ * Only changes committed through this instance invalidate entries. Tasks are therefore also read again once they are
+ * older than {@code todo.cache.ttl}, which bounds how long a change made through another instance goes unseen.
+ * <p>
+ * Concurrent misses for the same id share one load through {@link #get(Long, Supplier)}. A load is only joined by
+ * callers that arrive before the next invalidation of any task, so a caller never waits on a read that started before
+ * its own write committed.
+ */
+@Component
+@Profile("!reactive")
+public class TaskResponseCache {
+
+    private record Entry(TaskResponse task, long stamp, long cachedAtNanos) {
+    }
+
+    private record LoadKey(Long id, long writeEpoch) {
+    }
+
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final Duration coalesceTimeout;
+    private final ConcurrentHashMap<Long, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicLong clock = new AtomicLong();
+    private final AtomicLong writeEpoch = new AtomicLong();
+    private final TreeSet<Long> openTickets = new TreeSet<>();
+    private final AtomicLong exhaustedBelow = new AtomicLong(Long.MIN_VALUE);
+    private final SingleFlight<LoadKey, TaskResponse> loads = new SingleFlight<>();
+
+    public TaskResponseCache(TaskCacheProperties properties) {
+        this.maxEntries = properties.getMaxEntries();
+        this.ttlNanos = properties.getTtl().toNanos();
+        this.coalesceTimeout = properties.getCoalesceTimeout();
+    }
+
+    public TaskResponse get(Long id) {
+        Entry entry = entries.get(id);
+        if (entry == null || entry.task() == null) {
+            return null;
+        }
+        // An expired entry stays until it is replaced; its stamp still guards against older reads.
+        return ttlNanos > 0 && System.nanoTime() - entry.cachedAtNanos() > ttlNanos ? null : entry.task();
+    }
+
+    /**
+     * Returns the cached task, or runs {@code loader} and caches its result. Callers missing the same id at the same
+     * time wait at most {@code todo.cache.coalesce-timeout} for the running load instead of starting their own.
+     */
+    public TaskResponse get(Long id, Supplier<TaskResponse> loader) {
+        TaskResponse cached = get(id);
+        if (cached != null) {
+            return cached;
+        }
+        return loads.execute(new LoadKey(id, writeEpoch.get()), coalesceTimeout, () -> {
+            long ticket = ticket();
+            try {
+                TaskResponse task = loader.get();
+                put(task, ticket);
+                return task;
+            } finally {
+                release(ticket);
+            }
+        });
+    }
+
+    /**
+     * Every ticket must be handed back with {@link #release} once the read is done, successful or not.
+     */
+    public long ticket() {
+        synchronized (openTickets) {
+            long ticket = clock.incrementAndGet();
+            openTickets.add(ticket);
+            return ticket;
+        }
+    }
+
+    public void release(long ticket) {
+        synchronized (openTickets) {
+            openTickets.remove(ticket);
+        }
+    }
+
+    public void put(TaskResponse task, long ticket) {
+        if (maxEntries <= 0) {
+            return;
+        }
+        entries.compute(task.getId(), (id, current) ->
+                current != null && current.stamp() > ticket ? current : new Entry(task, ticket, System.nanoTime()));
+        if (entries.size() > maxEntries) {
+            evict();
+        }
+    }
+
+    public void invalidate(Long id) {
+        // Advanced first, so a caller that misses the marker below cannot join a load that predates this change.
+        writeEpoch.incrementAndGet();
+        if (maxEntries > 0) {
+            entries.put(id, new Entry(null, clock.incrementAndGet(), System.nanoTime()));
+            if (entries.size() > maxEntries) {
+                evict();
+            }
+        }
+    }
+
+    @TransactionalEventListener
+    public void onTaskChanged(TaskChangedEvent event) {
+        invalidate(event.getTaskId());
+    }
+
+    /**
+     * Entries are stamped with an open ticket or a fresh clock value, so once a scan finds too few entries older than
+     * the oldest read, none are added until that read finishes and another scan would find nothing more.
+     */
+    private void evict() {
+        long oldestRead;
+        synchronized (openTickets) {
+            oldestRead = openTickets.isEmpty() ? Long.MAX_VALUE : openTickets.first();
+        }
+        if (oldestRead <= exhaustedBelow.get()) {
+            return;
+        }
+        int excess = entries.size() - maxEntries * 9 / 10;
+        for (Map.Entry<Long, Entry> entry : entries.entrySet()) {
+            if (excess <= 0) {
+                return;
+            }
+            // Conditional, so an entry replaced since it was read here is kept.
+            if (entry.getValue().stamp() < oldestRead && entries.remove(entry.getKey(), entry.getValue())) {
+                excess--;
+            }
+        }
+        if (excess > 0 && oldestRead != Long.MAX_VALUE) {
+            exhaustedBelow.accumulateAndGet(oldestRead, Math::max);
+        }
+    }
+}
@@ -1,29 +1,55 @@
 package edu.icet.ecom.service.impl;
 
+import edu.icet.ecom.dto.BulkDeleteResponse;
 import edu.icet.ecom.dto.CreateTaskRequest;
+import edu.icet.ecom.dto.PatchTaskRequest;
+import edu.icet.ecom.dto.TaskBatchResponse;
 import edu.icet.ecom.dto.TaskResponse;
 import edu.icet.ecom.entity.Task;
+import edu.icet.ecom.entity.TaskChangeType;
 import edu.icet.ecom.exception.TaskCreationException;
 import edu.icet.ecom.exception.TaskNotFoundException;
 import edu.icet.ecom.repository.TaskRepository;
+import edu.icet.ecom.repository.projection.TaskSummaryView;
+import edu.icet.ecom.service.TaskChangeService;
 import edu.icet.ecom.service.TaskService;
+import edu.icet.ecom.timing.RequestTimings;
+import edu.icet.ecom.timing.TimingPhase;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.modelmapper.ModelMapper;
+import org.springframework.context.annotation.Profile;
 import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 
 @Service
+@Profile("!reactive")
 @Transactional
 @RequiredArgsConstructor
 @Slf4j
 public class TaskServiceImpl implements TaskService {
 
+    static final int RECENT_TASK_LIMIT = 5;
+    static final int DESCRIPTION_PREVIEW_LENGTH = 200;
+    static final int MAX_BULK_DELETE = 1000;
+    static final int MAX_BATCH_GET = 1000;
+    static final int BATCH_GET_CHUNK_SIZE = 500;
+
     private final TaskRepository taskRepository;
     private final ModelMapper modelMapper;
+    private final TaskChangeService taskChangeService;
+    private final TaskResponseCache taskCache;
 
     @Override
     public TaskResponse createTask(CreateTaskRequest request) {
@@ -34,11 +60,12 @@ public class TaskServiceImpl implements TaskService {
                 throw new IllegalArgumentException("Task title cannot be null or empty");
             }
 
-            Task task = modelMapper.map(request, Task.class);
+            Task task = toEntity(request);
             Task savedTask = taskRepository.save(task);
+            taskChangeService.recordChange(savedTask, TaskChangeType.CREATED);
 
             log.info("Successfully created task with id: {}", savedTask.getId());
-            return modelMapper.map(savedTask, TaskResponse.class);
+            return toResponse(savedTask);
 
         } catch (DataAccessException ex) {
             log.error("Database error while creating task: {}", ex.getMessage(), ex);
@@ -55,11 +82,14 @@ public class TaskServiceImpl implements TaskService {
         try {
             log.info("Fetching recent uncompleted tasks");
 
-            List<Task> tasks = taskRepository.findTop5UncompletedTasksOrderByCreatedAtDesc();
+            // One extra character tells us whether the preview was cut without reading the full length.
+            List<TaskSummaryView> tasks = taskRepository.findRecentUncompletedSummaries(
+                    DESCRIPTION_PREVIEW_LENGTH + 1, PageRequest.of(0, RECENT_TASK_LIMIT));
+            long mappingStartedAt = RequestTimings.start();
             List<TaskResponse> responses = tasks.stream()
-                    .limit(5)
-                    .map(task -> modelMapper.map(task, TaskResponse.class))
+                    .map(TaskServiceImpl::toSummaryResponse)
                     .toList();
+            RequestTimings.stop(TimingPhase.MAPPING, mappingStartedAt);
 
             log.info("Successfully fetched {} uncompleted tasks", responses.size());
             return responses;
@@ -73,6 +103,105 @@ public class TaskServiceImpl implements TaskService {
         }
     }
 
+    /**
+     * Runs without a transaction of its own, so callers waiting on a concurrent load of the same task do not hold a
+     * connection; the lookup opens its own read-only transaction.
+     */
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public TaskResponse getTask(Long id) {
+        try {
+            log.info("Fetching task with id: {}", id);
+
+            if (id == null || id <= 0) {
+                throw new IllegalArgumentException("Task ID must be a positive number");
+            }
+
+            return taskCache.get(id, () -> toResponse(taskRepository.findById(id)
+                    .orElseThrow(() -> new TaskNotFoundException(id))));
+
+        } catch (TaskNotFoundException | IllegalArgumentException ex) {
+            log.error("Failed to fetch task with id {}: {}", id, ex.getMessage());
+            throw ex;
+        } catch (DataAccessException ex) {
+            log.error("Database error while fetching task: {}", ex.getMessage(), ex);
+            throw ex;
+        } catch (Exception ex) {
+            log.error("Unexpected error while fetching task: {}", ex.getMessage(), ex);
+            throw new RuntimeException("Failed to fetch task with id: " + id, ex);
+        }
+    }
+
+    /**
+     * Cached tasks are served directly and the rest are loaded with one {@code IN} query per
+     * {@value #BATCH_GET_CHUNK_SIZE} ids. Unlike {@link #getTask}, concurrent calls do not share loads: id lists rarely
+     * repeat exactly, and the loads fill the cache that later calls read. Ids that do not exist or are deleted are reported as missing rather than
+     * failing the whole request.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public TaskBatchResponse getTasks(List<Long> ids) {
+        try {
+            log.info("Fetching {} tasks by id", ids == null ? 0 : ids.size());
+
+            if (ids == null || ids.isEmpty()) {
+                throw new IllegalArgumentException("At least one task ID is required");
+            }
+            if (ids.size() > MAX_BATCH_GET) {
+                throw new IllegalArgumentException("At most " + MAX_BATCH_GET + " tasks can be fetched at once");
+            }
+            if (ids.stream().anyMatch(id -> id == null || id <= 0)) {
+                throw new IllegalArgumentException("Task IDs must be positive numbers");
+            }
+
+            Map<Long, TaskResponse> found = new HashMap<>();
+            List<Long> toLoad = new ArrayList<>();
+            for (Long id : new LinkedHashSet<>(ids)) {
+                TaskResponse cached = taskCache.get(id);
+                if (cached != null) {
+                    found.put(id, cached);
+                } else {
+                    toLoad.add(id);
+                }
+            }
+
+            int cachedCount = found.size();
+            long ticket = taskCache.ticket();
+            try {
+                for (int from = 0; from < toLoad.size(); from += BATCH_GET_CHUNK_SIZE) {
+                    List<Long> chunk = toLoad.subList(from, Math.min(from + BATCH_GET_CHUNK_SIZE, toLoad.size()));
+                    for (Task task : taskRepository.findAllById(chunk)) {
+                        TaskResponse response = toResponse(task);
+                        taskCache.put(response, ticket);
+                        found.put(task.getId(), response);
+                    }
+                }
+            } finally {
+                taskCache.release(ticket);
+            }
+
+            List<TaskResponse> tasks = ids.stream().map(found::get).toList();
+            List<Long> missing = ids.stream().filter(id -> !found.containsKey(id)).distinct().toList();
+
+            log.info("Fetched {} tasks by id: {} cached, {} loaded, {} missing",
+                    ids.size(), cachedCount, found.size() - cachedCount, missing.size());
+            return TaskBatchResponse.builder()
+                    .tasks(tasks)
+                    .missing(missing)
+                    .build();
+
+        } catch (IllegalArgumentException ex) {
+            log.error("Failed to fetch tasks by id: {}", ex.getMessage());
+            throw ex;
+        } catch (DataAccessException ex) {
+            log.error("Database error while fetching tasks by id: {}", ex.getMessage(), ex);
+            throw ex;
+        } catch (Exception ex) {
+            log.error("Unexpected error while fetching tasks by id: {}", ex.getMessage(), ex);
+            throw new RuntimeException("Failed to fetch tasks by id", ex);
+        }
+    }
+
     @Override
     public TaskResponse completeTask(Long id) {
         try {
@@ -87,14 +216,16 @@ public class TaskServiceImpl implements TaskService {
 
             if (task.getCompleted()) {
                 log.warn("Task with id {} is already completed", id);
-                return modelMapper.map(task, TaskResponse.class);
+                return toResponse(task);
             }
 
             task.setCompleted(true);
+            task.setCompletedAt(LocalDateTime.now());
             Task savedTask = taskRepository.save(task);
+            taskChangeService.recordChange(savedTask, TaskChangeType.COMPLETED);
 
             log.info("Successfully completed task with id: {}", id);
-            return modelMapper.map(savedTask, TaskResponse.class);
+            return toResponse(savedTask);
 
         } catch (TaskNotFoundException ex) {
             log.error("Task not found with id: {}", id);
@@ -127,11 +258,13 @@ public class TaskServiceImpl implements TaskService {
 
             task.setTitle(request.getTitle().trim());
             task.setDescription(request.getDescription() != null ? request.getDescription().trim() : null);
+            task.setDueAt(request.getDueAt());
 
             Task savedTask = taskRepository.save(task);
+            taskChangeService.recordChange(savedTask, TaskChangeType.UPDATED);
 
             log.info("Successfully updated task with id: {}", id);
-            return modelMapper.map(savedTask, TaskResponse.class);
+            return toResponse(savedTask);
 
         } catch (TaskNotFoundException ex) {
             log.error("Task not found with id: {}", id);
@@ -144,4 +277,177 @@ public class TaskServiceImpl implements TaskService {
             throw new RuntimeException("Failed to update task with id: " + id, ex);
         }
     }
+
+    /**
+     * Only fields that actually change are written to the entity. With build-time dirty tracking and
+     * {@code @DynamicUpdate} on {@link Task}, the flush then issues an UPDATE containing just those columns.
+     */
+    @Override
+    public TaskResponse patchTask(Long id, PatchTaskRequest request) {
+        try {
+            log.info("Patching task with id: {}", id);
+
+            if (id == null || id <= 0) {
+                throw new IllegalArgumentException("Task ID must be a positive number");
+            }
+
+            if (request.getTitle() != null && request.getTitle().trim().isEmpty()) {
+                throw new IllegalArgumentException("Task title cannot be empty");
+            }
+
+            Task task = taskRepository.findById(id)
+                    .orElseThrow(() -> new TaskNotFoundException(id));
+
+            if (!applyPatch(task, request)) {
+                log.info("Patch for task with id {} changes nothing", id);
+                return toResponse(task);
+            }
+
+            Task savedTask = taskRepository.save(task);
+            taskChangeService.recordChange(savedTask, TaskChangeType.UPDATED);
+
+            log.info("Successfully patched task with id: {}", id);
+            return toResponse(savedTask);
+
+        } catch (TaskNotFoundException | IllegalArgumentException ex) {
+            log.error("Failed to patch task with id {}: {}", id, ex.getMessage());
+            throw ex;
+        } catch (DataAccessException ex) {
+            log.error("Database error while patching task: {}", ex.getMessage(), ex);
+            throw ex;
+        } catch (Exception ex) {
+            log.error("Unexpected error while patching task: {}", ex.getMessage(), ex);
+            throw new RuntimeException("Failed to patch task with id: " + id, ex);
+        }
+    }
+
+    /**
+     * Only marks the task as deleted; {@link TaskPurgeServiceImpl} removes the row later in small batches.
+     */
+    @Override
+    public void deleteTask(Long id) {
+        try {
+            log.info("Deleting task with id: {}", id);
+
+            if (id == null || id <= 0) {
+                throw new IllegalArgumentException("Task ID must be a positive number");
+            }
+
+            Task task = taskRepository.findById(id)
+                    .orElseThrow(() -> new TaskNotFoundException(id));
+            tombstone(task);
+
+            log.info("Successfully deleted task with id: {}", id);
+
+        } catch (TaskNotFoundException | IllegalArgumentException ex) {
+            log.error("Failed to delete task with id {}: {}", id, ex.getMessage());
+            throw ex;
+        } catch (DataAccessException ex) {
+            log.error("Database error while deleting task: {}", ex.getMessage(), ex);
+            throw ex;
+        } catch (Exception ex) {
+            log.error("Unexpected error while deleting task: {}", ex.getMessage(), ex);
+            throw new RuntimeException("Failed to delete task with id: " + id, ex);
+        }
+    }
+
+    /**
+     * Ids that do not exist or are already deleted are skipped rather than failing the whole request.
+     */
+    @Override
+    public BulkDeleteResponse deleteTasks(List<Long> ids) {
+        try {
+            log.info("Deleting {} tasks", ids == null ? 0 : ids.size());
+
+            if (ids == null || ids.isEmpty()) {
+                throw new IllegalArgumentException("At least one task ID is required");
+            }
+            if (ids.size() > MAX_BULK_DELETE) {
+                throw new IllegalArgumentException("At most " + MAX_BULK_DELETE + " tasks can be deleted at once");
+            }
+
+            List<Task> tasks = taskRepository.findAllById(ids.stream().distinct().toList());
+            for (Task task : tasks) {
+                tombstone(task);
+            }
+
+            log.info("Successfully deleted {} of {} requested tasks", tasks.size(), ids.size());
+            return BulkDeleteResponse.builder()
+                    .requested(ids.size())
+                    .deleted(tasks.size())
+                    .build();
+
+        } catch (IllegalArgumentException ex) {
+            log.error("Failed to delete tasks: {}", ex.getMessage());
+            throw ex;
+        } catch (DataAccessException ex) {
+            log.error("Database error while deleting tasks: {}", ex.getMessage(), ex);
+            throw ex;
+        } catch (Exception ex) {
+            log.error("Unexpected error while deleting tasks: {}", ex.getMessage(), ex);
+            throw new RuntimeException("Failed to delete tasks", ex);
+        }
+    }
+
+    private void tombstone(Task task) {
+        task.setDeleted(true);
+        task.setDeletedAt(LocalDateTime.now());
+        Task savedTask = taskRepository.save(task);
+        taskChangeService.recordChange(savedTask, TaskChangeType.DELETED);
+    }
+
+    /**
+     * Copies the provided fields that differ from the current values onto the task.
+     *
+     * @return whether anything changed
+     */
+    static boolean applyPatch(Task task, PatchTaskRequest request) {
+        boolean changed = false;
+        if (request.getTitle() != null && !request.getTitle().trim().equals(task.getTitle())) {
+            task.setTitle(request.getTitle().trim());
+            changed = true;
+        }
+        if (request.getDescription() != null && !request.getDescription().trim().equals(task.getDescription())) {
+            task.setDescription(request.getDescription().trim());
+            changed = true;
+        }
+        if (request.getDueAt() != null && !Objects.equals(request.getDueAt(), task.getDueAt())) {
+            task.setDueAt(request.getDueAt());
+            changed = true;
+        }
+        return changed;
+    }
+
+    private Task toEntity(CreateTaskRequest request) {
+        long startedAt = RequestTimings.start();
+        try {
+            return modelMapper.map(request, Task.class);
+        } finally {
+            RequestTimings.stop(TimingPhase.MAPPING, startedAt);
+        }
+    }
+
+    private TaskResponse toResponse(Task task) {
+        long startedAt = RequestTimings.start();
+        try {
+            return modelMapper.map(task, TaskResponse.class);
+        } finally {
+            RequestTimings.stop(TimingPhase.MAPPING, startedAt);
+        }
+    }
+
+    static TaskResponse toSummaryResponse(TaskSummaryView view) {
+        String description = view.descriptionHead();
+        boolean truncated = description != null && description.length() > DESCRIPTION_PREVIEW_LENGTH;
+
+        return TaskResponse.builder()
+                .id(view.id())
+                .title(view.title())
+                .description(truncated ? description.substring(0, DESCRIPTION_PREVIEW_LENGTH) : description)
+                .descriptionTruncated(truncated)
+                .createdAt(view.createdAt())
+                .completed(view.completed())
+                .dueAt(view.dueAt())
+                .build();
+    }
 }
@@ -0,0 +1,115 @@
+package edu.icet.ecom.service.impl;
+
+import edu.icet.ecom.dto.TaskStatsResponse;
+import edu.icet.ecom.event.TaskChangedEvent;
+import edu.icet.ecom.repository.TaskRepository;
+import edu.icet.ecom.repository.projection.TaskCountView;
+import edu.icet.ecom.service.TaskStatsService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Task counts kept in striped in-memory counters. Writes adjust them after commit, so reads never touch the database;
+ * a periodic reconciliation against the table corrects any drift.
+ */
+@Service
+@Profile("!reactive")
+@RequiredArgsConstructor
+@Slf4j
+public class TaskStatsServiceImpl implements TaskStatsService {
+
+    static final int RECONCILE_ATTEMPTS = 3;
+
+    private final TaskRepository taskRepository;
+
+    private final LongAdder open = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder changes = new LongAdder();
+    private volatile LocalDateTime reconciledAt;
+
+    @Override
+    public TaskStatsResponse getStats() {
+        long openCount = open.sum();
+        long completedCount = completed.sum();
+
+        return TaskStatsResponse.builder()
+                .open(openCount)
+                .completed(completedCount)
+                .total(openCount + completedCount)
+                .reconciledAt(reconciledAt)
+                .build();
+    }
+
+    @TransactionalEventListener
+    public void onTaskChanged(TaskChangedEvent event) {
+        changes.increment();
+        switch (event.getChangeType()) {
+            case CREATED -> (Boolean.TRUE.equals(event.getCompleted()) ? completed : open).increment();
+            case COMPLETED -> {
+                open.decrement();
+                completed.increment();
+            }
+            case DELETED -> (Boolean.TRUE.equals(event.getCompleted()) ? completed : open).decrement();
+            default -> {
+                // Updates do not change any count.
+            }
+        }
+    }
+
+    /**
+     * Sets each counter to the database count, as an adjustment against the counter sampled after the query, so writes
+     * whose listeners run after that still count. A write whose listener runs while the query runs is ambiguous: the
+     * query may or may not have seen it, so it would be counted twice or not at all. The query is therefore repeated,
+     * up to {@link #RECONCILE_ATTEMPTS} times, until no listener ran during it. Under constant writes the counters can
+     * be off by the writes of one query until the next reconciliation.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void reconcile() {
+        long openInDb;
+        long completedInDb;
+        long openCounted;
+        long completedCounted;
+        int attempt = 0;
+        boolean quiet;
+        do {
+            attempt++;
+            long changesBefore = changes.sum();
+
+            openInDb = 0;
+            completedInDb = 0;
+            List<TaskCountView> counts = taskRepository.countByCompleted();
+            for (TaskCountView count : counts) {
+                if (Boolean.TRUE.equals(count.completed())) {
+                    completedInDb += count.count();
+                } else {
+                    openInDb += count.count();
+                }
+            }
+
+            openCounted = open.sum();
+            completedCounted = completed.sum();
+            quiet = changes.sum() == changesBefore;
+        } while (!quiet && attempt < RECONCILE_ATTEMPTS);
+
+        open.add(openInDb - openCounted);
+        completed.add(completedInDb - completedCounted);
+        reconciledAt = LocalDateTime.now();
+
+        if (!quiet) {
+            log.warn("Reconciled task counters while writes kept committing; they may be off until the next run");
+        }
+        if (openInDb != openCounted || completedInDb != completedCounted) {
+            log.info("Reconciled task counters: open {} -> {}, completed {} -> {}",
+                    openCounted, openInDb, completedCounted, completedInDb);
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package edu.icet.ecom.service.impl;
+
+import edu.icet.ecom.config.TaskQueryProperties;
+import edu.icet.ecom.config.TaskSuggestProperties;
+import edu.icet.ecom.entity.TaskChangeType;
+import edu.icet.ecom.event.TaskChangedEvent;
+import edu.icet.ecom.query.TitleTrie;
+import edu.icet.ecom.repository.TaskRepository;
+import edu.icet.ecom.repository.projection.TaskColumnView;
+import edu.icet.ecom.service.TaskChangeService;
+import edu.icet.ecom.service.TaskSuggestService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Suggests titles of open tasks from a {@link TitleTrie}, built once from the table and then kept current by
+ * committed change events in the same way as the query index, including skipping a change that arrives after a newer
+ * one to the same task.
+ */
+@Service
+@Profile("!reactive")
+@RequiredArgsConstructor
+@Slf4j
+public class TaskSuggestServiceImpl implements TaskSuggestService {
+
+    private final TaskRepository taskRepository;
+    private final TaskQueryProperties queryProperties;
+    private final TaskSuggestProperties properties;
+    private final TaskChangeService taskChangeService;
+
+    private final Object lock = new Object();
+    private final TaskChangeOrder changeOrder = new TaskChangeOrder();
+    private volatile TitleTrie titles;
+    private List<TaskChangedEvent> pendingDuringLoad;
+
+    @Override
+    public List<String> suggest(String prefix, Integer limit) {
+        int max = properties.getMaxSuggestions();
+        int count = limit == null ? max : limit;
+        if (count <= 0 || count > max) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + max);
+        }
+
+        TitleTrie current = titles;
+        if (current == null) {
+            throw new IllegalStateException("Task title index is not loaded yet");
+        }
+        return current.suggest(prefix == null ? "" : prefix, count);
+    }
+
+    @Override
+    public boolean isLoaded() {
+        return titles != null;
+    }
+
+    @Override
+    public void load() {
+        synchronized (lock) {
+            pendingDuringLoad = new ArrayList<>();
+        }
+
+        TitleTrie loaded;
+        try {
+            loaded = readAll();
+        } catch (RuntimeException ex) {
+            synchronized (lock) {
+                pendingDuringLoad = null;
+            }
+            throw ex;
+        }
+
+        synchronized (lock) {
+            for (TaskChangedEvent event : pendingDuringLoad) {
+                apply(loaded, event);
+            }
+            pendingDuringLoad = null;
+            titles = loaded;
+        }
+    }
+
+    @TransactionalEventListener
+    public void onTaskChanged(TaskChangedEvent event) {
+        synchronized (lock) {
+            if (!changeOrder.advance(event, taskChangeService.deliveredBefore())) {
+                log.debug("Skipping change {} to task {}, a newer one was applied", event.getSeq(), event.getTaskId());
+                return;
+            }
+            if (pendingDuringLoad != null) {
+                pendingDuringLoad.add(event);
+            }
+            if (titles != null) {
+                apply(titles, event);
+            }
+        }
+    }
+
+    private TitleTrie readAll() {
+        long started = System.nanoTime();
+        TitleTrie loaded = new TitleTrie(properties.getMaxSuggestions(),
+                (int) Math.min(taskRepository.count(), Integer.MAX_VALUE - 8));
+
+        int batchSize = queryProperties.getLoadBatchSize();
+        Long afterId = 0L;
+        List<TaskColumnView> page;
+        do {
+            page = taskRepository.findColumnViewsAfter(afterId, PageRequest.of(0, batchSize));
+            for (TaskColumnView view : page) {
+                if (!Boolean.TRUE.equals(view.completed())) {
+                    loaded.put(view.id(), view.title(), view.createdAt());
+                }
+            }
+            if (!page.isEmpty()) {
+                afterId = page.get(page.size() - 1).id();
+            }
+        } while (page.size() == batchSize);
+
+        log.info("Loaded {} distinct open task titles into the suggestion index in {} ms", loaded.size(),
+                (System.nanoTime() - started) / 1_000_000);
+        return loaded;
+    }
+
+    private static void apply(TitleTrie target, TaskChangedEvent event) {
+        if (event.getChangeType() == TaskChangeType.DELETED || Boolean.TRUE.equals(event.getCompleted())) {
+            target.remove(event.getTaskId());
+            return;
+        }
+        target.put(event.getTaskId(), event.getTitle(), event.getCreatedAt());
+    }
+}
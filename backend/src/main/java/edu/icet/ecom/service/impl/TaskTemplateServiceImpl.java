@@ -0,0 +1,199 @@
+package edu.icet.ecom.service.impl;
+
+import edu.icet.ecom.config.TaskTemplateProperties;
+import edu.icet.ecom.dto.CreateTaskTemplateRequest;
+import edu.icet.ecom.dto.TaskTemplateResponse;
+import edu.icet.ecom.dto.TemplateBatchResult;
+import edu.icet.ecom.entity.CompressedText;
+import edu.icet.ecom.entity.Task;
+import edu.icet.ecom.entity.TaskChangeType;
+import edu.icet.ecom.entity.TaskTemplate;
+import edu.icet.ecom.exception.TaskTemplateNotFoundException;
+import edu.icet.ecom.repository.SchedulerLeaseRepository;
+import edu.icet.ecom.repository.TaskRepository;
+import edu.icet.ecom.repository.TaskTemplateRepository;
+import edu.icet.ecom.service.SchedulerLeaseService;
+import edu.icet.ecom.service.TaskChangeService;
+import edu.icet.ecom.service.TaskTemplateService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.support.CronExpression;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+
+/**
+ * Recurring tasks. Every rule is kept as a cron expression, and occurrences are turned into ordinary tasks ahead of
+ * time by whichever instance holds the {@code task-templates} lease.
+ * <p>
+ * Exactly-once generation rests on the lease row rather than on clocks: each batch starts by renewing the lease under
+ * the token it was acquired with, and that update keeps the row locked until the batch commits. An instance taking the
+ * lease over has to update the same row, so it waits for the batch in flight and then reads the templates as that
+ * batch left them, while the old holder's next batch no longer matches the token and does nothing.
+ */
+@Service
+@Profile("!reactive & !logstore")
+@Transactional
+@RequiredArgsConstructor
+@Slf4j
+public class TaskTemplateServiceImpl implements TaskTemplateService {
+
+    static final String LEASE_NAME = "task-templates";
+
+    private final TaskTemplateRepository templateRepository;
+    private final SchedulerLeaseRepository leaseRepository;
+    private final SchedulerLeaseService schedulerLeaseService;
+    private final TaskRepository taskRepository;
+    private final TaskChangeService taskChangeService;
+    private final TaskTemplateProperties properties;
+
+    @Override
+    public TaskTemplateResponse createTemplate(CreateTaskTemplateRequest request) {
+        log.info("Creating {} task template with title: {}", request.getFrequency(), request.getTitle());
+
+        String cron = toCron(request);
+        LocalDateTime startAt = request.getStartAt() != null ? request.getStartAt() : LocalDateTime.now();
+        LocalDateTime nextRunAt = CronExpression.parse(cron).next(startAt.minusNanos(1));
+        if (nextRunAt == null) {
+            throw new IllegalArgumentException("Cron expression never fires: " + cron);
+        }
+
+        TaskTemplate template = templateRepository.save(TaskTemplate.builder()
+                .title(request.getTitle())
+                .description(CompressedText.of(request.getDescription()))
+                .cron(cron)
+                .nextRunAt(nextRunAt)
+                .build());
+
+        log.info("Created task template with id {}, first occurrence at {}", template.getId(), nextRunAt);
+        return toResponse(template);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public TaskTemplateResponse getTemplate(Long id) {
+        return toResponse(requireTemplate(id));
+    }
+
+    /**
+     * Tasks already made from the template stay.
+     */
+    @Override
+    public void deleteTemplate(Long id) {
+        log.info("Deleting task template with id: {}", id);
+        templateRepository.delete(requireTemplate(id));
+    }
+
+    @Override
+    public OptionalLong acquireLease(String owner) {
+        return schedulerLeaseService.acquire(LEASE_NAME, owner, properties.getLeaseDuration());
+    }
+
+    /**
+     * Tasks are inserted with JDBC batching and flushed before their change entries, whose identity keys are written
+     * one at a time. Occurrences older than the catch-up window are skipped rather than created.
+     */
+    @Override
+    public TemplateBatchResult materializeBatch(String owner, long token, LocalDateTime until) {
+        LocalDateTime now = LocalDateTime.now();
+        if (leaseRepository.renew(LEASE_NAME, owner, token, now.plus(properties.getLeaseDuration())) == 0) {
+            log.warn("Lost the task template lease to another instance");
+            return TemplateBatchResult.LEASE_LOST;
+        }
+
+        List<TaskTemplate> templates = templateRepository.findDue(until, PageRequest.of(0, properties.getBatchSize()));
+        if (templates.isEmpty()) {
+            return new TemplateBatchResult(true, 0, 0);
+        }
+
+        LocalDateTime oldest = now.minus(properties.getCatchUpWindow());
+        Map<String, CronExpression> crons = new HashMap<>();
+        List<Task> tasks = new ArrayList<>();
+        for (TaskTemplate template : templates) {
+            CronExpression cron = crons.computeIfAbsent(template.getCron(), CronExpression::parse);
+            LocalDateTime next = template.getNextRunAt();
+            if (next.isBefore(oldest)) {
+                log.debug("Skipping occurrences of task template {} before {}", template.getId(), oldest);
+                next = cron.next(oldest.minusNanos(1));
+            }
+
+            for (int i = 0; next != null && !next.isAfter(until) && i < properties.getMaxOccurrencesPerBatch(); i++) {
+                tasks.add(Task.builder()
+                        .title(template.getTitle())
+                        .descriptionText(template.getDescription())
+                        .dueAt(next)
+                        .build());
+                next = cron.next(next);
+            }
+            template.setNextRunAt(next);
+        }
+
+        taskRepository.saveAll(tasks);
+        taskRepository.flush();
+        for (Task task : tasks) {
+            taskChangeService.recordChange(task, TaskChangeType.CREATED);
+        }
+
+        log.debug("Materialised {} tasks from {} task templates", tasks.size(), templates.size());
+        return new TemplateBatchResult(true, templates.size(), tasks.size());
+    }
+
+    private TaskTemplate requireTemplate(Long id) {
+        if (id == null || id <= 0) {
+            throw new IllegalArgumentException("Task template ID must be a positive number");
+        }
+        return templateRepository.findById(id)
+                .orElseThrow(() -> new TaskTemplateNotFoundException(id));
+    }
+
+    /**
+     * Daily and weekly rules become cron expressions at the given time of day; cron rules are checked by parsing them.
+     */
+    private static String toCron(CreateTaskTemplateRequest request) {
+        if (request.getFrequency() == null) {
+            throw new IllegalArgumentException("Frequency is required");
+        }
+        LocalTime time = request.getTime() != null ? request.getTime() : LocalTime.MIDNIGHT;
+        String timeFields = time.getSecond() + " " + time.getMinute() + " " + time.getHour();
+
+        String cron = switch (request.getFrequency()) {
+            case DAILY -> timeFields + " * * *";
+            case WEEKLY -> {
+                if (request.getDayOfWeek() == null) {
+                    throw new IllegalArgumentException("Day of week is required for weekly templates");
+                }
+                yield timeFields + " * * " + request.getDayOfWeek().name().substring(0, 3);
+            }
+            case CRON -> {
+                if (request.getCron() == null || request.getCron().isBlank()) {
+                    throw new IllegalArgumentException("Cron expression is required for cron templates");
+                }
+                yield request.getCron().trim();
+            }
+        };
+
+        // Throws IllegalArgumentException with the parser's reason for an invalid expression.
+        CronExpression.parse(cron);
+        return cron;
+    }
+
+    private static TaskTemplateResponse toResponse(TaskTemplate template) {
+        return TaskTemplateResponse.builder()
+                .id(template.getId())
+                .title(template.getTitle())
+                .description(template.getDescription() != null ? template.getDescription().text() : null)
+                .cron(template.getCron())
+                .nextRunAt(template.getNextRunAt())
+                .createdAt(template.getCreatedAt())
+                .build();
+    }
+}
@@ -0,0 +1,264 @@
+package edu.icet.ecom.service.impl;
+
+import edu.icet.ecom.dto.CreateTaskRequest;
+import edu.icet.ecom.dto.SubtaskResponse;
+import edu.icet.ecom.dto.TaskResponse;
+import edu.icet.ecom.dto.TaskSubtreeResponse;
+import edu.icet.ecom.entity.Task;
+import edu.icet.ecom.entity.TaskChangeType;
+import edu.icet.ecom.event.TaskChangedEvent;
+import edu.icet.ecom.exception.TaskNotFoundException;
+import edu.icet.ecom.repository.TaskClosureRepository;
+import edu.icet.ecom.repository.TaskRepository;
+import edu.icet.ecom.repository.projection.SubtaskView;
+import edu.icet.ecom.service.TaskChangeService;
+import edu.icet.ecom.service.TaskService;
+import edu.icet.ecom.service.TaskTreeService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Subtask trees stored as a closure table. Each task row carries its parent and a rollup of how many tasks sit below
+ * it and how many of those are open; {@code task_closure} holds every ancestor/descendant pair. Reading a subtree,
+ * its open count, completing it and moving it are each a fixed number of set-based statements, whatever its depth.
+ * <p>
+ * Rollups follow completions and deletes made through {@link TaskService} by listening to its changes inside the
+ * writing transaction. Tasks outside any tree are recognised from the change itself and cost no extra statements.
+ */
+@Service
+@Profile("!reactive & !logstore")
+@Transactional
+@RequiredArgsConstructor
+@Slf4j
+public class TaskTreeServiceImpl implements TaskTreeService {
+
+    /**
+     * Set while a subtree completion records its changes, whose rollups it has already applied in bulk.
+     */
+    private static final ThreadLocal<Boolean> COMPLETING_SUBTREE = new ThreadLocal<>();
+
+    private final TaskRepository taskRepository;
+    private final TaskClosureRepository closureRepository;
+    private final TaskService taskService;
+    private final TaskChangeService taskChangeService;
+
+    @Override
+    public TaskResponse createSubtask(Long parentId, CreateTaskRequest request) {
+        log.info("Creating subtask of task with id: {}", parentId);
+        requireTask(parentId);
+
+        TaskResponse created = taskService.createTask(request);
+        attach(created.getId(), 0, 0, true, parentId);
+
+        log.info("Created subtask with id {} under task with id {}", created.getId(), parentId);
+        return created;
+    }
+
+    /**
+     * Reads the task's rollup and one page of its subtree; one query each. A limit of 0 only reads the rollup.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public TaskSubtreeResponse getSubtree(Long taskId, Integer maxDepth, int limit) {
+        requireId(taskId);
+        if (limit < 0 || limit > TaskServiceImpl.MAX_BATCH_GET) {
+            throw new IllegalArgumentException("Limit must be between 0 and " + TaskServiceImpl.MAX_BATCH_GET);
+        }
+        if (maxDepth != null && maxDepth < 1) {
+            throw new IllegalArgumentException("Max depth must be at least 1");
+        }
+
+        SubtaskView root = closureRepository.findNode(taskId)
+                .orElseThrow(() -> new TaskNotFoundException(taskId));
+        if (limit == 0 || root.subtaskCount() == 0) {
+            return TaskSubtreeResponse.builder()
+                    .task(toResponse(root))
+                    .subtasks(List.of())
+                    .hasMore(root.subtaskCount() > 0)
+                    .build();
+        }
+
+        // One extra row tells us whether another page exists.
+        List<SubtaskView> views = closureRepository.findSubtree(taskId,
+                maxDepth != null ? maxDepth : Integer.MAX_VALUE, PageRequest.of(0, limit + 1));
+        return TaskSubtreeResponse.builder()
+                .task(toResponse(root))
+                .subtasks(views.stream().limit(limit).map(TaskTreeServiceImpl::toResponse).toList())
+                .hasMore(views.size() > limit)
+                .build();
+    }
+
+    /**
+     * Moves the task, with everything below it, under a new parent.
+     */
+    @Override
+    public SubtaskResponse moveTask(Long taskId, Long parentId) {
+        log.info("Moving task with id {} under task with id {}", taskId, parentId);
+        requireId(parentId);
+        Task task = requireTask(taskId);
+        requireTask(parentId);
+
+        if (taskId.equals(parentId) || closureRepository.existsByAncestorIdAndDescendantId(taskId, parentId)) {
+            throw new IllegalArgumentException("A task cannot be moved below itself or one of its subtasks");
+        }
+
+        if (!parentId.equals(task.getParentId())) {
+            if (task.getParentId() != null) {
+                detach(task);
+            }
+            attach(taskId, task.getSubtaskCount(), task.getOpenSubtaskCount(), !task.getCompleted(), parentId);
+        }
+        return node(taskId);
+    }
+
+    /**
+     * Makes the task the root of its own tree, keeping everything below it.
+     */
+    @Override
+    public SubtaskResponse detachTask(Long taskId) {
+        log.info("Detaching task with id {} from its parent", taskId);
+        Task task = requireTask(taskId);
+
+        if (task.getParentId() != null) {
+            detach(task);
+        }
+        return node(taskId);
+    }
+
+    /**
+     * Completes the task and every open task below it with one update, then fixes the rollups of the subtree and its
+     * ancestors with one more each. Every completed task still gets its own change entry, so the change feed, caches
+     * and indexes see them like any other completion.
+     */
+    @Override
+    public SubtaskResponse completeSubtree(Long taskId) {
+        log.info("Completing subtree of task with id: {}", taskId);
+        Task task = requireTask(taskId);
+
+        if (task.getSubtaskCount() == 0) {
+            taskService.completeTask(taskId);
+            return node(taskId);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> openIds = closureRepository.findOpenSubtreeIds(taskId);
+        int completed = closureRepository.completeSubtree(taskId, now);
+        closureRepository.clearOpenSubtasks(taskId);
+        if (task.getParentId() != null && completed > 0) {
+            closureRepository.adjustRollups(taskId, 1, 0, -completed);
+        }
+        recordCompletions(openIds);
+
+        log.info("Completed {} tasks in the subtree of task with id {}", completed, taskId);
+        return node(taskId);
+    }
+
+    /**
+     * Keeps the rollups in step with completions and deletes. A completed task counts as one open task fewer for each
+     * ancestor. A deleted task leaves its tree, and its children move up to its parent.
+     */
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onTaskChanged(TaskChangedEvent event) {
+        boolean hasParent = event.getParentId() != null;
+        boolean hasSubtasks = event.getSubtaskCount() != null && event.getSubtaskCount() > 0;
+
+        if (event.getChangeType() == TaskChangeType.COMPLETED && hasParent && COMPLETING_SUBTREE.get() == null) {
+            closureRepository.adjustRollups(event.getTaskId(), 1, 0, -1);
+        } else if (event.getChangeType() == TaskChangeType.DELETED && (hasParent || hasSubtasks)) {
+            removeFromTree(event.getTaskId(), hasSubtasks, Boolean.TRUE.equals(event.getCompleted()));
+        }
+    }
+
+    private void attach(Long taskId, int subtasks, int openSubtasks, boolean open, Long parentId) {
+        closureRepository.insertSelf(taskId);
+        closureRepository.insertSelf(parentId);
+        closureRepository.link(taskId, parentId);
+        closureRepository.adjustRollups(parentId, 0, subtasks + 1, openSubtasks + (open ? 1 : 0));
+        closureRepository.setParent(taskId, parentId);
+    }
+
+    private void detach(Task task) {
+        int open = task.getOpenSubtaskCount() + (task.getCompleted() ? 0 : 1);
+        closureRepository.adjustRollups(task.getId(), 1, -(task.getSubtaskCount() + 1), -open);
+        closureRepository.unlink(task.getId());
+        closureRepository.setParent(task.getId(), null);
+    }
+
+    /**
+     * The parent is read from the closure rather than the change: a bulk delete may already have moved this task up by
+     * deleting its old parent earlier in the same transaction.
+     */
+    private void removeFromTree(Long taskId, boolean hasSubtasks, boolean completed) {
+        Long parentId = closureRepository.findParentId(taskId).orElse(null);
+
+        if (parentId != null) {
+            closureRepository.adjustRollups(taskId, 1, -1, completed ? 0 : -1);
+        }
+        if (hasSubtasks) {
+            closureRepository.reparentChildren(taskId, parentId);
+            if (parentId != null) {
+                closureRepository.shortenPathsThrough(taskId);
+            }
+        }
+        closureRepository.deleteTask(taskId);
+        closureRepository.clearTree(taskId);
+        log.debug("Removed deleted task with id {} from its tree", taskId);
+    }
+
+    private void recordCompletions(List<Long> ids) {
+        COMPLETING_SUBTREE.set(Boolean.TRUE);
+        try {
+            for (int from = 0; from < ids.size(); from += TaskServiceImpl.BATCH_GET_CHUNK_SIZE) {
+                List<Long> chunk = ids.subList(from, Math.min(from + TaskServiceImpl.BATCH_GET_CHUNK_SIZE, ids.size()));
+                for (Task task : taskRepository.findAllById(chunk)) {
+                    taskChangeService.recordChange(task, TaskChangeType.COMPLETED);
+                }
+            }
+        } finally {
+            COMPLETING_SUBTREE.remove();
+        }
+    }
+
+    private Task requireTask(Long taskId) {
+        requireId(taskId);
+        return taskRepository.findById(taskId)
+                .orElseThrow(() -> new TaskNotFoundException(taskId));
+    }
+
+    private SubtaskResponse node(Long taskId) {
+        return closureRepository.findNode(taskId)
+                .map(TaskTreeServiceImpl::toResponse)
+                .orElseThrow(() -> new TaskNotFoundException(taskId));
+    }
+
+    private static void requireId(Long taskId) {
+        if (taskId == null || taskId <= 0) {
+            throw new IllegalArgumentException("Task ID must be a positive number");
+        }
+    }
+
+    static SubtaskResponse toResponse(SubtaskView view) {
+        return SubtaskResponse.builder()
+                .id(view.id())
+                .parentId(view.parentId())
+                .depth(view.depth())
+                .title(view.title())
+                .completed(view.completed())
+                .createdAt(view.createdAt())
+                .dueAt(view.dueAt())
+                .subtaskCount(view.subtaskCount())
+                .openSubtaskCount(view.openSubtaskCount())
+                .subtasksCompleted(view.subtaskCount() > 0 && view.openSubtaskCount() == 0)
+                .build();
+    }
+}
@@ -0,0 +1,36 @@
+package edu.icet.ecom.service.impl;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Committing transactions whose changes may not have reached every after-commit listener yet, by the sequence of their
+ * first change. Sequences must be handed out in commit order, so once none below a sequence is tracked, every change
+ * before it has been delivered.
+ */
+final class UndeliveredChanges {
+
+    private final ConcurrentSkipListSet<Long> firstSeqs = new ConcurrentSkipListSet<>();
+
+    /**
+     * Called before the commit, once the transaction's sequences are assigned. Spring delivers after-commit events from
+     * the synchronizations registered while the transaction ran; the one registered here comes after them, so the
+     * transaction stays tracked until its listeners have run.
+     */
+    void track(long firstSeq) {
+        firstSeqs.add(firstSeq);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                firstSeqs.remove(firstSeq);
+            }
+        });
+    }
+
+    long deliveredBefore() {
+        Long first = firstSeqs.ceiling(Long.MIN_VALUE);
+        return first != null ? first : Long.MAX_VALUE;
+    }
+}
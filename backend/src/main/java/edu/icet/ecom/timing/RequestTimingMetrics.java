@@ -0,0 +1,59 @@
+package edu.icet.ecom.timing;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishes request phase timings as {@code task.request.phase} timers and {@code task.request.db.statements}
+ * summaries, tagged with the route pattern. Meters are looked up once per route.
+ */
+@Component
+@Profile("!reactive")
+@RequiredArgsConstructor
+public class RequestTimingMetrics {
+
+    private static final TimingPhase[] PHASES = TimingPhase.values();
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, RouteMeters> metersByRoute = new ConcurrentHashMap<>();
+
+    void record(String route, RequestTimings timings) {
+        RouteMeters meters = metersByRoute.computeIfAbsent(route, this::register);
+        for (TimingPhase phase : PHASES) {
+            meters.phases[phase.ordinal()].record(timings.nanos(phase), TimeUnit.NANOSECONDS);
+        }
+        meters.total.record(timings.totalNanos(), TimeUnit.NANOSECONDS);
+        meters.statements.record(timings.statements());
+    }
+
+    private RouteMeters register(String route) {
+        Timer[] phases = new Timer[PHASES.length];
+        for (TimingPhase phase : PHASES) {
+            phases[phase.ordinal()] = phaseTimer(route, phase.getMetricName());
+        }
+        DistributionSummary statements = DistributionSummary.builder("task.request.db.statements")
+                .description("JDBC statements executed per request")
+                .tag("uri", route)
+                .register(meterRegistry);
+        return new RouteMeters(phases, phaseTimer(route, "total"), statements);
+    }
+
+    private Timer phaseTimer(String route, String phase) {
+        return Timer.builder("task.request.phase")
+                .description("Time spent per request phase")
+                .tag("uri", route)
+                .tag("phase", phase)
+                .register(meterRegistry);
+    }
+
+    private record RouteMeters(Timer[] phases, Timer total, DistributionSummary statements) {
+    }
+}
@@ -0,0 +1,154 @@
+package edu.icet.ecom.timing;
+
+/**
+ * Time spent per {@link TimingPhase} by the request running on the current thread. Each thread keeps one recorder and
+ * resets it for every request, so recording allocates nothing.
+ * <p>
+ * Code outside a request, such as scheduled jobs, can call {@link #start()} and {@link #stop(TimingPhase, long)} freely;
+ * the measurement is simply dropped.
+ */
+public final class RequestTimings {
+
+    private static final ThreadLocal<RequestTimings> CURRENT = new ThreadLocal<>();
+    private static final TimingPhase[] PHASES = TimingPhase.values();
+
+    private final long[] phaseNanos = new long[PHASES.length];
+    private int statements;
+    private long startedAt;
+    private long serializationStartedAt;
+    private long totalNanos;
+    private boolean active;
+
+    RequestTimings() {
+    }
+
+    /**
+     * Starts recording a request on the current thread.
+     */
+    static RequestTimings begin() {
+        RequestTimings timings = CURRENT.get();
+        if (timings == null) {
+            timings = new RequestTimings();
+            CURRENT.set(timings);
+        }
+        timings.reset();
+        timings.active = true;
+        timings.startedAt = System.nanoTime();
+        return timings;
+    }
+
+    public static long start() {
+        return System.nanoTime();
+    }
+
+    public static void stop(TimingPhase phase, long startedAt) {
+        RequestTimings timings = CURRENT.get();
+        if (timings != null && timings.active) {
+            timings.phaseNanos[phase.ordinal()] += System.nanoTime() - startedAt;
+        }
+    }
+
+    public static void countStatement() {
+        RequestTimings timings = CURRENT.get();
+        if (timings != null && timings.active) {
+            timings.statements++;
+        }
+    }
+
+    /**
+     * Marks the point where the response body starts being written; everything up to {@link #finish()} is counted as
+     * serialization.
+     */
+    static void markSerializationStart() {
+        RequestTimings timings = CURRENT.get();
+        if (timings != null && timings.active) {
+            timings.serializationStartedAt = System.nanoTime();
+        }
+    }
+
+    /**
+     * Stops recording and fixes the total and serialization time.
+     */
+    void finish() {
+        long now = System.nanoTime();
+        if (serializationStartedAt != 0) {
+            phaseNanos[TimingPhase.SERIALIZATION.ordinal()] += now - serializationStartedAt;
+        }
+        totalNanos = now - startedAt;
+        active = false;
+    }
+
+    long nanos(TimingPhase phase) {
+        return phaseNanos[phase.ordinal()];
+    }
+
+    int statements() {
+        return statements;
+    }
+
+    long totalNanos() {
+        return totalNanos;
+    }
+
+    /**
+     * The header for a response whose body is about to be written, with the total so far.
+     *
+     * @return null outside a request
+     */
+    static String currentHeaderValue() {
+        RequestTimings timings = CURRENT.get();
+        if (timings == null || !timings.active) {
+            return null;
+        }
+        return timings.toHeaderValue(System.nanoTime() - timings.startedAt);
+    }
+
+    String toHeaderValue() {
+        return toHeaderValue(totalNanos);
+    }
+
+    /**
+     * Serialization is left out, since it has not happened yet when the header is sent with a body.
+     *
+     * @return e.g. {@code db;dur=1.204;desc="3 statements", val;dur=0.051, map;dur=0.120, total;dur=2.480}
+     */
+    private String toHeaderValue(long total) {
+        StringBuilder header = new StringBuilder(128);
+        for (TimingPhase phase : PHASES) {
+            if (phase == TimingPhase.SERIALIZATION) {
+                continue;
+            }
+            header.append(phase.getMetricName()).append(";dur=");
+            appendMillis(header, phaseNanos[phase.ordinal()]);
+            if (phase == TimingPhase.DB) {
+                header.append(";desc=\"").append(statements).append(statements == 1 ? " statement\"" : " statements\"");
+            }
+            header.append(", ");
+        }
+        header.append("total;dur=");
+        appendMillis(header, total);
+        return header.toString();
+    }
+
+    private void reset() {
+        for (int i = 0; i < phaseNanos.length; i++) {
+            phaseNanos[i] = 0;
+        }
+        statements = 0;
+        serializationStartedAt = 0;
+        totalNanos = 0;
+    }
+
+    private static void appendMillis(StringBuilder target, long nanos) {
+        long micros = nanos / 1_000;
+        long fraction = micros % 1_000;
+        target.append(micros / 1_000).append('.');
+        if (fraction < 100) {
+            target.append('0');
+        }
+        if (fraction < 10) {
+            target.append('0');
+        }
+        target.append(fraction);
+    }
+}
@@ -0,0 +1,36 @@
+package edu.icet.ecom.timing;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Marks the start of response serialization, which runs right after this advice in whichever message converter was
+ * negotiated, and sets the {@code Server-Timing} header while the response can still take headers.
+ */
+@ControllerAdvice
+@Profile("!reactive")
+public class SerializationTimingAdvice implements ResponseBodyAdvice<Object> {
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        RequestTimings.markSerializationStart();
+        String serverTiming = RequestTimings.currentHeaderValue();
+        if (serverTiming != null) {
+            response.getHeaders().set(ServerTimingFilter.SERVER_TIMING, serverTiming);
+        }
+        return body;
+    }
+}
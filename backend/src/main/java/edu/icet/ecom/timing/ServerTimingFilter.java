@@ -0,0 +1,60 @@
+package edu.icet.ecom.timing;
+
+import edu.icet.ecom.warmup.PrewarmRequestFilter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Records the phases of every API request and reports them in a {@code Server-Timing} header and as metrics.
+ * <p>
+ * Responses with a body get the header from {@link SerializationTimingAdvice} just before the body is written, so the
+ * body is streamed rather than buffered and the header leaves out serialization. Responses that are still uncommitted
+ * when the request completes, such as those without a body, get the full header here.
+ */
+@Component
+@Profile("!reactive")
+@RequiredArgsConstructor
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+    public static final String SERVER_TIMING = "Server-Timing";
+
+    private final RequestTimingMetrics metrics;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RequestTimings timings = RequestTimings.begin();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            timings.finish();
+            record(request, timings);
+        }
+
+        if (!response.isCommitted()) {
+            response.setHeader(SERVER_TIMING, timings.toHeaderValue());
+        }
+    }
+
+    private void record(HttpServletRequest request, RequestTimings timings) {
+        if (request.getAttribute(PrewarmRequestFilter.PREWARM_ATTRIBUTE) != null) {
+            return;
+        }
+        Object route = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        metrics.record(route != null ? route.toString() : "UNKNOWN", timings);
+    }
+}
@@ -0,0 +1,39 @@
+package edu.icet.ecom.timing;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.validation.Errors;
+import org.springframework.validation.SmartValidator;
+
+/**
+ * Bean validation of request bodies, timed as {@link TimingPhase#VALIDATION}.
+ */
+@RequiredArgsConstructor
+public class TimedValidator implements SmartValidator {
+
+    private final SmartValidator delegate;
+
+    @Override
+    public boolean supports(Class<?> clazz) {
+        return delegate.supports(clazz);
+    }
+
+    @Override
+    public void validate(Object target, Errors errors) {
+        long startedAt = RequestTimings.start();
+        try {
+            delegate.validate(target, errors);
+        } finally {
+            RequestTimings.stop(TimingPhase.VALIDATION, startedAt);
+        }
+    }
+
+    @Override
+    public void validate(Object target, Errors errors, Object... validationHints) {
+        long startedAt = RequestTimings.start();
+        try {
+            delegate.validate(target, errors, validationHints);
+        } finally {
+            RequestTimings.stop(TimingPhase.VALIDATION, startedAt);
+        }
+    }
+}
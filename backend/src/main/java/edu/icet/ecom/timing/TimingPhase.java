@@ -0,0 +1,23 @@
+package edu.icet.ecom.timing;
+
+/**
+ * Request phases recorded as metrics, under their metric names. All but serialization are also reported in the
+ * {@code Server-Timing} header.
+ */
+public enum TimingPhase {
+
+    DB("db"),
+    VALIDATION("val"),
+    MAPPING("map"),
+    SERIALIZATION("ser");
+
+    private final String metricName;
+
+    TimingPhase(String metricName) {
+        this.metricName = metricName;
+    }
+
+    public String getMetricName() {
+        return metricName;
+    }
+}
@@ -0,0 +1,35 @@
+package edu.icet.ecom.timing;
+
+import org.hibernate.BaseSessionEventListener;
+
+/**
+ * Adds the JDBC execution time of every Hibernate statement to the {@link TimingPhase#DB} phase of the current
+ * request. Registered through {@code hibernate.session.events.auto}, which creates one instance per session.
+ */
+public class TimingSessionEventListener extends BaseSessionEventListener {
+
+    private long statementStartedAt;
+    private long batchStartedAt;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        statementStartedAt = RequestTimings.start();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        RequestTimings.stop(TimingPhase.DB, statementStartedAt);
+        RequestTimings.countStatement();
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        batchStartedAt = RequestTimings.start();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        RequestTimings.stop(TimingPhase.DB, batchStartedAt);
+        RequestTimings.countStatement();
+    }
+}
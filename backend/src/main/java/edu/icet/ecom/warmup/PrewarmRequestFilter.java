@@ -0,0 +1,60 @@
+package edu.icet.ecom.warmup;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+
+/**
+ * Keeps the synthetic prewarm calls read-only. A request marked with {@value #PREWARM_HEADER} is only honoured from
+ * this host and only for reads; any other method is refused before it reaches a controller. Honoured requests are
+ * flagged so that request metrics leave them out.
+ */
+@Component
+@Profile("!reactive")
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class PrewarmRequestFilter extends OncePerRequestFilter {
+
+    public static final String PREWARM_HEADER = "X-Prewarm";
+    public static final String PREWARM_ATTRIBUTE = PrewarmRequestFilter.class.getName() + ".prewarm";
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getHeader(PREWARM_HEADER) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (!HttpMethod.GET.matches(request.getMethod())) {
+            response.sendError(HttpStatus.METHOD_NOT_ALLOWED.value(), "Prewarm requests are read-only");
+            return;
+        }
+        if (isLoopback(request.getRemoteAddr())) {
+            request.setAttribute(PREWARM_ATTRIBUTE, Boolean.TRUE);
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    /**
+     * The remote address is always an IP literal, which is parsed without a name lookup.
+     */
+    private static boolean isLoopback(String address) {
+        try {
+            return address != null && InetAddress.getByName(address).isLoopbackAddress();
+        } catch (UnknownHostException ex) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,218 @@
+package edu.icet.ecom.warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zaxxer.hikari.HikariDataSource;
+import edu.icet.ecom.config.PrewarmProperties;
+import edu.icet.ecom.dto.CreateTaskRequest;
+import edu.icet.ecom.dto.TaskResponse;
+import edu.icet.ecom.entity.Task;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.modelmapper.ModelMapper;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Warms a freshly started instance before it reports ready: opens the connection pool to its minimum size, builds
+ * the ModelMapper type maps, and sends synthetic read-only calls through the task endpoints over loopback. Those calls
+ * load the Hibernate query plans and the recent-tasks and task caches, and give the JIT the request path to compile.
+ * <p>
+ * Spring Boot only reports readiness once every {@link ApplicationRunner} has returned, so the instance refuses
+ * traffic on {@code /actuator/health/readiness} for as long as this runs. A step that fails is logged and skipped;
+ * prewarming never keeps an instance from starting.
+ */
+@Component
+@Profile("!reactive")
+@ConditionalOnProperty(prefix = "todo.prewarm", name = "enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+@Slf4j
+public class StartupPrewarmer implements ApplicationRunner {
+
+    private static final List<Class<?>[]> TYPE_MAPS = List.of(
+            new Class<?>[]{CreateTaskRequest.class, Task.class},
+            new Class<?>[]{Task.class, TaskResponse.class});
+
+    private final ObjectProvider<DataSource> dataSource;
+    private final ModelMapper modelMapper;
+    private final ObjectMapper objectMapper;
+    private final Environment environment;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PrewarmProperties properties;
+
+    private volatile Report report;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        AvailabilityChangeEvent.publish(eventPublisher, this, ReadinessState.REFUSING_TRAFFIC);
+        long started = System.nanoTime();
+        long deadline = started + properties.getTimeout().toNanos();
+
+        int connections = warmConnectionPool();
+        int typeMaps = buildTypeMaps();
+        Calls calls = callTaskEndpoints(deadline);
+
+        report = new Report(connections, typeMaps, calls.made, calls.failed,
+                Duration.ofNanos(System.nanoTime() - started));
+        log.info("Prewarmed in {} ms: {} pooled connections, {} type maps, {} synthetic calls ({} failed)",
+                report.elapsed().toMillis(), connections, typeMaps, calls.made, calls.failed);
+    }
+
+    /**
+     * @return what the last prewarm did, or {@code null} before it has finished
+     */
+    public Report getReport() {
+        return report;
+    }
+
+    /**
+     * Holds as many connections at once as the pool keeps idle, so that all of them are opened now rather than by the
+     * first requests.
+     */
+    private int warmConnectionPool() {
+        DataSource source = dataSource.getIfAvailable();
+        if (source == null) {
+            return 0;
+        }
+
+        List<Connection> held = new ArrayList<>();
+        try {
+            int minimum = source.isWrapperFor(HikariDataSource.class)
+                    ? Math.max(source.unwrap(HikariDataSource.class).getMinimumIdle(), 1)
+                    : 1;
+            while (held.size() < minimum) {
+                Connection connection = source.getConnection();
+                held.add(connection);
+                connection.isValid(1);
+            }
+        } catch (SQLException ex) {
+            log.warn("Connection pool prewarm stopped after {} connections: {}", held.size(), ex.getMessage());
+        } finally {
+            for (Connection connection : held) {
+                try {
+                    connection.close();
+                } catch (SQLException ex) {
+                    log.debug("Failed to return a prewarm connection: {}", ex.getMessage());
+                }
+            }
+        }
+        return held.size();
+    }
+
+    private int buildTypeMaps() {
+        int built = 0;
+        for (Class<?>[] pair : TYPE_MAPS) {
+            try {
+                if (modelMapper.getTypeMap(pair[0], pair[1]) == null) {
+                    modelMapper.createTypeMap(pair[0], pair[1]);
+                }
+                built++;
+            } catch (RuntimeException ex) {
+                log.warn("Failed to build the type map from {} to {}: {}",
+                        pair[0].getSimpleName(), pair[1].getSimpleName(), ex.getMessage());
+            }
+        }
+        return built;
+    }
+
+    /**
+     * Only runs against a real web server; without a local port, as under MockMvc, there is nothing to call.
+     */
+    private Calls callTaskEndpoints(long deadline) {
+        Calls calls = new Calls();
+        Integer port = environment.getProperty("local.server.port", Integer.class);
+        if (port == null || port <= 0) {
+            return calls;
+        }
+
+        String base = "http://localhost:" + port + "/api/tasks";
+        try (HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build()) {
+            for (int round = 0; round < properties.getRounds() && System.nanoTime() < deadline; round++) {
+                String recent = get(client, base + "/recent", calls);
+                List<Long> ids = recent != null ? sampleIds(recent) : List.of();
+                for (Long id : ids) {
+                    get(client, base + "/" + id, calls);
+                }
+                if (!ids.isEmpty()) {
+                    get(client, base + "?ids=" + ids.stream().map(String::valueOf).collect(Collectors.joining(",")),
+                            calls);
+                }
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        return calls;
+    }
+
+    /**
+     * @return the body of a successful read, or {@code null}; a not-found answer, for a task deleted since it was
+     *         listed, counts as a successful call
+     */
+    private String get(HttpClient client, String uri, Calls calls) throws InterruptedException {
+        calls.made++;
+        try {
+            HttpResponse<String> response = client.send(HttpRequest.newBuilder(URI.create(uri))
+                            .header(PrewarmRequestFilter.PREWARM_HEADER, "true")
+                            .timeout(Duration.ofSeconds(5))
+                            .GET()
+                            .build(),
+                    HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() == 200) {
+                return response.body();
+            }
+            if (response.statusCode() != 404) {
+                calls.failed++;
+                log.debug("Prewarm call to {} answered {}", uri, response.statusCode());
+            }
+        } catch (IOException ex) {
+            calls.failed++;
+            log.debug("Prewarm call to {} failed: {}", uri, ex.getMessage());
+        }
+        return null;
+    }
+
+    private List<Long> sampleIds(String recentTasks) {
+        try {
+            return Arrays.stream(objectMapper.readValue(recentTasks, TaskResponse[].class))
+                    .limit(properties.getSampleSize())
+                    .map(TaskResponse::getId)
+                    .toList();
+        } catch (IOException ex) {
+            log.debug("Failed to read recent tasks for prewarming: {}", ex.getMessage());
+            return List.of();
+        }
+    }
+
+    private static final class Calls {
+        private int made;
+        private int failed;
+    }
+
+    /**
+     * @param calls    synthetic HTTP calls made, including failed ones
+     * @param failures calls that failed or answered with anything other than 200 or 404
+     */
+    public record Report(int connections, int typeMaps, int calls, int failures, Duration elapsed) {
+    }
+}
@@ -0,0 +1,23 @@
+-- Subtasks. The parent link and the completion rollup of everything below a task live on the task row; they are only
+-- written by the set-based statements of TaskTreeServiceImpl.
+ALTER TABLE task ADD COLUMN parent_id BIGINT NULL;
+ALTER TABLE task ADD COLUMN subtask_count INT NOT NULL DEFAULT 0;
+ALTER TABLE task ADD COLUMN open_subtask_count INT NOT NULL DEFAULT 0;
+ALTER TABLE task ADD CONSTRAINT fk_task_parent FOREIGN KEY (parent_id) REFERENCES task (id) ON DELETE SET NULL;
+
+-- Every ancestor/descendant pair of the subtask trees, including each task paired with itself at depth 0. Tasks that
+-- were never part of a tree have no rows.
+CREATE TABLE task_closure (
+    ancestor_id BIGINT NOT NULL,
+    descendant_id BIGINT NOT NULL,
+    depth INT NOT NULL,
+    PRIMARY KEY (ancestor_id, descendant_id),
+    CONSTRAINT fk_task_closure_ancestor FOREIGN KEY (ancestor_id) REFERENCES task (id) ON DELETE CASCADE,
+    CONSTRAINT fk_task_closure_descendant FOREIGN KEY (descendant_id) REFERENCES task (id) ON DELETE CASCADE
+);
+
+-- Reads a subtree level by level, straight off the index.
+CREATE INDEX idx_task_closure_ancestor_depth ON task_closure (ancestor_id, depth, descendant_id);
+
+-- Finds the ancestors of a task.
+CREATE INDEX idx_task_closure_descendant_depth ON task_closure (descendant_id, depth);
@@ -0,0 +1,24 @@
+-- Recurring tasks. Every rule is stored as a cron expression; next_run_at is its earliest occurrence that has not been
+-- turned into a task yet, and NULL once the rule has no further occurrences.
+CREATE TABLE task_template (
+    id BIGINT PRIMARY KEY,
+    title VARCHAR(255) NOT NULL,
+    description TEXT,
+    cron VARCHAR(120) NOT NULL,
+    next_run_at TIMESTAMP NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- The scheduler reads due templates in (next_run_at, id) order.
+CREATE INDEX idx_task_template_next_run_at ON task_template (next_run_at, id);
+
+-- One row per job that must run on a single instance at a time. The owner holds the lease until expires_at; token
+-- grows with every change of owner, so a batch started under an older lease can tell that it lost it.
+CREATE TABLE scheduler_lease (
+    name VARCHAR(64) PRIMARY KEY,
+    owner VARCHAR(64) NULL,
+    token BIGINT NOT NULL DEFAULT 0,
+    expires_at TIMESTAMP NULL
+);
+
+INSERT INTO scheduler_lease (name, token) VALUES ('task-templates', 0);
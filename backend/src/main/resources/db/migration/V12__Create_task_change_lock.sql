@@ -0,0 +1,8 @@
+-- task_change.seq is assigned when a row is inserted, not when it commits. Every writer locks this single row right
+-- before inserting its change entries and keeps it until commit, so entries become visible in seq order and a sync
+-- client never moves its cursor past an entry that has yet to commit.
+CREATE TABLE task_change_lock (
+    id INT PRIMARY KEY
+);
+
+INSERT INTO task_change_lock (id) VALUES (1);
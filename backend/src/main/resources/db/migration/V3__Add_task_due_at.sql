@@ -0,0 +1,5 @@
+ALTER TABLE task ADD COLUMN due_at TIMESTAMP NULL;
+
+CREATE INDEX idx_task_completed_due_at ON task (completed, due_at);
+
+ALTER TABLE task_change ADD COLUMN due_at TIMESTAMP NULL;
@@ -0,0 +1 @@
+CREATE INDEX idx_task_completed_created_at ON task (completed, created_at);
@@ -0,0 +1,9 @@
+ALTER TABLE task ADD COLUMN completed_at TIMESTAMP NULL;
+
+CREATE INDEX idx_task_completed_at ON task (completed_at);
+
+CREATE TABLE task_completion_rollup (
+    hour_start TIMESTAMP NOT NULL PRIMARY KEY,
+    completed_count BIGINT NOT NULL,
+    histogram BLOB NOT NULL
+);
@@ -0,0 +1,12 @@
+ALTER TABLE task ADD COLUMN deleted BOOLEAN NOT NULL DEFAULT FALSE;
+ALTER TABLE task ADD COLUMN deleted_at TIMESTAMP NULL;
+
+-- Every read filters on deleted = false; leading with it keeps tombstones out of the ranges the reads scan.
+DROP INDEX idx_task_completed_created_at ON task;
+CREATE INDEX idx_task_deleted_completed_created_at ON task (deleted, completed, created_at);
+
+DROP INDEX idx_task_completed_due_at ON task;
+CREATE INDEX idx_task_deleted_completed_due_at ON task (deleted, completed, due_at);
+
+-- Lets the purger walk tombstones in id order.
+CREATE INDEX idx_task_deleted_id ON task (deleted, id);
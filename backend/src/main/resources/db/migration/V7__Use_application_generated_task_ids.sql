@@ -0,0 +1,2 @@
+-- Task ids now come from the application's time-ordered generator. Existing ids are far below the generated range.
+ALTER TABLE task MODIFY id BIGINT NOT NULL;
@@ -0,0 +1,16 @@
+-- Attachment content lives in the file store under its SHA-256; this table only links it to tasks.
+CREATE TABLE task_attachment (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    task_id BIGINT NOT NULL,
+    file_name VARCHAR(255) NOT NULL,
+    content_type VARCHAR(127) NOT NULL,
+    size_bytes BIGINT NOT NULL,
+    sha256 VARCHAR(64) NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT fk_task_attachment_task FOREIGN KEY (task_id) REFERENCES task (id) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_task_attachment_task_id ON task_attachment (task_id);
+
+-- Lets the content sweep check which stored files are still referenced.
+CREATE INDEX idx_task_attachment_sha256 ON task_attachment (sha256);
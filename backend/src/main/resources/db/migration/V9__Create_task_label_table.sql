@@ -0,0 +1,11 @@
+-- Labels of a task, at most once each; stored lowercase.
+CREATE TABLE task_label (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    task_id BIGINT NOT NULL,
+    label VARCHAR(64) NOT NULL,
+    CONSTRAINT uk_task_label UNIQUE (task_id, label),
+    CONSTRAINT fk_task_label_task FOREIGN KEY (task_id) REFERENCES task (id) ON DELETE CASCADE
+);
+
+-- Finds the tasks of a label; the unique key already serves lookups by task.
+CREATE INDEX idx_task_label_label_task_id ON task_label (label, task_id);
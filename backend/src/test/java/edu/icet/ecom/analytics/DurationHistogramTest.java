@@ -0,0 +1,88 @@
+package edu.icet.ecom.analytics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DurationHistogramTest {
+
+    @Test
+    void shouldPlaceEveryValueInsideItsBucketBounds() {
+
+        Random random = new Random(7);
+        for (int i = 0; i < 100_000; i++) {
+            long value = random.nextLong(1L << 40);
+
+
+            int index = DurationHistogram.indexOf(value);
+
+
+            assertTrue(DurationHistogram.lowerBound(index) <= value, "lower bound of " + value);
+            assertTrue(DurationHistogram.upperBound(index) >= value, "upper bound of " + value);
+            assertEquals(index + 1, DurationHistogram.indexOf(DurationHistogram.upperBound(index) + 1));
+        }
+    }
+
+    @Test
+    void shouldReportPercentilesWithinRelativeError() {
+
+        DurationHistogram histogram = new DurationHistogram();
+        for (long seconds = 1; seconds <= 10_000; seconds++) {
+            histogram.record(seconds);
+        }
+
+
+        assertEquals(10_000, histogram.count());
+        assertEquals(5_000, histogram.valueAt(0.5), 5_000 * 0.0625);
+        assertEquals(9_900, histogram.valueAt(0.99), 9_900 * 0.0625);
+        assertEquals(1, histogram.valueAt(0.0));
+    }
+
+    @Test
+    void shouldReturnNullPercentileWhenEmpty() {
+
+        assertNull(new DurationHistogram().valueAt(0.5));
+    }
+
+    @Test
+    void shouldMergeAsIfAllValuesWereRecordedTogether() {
+
+        DurationHistogram small = new DurationHistogram();
+        DurationHistogram large = new DurationHistogram();
+        DurationHistogram combined = new DurationHistogram();
+        for (long seconds = 0; seconds < 1_000; seconds++) {
+            small.record(seconds);
+            large.record(seconds * 1_000);
+            combined.record(seconds);
+            combined.record(seconds * 1_000);
+        }
+
+
+        small.merge(large);
+
+
+        assertEquals(combined.count(), small.count());
+        assertArrayEquals(combined.toBytes(), small.toBytes());
+    }
+
+    @Test
+    void shouldSurviveSerializationRoundTrip() {
+
+        DurationHistogram histogram = new DurationHistogram();
+        histogram.record(3);
+        histogram.record(3_600);
+        histogram.record(86_400 * 30L);
+        histogram.record(-5);
+
+
+        DurationHistogram restored = DurationHistogram.fromBytes(histogram.toBytes());
+
+
+        assertEquals(4, restored.count());
+        assertEquals(histogram.valueAt(0.5), restored.valueAt(0.5));
+        assertEquals(histogram.valueAt(1.0), restored.valueAt(1.0));
+        assertEquals(0, restored.valueAt(0.0));
+    }
+}
@@ -0,0 +1,146 @@
+package edu.icet.ecom.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import edu.icet.ecom.config.BinaryFormatConfig;
+import edu.icet.ecom.config.RecentTasksProperties;
+import edu.icet.ecom.dto.CreateTaskRequest;
+import edu.icet.ecom.dto.TaskResponse;
+import edu.icet.ecom.service.TaskService;
+import edu.icet.ecom.service.impl.RecentTasksServiceImpl;
+import edu.icet.ecom.timing.RequestTimingMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(TaskController.class)
+@Import({BinaryFormatConfig.class, RecentTasksServiceImpl.class, RecentTasksProperties.class,
+        RequestTimingMetrics.class, SimpleMeterRegistry.class})
+class BinaryFormatNegotiationTest {
+
+    private static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private TaskService taskService;
+
+    private final ObjectMapper cborMapper = new ObjectMapper(new CBORFactory());
+    private final ObjectMapper smileMapper = new ObjectMapper(new SmileFactory());
+
+    @Test
+    void getRecentTasks_ShouldEncodeCborWithEpochMillis() throws Exception {
+
+        LocalDateTime createdAt = LocalDateTime.of(2024, 1, 15, 10, 30);
+        when(taskService.getRecentUncompletedTasks()).thenReturn(List.of(task(1L, createdAt)));
+
+
+        byte[] body = mockMvc.perform(get("/api/tasks/recent").accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_CBOR))
+                .andReturn()
+                .getResponse()
+                .getContentAsByteArray();
+
+
+        JsonNode tasks = cborMapper.readTree(body);
+        assertEquals("Task 1", tasks.get(0).get("title").asText());
+        assertTrue(tasks.get(0).get("createdAt").isIntegralNumber());
+        assertEquals(createdAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli(),
+                tasks.get(0).get("createdAt").asLong());
+    }
+
+    @Test
+    void getRecentTasks_ShouldEncodeSmaller_ThanJson() throws Exception {
+
+        List<TaskResponse> responses = new ArrayList<>();
+        for (long id = 1; id <= 5; id++) {
+            responses.add(task(id, LocalDateTime.now()));
+        }
+        when(taskService.getRecentUncompletedTasks()).thenReturn(responses);
+
+
+        int jsonSize = mockMvc.perform(get("/api/tasks/recent").accept(MediaType.APPLICATION_JSON))
+                .andReturn().getResponse().getContentAsByteArray().length;
+        int cborSize = mockMvc.perform(get("/api/tasks/recent").accept(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray().length;
+        int smileSize = mockMvc.perform(get("/api/tasks/recent").accept(SMILE))
+                .andReturn().getResponse().getContentAsByteArray().length;
+
+
+        assertTrue(cborSize < jsonSize, "CBOR " + cborSize + " bytes vs JSON " + jsonSize + " bytes");
+        assertTrue(smileSize < jsonSize, "Smile " + smileSize + " bytes vs JSON " + jsonSize + " bytes");
+    }
+
+    @Test
+    void createTask_ShouldAcceptSmileRequestBody() throws Exception {
+
+        when(taskService.createTask(any(CreateTaskRequest.class))).thenReturn(task(1L, LocalDateTime.now()));
+        byte[] request = smileMapper.writeValueAsBytes(new CreateTaskRequest("Task 1", "Description"));
+
+
+        byte[] body = mockMvc.perform(post("/api/tasks")
+                .contentType(SMILE)
+                .accept(SMILE)
+                .content(request))
+                .andExpect(status().isCreated())
+                .andReturn()
+                .getResponse()
+                .getContentAsByteArray();
+
+
+        assertEquals(1L, smileMapper.readTree(body).get("id").asLong());
+    }
+
+    @Test
+    void getRecentTasks_ShouldDefaultToJson_WhenAnyTypeAccepted() throws Exception {
+
+        when(taskService.getRecentUncompletedTasks()).thenReturn(List.of(task(1L, LocalDateTime.now())));
+
+
+        mockMvc.perform(get("/api/tasks/recent").accept(MediaType.ALL))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    void getRecentTasks_ShouldKeepIsoTimestamps_ForJson() throws Exception {
+
+        when(taskService.getRecentUncompletedTasks())
+                .thenReturn(List.of(task(1L, LocalDateTime.of(2024, 1, 15, 10, 30))));
+
+
+        mockMvc.perform(get("/api/tasks/recent").accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].createdAt").value("2024-01-15T10:30:00"));
+    }
+
+    private TaskResponse task(Long id, LocalDateTime createdAt) {
+        return TaskResponse.builder()
+                .id(id)
+                .title("Task " + id)
+                .description("Description " + id)
+                .createdAt(createdAt)
+                .completed(false)
+                .build();
+    }
+}
@@ -1,13 +1,25 @@
 package edu.icet.ecom.controller;
 
+import edu.icet.ecom.config.RecentTasksProperties;
+import edu.icet.ecom.dto.BulkDeleteResponse;
 import edu.icet.ecom.dto.CreateTaskRequest;
+import edu.icet.ecom.dto.PatchTaskRequest;
+import edu.icet.ecom.dto.TaskBatchResponse;
 import edu.icet.ecom.dto.TaskResponse;
+import edu.icet.ecom.exception.TaskNotFoundException;
 import edu.icet.ecom.service.TaskService;
+import edu.icet.ecom.service.impl.RecentTasksServiceImpl;
+import edu.icet.ecom.timing.RequestTimingMetrics;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.QueryTimeoutException;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
@@ -15,18 +27,27 @@ import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
 
+import static org.hamcrest.Matchers.matchesPattern;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(TaskController.class)
+@Import({RecentTasksServiceImpl.class, RecentTasksProperties.class,
+        RequestTimingMetrics.class, SimpleMeterRegistry.class})
 class TaskControllerTest {
 
     @Autowired
     private MockMvc mockMvc;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     @MockBean
     private TaskService taskService;
 
@@ -58,6 +79,34 @@ class TaskControllerTest {
                 .andExpect(jsonPath("$.completed").value(false));
     }
 
+    @Test
+    void createTask_ShouldReportServerTimingAndMetrics() throws Exception {
+
+        CreateTaskRequest request = new CreateTaskRequest("Test Task", "Test Description");
+        when(taskService.createTask(any(CreateTaskRequest.class)))
+                .thenReturn(TaskResponse.builder().id(1L).title("Test Task").completed(false).build());
+        long recordedBefore = serializationTimerCount();
+
+
+        mockMvc.perform(post("/api/tasks")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andExpect(header().string("Server-Timing", matchesPattern(
+                        "db;dur=\\d+\\.\\d{3};desc=\"0 statements\", val;dur=\\d+\\.\\d{3}, map;dur=\\d+\\.\\d{3}, " +
+                                "total;dur=\\d+\\.\\d{3}")))
+                .andExpect(jsonPath("$.id").value(1));
+
+        assertEquals(recordedBefore + 1, serializationTimerCount());
+    }
+
+    private long serializationTimerCount() {
+        Timer serialization = meterRegistry.find("task.request.phase")
+                .tags("uri", "/api/tasks", "phase", "ser")
+                .timer();
+        return serialization != null ? serialization.count() : 0;
+    }
+
     @Test
     void createTask_ShouldReturn400_WhenTitleIsBlank() throws Exception {
 
@@ -100,6 +149,32 @@ class TaskControllerTest {
                 .andExpect(jsonPath("$[1].title").value("Task 2"));
     }
 
+    @Test
+    void getRecentTasks_ShouldServeStaleTasks_WhenDatabaseFails() throws Exception {
+
+        TaskResponse task = TaskResponse.builder()
+                .id(1L)
+                .title("Task 1")
+                .createdAt(LocalDateTime.now())
+                .completed(false)
+                .build();
+
+        when(taskService.getRecentUncompletedTasks())
+                .thenReturn(List.of(task))
+                .thenThrow(new QueryTimeoutException("Database is down"));
+
+
+        mockMvc.perform(get("/api/tasks/recent"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("X-Stale"));
+
+        mockMvc.perform(get("/api/tasks/recent"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Stale", "true"))
+                .andExpect(header().exists("Age"))
+                .andExpect(jsonPath("$[0].title").value("Task 1"));
+    }
+
     @Test
     void completeTask_ShouldReturn200_WhenTaskExists() throws Exception {
 
@@ -131,4 +206,81 @@ class TaskControllerTest {
         mockMvc.perform(put("/api/tasks/{id}/complete", taskId))
                 .andExpect(status().isNotFound());
     }
+
+    @Test
+    void deleteTask_ShouldReturn204_WhenTaskExists() throws Exception {
+
+        mockMvc.perform(delete("/api/tasks/{id}", 1L))
+                .andExpect(status().isNoContent());
+
+        verify(taskService).deleteTask(1L);
+    }
+
+    @Test
+    void deleteTask_ShouldReturn404_WhenTaskNotFound() throws Exception {
+
+        doThrow(new TaskNotFoundException(999L)).when(taskService).deleteTask(999L);
+
+
+        mockMvc.perform(delete("/api/tasks/{id}", 999L))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void deleteTasks_ShouldReturnDeletedCount() throws Exception {
+
+        when(taskService.deleteTasks(List.of(1L, 2L, 3L)))
+                .thenReturn(BulkDeleteResponse.builder().requested(3).deleted(2).build());
+
+
+        mockMvc.perform(delete("/api/tasks").param("ids", "1,2,3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.requested").value(3))
+                .andExpect(jsonPath("$.deleted").value(2));
+    }
+
+    @Test
+    void getTasks_ShouldReturnTasksInRequestOrder() throws Exception {
+
+        TaskResponse first = TaskResponse.builder().id(1L).title("First").completed(false).build();
+        TaskResponse third = TaskResponse.builder().id(3L).title("Third").completed(true).build();
+
+        when(taskService.getTasks(List.of(3L, 2L, 1L)))
+                .thenReturn(TaskBatchResponse.builder()
+                        .tasks(Arrays.asList(third, null, first))
+                        .missing(List.of(2L))
+                        .build());
+
+
+        mockMvc.perform(get("/api/tasks").param("ids", "3,2,1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.tasks[0].id").value(3))
+                .andExpect(jsonPath("$.tasks[1]").doesNotExist())
+                .andExpect(jsonPath("$.tasks[2].id").value(1))
+                .andExpect(jsonPath("$.missing[0]").value(2));
+    }
+
+    @Test
+    void patchTask_ShouldReturn200_WhenTaskExists() throws Exception {
+
+        Long taskId = 1L;
+        PatchTaskRequest request = PatchTaskRequest.builder().title("Patched Task").build();
+        TaskResponse response = TaskResponse.builder()
+                .id(taskId)
+                .title("Patched Task")
+                .description("Test Description")
+                .createdAt(LocalDateTime.now())
+                .completed(false)
+                .build();
+
+        when(taskService.patchTask(eq(taskId), any(PatchTaskRequest.class))).thenReturn(response);
+
+
+        mockMvc.perform(patch("/api/tasks/{id}", taskId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("Patched Task"))
+                .andExpect(jsonPath("$.description").value("Test Description"));
+    }
 }
@@ -0,0 +1,109 @@
+package edu.icet.ecom.entity;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompressedTextTest {
+
+    @Test
+    void of_ShouldStoreShortTextAsIs() {
+
+        CompressedText text = CompressedText.of("Buy milk");
+
+
+        assertFalse(text.isCompressed());
+        assertEquals("Buy milk", text.stored());
+        assertEquals("Buy milk", text.text());
+    }
+
+    @Test
+    void of_ShouldCompressLongTextBehindPlainHead() {
+
+        String log = logLines(2_000);
+
+
+        CompressedText text = CompressedText.of(log);
+
+
+        assertTrue(text.isCompressed());
+        assertTrue(text.stored().length() < log.length() / 4);
+        assertEquals(log.substring(0, CompressedText.HEAD_LENGTH),
+                text.stored().substring(0, CompressedText.HEAD_LENGTH));
+        assertEquals(log, CompressedText.fromStored(text.stored()).text());
+    }
+
+    @Test
+    void fromStored_ShouldNotDecompressUntilTextIsRead() {
+
+        String stored = CompressedText.of(logLines(2_000)).stored();
+        String corrupt = stored.substring(0, stored.length() - 40);
+
+
+        CompressedText text = CompressedText.fromStored(corrupt);
+
+
+        assertTrue(text.isCompressed());
+        assertEquals(stored.substring(0, 201), text.head(201));
+        assertThrows(IllegalStateException.class, text::text);
+    }
+
+    @Test
+    void fromStored_ShouldReadValuesWrittenBeforeCompressionAsPlainText() {
+
+        String legacy = "x".repeat(50_000);
+
+
+        CompressedText text = CompressedText.fromStored(legacy);
+
+
+        assertFalse(text.isCompressed());
+        assertEquals(legacy, text.text());
+    }
+
+    @Test
+    void of_ShouldReplaceNulSoItCannotBeMistakenForTheMarker() {
+
+        CompressedText text = CompressedText.of("before\u0000Dafter");
+
+
+        assertFalse(text.isCompressed());
+        assertEquals("before\uFFFDDafter", CompressedText.fromStored(text.stored()).text());
+    }
+
+    @Test
+    void of_ShouldNotSplitSurrogatePairAtHeadBoundary() {
+
+        String log = "a".repeat(CompressedText.HEAD_LENGTH - 1) + "\uD83D\uDE00" + logLines(2_000);
+
+
+        CompressedText text = CompressedText.of(log);
+
+
+        assertEquals(CompressedText.HEAD_LENGTH - 1, text.stored().indexOf('\u0000'));
+        assertEquals(log, CompressedText.fromStored(text.stored()).text());
+    }
+
+    @Test
+    void head_ShouldMatchSubstringOfFullText() {
+
+        String log = logLines(2_000);
+        CompressedText text = CompressedText.fromStored(CompressedText.of(log).stored());
+
+
+        assertEquals(log.substring(0, 201), text.head(201));
+        assertEquals(log.substring(0, 1_000), text.head(1_000));
+        assertEquals("short", CompressedText.of("short").head(201));
+    }
+
+    private static String logLines(int count) {
+        StringBuilder log = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            log.append("2024-05-01 12:00:").append(String.format("%02d", i % 60)).append('.').append(i % 1000)
+                    .append(i % 7 == 0 ? " WARN " : " INFO ").append("[worker-").append(i % 8).append("] ")
+                    .append("edu.icet.ecom.service.impl.TaskServiceImpl - Processed request ").append(i * 31)
+                    .append(" in ").append(i % 97).append(" ms\n");
+        }
+        return log.toString();
+    }
+}
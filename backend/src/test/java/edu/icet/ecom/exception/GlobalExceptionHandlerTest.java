@@ -1,13 +1,18 @@
 package edu.icet.ecom.exception;
 
+import edu.icet.ecom.config.RecentTasksProperties;
 import edu.icet.ecom.controller.TaskController;
 import edu.icet.ecom.dto.CreateTaskRequest;
 import edu.icet.ecom.service.TaskService;
+import edu.icet.ecom.service.impl.RecentTasksServiceImpl;
+import edu.icet.ecom.timing.RequestTimingMetrics;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.dao.DataAccessException;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
@@ -19,6 +24,8 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(TaskController.class)
+@Import({RecentTasksServiceImpl.class, RecentTasksProperties.class,
+        RequestTimingMetrics.class, SimpleMeterRegistry.class})
 class GlobalExceptionHandlerTest {
 
     @Autowired
@@ -0,0 +1,148 @@
+package edu.icet.ecom.id;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SnowflakeIdGeneratorTest {
+
+    private static final long NOW = Instant.parse("2026-03-01T12:00:00Z").toEpochMilli();
+
+    private final AtomicLong clock = new AtomicLong(NOW);
+
+    @Test
+    void shouldEncodeTimestampAndNode() {
+
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(9, Duration.ofSeconds(1), clock::get);
+
+
+        long id = generator.nextId();
+
+
+        assertEquals(Instant.ofEpochMilli(NOW), SnowflakeIdGenerator.timestampOf(id));
+        assertEquals(9, SnowflakeIdGenerator.nodeOf(id));
+        assertTrue(id < 1L << 53, "ids must stay exact as JavaScript numbers");
+    }
+
+    @Test
+    void shouldOrderIdsByTimeAcrossNodes() {
+
+        SnowflakeIdGenerator first = new SnowflakeIdGenerator(31, Duration.ofSeconds(1), clock::get);
+        SnowflakeIdGenerator second = new SnowflakeIdGenerator(0, Duration.ofSeconds(1), clock::get);
+
+
+        long earlier = first.nextId();
+        clock.addAndGet(1);
+        long later = second.nextId();
+
+
+        assertTrue(earlier < later);
+    }
+
+    @Test
+    void shouldContinueInNextMillisecond_WhenSequenceRunsOut() {
+
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(1, Duration.ofSeconds(1), clock::get);
+        int perMillisecond = 1 << SnowflakeIdGenerator.SEQUENCE_BITS;
+
+
+        long previous = 0;
+        for (int i = 0; i < perMillisecond; i++) {
+            long id = generator.nextId();
+            assertTrue(id > previous);
+            previous = id;
+        }
+        long overflow = generator.nextId();
+
+
+        assertTrue(overflow > previous);
+        assertEquals(Instant.ofEpochMilli(NOW + 1), SnowflakeIdGenerator.timestampOf(overflow));
+        assertEquals(1, SnowflakeIdGenerator.nodeOf(overflow));
+    }
+
+    @Test
+    void shouldKeepIncreasing_WhenClockStepsBackWithinDrift() {
+
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(1, Duration.ofSeconds(1), clock::get);
+        long before = generator.nextId();
+
+
+        clock.addAndGet(-500);
+        long after = generator.nextId();
+
+
+        assertTrue(after > before);
+        assertEquals(Instant.ofEpochMilli(NOW), SnowflakeIdGenerator.timestampOf(after));
+    }
+
+    @Test
+    void shouldFail_WhenClockStepsBackBeyondDrift() {
+
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(1, Duration.ofSeconds(1), clock::get);
+        generator.nextId();
+
+
+        clock.addAndGet(-2_000);
+
+
+        assertThrows(IllegalStateException.class, generator::nextId);
+        clock.addAndGet(2_001);
+        assertEquals(Instant.ofEpochMilli(NOW + 1), SnowflakeIdGenerator.timestampOf(generator.nextId()));
+    }
+
+    @Test
+    void shouldRejectNodeIdOutOfRange() {
+
+        assertThrows(IllegalArgumentException.class, () -> new SnowflakeIdGenerator(-1, Duration.ofSeconds(1)));
+        assertThrows(IllegalArgumentException.class,
+                () -> new SnowflakeIdGenerator(SnowflakeIdGenerator.MAX_NODE_ID + 1, Duration.ofSeconds(1)));
+    }
+
+    @Test
+    void shouldIssueUniqueIds_UnderConcurrentCalls() throws Exception {
+
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(3, Duration.ofMinutes(1));
+        int threads = 32;
+        int idsPerThread = 5_000;
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<long[]>> results = new ArrayList<>();
+        try {
+            for (int t = 0; t < threads; t++) {
+                Callable<long[]> worker = () -> {
+                    long[] ids = new long[idsPerThread];
+                    for (int i = 0; i < idsPerThread; i++) {
+                        ids[i] = generator.nextId();
+                    }
+                    return ids;
+                };
+                results.add(executor.submit(worker));
+            }
+
+
+            Set<Long> unique = new HashSet<>();
+            for (Future<long[]> result : results) {
+                long[] ids = result.get();
+                for (int i = 0; i < ids.length; i++) {
+                    assertTrue(i == 0 || ids[i] > ids[i - 1], "ids from one thread must increase");
+                    unique.add(ids[i]);
+                }
+            }
+            assertEquals(threads * idsPerThread, unique.size());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package edu.icet.ecom.integration;
+
+import edu.icet.ecom.dto.CreateTaskRequest;
+import edu.icet.ecom.dto.TaskChangesResponse;
+import edu.icet.ecom.entity.TaskChangeType;
+import edu.icet.ecom.service.TaskChangeService;
+import edu.icet.ecom.service.TaskService;
+import edu.icet.ecom.service.TaskTemplateService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs against a schema that Hibernate generates from the entities, without the migrations, as the docker profile
+ * does. Rows that the migrations would seed must be created by the application.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = "spring.jpa.hibernate.ddl-auto=create-drop")
+class GeneratedSchemaIntegrationTest {
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskChangeService taskChangeService;
+
+    @Autowired
+    private TaskTemplateService taskTemplateService;
+
+    @Test
+    void shouldRecordChanges_WhenSchemaIsGenerated() {
+
+        Long id = taskService.createTask(new CreateTaskRequest("Generated schema", null)).getId();
+        taskService.completeTask(id);
+
+
+        TaskChangesResponse changes = taskChangeService.getChangesSince(0L, 10);
+        assertEquals(2, changes.getChanges().size());
+        assertEquals(TaskChangeType.CREATED, changes.getChanges().get(0).getChangeType());
+        assertEquals(TaskChangeType.COMPLETED, changes.getChanges().get(1).getChangeType());
+    }
+
+    @Test
+    void shouldAcquireTemplateLease_WhenSchemaIsGenerated() {
+
+        assertTrue(taskTemplateService.acquireLease("instance-a").isPresent());
+        assertTrue(taskTemplateService.acquireLease("instance-b").isEmpty());
+    }
+}
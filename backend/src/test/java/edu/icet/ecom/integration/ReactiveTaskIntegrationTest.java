@@ -0,0 +1,119 @@
+package edu.icet.ecom.integration;
+
+import edu.icet.ecom.dto.CreateTaskRequest;
+import edu.icet.ecom.dto.TaskResponse;
+import edu.icet.ecom.support.H2SpringBootTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@H2SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, profiles = {"reactive", "test"})
+@TestPropertySource(properties = "spring.main.web-application-type=reactive")
+class ReactiveTaskIntegrationTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Test
+    void shouldCreateCompleteAndListTasks() {
+
+        TaskResponse created = webTestClient.post().uri("/api/tasks")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new CreateTaskRequest("Reactive Task", "x".repeat(300)))
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(TaskResponse.class)
+                .returnResult()
+                .getResponseBody();
+
+        assertNotNull(created);
+        assertNotNull(created.getId());
+
+
+        webTestClient.get().uri("/api/tasks/recent")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$[0].title").isEqualTo("Reactive Task")
+                .jsonPath("$[0].descriptionTruncated").isEqualTo(true);
+
+
+        webTestClient.put().uri("/api/tasks/{id}/complete", created.getId())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.completed").isEqualTo(true);
+
+
+        webTestClient.get().uri("/api/tasks/{id}", created.getId())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.description").isEqualTo("x".repeat(300));
+    }
+
+    @Test
+    void shouldHideDeletedTasks() {
+
+        TaskResponse created = webTestClient.post().uri("/api/tasks")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new CreateTaskRequest("Doomed Task", null))
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(TaskResponse.class)
+                .returnResult()
+                .getResponseBody();
+
+        assertNotNull(created);
+
+
+        webTestClient.delete().uri("/api/tasks/{id}", created.getId())
+                .exchange()
+                .expectStatus().isNoContent();
+
+
+        webTestClient.get().uri("/api/tasks/{id}", created.getId())
+                .exchange()
+                .expectStatus().isNotFound();
+
+        webTestClient.get().uri("/api/tasks/recent")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$[?(@.id == %d)]", created.getId()).doesNotExist();
+
+        webTestClient.delete().uri("/api/tasks?ids={id}", created.getId())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.deleted").isEqualTo(0);
+    }
+
+    @Test
+    void shouldUseSameErrorContract() {
+
+        webTestClient.put().uri("/api/tasks/{id}/complete", 999_999)
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.error").isEqualTo("Task Not Found")
+                .jsonPath("$.message").isEqualTo("Task not found with id: 999999")
+                .jsonPath("$.status").isEqualTo(404)
+                .jsonPath("$.path").isEqualTo("/api/tasks/999999/complete");
+
+
+        webTestClient.post().uri("/api/tasks")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new CreateTaskRequest("", "Test Description"))
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.error").isEqualTo("Validation Failed")
+                .jsonPath("$.status").isEqualTo(400);
+    }
+}
@@ -0,0 +1,129 @@
+package edu.icet.ecom.integration;
+
+import edu.icet.ecom.repository.TaskRepository;
+import edu.icet.ecom.support.H2SpringBootTest;
+import edu.icet.ecom.warmup.PrewarmRequestFilter;
+import edu.icet.ecom.warmup.StartupPrewarmer;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.event.EventListener;
+import org.springframework.test.context.TestPropertySource;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs against a real server, which the prewarm calls over loopback before the instance reports ready.
+ */
+@H2SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@TestPropertySource(properties = {
+    "spring.datasource.hikari.minimum-idle=4",
+    "todo.prewarm.rounds=20"
+})
+class StartupPrewarmIntegrationTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private StartupPrewarmer prewarmer;
+
+    @Autowired
+    private ReadinessRecorder readinessRecorder;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @Test
+    void shouldReportReadyOnlyAfterPrewarming() throws Exception {
+
+        HttpResponse<String> readiness = send(HttpRequest.newBuilder(uri("/actuator/health/readiness")).GET());
+
+
+        StartupPrewarmer.Report report = prewarmer.getReport();
+        assertNotNull(report);
+        assertEquals(4, report.connections());
+        assertEquals(2, report.typeMaps());
+        assertEquals(20, report.calls());
+        assertEquals(0, report.failures());
+
+        assertEquals(List.of(ReadinessState.REFUSING_TRAFFIC, ReadinessState.ACCEPTING_TRAFFIC),
+                readinessRecorder.states);
+        assertEquals(List.of(false, true), readinessRecorder.prewarmed);
+        assertEquals(200, readiness.statusCode());
+        assertTrue(readiness.body().contains("\"UP\""));
+    }
+
+    @Test
+    void shouldKeepPrewarmCallsReadOnlyAndOutOfRequestMetrics() throws Exception {
+
+        long tasks = taskRepository.count();
+
+
+        HttpResponse<String> write = send(HttpRequest.newBuilder(uri("/api/tasks"))
+                .header(PrewarmRequestFilter.PREWARM_HEADER, "true")
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"title\":\"Synthetic\"}")));
+
+
+        assertEquals(405, write.statusCode());
+        assertEquals(tasks, taskRepository.count());
+        assertNull(meterRegistry.find("task.request.phase").tag("uri", "/api/tasks/recent").timer());
+    }
+
+    private HttpResponse<String> send(HttpRequest.Builder request) throws Exception {
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    @TestConfiguration
+    static class ReadinessRecorderConfig {
+
+        @Bean
+        ReadinessRecorder readinessRecorder(ApplicationContext context) {
+            return new ReadinessRecorder(context);
+        }
+    }
+
+    /**
+     * Records every readiness change together with whether the prewarm had finished by then.
+     */
+    static class ReadinessRecorder {
+
+        private final ApplicationContext context;
+        private final List<ReadinessState> states = new CopyOnWriteArrayList<>();
+        private final List<Boolean> prewarmed = new CopyOnWriteArrayList<>();
+
+        ReadinessRecorder(ApplicationContext context) {
+            this.context = context;
+        }
+
+        @EventListener
+        void onReadinessChanged(AvailabilityChangeEvent<ReadinessState> event) {
+            states.add(event.getState());
+            prewarmed.add(context.getBean(StartupPrewarmer.class).getReport() != null);
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package edu.icet.ecom.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.icet.ecom.dto.CreateTaskRequest;
+import edu.icet.ecom.dto.TaskAttachmentResponse;
+import edu.icet.ecom.dto.TaskResponse;
+import edu.icet.ecom.service.TaskAttachmentService;
+import edu.icet.ecom.support.H2SpringBootTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.TestPropertySource;
+
+import java.io.ByteArrayInputStream;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs against a real server, so that large downloads go through Tomcat's sendfile.
+ */
+@H2SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@TestPropertySource(properties = {
+    "todo.attachments.max-size=1MB",
+    "todo.attachments.sweep-grace=PT0S",
+    "todo.attachments.sweep-interval=PT1H"
+})
+class TaskAttachmentIntegrationTest {
+
+    @TempDir
+    static Path directory;
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("todo.attachments.directory", directory::toString);
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TaskAttachmentService attachmentService;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @Test
+    void shouldDownloadWholeContentAndRanges() throws Exception {
+
+        Long taskId = createTask("With attachment");
+        byte[] content = randomBytes(300_000, 1);
+        TaskAttachmentResponse attachment = upload(taskId, "report.bin", content);
+        String url = "/api/tasks/" + taskId + "/attachments/" + attachment.getId();
+
+
+        HttpResponse<byte[]> whole = send(get(url).build());
+        HttpResponse<byte[]> middle = send(get(url).header("Range", "bytes=100000-100099").build());
+        HttpResponse<byte[]> suffix = send(get(url).header("Range", "bytes=-10").build());
+        HttpResponse<byte[]> beyond = send(get(url).header("Range", "bytes=300000-").build());
+        HttpResponse<byte[]> changed = send(get(url).header("Range", "bytes=0-9").header("If-Range", "\"other\"").build());
+
+
+        assertEquals(200, whole.statusCode());
+        assertArrayEquals(content, whole.body());
+        assertEquals("\"" + attachment.getSha256() + "\"", whole.headers().firstValue("ETag").orElseThrow());
+        assertEquals("bytes", whole.headers().firstValue("Accept-Ranges").orElseThrow());
+        assertTrue(whole.headers().firstValue("Content-Disposition").orElseThrow().contains("report.bin"));
+
+        assertEquals(206, middle.statusCode());
+        assertArrayEquals(Arrays.copyOfRange(content, 100_000, 100_100), middle.body());
+        assertEquals("bytes 100000-100099/300000", middle.headers().firstValue("Content-Range").orElseThrow());
+
+        assertEquals(206, suffix.statusCode());
+        assertArrayEquals(Arrays.copyOfRange(content, 299_990, 300_000), suffix.body());
+
+        assertEquals(416, beyond.statusCode());
+        assertEquals("bytes */300000", beyond.headers().firstValue("Content-Range").orElseThrow());
+
+        assertEquals(200, changed.statusCode());
+        assertEquals(content.length, changed.body().length);
+    }
+
+    @Test
+    void shouldStoreIdenticalContentOnceAndSweepItWhenUnreferenced() throws Exception {
+
+        byte[] content = randomBytes(1_000, 2);
+        Long first = createTask("First");
+        Long second = createTask("Second");
+        TaskAttachmentResponse firstAttachment = upload(first, "notes.txt", content);
+        TaskAttachmentResponse secondAttachment = upload(second, "C:\\Users\\me\\copy.txt", content);
+
+
+        assertEquals(firstAttachment.getSha256(), secondAttachment.getSha256());
+        assertEquals("copy.txt", secondAttachment.getFileName());
+        assertEquals(1, countObjects(firstAttachment.getSha256()));
+
+        assertEquals(204, delete("/api/tasks/" + first + "/attachments/" + firstAttachment.getId()).statusCode());
+        attachmentService.sweepUnreferencedContent();
+        assertEquals(1, countObjects(firstAttachment.getSha256()));
+
+        assertEquals(204, delete("/api/tasks/" + second + "/attachments/" + secondAttachment.getId()).statusCode());
+        attachmentService.sweepUnreferencedContent();
+        assertEquals(0, countObjects(firstAttachment.getSha256()));
+    }
+
+    @Test
+    void shouldNotServeAttachmentsOfDeletedTask() throws Exception {
+
+        Long taskId = createTask("Deleted");
+        TaskAttachmentResponse attachment = upload(taskId, "gone.txt", randomBytes(100, 4));
+
+
+        assertEquals(204, delete("/api/tasks/" + taskId).statusCode());
+
+
+        assertEquals(404, send(get("/api/tasks/" + taskId + "/attachments/" + attachment.getId()).build())
+                .statusCode());
+        assertEquals(404, send(get("/api/tasks/" + taskId + "/attachments").build()).statusCode());
+    }
+
+    @Test
+    void shouldRejectContentLargerThanLimitWithoutKeepingIt() throws Exception {
+
+        Long taskId = createTask("Too large");
+
+
+        // Sent chunked, so the limit is only noticed while the body is being stored.
+        byte[] content = randomBytes(2 * 1024 * 1024, 3);
+        HttpResponse<byte[]> response = send(HttpRequest.newBuilder(uri("/api/tasks/" + taskId + "/attachments?name=big.bin"))
+                .POST(HttpRequest.BodyPublishers.ofInputStream(() -> new ByteArrayInputStream(content)))
+                .build());
+
+
+        assertEquals(413, response.statusCode());
+        try (Stream<Path> files = Files.list(directory.resolve("incoming"))) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    private Long createTask(String title) throws Exception {
+        HttpResponse<byte[]> response = send(HttpRequest.newBuilder(uri("/api/tasks"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(
+                        objectMapper.writeValueAsBytes(new CreateTaskRequest(title, null))))
+                .build());
+        assertEquals(201, response.statusCode());
+        return objectMapper.readValue(response.body(), TaskResponse.class).getId();
+    }
+
+    private TaskAttachmentResponse upload(Long taskId, String name, byte[] content) throws Exception {
+        HttpResponse<byte[]> response = send(HttpRequest.newBuilder(
+                        uri("/api/tasks/" + taskId + "/attachments?name=" + URLEncoder.encode(name, StandardCharsets.UTF_8)))
+                .header("Content-Type", "application/octet-stream")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(content))
+                .build());
+        assertEquals(201, response.statusCode());
+        TaskAttachmentResponse attachment = objectMapper.readValue(response.body(), TaskAttachmentResponse.class);
+        assertEquals(content.length, attachment.getSize());
+        return attachment;
+    }
+
+    private long countObjects(String sha256) throws Exception {
+        try (Stream<Path> files = Files.walk(directory)) {
+            return files.filter(file -> file.getFileName().toString().equals(sha256)).count();
+        }
+    }
+
+    private HttpResponse<byte[]> delete(String path) throws Exception {
+        return send(HttpRequest.newBuilder(uri(path)).DELETE().build());
+    }
+
+    private HttpRequest.Builder get(String path) {
+        return HttpRequest.newBuilder(uri(path)).GET();
+    }
+
+    private HttpResponse<byte[]> send(HttpRequest request) throws Exception {
+        return client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private static byte[] randomBytes(int length, long seed) {
+        byte[] bytes = new byte[length];
+        new Random(seed).nextBytes(bytes);
+        return bytes;
+    }
+}
@@ -0,0 +1,98 @@
+package edu.icet.ecom.integration;
+
+import edu.icet.ecom.dto.TaskChangeResponse;
+import edu.icet.ecom.dto.TaskChangesResponse;
+import edu.icet.ecom.entity.Task;
+import edu.icet.ecom.entity.TaskChangeType;
+import edu.icet.ecom.repository.TaskRepository;
+import edu.icet.ecom.service.TaskChangeService;
+import edu.icet.ecom.support.H2SpringBootTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs two writers that start in one order and commit in the other, with a sync client polling in between. Before
+ * change entries were inserted at commit, the first writer's entry took the lower sequence, the client's cursor moved
+ * past it while it was still uncommitted, and the client never saw it.
+ */
+@H2SpringBootTest
+class TaskChangeSyncIntegrationTest {
+
+    @Autowired
+    private TaskChangeService taskChangeService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void shouldNotSkipChangesOfTransactionsThatCommitOutOfOrder() throws Exception {
+
+        long cursor = drain(0L, new ArrayList<>());
+        List<Long> seen = new ArrayList<>();
+        CountDownLatch firstWritten = new CountDownLatch(1);
+        CountDownLatch releaseFirst = new CountDownLatch(1);
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+
+        // The first writer starts first but stays open until the second one has committed.
+        CompletableFuture<Long> first = CompletableFuture.supplyAsync(() -> transaction.execute(status -> {
+            Task task = write("First");
+            firstWritten.countDown();
+            await(releaseFirst);
+            return task.getId();
+        }));
+        assertTrue(firstWritten.await(10, TimeUnit.SECONDS));
+        long secondId = transaction.execute(status -> write("Second").getId());
+        cursor = drain(cursor, seen);
+        releaseFirst.countDown();
+        long firstId = first.get(10, TimeUnit.SECONDS);
+        drain(cursor, seen);
+
+
+        assertEquals(List.of(secondId, firstId), seen);
+    }
+
+    private Task write(String title) {
+        Task task = taskRepository.save(Task.builder().title(title).build());
+        taskChangeService.recordChange(task, TaskChangeType.CREATED);
+        return task;
+    }
+
+    /**
+     * Reads every page after the cursor like a sync client, remembering the tasks it saw change.
+     *
+     * @return the next cursor
+     */
+    private long drain(long since, List<Long> seen) {
+        long cursor = since;
+        TaskChangesResponse response;
+        do {
+            response = taskChangeService.getChangesSince(cursor, 100);
+            response.getChanges().stream().map(TaskChangeResponse::getTaskId).forEach(seen::add);
+            cursor = response.getNextSince();
+        } while (response.getHasMore());
+        return cursor;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(10, TimeUnit.SECONDS));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(ex);
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package edu.icet.ecom.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.icet.ecom.dto.CreateTaskRequest;
+import edu.icet.ecom.dto.TaskQueryResponse;
+import edu.icet.ecom.dto.TaskResponse;
+import edu.icet.ecom.service.TaskLabelService;
+import edu.icet.ecom.support.H2SpringBootTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@H2SpringBootTest
+@AutoConfigureMockMvc
+class TaskLabelIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TaskLabelService taskLabelService;
+
+    @Test
+    void shouldFilterByLabelsAndCompletionAndFollowWrites() throws Exception {
+
+        Long report = createTask("Write report");
+        Long review = createTask("Review code");
+        Long groceries = createTask("Buy groceries");
+        setLabels(report, "Work", " urgent ", "work");
+        setLabels(review, "work");
+        setLabels(groceries, "home", "urgent");
+
+
+        TaskQueryResponse work = filter("labels=work");
+        TaskQueryResponse urgentWork = filter("labels=work,urgent&mode=and");
+        TaskQueryResponse homeOrWork = filter("labels=home,work&mode=or&limit=2");
+
+
+        assertEquals(List.of(review, report), ids(work));
+        assertEquals(List.of(report), ids(urgentWork));
+        assertEquals(List.of(groceries, review), ids(homeOrWork));
+        assertEquals(3, homeOrWork.getMatched());
+        assertEquals("Buy groceries", homeOrWork.getTasks().get(0).getTitle());
+
+        mockMvc.perform(put("/api/tasks/" + report + "/complete")).andExpect(status().isOk());
+        assertEquals(List.of(groceries), ids(filter("labels=urgent&completed=false")));
+        assertEquals(List.of(report), ids(filter("labels=urgent&completed=true")));
+
+        setLabels(report, "urgent");
+        assertEquals(List.of(review), ids(filter("labels=work")));
+        assertEquals(List.of("urgent"), getLabels(report));
+
+        mockMvc.perform(delete("/api/tasks/" + groceries)).andExpect(status().isNoContent());
+        assertEquals(List.of(report), ids(filter("labels=urgent")));
+        assertEquals(0, filter("labels=home").getMatched());
+        mockMvc.perform(get("/api/tasks/" + groceries + "/labels")).andExpect(status().isNotFound());
+    }
+
+    @Test
+    void shouldRebuildSameIndexFromTables() throws Exception {
+
+        Long first = createTask("First");
+        Long second = createTask("Second");
+        setLabels(first, "reload", "a");
+        setLabels(second, "reload");
+        mockMvc.perform(put("/api/tasks/" + second + "/complete")).andExpect(status().isOk());
+
+
+        taskLabelService.load();
+
+
+        assertEquals(List.of(second, first), ids(filter("labels=reload")));
+        assertEquals(List.of(first), ids(filter("labels=reload,a&completed=false")));
+    }
+
+    @Test
+    void shouldRejectInvalidLabelsAndModes() throws Exception {
+
+        Long taskId = createTask("Invalid labels");
+
+
+        mockMvc.perform(put("/api/tasks/" + taskId + "/labels")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[\"a,b\"]"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(put("/api/tasks/" + taskId + "/labels")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[\"" + "x".repeat(65) + "\"]"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/tasks?labels=a&mode=xor")).andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/tasks?labels=a&limit=0")).andExpect(status().isBadRequest());
+    }
+
+    private Long createTask(String title) throws Exception {
+        MvcResult result = mockMvc.perform(post("/api/tasks")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new CreateTaskRequest(title, null))))
+                .andExpect(status().isCreated())
+                .andReturn();
+        return objectMapper.readValue(result.getResponse().getContentAsString(), TaskResponse.class).getId();
+    }
+
+    private void setLabels(Long taskId, String... labels) throws Exception {
+        mockMvc.perform(put("/api/tasks/" + taskId + "/labels")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(labels))))
+                .andExpect(status().isOk());
+    }
+
+    private List<String> getLabels(Long taskId) throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/tasks/" + taskId + "/labels"))
+                .andExpect(status().isOk())
+                .andReturn();
+        return List.of(objectMapper.readValue(result.getResponse().getContentAsString(), String[].class));
+    }
+
+    private TaskQueryResponse filter(String query) throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/tasks?" + query))
+                .andExpect(status().isOk())
+                .andReturn();
+        return objectMapper.readValue(result.getResponse().getContentAsString(), TaskQueryResponse.class);
+    }
+
+    private static List<Long> ids(TaskQueryResponse response) {
+        return response.getTasks().stream().map(TaskResponse::getId).toList();
+    }
+}
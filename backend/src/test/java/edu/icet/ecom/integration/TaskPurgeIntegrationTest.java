@@ -0,0 +1,111 @@
+package edu.icet.ecom.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.icet.ecom.dto.CreateTaskRequest;
+import edu.icet.ecom.scheduler.TaskPurgeJob;
+import edu.icet.ecom.support.H2SpringBootTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Purges a million tombstones on H2 while reading recent tasks, to check that the batched purge leaves reads of live
+ * tasks alone.
+ */
+@H2SpringBootTest
+@AutoConfigureMockMvc
+@TestPropertySource(properties = {
+    "todo.purge.interval=PT1H",
+    "todo.purge.batch-size=2000",
+    "todo.purge.batch-pause=PT0.002S"
+})
+class TaskPurgeIntegrationTest {
+
+    private static final int TOMBSTONES = 1_000_000;
+    private static final int LIVE_TASKS = 20;
+    private static final int SAMPLES = 200;
+    private static final long READ_INTERVAL_MS = 5;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TaskPurgeJob taskPurgeJob;
+
+    @Test
+    void shouldPurgeTombstonesWithoutSlowingRecentReads() throws Exception {
+
+        jdbcTemplate.update("INSERT INTO task (id, title, created_at, completed, deleted, deleted_at) " +
+                "SELECT X, CONCAT('Deleted ', X), DATEADD('HOUR', -2, CURRENT_TIMESTAMP), X % 2 = 0, TRUE, " +
+                "DATEADD('HOUR', -1, CURRENT_TIMESTAMP) FROM SYSTEM_RANGE(1, ?)", TOMBSTONES);
+        for (int i = 0; i < LIVE_TASKS; i++) {
+            mockMvc.perform(post("/api/tasks")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(new CreateTaskRequest("Live " + i, null))))
+                    .andExpect(status().isCreated());
+        }
+
+        // Warm up and let the garbage from the bulk insert settle, then measure the same reads without a purge.
+        sampleRecentLatencies(SAMPLES);
+        System.gc();
+        long idleP99 = p99(sampleRecentLatencies(SAMPLES * 5));
+
+
+        CompletableFuture<Void> purge = CompletableFuture.runAsync(taskPurgeJob::purge);
+        List<Long> duringPurge = new ArrayList<>();
+        while (!purge.isDone()) {
+            duringPurge.addAll(sampleRecentLatencies(10));
+        }
+        purge.join();
+
+
+        long purgeP99 = p99(duringPurge);
+        assertTrue(duringPurge.size() >= SAMPLES, "purge finished before enough reads were sampled");
+        assertTrue(purgeP99 <= idleP99 * 3 + 20_000_000L,
+                "p99 of /recent went from " + idleP99 / 1_000 + " us to " + purgeP99 / 1_000 + " us during purge");
+        assertEquals(LIVE_TASKS, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM task", Integer.class));
+    }
+
+    private List<Long> sampleRecentLatencies(int count) throws Exception {
+        List<Long> latencies = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            long start = System.nanoTime();
+            MvcResult result = mockMvc.perform(get("/api/tasks/recent"))
+                    .andExpect(status().isOk())
+                    .andExpect(header().doesNotExist("X-Stale"))
+                    .andExpect(jsonPath("$.length()").value(5))
+                    .andReturn();
+            latencies.add(System.nanoTime() - start);
+            assertFalse(result.getResponse().getContentAsString().contains("Deleted"));
+            // Paced like steady client traffic rather than a tight loop that would starve the purge of CPU.
+            Thread.sleep(READ_INTERVAL_MS);
+        }
+        return latencies;
+    }
+
+    private static long p99(List<Long> latencies) {
+        List<Long> sorted = new ArrayList<>(latencies);
+        Collections.sort(sorted);
+        return sorted.get((int) Math.ceil(sorted.size() * 0.99) - 1);
+    }
+}
@@ -0,0 +1,276 @@
+package edu.icet.ecom.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.icet.ecom.config.TaskTemplateProperties;
+import edu.icet.ecom.dto.CreateTaskTemplateRequest;
+import edu.icet.ecom.dto.TaskTemplateResponse;
+import edu.icet.ecom.dto.TemplateBatchResult;
+import edu.icet.ecom.dto.TemplateFrequency;
+import edu.icet.ecom.entity.SchedulerLease;
+import edu.icet.ecom.entity.TaskTemplate;
+import edu.icet.ecom.repository.SchedulerLeaseRepository;
+import edu.icet.ecom.repository.TaskRepository;
+import edu.icet.ecom.repository.TaskTemplateRepository;
+import edu.icet.ecom.scheduler.TaskTemplateJob;
+import edu.icet.ecom.service.TaskTemplateService;
+import edu.icet.ecom.support.CallBudget;
+import edu.icet.ecom.support.CallBudget.CallCost;
+import edu.icet.ecom.support.H2SpringBootTest;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.support.CronExpression;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@H2SpringBootTest
+@AutoConfigureMockMvc
+@TestPropertySource(properties = {
+    "spring.jpa.properties.hibernate.session_factory.statement_inspector=edu.icet.ecom.support.CapturingStatementInspector",
+    "todo.templates.interval=PT1H"
+})
+@Slf4j
+class TaskTemplateIntegrationTest {
+
+    private static final int THROUGHPUT_TEMPLATES = 100_000;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TaskTemplateJob taskTemplateJob;
+
+    @Autowired
+    private TaskTemplateService taskTemplateService;
+
+    @Autowired
+    private TaskTemplateRepository templateRepository;
+
+    @Autowired
+    private SchedulerLeaseRepository leaseRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskTemplateProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        templateRepository.deleteAllInBatch();
+        SchedulerLease lease = leaseRepository.findById("task-templates").orElseThrow();
+        lease.setOwner(null);
+        lease.setExpiresAt(null);
+        leaseRepository.save(lease);
+    }
+
+    @Test
+    void shouldCatchUpMissedOccurrencesExactlyOnce() throws Exception {
+
+        LocalDateTime startAt = LocalDateTime.now().minusDays(3).truncatedTo(ChronoUnit.DAYS);
+        TaskTemplateResponse daily = createTemplate(CreateTaskTemplateRequest.builder()
+                .title("Daily standup")
+                .description("Yesterday, today, blockers")
+                .frequency(TemplateFrequency.DAILY)
+                .time(LocalTime.of(9, 30))
+                .startAt(startAt)
+                .build());
+        long before = taskRepository.count();
+
+
+        int created = taskTemplateJob.materialize("catch-up-node");
+        int again = taskTemplateJob.materialize("catch-up-node");
+        TaskTemplateResponse after = getTemplate(daily.getId());
+
+
+        assertEquals("0 30 9 * * *", daily.getCron());
+        assertEquals(startAt.withHour(9).withMinute(30), daily.getNextRunAt());
+        assertEquals(occurrences(daily.getCron(), daily.getNextRunAt(), after.getNextRunAt()), created);
+        assertTrue(created >= 3);
+        assertEquals(0, again);
+        assertEquals(before + created, taskRepository.count());
+        assertTrue(after.getNextRunAt().isAfter(LocalDateTime.now().plus(properties.getHorizon()).minusMinutes(1)));
+    }
+
+    @Test
+    void shouldGenerateEachOccurrenceOnceAcrossInstances() throws Exception {
+
+        LocalDateTime startAt = LocalDateTime.now().minusHours(5);
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            ids.add(taskTemplateService.createTemplate(CreateTaskTemplateRequest.builder()
+                    .title("Hourly check " + i)
+                    .frequency(TemplateFrequency.CRON)
+                    .cron("0 " + (i % 60) + " * * * *")
+                    .startAt(startAt)
+                    .build()).getId());
+        }
+        long before = taskRepository.count();
+
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Future<Integer>> runs = new ArrayList<>();
+        try {
+            // Four instances, each running the job twice on its single scheduler thread.
+            for (int i = 0; i < 4; i++) {
+                String owner = "instance-" + i;
+                runs.add(executor.submit(() -> taskTemplateJob.materialize(owner) + taskTemplateJob.materialize(owner)));
+            }
+            int created = 0;
+            for (Future<Integer> run : runs) {
+                created += run.get();
+            }
+
+
+            int expected = 0;
+            for (Long id : ids) {
+                TaskTemplate template = templateRepository.findById(id).orElseThrow();
+                expected += occurrences(template.getCron(), startAt, template.getNextRunAt());
+            }
+            assertEquals(expected, created);
+            assertEquals(before + expected, taskRepository.count());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void shouldStopBatchesOfAnInstanceWhoseLeaseWasTakenOver() {
+
+        TaskTemplateResponse weekly = taskTemplateService.createTemplate(CreateTaskTemplateRequest.builder()
+                .title("Weekly review")
+                .frequency(TemplateFrequency.WEEKLY)
+                .dayOfWeek(LocalDateTime.now().getDayOfWeek())
+                .startAt(LocalDateTime.now().minusDays(1))
+                .build());
+        LocalDateTime until = LocalDateTime.now().plus(properties.getHorizon());
+
+
+        long first = taskTemplateService.acquireLease("old-node").orElseThrow();
+        OptionalLong refused = taskTemplateService.acquireLease("new-node");
+        SchedulerLease lease = leaseRepository.findById("task-templates").orElseThrow();
+        lease.setExpiresAt(LocalDateTime.now().minusSeconds(1));
+        leaseRepository.save(lease);
+        long second = taskTemplateService.acquireLease("new-node").orElseThrow();
+        TemplateBatchResult stale = taskTemplateService.materializeBatch("old-node", first, until);
+        TemplateBatchResult current = taskTemplateService.materializeBatch("new-node", second, until);
+
+
+        assertTrue(refused.isEmpty());
+        assertTrue(second > first);
+        assertFalse(stale.isLeaseHeld());
+        assertTrue(current.isLeaseHeld());
+        assertEquals(1, current.getTasks());
+        assertEquals(weekly.getNextRunAt().plusWeeks(1), taskTemplateService.getTemplate(weekly.getId()).getNextRunAt());
+        assertTrue(taskTemplateService.acquireLease("old-node").isEmpty());
+    }
+
+    @Test
+    void shouldRejectInvalidTemplates() throws Exception {
+
+        mockMvc.perform(post("/api/task-templates")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"Bad cron\",\"frequency\":\"CRON\",\"cron\":\"not a cron\"}"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/api/task-templates")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"No day\",\"frequency\":\"WEEKLY\"}"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/api/task-templates")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"\",\"frequency\":\"DAILY\"}"))
+                .andExpect(status().isBadRequest());
+
+        TaskTemplateResponse template = createTemplate(CreateTaskTemplateRequest.builder()
+                .title("Short lived")
+                .frequency(TemplateFrequency.DAILY)
+                .build());
+        mockMvc.perform(delete("/api/task-templates/" + template.getId())).andExpect(status().isNoContent());
+        mockMvc.perform(get("/api/task-templates/" + template.getId())).andExpect(status().isNotFound());
+    }
+
+    /**
+     * Every template has exactly one occurrence due, two hours ago, and the next one well beyond the horizon.
+     */
+    @Test
+    void shouldMaterializeHundredThousandTemplatesInBatches() throws Exception {
+
+        LocalDateTime due = LocalDateTime.now().minusHours(2).truncatedTo(ChronoUnit.MINUTES);
+        String cron = "0 " + due.getMinute() + " " + due.getHour() + " * * *";
+        List<TaskTemplate> templates = new ArrayList<>();
+        for (int i = 0; i < THROUGHPUT_TEMPLATES; i++) {
+            templates.add(TaskTemplate.builder().title("Generated " + i).cron(cron).nextRunAt(due).build());
+            if (templates.size() == 10_000) {
+                templateRepository.saveAll(templates);
+                templates.clear();
+            }
+        }
+        long before = taskRepository.count();
+
+
+        long started = System.nanoTime();
+        CallCost cost = CallBudget.measure(() -> taskTemplateJob.materialize("throughput-node"));
+        long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+
+
+        log.info("Materialised {} task templates in {} ms ({} per second)", THROUGHPUT_TEMPLATES, elapsedMillis,
+                THROUGHPUT_TEMPLATES * 1000L / Math.max(elapsedMillis, 1));
+        assertEquals(before + THROUGHPUT_TEMPLATES, taskRepository.count());
+        assertTrue(templateRepository.findDue(LocalDateTime.now(), PageRequest.of(0, 1)).isEmpty());
+
+        // Task rows go out in JDBC batches rather than one insert each.
+        long taskInserts = cost.statements().stream()
+                .filter(sql -> sql.regionMatches(true, 0, "insert into task ", 0, 17))
+                .count();
+        int batches = THROUGHPUT_TEMPLATES / properties.getBatchSize();
+        assertTrue(taskInserts <= batches * (properties.getBatchSize() / 50 + 1),
+                "Expected batched task inserts but ran " + taskInserts);
+    }
+
+    private static int occurrences(String cron, LocalDateTime from, LocalDateTime to) {
+        CronExpression expression = CronExpression.parse(cron);
+        int count = 0;
+        for (LocalDateTime next = expression.next(from.minusNanos(1)); next.isBefore(to); next = expression.next(next)) {
+            count++;
+        }
+        return count;
+    }
+
+    private TaskTemplateResponse createTemplate(CreateTaskTemplateRequest request) throws Exception {
+        MvcResult result = mockMvc.perform(post("/api/task-templates")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andReturn();
+        return objectMapper.readValue(result.getResponse().getContentAsString(), TaskTemplateResponse.class);
+    }
+
+    private TaskTemplateResponse getTemplate(Long id) throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/task-templates/" + id))
+                .andExpect(status().isOk())
+                .andReturn();
+        return objectMapper.readValue(result.getResponse().getContentAsString(), TaskTemplateResponse.class);
+    }
+}
@@ -0,0 +1,233 @@
+package edu.icet.ecom.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.icet.ecom.dto.CreateTaskRequest;
+import edu.icet.ecom.dto.SubtaskResponse;
+import edu.icet.ecom.dto.TaskResponse;
+import edu.icet.ecom.dto.TaskSubtreeResponse;
+import edu.icet.ecom.service.TaskService;
+import edu.icet.ecom.service.TaskTreeService;
+import edu.icet.ecom.support.H2SpringBootTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@H2SpringBootTest
+@AutoConfigureMockMvc
+class TaskTreeIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskTreeService taskTreeService;
+
+    @Test
+    void shouldKeepRollupsThroughCompletionsAndDeletes() throws Exception {
+
+        Long root = createTask("Release");
+        Long docs = createSubtask(root, "Write docs");
+        Long tests = createSubtask(root, "Run tests");
+        Long api = createSubtask(docs, "Document API");
+
+
+        mockMvc.perform(put("/api/tasks/" + api + "/complete")).andExpect(status().isOk());
+        TaskSubtreeResponse afterComplete = subtree(root, "");
+        mockMvc.perform(delete("/api/tasks/" + docs)).andExpect(status().isNoContent());
+        TaskSubtreeResponse afterDelete = subtree(root, "");
+
+
+        assertEquals(3, afterComplete.getTask().getSubtaskCount());
+        assertEquals(2, afterComplete.getTask().getOpenSubtaskCount());
+        assertEquals(List.of(docs, tests, api), ids(afterComplete.getSubtasks()));
+        assertEquals(List.of(1, 1, 2), afterComplete.getSubtasks().stream().map(SubtaskResponse::getDepth).toList());
+        assertTrue(afterComplete.getSubtasks().get(0).getSubtasksCompleted());
+
+        assertEquals(2, afterDelete.getTask().getSubtaskCount());
+        assertEquals(1, afterDelete.getTask().getOpenSubtaskCount());
+        assertEquals(List.of(tests, api), ids(afterDelete.getSubtasks()));
+        assertEquals(root, afterDelete.getSubtasks().get(1).getParentId());
+        assertEquals(1, afterDelete.getSubtasks().get(1).getDepth());
+    }
+
+    @Test
+    void shouldMoveSubtreesAndRejectCycles() throws Exception {
+
+        Long root = createTask("Root");
+        Long left = createSubtask(root, "Left");
+        Long right = createSubtask(root, "Right");
+        Long leaf = createSubtask(left, "Leaf");
+
+
+        mockMvc.perform(put("/api/tasks/" + left + "/parent/" + right)).andExpect(status().isOk());
+        mockMvc.perform(put("/api/tasks/" + right + "/parent/" + leaf)).andExpect(status().isBadRequest());
+        mockMvc.perform(put("/api/tasks/" + root + "/parent/" + root)).andExpect(status().isBadRequest());
+        TaskSubtreeResponse moved = subtree(root, "");
+        mockMvc.perform(delete("/api/tasks/" + left + "/parent")).andExpect(status().isOk());
+        TaskSubtreeResponse detached = subtree(root, "");
+
+
+        assertEquals(List.of(right, left, leaf), ids(moved.getSubtasks()));
+        assertEquals(List.of(1, 2, 3), moved.getSubtasks().stream().map(SubtaskResponse::getDepth).toList());
+        assertEquals(3, moved.getTask().getSubtaskCount());
+        assertEquals(List.of(right), ids(detached.getSubtasks()));
+        assertEquals(1, detached.getTask().getSubtaskCount());
+        assertEquals(List.of(leaf), ids(subtree(left, "").getSubtasks()));
+        assertEquals(1, subtree(root, "?limit=0").getTask().getOpenSubtaskCount());
+    }
+
+    @Test
+    void shouldCompleteSubtreeAndRecordEveryCompletion() throws Exception {
+
+        Long root = createTask("Project");
+        Long phase = createSubtask(root, "Phase");
+        Long step = createSubtask(phase, "Step");
+        Long other = createSubtask(root, "Other");
+        taskService.getTask(step);
+
+
+        MvcResult result = mockMvc.perform(put("/api/tasks/" + phase + "/subtasks/complete"))
+                .andExpect(status().isOk())
+                .andReturn();
+
+
+        SubtaskResponse completed = objectMapper.readValue(
+                result.getResponse().getContentAsString(), SubtaskResponse.class);
+        assertTrue(completed.getCompleted());
+        assertEquals(0, completed.getOpenSubtaskCount());
+        assertTrue(taskService.getTask(step).getCompleted());
+        assertFalse(taskService.getTask(other).getCompleted());
+
+        TaskSubtreeResponse tree = subtree(root, "?maxDepth=1");
+        assertEquals(3, tree.getTask().getSubtaskCount());
+        assertEquals(1, tree.getTask().getOpenSubtaskCount());
+        assertEquals(List.of(phase, other), ids(tree.getSubtasks()));
+        assertFalse(tree.isHasMore());
+
+        String changes = mockMvc.perform(get("/api/tasks/changes?since=0&limit=1000"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        assertTrue(changes.contains("\"taskId\":" + step + ",\"changeType\":\"COMPLETED\""));
+    }
+
+    @Test
+    void shouldMatchRollupsRecomputedFromParentLinks() {
+
+        // Random moves, completions and deletes, then every rollup and depth is checked against the parent links.
+        Random random = new Random(11);
+        List<Long> live = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            live.add(taskService.createTask(new CreateTaskRequest("Random root " + i, null)).getId());
+        }
+        for (int round = 0; round < 150; round++) {
+            Long task = live.get(random.nextInt(live.size()));
+            switch (random.nextInt(6)) {
+                case 0, 1 -> live.add(taskTreeService.createSubtask(task,
+                        new CreateTaskRequest("Random " + round, null)).getId());
+                case 2 -> {
+                    Long parent = live.get(random.nextInt(live.size()));
+                    try {
+                        taskTreeService.moveTask(task, parent);
+                    } catch (IllegalArgumentException ex) {
+                        // A move into its own subtree; the tree is unchanged.
+                    }
+                }
+                case 3 -> taskTreeService.detachTask(task);
+                case 4 -> {
+                    if (random.nextBoolean()) {
+                        taskService.completeTask(task);
+                    } else {
+                        taskTreeService.completeSubtree(task);
+                    }
+                }
+                default -> {
+                    if (live.size() > 8) {
+                        taskService.deleteTask(task);
+                        live.remove(task);
+                    }
+                }
+            }
+        }
+
+
+        Map<Long, SubtaskResponse> nodes = new HashMap<>();
+        Map<Long, List<Long>> children = new HashMap<>();
+        for (Long id : live) {
+            SubtaskResponse node = taskTreeService.getSubtree(id, null, 0).getTask();
+            nodes.put(id, node);
+            if (node.getParentId() != null) {
+                assertTrue(live.contains(node.getParentId()));
+                children.computeIfAbsent(node.getParentId(), key -> new ArrayList<>()).add(id);
+            }
+        }
+        for (Long id : live) {
+            Map<Long, Integer> expectedDepths = new HashMap<>();
+            collect(id, 0, children, expectedDepths);
+            expectedDepths.remove(id);
+            int expectedOpen = (int) expectedDepths.keySet().stream().filter(d -> !nodes.get(d).getCompleted()).count();
+
+            List<SubtaskResponse> subtree = taskTreeService.getSubtree(id, null, 1000).getSubtasks();
+            Map<Long, Integer> depths = new HashMap<>();
+            subtree.forEach(node -> depths.put(node.getId(), node.getDepth()));
+
+            assertEquals(expectedDepths, depths, "subtree of " + id);
+            assertEquals(expectedDepths.size(), nodes.get(id).getSubtaskCount(), "subtasks of " + id);
+            assertEquals(expectedOpen, nodes.get(id).getOpenSubtaskCount(), "open subtasks of " + id);
+        }
+    }
+
+    private static void collect(Long id, int depth, Map<Long, List<Long>> children, Map<Long, Integer> depths) {
+        assertNull(depths.put(id, depth), "cycle at " + id);
+        for (Long child : children.getOrDefault(id, List.of())) {
+            collect(child, depth + 1, children, depths);
+        }
+    }
+
+    private Long createTask(String title) throws Exception {
+        MvcResult result = mockMvc.perform(post("/api/tasks")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new CreateTaskRequest(title, null))))
+                .andExpect(status().isCreated())
+                .andReturn();
+        return objectMapper.readValue(result.getResponse().getContentAsString(), TaskResponse.class).getId();
+    }
+
+    private Long createSubtask(Long parentId, String title) throws Exception {
+        MvcResult result = mockMvc.perform(post("/api/tasks/" + parentId + "/subtasks")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new CreateTaskRequest(title, null))))
+                .andExpect(status().isCreated())
+                .andReturn();
+        return objectMapper.readValue(result.getResponse().getContentAsString(), TaskResponse.class).getId();
+    }
+
+    private TaskSubtreeResponse subtree(Long taskId, String query) throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/tasks/" + taskId + "/subtasks" + query))
+                .andExpect(status().isOk())
+                .andReturn();
+        return objectMapper.readValue(result.getResponse().getContentAsString(), TaskSubtreeResponse.class);
+    }
+
+    private static List<Long> ids(List<SubtaskResponse> subtasks) {
+        return subtasks.stream().map(SubtaskResponse::getId).toList();
+    }
+}
@@ -0,0 +1,132 @@
+package edu.icet.ecom.query;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompressedBitmapTest {
+
+    @Test
+    void shouldAddRemoveAndFindValuesAcrossChunks() {
+
+        CompressedBitmap bitmap = new CompressedBitmap();
+
+
+        assertTrue(bitmap.add(5));
+        assertTrue(bitmap.add(70_000));
+        assertTrue(bitmap.add(1));
+        assertFalse(bitmap.add(5));
+
+
+        assertTrue(bitmap.contains(1));
+        assertTrue(bitmap.contains(70_000));
+        assertFalse(bitmap.contains(2));
+        assertEquals(3, bitmap.cardinality());
+        assertArrayEquals(new int[] {70_000, 5, 1}, bitmap.largest(10));
+        assertArrayEquals(new int[] {70_000, 5}, bitmap.largest(2));
+
+        assertTrue(bitmap.remove(70_000));
+        assertFalse(bitmap.remove(70_000));
+        assertTrue(bitmap.remove(5));
+        assertTrue(bitmap.remove(1));
+        assertTrue(bitmap.isEmpty());
+    }
+
+    @Test
+    void shouldConvertDenseChunksToBitmapsAndBack() {
+
+        CompressedBitmap bitmap = new CompressedBitmap();
+        TreeSet<Integer> expected = new TreeSet<>();
+
+
+        for (int value = 0; value < 3 * CompressedBitmap.ARRAY_LIMIT; value += 2) {
+            bitmap.add(value);
+            expected.add(value);
+        }
+        for (int value = 0; value < 3 * CompressedBitmap.ARRAY_LIMIT; value += 4) {
+            bitmap.remove(value);
+            expected.remove(value);
+        }
+
+
+        assertMatches(expected, bitmap);
+    }
+
+    @Test
+    void shouldMatchSetOperationsOfReferenceSets() {
+
+        // Mixes sparse and dense chunks, so every pair of chunk representations meets.
+        Random random = new Random(7);
+        for (int round = 0; round < 20; round++) {
+            TreeSet<Integer> left = new TreeSet<>();
+            TreeSet<Integer> right = new TreeSet<>();
+            CompressedBitmap a = randomBitmap(random, left);
+            CompressedBitmap b = randomBitmap(random, right);
+
+
+            CompressedBitmap and = a.and(b);
+            CompressedBitmap or = a.or(b);
+            CompressedBitmap andNot = a.andNot(b);
+
+
+            TreeSet<Integer> expectedAnd = new TreeSet<>(left);
+            expectedAnd.retainAll(right);
+            TreeSet<Integer> expectedOr = new TreeSet<>(left);
+            expectedOr.addAll(right);
+            TreeSet<Integer> expectedAndNot = new TreeSet<>(left);
+            expectedAndNot.removeAll(right);
+
+            assertMatches(expectedAnd, and);
+            assertMatches(expectedOr, or);
+            assertMatches(expectedAndNot, andNot);
+            assertMatches(left, a);
+            assertMatches(right, b);
+        }
+    }
+
+    @Test
+    void shouldRejectNegativeValues() {
+
+        CompressedBitmap bitmap = new CompressedBitmap();
+
+
+        assertThrows(IllegalArgumentException.class, () -> bitmap.add(-1));
+    }
+
+    private static CompressedBitmap randomBitmap(Random random, TreeSet<Integer> values) {
+        CompressedBitmap bitmap = new CompressedBitmap();
+        for (int chunk = 0; chunk < 6; chunk++) {
+            if (random.nextInt(3) == 0) {
+                continue;
+            }
+            int count = switch (random.nextInt(3)) {
+                case 0 -> random.nextInt(50);
+                case 1 -> random.nextInt(2 * CompressedBitmap.ARRAY_LIMIT);
+                default -> CompressedBitmap.ARRAY_LIMIT + random.nextInt(40_000);
+            };
+            for (int i = 0; i < count; i++) {
+                int value = (chunk << 16) | random.nextInt(1 << 16);
+                bitmap.add(value);
+                values.add(value);
+            }
+        }
+        return bitmap;
+    }
+
+    private static void assertMatches(TreeSet<Integer> expected, CompressedBitmap actual) {
+        assertEquals(expected.size(), actual.cardinality());
+        List<Integer> descending = List.copyOf(expected.descendingSet());
+        int[] largest = actual.largest(Integer.MAX_VALUE);
+        assertEquals(descending.size(), largest.length);
+        for (int i = 0; i < largest.length; i++) {
+            assertEquals(descending.get(i), largest[i]);
+        }
+        for (int value : expected) {
+            assertTrue(actual.contains(value));
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package edu.icet.ecom.query;
+
+import edu.icet.ecom.repository.projection.TaskColumnView;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskColumnsTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    @Test
+    void shouldFilterByCompletionAndReturnNewestFirst() {
+
+        TaskColumns columns = new TaskColumns();
+        columns.upsert(1L, "Write report", BASE, false, null);
+        columns.upsert(2L, "Call Alice", BASE.plusHours(1), true, null);
+        columns.upsert(3L, "Review report", BASE.plusHours(2), false, BASE.plusDays(1));
+
+
+        TaskQueryResult result = columns.query(TaskQuery.builder().completed(false).build());
+
+
+        assertEquals(2, result.matched());
+        assertEquals(List.of(3L, 1L), ids(result));
+        TaskColumnView first = result.tasks().get(0);
+        assertEquals("Review report", first.title());
+        assertEquals(BASE.plusHours(2), first.createdAt());
+        assertEquals(BASE.plusDays(1), first.dueAt());
+        assertFalse(first.completed());
+    }
+
+    @Test
+    void shouldCombineTimeRangeDueDateAndTitleFilters() {
+
+        TaskColumns columns = new TaskColumns();
+        columns.upsert(1L, "Write REPORT", BASE, false, BASE.plusDays(1));
+        columns.upsert(2L, "Write report", BASE.plusDays(2), false, BASE.plusDays(3));
+        columns.upsert(3L, "Buy milk", BASE.plusDays(1), false, BASE.plusDays(1));
+        columns.upsert(4L, "Report taxes", BASE.plusDays(1), false, null);
+
+
+        TaskQueryResult result = columns.query(TaskQuery.builder()
+                .createdFrom(BASE)
+                .createdTo(BASE.plusDays(2))
+                .dueBefore(BASE.plusDays(5))
+                .titleContains("report")
+                .build());
+
+
+        assertEquals(List.of(1L), ids(result));
+        assertEquals(1, result.matched());
+    }
+
+    @Test
+    void shouldSortByDueDateWithUndatedTasksLast() {
+
+        TaskColumns columns = new TaskColumns();
+        columns.upsert(1L, "a", BASE, false, null);
+        columns.upsert(2L, "b", BASE, false, BASE.plusDays(2));
+        columns.upsert(3L, "c", BASE, false, BASE.plusDays(1));
+
+
+        List<Long> ascending = ids(columns.query(TaskQuery.builder()
+                .sort(TaskSortField.DUE_AT).descending(false).build()));
+        List<Long> descending = ids(columns.query(TaskQuery.builder()
+                .sort(TaskSortField.DUE_AT).descending(true).build()));
+
+
+        assertEquals(List.of(3L, 2L, 1L), ascending);
+        assertEquals(List.of(2L, 3L, 1L), descending);
+    }
+
+    @Test
+    void shouldOverwriteExistingRowOnUpsert() {
+
+        TaskColumns columns = new TaskColumns();
+        columns.upsert(1L, "Draft", BASE, false, null);
+
+
+        columns.upsert(1L, "Final", BASE, true, BASE.plusDays(1));
+
+
+        assertEquals(1, columns.size());
+        TaskQueryResult completed = columns.query(TaskQuery.builder().completed(true).build());
+        assertEquals(List.of(1L), ids(completed));
+        assertEquals("Final", completed.tasks().get(0).title());
+        assertEquals(0, columns.query(TaskQuery.builder().completed(false).build()).matched());
+    }
+
+    @Test
+    void shouldMoveLastRowIntoRemovedSlot() {
+
+        TaskColumns columns = new TaskColumns();
+        columns.upsert(1L, "First", BASE, false, null);
+        columns.upsert(2L, "Second", BASE.plusHours(1), false, null);
+        columns.upsert(3L, "Third", BASE.plusHours(2), true, null);
+
+
+        columns.remove(1L);
+        columns.remove(42L);
+
+
+        assertEquals(2, columns.size());
+        assertEquals(List.of(2L), ids(columns.query(TaskQuery.builder().completed(false).build())));
+        assertEquals(List.of(3L), ids(columns.query(TaskQuery.builder().completed(true).build())));
+
+        columns.upsert(3L, "Third", BASE.plusHours(2), false, null);
+        assertEquals(2, columns.size());
+        assertEquals(List.of(3L, 2L), ids(columns.query(TaskQuery.builder().completed(false).build())));
+    }
+
+    @Test
+    void shouldRejectNonPositiveLimit() {
+
+        TaskColumns columns = new TaskColumns();
+
+
+        assertThrows(IllegalArgumentException.class, () -> columns.query(TaskQuery.builder().limit(0).build()));
+    }
+
+    @Test
+    void shouldMatchNaiveEvaluationAcrossParallelBlocks() {
+
+        // Enough rows for the parallel path and a partial last block; ids are sparse to exercise the id map.
+        int rows = TaskColumns.PARALLEL_THRESHOLD + TaskColumns.BLOCK_ROWS / 2 + 17;
+        String[] titles = {"Write report", "Buy milk", "Call Alice", "Review code", "Plan sprint"};
+        Random random = new Random(42);
+        List<TaskColumnView> tasks = new ArrayList<>(rows);
+        TaskColumns columns = new TaskColumns(16);
+        for (int i = 0; i < rows; i++) {
+            long id = 3L * i + 1;
+            LocalDateTime createdAt = BASE.plusSeconds(random.nextInt(1_000_000));
+            boolean completed = random.nextInt(4) == 0;
+            LocalDateTime dueAt = random.nextBoolean() ? null : BASE.plusSeconds(random.nextInt(2_000_000));
+            TaskColumnView task = new TaskColumnView(id, titles[random.nextInt(titles.length)], createdAt, completed,
+                    dueAt);
+            tasks.add(task);
+            columns.upsert(id, task.title(), createdAt, completed, dueAt);
+        }
+
+        TaskQuery query = TaskQuery.builder()
+                .completed(false)
+                .createdFrom(BASE.plusSeconds(100_000))
+                .createdTo(BASE.plusSeconds(900_000))
+                .dueBefore(BASE.plusSeconds(1_500_000))
+                .titleContains("re")
+                .sort(TaskSortField.CREATED_AT)
+                .limit(50)
+                .build();
+
+
+        TaskQueryResult result = columns.query(query);
+
+
+        Predicate<TaskColumnView> matches = task -> !task.completed()
+                && !task.createdAt().isBefore(query.getCreatedFrom())
+                && task.createdAt().isBefore(query.getCreatedTo())
+                && task.dueAt() != null && task.dueAt().isBefore(query.getDueBefore())
+                && task.title().toLowerCase().contains("re");
+        List<TaskColumnView> expected = tasks.stream()
+                .filter(matches)
+                .sorted(Comparator.comparing(TaskColumnView::createdAt)
+                        .thenComparing(TaskColumnView::id)
+                        .reversed())
+                .toList();
+        assertEquals(expected.size(), result.matched());
+        assertEquals(expected.subList(0, 50).stream().map(TaskColumnView::id).toList(), ids(result));
+    }
+
+    private static List<Long> ids(TaskQueryResult result) {
+        return result.tasks().stream().map(TaskColumnView::id).toList();
+    }
+}
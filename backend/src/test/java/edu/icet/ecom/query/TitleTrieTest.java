@@ -0,0 +1,156 @@
+package edu.icet.ecom.query;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TitleTrieTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    @Test
+    void shouldSuggestTitlesByPrefixIgnoringCaseNewestFirst() {
+
+        TitleTrie trie = new TitleTrie(10);
+        trie.put(1L, "Write report", BASE);
+        trie.put(2L, "Write tests", BASE.plusHours(2));
+        trie.put(3L, "Wash car", BASE.plusHours(1));
+        trie.put(4L, "Read book", BASE.plusHours(3));
+
+
+        List<String> suggestions = trie.suggest("w", 10);
+
+
+        assertEquals(List.of("Write tests", "Wash car", "Write report"), suggestions);
+        assertEquals(List.of("Write tests", "Write report"), trie.suggest("WRITE", 10));
+        assertEquals(List.of("Write report"), trie.suggest("write r", 10));
+        assertEquals(List.of(), trie.suggest("write reports", 10));
+        assertEquals(List.of(), trie.suggest("x", 10));
+        assertEquals(4, trie.suggest("", 10).size());
+    }
+
+    @Test
+    void shouldShareOneEntryBetweenTasksWithTheSameTitle() {
+
+        TitleTrie trie = new TitleTrie(10);
+        trie.put(1L, "buy milk", BASE);
+        trie.put(2L, "Buy milk", BASE.plusHours(2));
+        trie.put(3L, "Buy bread", BASE.plusHours(1));
+
+
+        List<String> suggestions = trie.suggest("buy", 10);
+        trie.remove(2L);
+        List<String> afterRemove = trie.suggest("buy", 10);
+        trie.remove(1L);
+
+
+        assertEquals(List.of("Buy milk", "Buy bread"), suggestions);
+        assertEquals(List.of("Buy bread", "Buy milk"), afterRemove);
+        assertEquals(List.of("Buy bread"), trie.suggest("buy", 10));
+        assertEquals(1, trie.size());
+    }
+
+    @Test
+    void shouldMoveTaskToItsNewTitle() {
+
+        TitleTrie trie = new TitleTrie(10);
+        trie.put(1L, "Draft plan", BASE);
+        trie.put(2L, "Draft", BASE.plusHours(1));
+
+
+        trie.put(1L, "Final plan", BASE);
+
+
+        assertEquals(List.of("Draft"), trie.suggest("draft", 10));
+        assertEquals(List.of("Final plan"), trie.suggest("f", 10));
+        assertEquals(2, trie.size());
+    }
+
+    @Test
+    void shouldRejectLimitOutsideRange() {
+
+        TitleTrie trie = new TitleTrie(5);
+
+
+        assertThrows(IllegalArgumentException.class, () -> trie.suggest("a", 0));
+        assertThrows(IllegalArgumentException.class, () -> trie.suggest("a", 6));
+    }
+
+    @Test
+    void shouldMatchBruteForceUnderRandomChanges() {
+
+        // A small alphabet and short titles make shared prefixes, splits and merges frequent.
+        Random random = new Random(42);
+        TitleTrie trie = new TitleTrie(4, 16);
+        Map<Long, String> titles = new HashMap<>();
+        Map<Long, LocalDateTime> created = new HashMap<>();
+
+
+        for (int step = 0; step < 20_000; step++) {
+            long taskId = random.nextInt(300);
+            if (random.nextInt(4) == 0) {
+                trie.remove(taskId);
+                titles.remove(taskId);
+                created.remove(taskId);
+            } else {
+                String title = randomTitle(random);
+                // Distinct per task, so the ranking has no ties.
+                LocalDateTime createdAt = created.computeIfAbsent(taskId,
+                        id -> BASE.plusSeconds(id * 1000 + random.nextInt(1000)));
+                trie.put(taskId, title, createdAt);
+                titles.put(taskId, title);
+            }
+
+            if (step % 50 == 0) {
+                String prefix = randomTitle(random);
+                prefix = prefix.substring(0, Math.min(prefix.length(), random.nextInt(3)));
+                assertEquals(expected(titles, created, prefix, 4), lowercase(trie.suggest(prefix, 4)),
+                        "prefix '" + prefix + "' at step " + step);
+            }
+        }
+
+
+        long distinct = titles.values().stream().map(title -> title.toLowerCase(Locale.ROOT)).distinct().count();
+        assertEquals(distinct, trie.size());
+        assertEquals(expected(titles, created, "", 4), lowercase(trie.suggest("", 4)));
+    }
+
+    private static String randomTitle(Random random) {
+        StringBuilder title = new StringBuilder();
+        int length = 1 + random.nextInt(6);
+        for (int i = 0; i < length; i++) {
+            title.append("abAB c".charAt(random.nextInt(6)));
+        }
+        return title.toString();
+    }
+
+    private static List<String> expected(Map<Long, String> titles, Map<Long, LocalDateTime> created, String prefix,
+                                         int limit) {
+        Map<String, LocalDateTime> latest = new HashMap<>();
+        titles.forEach((taskId, title) -> {
+            String key = title.toLowerCase(Locale.ROOT);
+            if (key.startsWith(prefix.toLowerCase(Locale.ROOT))) {
+                latest.merge(key, created.get(taskId), (a, b) -> a.isAfter(b) ? a : b);
+            }
+        });
+        return latest.entrySet().stream()
+                .sorted(Map.Entry.<String, LocalDateTime>comparingByValue().reversed())
+                .limit(limit)
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toList());
+    }
+
+    private static List<String> lowercase(List<String> suggestions) {
+        return suggestions.stream()
+                .map(title -> title.toLowerCase(Locale.ROOT))
+                .collect(Collectors.toList());
+    }
+}
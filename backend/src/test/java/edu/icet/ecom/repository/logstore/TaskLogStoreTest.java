@@ -0,0 +1,309 @@
+package edu.icet.ecom.repository.logstore;
+
+import edu.icet.ecom.entity.Task;
+import edu.icet.ecom.repository.projection.TaskCountView;
+import edu.icet.ecom.repository.projection.TaskDueView;
+import edu.icet.ecom.repository.projection.TaskSummaryView;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskLogStoreTest {
+
+    private static final int SEGMENT_SIZE = 64 * 1024;
+
+    @TempDir
+    Path directory;
+
+    private TaskLogStore store;
+
+    @AfterEach
+    void tearDown() throws IOException {
+        if (store != null) {
+            store.close();
+        }
+    }
+
+    @Test
+    void apply_ShouldStoreAllFields() throws IOException {
+
+        store = TaskLogStore.open(directory, SEGMENT_SIZE, false);
+        LocalDateTime createdAt = LocalDateTime.of(2024, 3, 1, 9, 30, 15, 123_456_789);
+        Task task = Task.builder()
+                .id(store.allocateId())
+                .title("Write report")
+                .description("Quarterly numbers ✓")
+                .createdAt(createdAt)
+                .completed(false)
+                .dueAt(createdAt.plusDays(2))
+                .build();
+
+
+        put(task);
+        Task stored = store.get(task.getId());
+
+
+        assertEquals(task, stored);
+        assertNotSame(task, stored);
+    }
+
+    @Test
+    void open_ShouldRecoverTasksAndIndexes() throws IOException {
+
+        store = TaskLogStore.open(directory, SEGMENT_SIZE, false);
+        LocalDateTime now = LocalDateTime.now();
+        Task first = put(task("First", now.plusHours(1)));
+        Task second = put(task("Second", null));
+        Task third = put(task("Third", now.plusHours(2)));
+        third.setCompleted(true);
+        put(third);
+        delete(second.getId());
+        store.close();
+
+
+        store = TaskLogStore.open(directory, SEGMENT_SIZE, false);
+
+
+        assertEquals(2, store.size());
+        assertEquals(1, store.openCount());
+        assertEquals(1, store.completedCount());
+        assertNull(store.get(second.getId()));
+        assertTrue(store.get(third.getId()).getCompleted());
+        assertEquals(List.of(first.getId()), store.findOpenNewestFirst(0, 5).stream().map(Task::getId).toList());
+        assertEquals(List.of(new TaskDueView(first.getId(), first.getDueAt())),
+                store.findOpenDueAfter(now, 0L, now.plusDays(1), 10));
+        assertEquals(third.getId() + 1, store.allocateId());
+    }
+
+    @Test
+    void open_ShouldDiscardTornTail() throws IOException {
+
+        store = TaskLogStore.open(directory, SEGMENT_SIZE, false);
+        Task first = put(task("First", null));
+        Task second = put(task("Second", null));
+        store.close();
+        store = null;
+        // Flip a byte inside the body of the last record, as a write interrupted by a crash would leave it.
+        corruptLastRecord(segments().get(0));
+
+
+        store = TaskLogStore.open(directory, SEGMENT_SIZE, false);
+        assertNotNull(store.get(first.getId()));
+        assertNull(store.get(second.getId()));
+        Task third = put(task("Third", null));
+        store.close();
+        store = TaskLogStore.open(directory, SEGMENT_SIZE, false);
+
+
+        assertEquals("First", store.get(first.getId()).getTitle());
+        assertEquals("Third", store.get(third.getId()).getTitle());
+        assertEquals(2, store.size());
+    }
+
+    @Test
+    void compact_ShouldKeepLatestVersionsAndDeleteReplacedFiles() throws IOException {
+
+        store = TaskLogStore.open(directory, SEGMENT_SIZE, false);
+        Map<Long, String> expected = new HashMap<>();
+        for (int i = 0; i < 200; i++) {
+            Task task = put(task("Task " + i, null));
+            for (int version = 1; version <= 5; version++) {
+                task.setTitle("Task " + i + " v" + version);
+                task.setDescription("x".repeat(100));
+                put(task);
+            }
+            expected.put(task.getId(), task.getTitle());
+        }
+        Task last = put(task("Deleted", null));
+        delete(last.getId());
+        int filesBefore = segments().size();
+        assertTrue(filesBefore > 1);
+        assertTrue(store.garbageRatio() > 0.8);
+
+
+        store.compact();
+        Task afterCompaction = put(task("After", null));
+        expected.put(afterCompaction.getId(), "After");
+        store.close();
+        store = TaskLogStore.open(directory, SEGMENT_SIZE, false);
+
+
+        assertTrue(segments().size() + snapshots().size() < filesBefore);
+        assertEquals(expected.size(), store.size());
+        expected.forEach((id, title) -> assertEquals(title, store.get(id).getTitle()));
+        assertNull(store.get(last.getId()));
+        assertTrue(store.allocateId() > afterCompaction.getId());
+        assertTrue(store.garbageRatio() < 0.1);
+    }
+
+    @Test
+    void compact_ShouldNotLoseWritesMadeWhileRunning() throws Exception {
+
+        store = TaskLogStore.open(directory, SEGMENT_SIZE, false);
+        for (int i = 0; i < 500; i++) {
+            put(task("Task " + i, null));
+        }
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+
+        Future<?> writer = executor.submit(() -> {
+            for (long id = 1; id <= 500; id++) {
+                Task task = store.get(id);
+                task.setTitle("Updated " + id);
+                put(task);
+            }
+        });
+        store.compact();
+        writer.get();
+        executor.shutdown();
+        store.close();
+        store = TaskLogStore.open(directory, SEGMENT_SIZE, false);
+
+
+        for (long id = 1; id <= 500; id++) {
+            assertEquals("Updated " + id, store.get(id).getTitle());
+        }
+    }
+
+    @Test
+    void open_ShouldIgnoreSnapshotThatNeverCompleted() throws IOException {
+
+        store = TaskLogStore.open(directory, SEGMENT_SIZE, false);
+        Task task = put(task("Kept", null));
+        store.close();
+        // A snapshot part without its end marker, as left by a crash during compaction.
+        Files.write(directory.resolve("snapshot-99-100.log"), new byte[SEGMENT_SIZE]);
+        Files.write(directory.resolve("snapshot-99-101.log.tmp"), new byte[16]);
+
+
+        store = TaskLogStore.open(directory, SEGMENT_SIZE, false);
+
+
+        assertEquals("Kept", store.get(task.getId()).getTitle());
+        assertTrue(snapshots().isEmpty());
+        assertFalse(Files.exists(directory.resolve("snapshot-99-101.log.tmp")));
+    }
+
+    @Test
+    void repository_ShouldBufferWritesUntilCommit() throws IOException {
+
+        store = TaskLogStore.open(directory, SEGMENT_SIZE, false);
+        LogStoreTaskRepository repository = new LogStoreTaskRepository(store);
+        TransactionTemplate transactions = new TransactionTemplate(new LogStoreTransactionManager(store));
+
+
+        Long rolledBack = transactions.execute(status -> {
+            Task saved = repository.save(task("Rolled back", null));
+            assertTrue(repository.findById(saved.getId()).isPresent());
+            status.setRollbackOnly();
+            return saved.getId();
+        });
+        Long committed = transactions.execute(status -> {
+            Task saved = repository.save(task("Committed", null));
+            assertFalse(store.contains(saved.getId()));
+            return saved.getId();
+        });
+
+
+        assertTrue(repository.findById(rolledBack).isEmpty());
+        assertEquals("Committed", repository.findById(committed).orElseThrow().getTitle());
+        assertEquals(List.of(new TaskCountView(false, 1L)), repository.countByCompleted());
+    }
+
+    @Test
+    void repository_ShouldTruncateDescriptionInSummaries() throws IOException {
+
+        store = TaskLogStore.open(directory, SEGMENT_SIZE, false);
+        LogStoreTaskRepository repository = new LogStoreTaskRepository(store);
+        Task older = repository.save(task("Older", null));
+        Task newer = repository.save(task("Newer", null));
+        newer.setDescription("abcdef");
+        repository.save(newer);
+
+
+        List<TaskSummaryView> summaries = repository.findRecentUncompletedSummaries(4, PageRequest.of(0, 5));
+
+
+        assertEquals(List.of(newer.getId(), older.getId()), summaries.stream().map(TaskSummaryView::id).toList());
+        assertEquals("abcd", summaries.get(0).descriptionHead());
+    }
+
+    private Task put(Task task) {
+        if (task.getId() == null) {
+            task.setId(store.allocateId());
+        }
+        store.apply(Map.of(task.getId(), task));
+        return task;
+    }
+
+    private void delete(long id) {
+        Map<Long, Task> change = new HashMap<>();
+        change.put(id, null);
+        store.apply(change);
+    }
+
+    private static Task task(String title, LocalDateTime dueAt) {
+        return Task.builder()
+                .title(title)
+                .description("Description of " + title)
+                .createdAt(LocalDateTime.now())
+                .completed(false)
+                .dueAt(dueAt)
+                .build();
+    }
+
+    private List<Path> segments() throws IOException {
+        return files("segment-");
+    }
+
+    private List<Path> snapshots() throws IOException {
+        return files("snapshot-").stream().filter(path -> path.toString().endsWith(".log")).toList();
+    }
+
+    private List<Path> files(String prefix) throws IOException {
+        try (Stream<Path> paths = Files.list(directory)) {
+            return paths.filter(path -> path.getFileName().toString().startsWith(prefix)).sorted().toList();
+        }
+    }
+
+    private static void corruptLastRecord(Path segment) throws IOException {
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer header = ByteBuffer.allocate(LogFile.RECORD_HEADER_LENGTH);
+            long position = 0;
+            long lastBody = -1;
+            while (true) {
+                header.clear();
+                channel.read(header, position);
+                int length = header.getInt(0);
+                if (length == 0) {
+                    break;
+                }
+                lastBody = position + LogFile.RECORD_HEADER_LENGTH;
+                position = lastBody + length;
+            }
+            ByteBuffer flipped = ByteBuffer.allocate(1);
+            channel.read(flipped, lastBody + 2);
+            flipped.put(0, (byte) (flipped.get(0) ^ 0x5A)).rewind();
+            channel.write(flipped, lastBody + 2);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package edu.icet.ecom.scheduler;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HierarchicalTimingWheelTest {
+
+    private static final long TICK_MS = 10;
+
+    @Test
+    void shouldFireTimerOnItsDeadlineTick() {
+
+        HierarchicalTimingWheel wheel = new HierarchicalTimingWheel(TICK_MS, 4, 0);
+        wheel.schedule(1L, 50);
+
+
+        assertTrue(wheel.advanceTo(40).isEmpty());
+        assertEquals(List.of(1L), wheel.advanceTo(50));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void shouldCascadeTimersFromHigherLevels() {
+
+        // 4 bits per level: level 0 spans 16 ticks, level 1 spans 256 ticks, level 2 spans 4096 ticks.
+        HierarchicalTimingWheel wheel = new HierarchicalTimingWheel(TICK_MS, 4, 0);
+        wheel.schedule(1L, 170 * TICK_MS);
+        wheel.schedule(2L, 3000 * TICK_MS);
+        wheel.schedule(3L, 20 * TICK_MS);
+
+
+        List<Long> fired = new ArrayList<>();
+        List<Long> firedTicks = new ArrayList<>();
+        for (long tick = 1; tick <= 3000; tick++) {
+            for (Long id : wheel.advanceTo(tick * TICK_MS)) {
+                fired.add(id);
+                firedTicks.add(tick);
+            }
+        }
+
+
+        assertEquals(List.of(3L, 1L, 2L), fired);
+        assertEquals(List.of(20L, 170L, 3000L), firedTicks);
+    }
+
+    @Test
+    void shouldNotFireCancelledTimer() {
+
+        HierarchicalTimingWheel wheel = new HierarchicalTimingWheel(TICK_MS, 4, 0);
+        wheel.schedule(1L, 100);
+        wheel.schedule(2L, 100);
+
+
+        assertTrue(wheel.cancel(1L));
+        assertFalse(wheel.cancel(1L));
+
+
+        assertEquals(List.of(2L), wheel.advanceTo(1000));
+    }
+
+    @Test
+    void shouldReplacePendingTimer_WhenRescheduled() {
+
+        HierarchicalTimingWheel wheel = new HierarchicalTimingWheel(TICK_MS, 4, 0);
+        wheel.schedule(1L, 100);
+        wheel.schedule(1L, 5000);
+
+
+        assertTrue(wheel.advanceTo(4990).isEmpty());
+        assertEquals(1, wheel.size());
+        assertEquals(List.of(1L), wheel.advanceTo(5000));
+    }
+
+    @Test
+    void scheduleIfAbsent_ShouldKeepExistingTimer() {
+
+        HierarchicalTimingWheel wheel = new HierarchicalTimingWheel(TICK_MS, 4, 0);
+        wheel.schedule(1L, 100);
+
+
+        assertFalse(wheel.scheduleIfAbsent(1L, 5000));
+        assertEquals(List.of(1L), wheel.advanceTo(100));
+    }
+
+    @Test
+    void shouldFireOverdueTimerOnNextTick() {
+
+        HierarchicalTimingWheel wheel = new HierarchicalTimingWheel(TICK_MS, 4, 1000);
+        wheel.schedule(1L, 500);
+
+
+        assertEquals(List.of(1L), wheel.advanceTo(1010));
+    }
+
+    @Test
+    void shouldRoundDeadlineUpToNextTick() {
+
+        HierarchicalTimingWheel wheel = new HierarchicalTimingWheel(TICK_MS, 4, 0);
+        wheel.schedule(1L, 45);
+
+
+        assertTrue(wheel.advanceTo(40).isEmpty());
+        assertEquals(List.of(1L), wheel.advanceTo(50));
+    }
+}
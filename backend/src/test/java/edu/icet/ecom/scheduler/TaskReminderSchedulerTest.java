@@ -0,0 +1,157 @@
+package edu.icet.ecom.scheduler;
+
+import edu.icet.ecom.config.ReminderProperties;
+import edu.icet.ecom.entity.Task;
+import edu.icet.ecom.entity.TaskChangeType;
+import edu.icet.ecom.event.TaskChangedEvent;
+import edu.icet.ecom.event.TaskReminderEvent;
+import edu.icet.ecom.repository.TaskRepository;
+import edu.icet.ecom.repository.projection.TaskDueView;
+import edu.icet.ecom.service.SchedulerLeaseService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Pageable;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaskReminderSchedulerTest {
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private SchedulerLeaseService schedulerLeaseService;
+
+    @Mock
+    private ObjectProvider<SchedulerLeaseService> schedulerLeaseServiceProvider;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private final ReminderProperties properties = new ReminderProperties();
+    private TaskReminderScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        properties.setTick(Duration.ofMillis(10));
+        scheduler = new TaskReminderScheduler(taskRepository, schedulerLeaseServiceProvider, eventPublisher, properties);
+        lenient().when(schedulerLeaseServiceProvider.getIfAvailable()).thenReturn(schedulerLeaseService);
+        lenient().when(schedulerLeaseService.acquire(eq(TaskReminderScheduler.LEASE_NAME), anyString(), any()))
+                .thenReturn(OptionalLong.of(1L));
+    }
+
+    @Test
+    void loadWindow_ShouldNotRescheduleTaskCompletedWhileItsPageWasRead() {
+
+        LocalDateTime dueAt = LocalDateTime.now().plusMinutes(5);
+        when(taskRepository.findOpenDueAfter(any(), any(), any(), any(Pageable.class))).thenAnswer(invocation -> {
+            // The task is completed, and its reminder cancelled, after the page below was read.
+            scheduler.onTaskChanged(changed(1L, TaskChangeType.COMPLETED, true, dueAt));
+            return List.of(new TaskDueView(1L, dueAt), new TaskDueView(2L, dueAt));
+        });
+
+
+        scheduler.loadWindow();
+
+
+        assertEquals(1, scheduler.getPendingCount());
+    }
+
+    @Test
+    void tick_ShouldOnlyRemindOfTasksThatAreStillOpen() {
+
+        LocalDateTime dueAt = LocalDateTime.now().minusSeconds(30);
+        scheduler.loadWindow();
+        scheduler.onTaskChanged(changed(1L, TaskChangeType.CREATED, false, dueAt));
+        scheduler.onTaskChanged(changed(2L, TaskChangeType.CREATED, false, dueAt));
+        scheduler.onTaskChanged(changed(3L, TaskChangeType.CREATED, false, dueAt));
+        // Task 2 was completed and task 3 deleted without the wheel hearing about it.
+        when(taskRepository.findAllById(any())).thenReturn(List.of(
+                Task.builder().id(1L).title("Open").completed(false).build(),
+                Task.builder().id(2L).title("Done").completed(true).build()));
+
+
+        awaitNextTick();
+        scheduler.tick();
+
+
+        ArgumentCaptor<TaskReminderEvent> captor = ArgumentCaptor.forClass(TaskReminderEvent.class);
+        verify(eventPublisher).publishEvent(captor.capture());
+        assertEquals(1L, captor.getValue().getTaskId());
+        assertEquals(0, scheduler.getPendingCount());
+    }
+
+    @Test
+    void loadWindow_ShouldRemindOfTasksDueSincePreviousHolderRenewed_WhenTakingLeaseOver() {
+
+        LocalDateTime renewedAt = LocalDateTime.now().minusHours(3).truncatedTo(ChronoUnit.SECONDS);
+        LocalDateTime overdueAt = renewedAt.plusMinutes(30);
+        when(schedulerLeaseService.findExpiresAt(TaskReminderScheduler.LEASE_NAME))
+                .thenReturn(Optional.of(renewedAt.plus(properties.getLeaseDuration())));
+        when(taskRepository.findOpenDueAfter(eq(renewedAt), any(), any(), any(Pageable.class)))
+                .thenReturn(List.of(new TaskDueView(1L, overdueAt)));
+        when(taskRepository.findAllById(any())).thenReturn(List.of(
+                Task.builder().id(1L).title("Overdue").completed(false).build()));
+
+
+        scheduler.loadWindow();
+        awaitNextTick();
+        scheduler.tick();
+
+
+        ArgumentCaptor<TaskReminderEvent> captor = ArgumentCaptor.forClass(TaskReminderEvent.class);
+        verify(eventPublisher).publishEvent(captor.capture());
+        assertEquals(1L, captor.getValue().getTaskId());
+    }
+
+    @Test
+    void tick_ShouldNotRemind_WhenAnotherInstanceHoldsLease() {
+
+        when(schedulerLeaseService.acquire(eq(TaskReminderScheduler.LEASE_NAME), anyString(), any()))
+                .thenReturn(OptionalLong.empty());
+
+
+        scheduler.loadWindow();
+        scheduler.onTaskChanged(changed(1L, TaskChangeType.CREATED, false, LocalDateTime.now().minusSeconds(30)));
+        awaitNextTick();
+        scheduler.tick();
+
+
+        assertEquals(0, scheduler.getPendingCount());
+        verifyNoInteractions(eventPublisher);
+        verify(taskRepository, never()).findOpenDueAfter(any(), any(), any(), any(Pageable.class));
+    }
+
+    /**
+     * Timers due before the wheel started fire on its first tick after the start.
+     */
+    private void awaitNextTick() {
+        try {
+            Thread.sleep(properties.getTick().toMillis() * 2);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static TaskChangedEvent changed(Long id, TaskChangeType type, boolean completed, LocalDateTime dueAt) {
+        return new TaskChangedEvent(id, type, "Task " + id, completed, LocalDateTime.now(), dueAt, null, null, 0, null);
+    }
+}
@@ -0,0 +1,247 @@
+package edu.icet.ecom.service;
+
+import edu.icet.ecom.config.RecentTasksProperties;
+import edu.icet.ecom.dto.RecentTasksResult;
+import edu.icet.ecom.dto.TaskResponse;
+import edu.icet.ecom.entity.TaskChangeType;
+import edu.icet.ecom.event.TaskChangedEvent;
+import edu.icet.ecom.service.impl.RecentTasksServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RecentTasksServiceTest {
+
+    @Mock
+    private TaskService taskService;
+
+    private RecentTasksProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        properties = new RecentTasksProperties();
+        properties.setFailureThreshold(2);
+        properties.setOpenDuration(Duration.ofMinutes(1));
+        properties.setSlowCallThreshold(Duration.ofSeconds(1));
+    }
+
+    @Test
+    void getRecentUncompletedTasks_ShouldReturnFreshTasks_WhenDatabaseIsHealthy() {
+
+        when(taskService.getRecentUncompletedTasks()).thenReturn(List.of(task(1L)));
+        RecentTasksService service = new RecentTasksServiceImpl(taskService, properties);
+
+
+        RecentTasksResult result = service.getRecentUncompletedTasks();
+
+
+        assertFalse(result.isStale());
+        assertEquals(1, result.getTasks().size());
+        assertNotNull(result.getFetchedAt());
+    }
+
+    @Test
+    void getRecentUncompletedTasks_ShouldRethrow_WhenNothingCached() {
+
+        when(taskService.getRecentUncompletedTasks()).thenThrow(new DataAccessResourceFailureException("down"));
+        RecentTasksService service = new RecentTasksServiceImpl(taskService, properties);
+
+
+        assertThrows(DataAccessException.class, service::getRecentUncompletedTasks);
+    }
+
+    @Test
+    void getRecentUncompletedTasks_ShouldStopCallingDatabase_WhenCircuitOpens() {
+
+        when(taskService.getRecentUncompletedTasks())
+                .thenReturn(List.of(task(1L)))
+                .thenThrow(new CannotCreateTransactionException("connection refused"));
+        RecentTasksService service = new RecentTasksServiceImpl(taskService, properties);
+        service.getRecentUncompletedTasks();
+
+
+        for (int i = 0; i < 10; i++) {
+            RecentTasksResult result = service.getRecentUncompletedTasks();
+            assertTrue(result.isStale());
+            assertEquals(1L, result.getTasks().get(0).getId());
+        }
+
+
+        // One healthy read plus the two failures that opened the circuit.
+        verify(taskService, times(3)).getRecentUncompletedTasks();
+    }
+
+    @Test
+    void getRecentUncompletedTasks_ShouldCloseCircuit_WhenProbeSucceeds() {
+
+        properties.setOpenDuration(Duration.ZERO);
+        when(taskService.getRecentUncompletedTasks())
+                .thenReturn(List.of(task(1L)))
+                .thenThrow(new DataAccessResourceFailureException("down"))
+                .thenThrow(new DataAccessResourceFailureException("down"))
+                .thenReturn(List.of(task(2L)));
+        RecentTasksService service = new RecentTasksServiceImpl(taskService, properties);
+        service.getRecentUncompletedTasks();
+        service.getRecentUncompletedTasks();
+        service.getRecentUncompletedTasks();
+
+
+        // The probe runs in the background; this call still gets the stale copy.
+        assertTrue(service.getRecentUncompletedTasks().isStale());
+        verify(taskService, timeout(1000).times(4)).getRecentUncompletedTasks();
+
+
+        RecentTasksResult result = awaitFresh(service);
+        assertEquals(2L, result.getTasks().get(0).getId());
+    }
+
+    @Test
+    void getRecentUncompletedTasks_ShouldOpenCircuit_WhenReadsAreSlow() {
+
+        properties.setSlowCallThreshold(Duration.ofMillis(50));
+        when(taskService.getRecentUncompletedTasks()).thenAnswer(invocation -> {
+            Thread.sleep(100);
+            return List.of(task(1L));
+        });
+        RecentTasksService service = new RecentTasksServiceImpl(taskService, properties);
+
+
+        assertFalse(service.getRecentUncompletedTasks().isStale());
+        assertFalse(service.getRecentUncompletedTasks().isStale());
+        assertTrue(service.getRecentUncompletedTasks().isStale());
+
+
+        verify(taskService, times(2)).getRecentUncompletedTasks();
+    }
+
+    @Test
+    void getRecentUncompletedTasks_ShouldStayFast_DuringDatabaseOutage() {
+
+        when(taskService.getRecentUncompletedTasks())
+                .thenReturn(List.of(task(1L)))
+                .thenAnswer(invocation -> {
+                    Thread.sleep(200);
+                    throw new DataAccessResourceFailureException("timed out");
+                });
+        RecentTasksService service = new RecentTasksServiceImpl(taskService, properties);
+        service.getRecentUncompletedTasks();
+        service.getRecentUncompletedTasks();
+        service.getRecentUncompletedTasks();
+
+
+        long[] latencies = new long[1000];
+        for (int i = 0; i < latencies.length; i++) {
+            long start = System.nanoTime();
+            assertTrue(service.getRecentUncompletedTasks().isStale());
+            latencies[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(latencies);
+
+
+        long p99 = latencies[(int) (latencies.length * 0.99)];
+        assertTrue(p99 < Duration.ofMillis(5).toNanos(), "p99 was " + p99 + "ns");
+    }
+
+    @Test
+    void getRecentUncompletedTasks_ShouldQueryOnce_ForConcurrentIdenticalReads() throws Exception {
+
+        int callers = 200;
+        CountDownLatch queryStarted = new CountDownLatch(1);
+        CountDownLatch releaseQuery = new CountDownLatch(1);
+        when(taskService.getRecentUncompletedTasks()).thenAnswer(invocation -> {
+            queryStarted.countDown();
+            assertTrue(releaseQuery.await(5, TimeUnit.SECONDS));
+            return List.of(task(1L));
+        });
+        RecentTasksService service = new RecentTasksServiceImpl(taskService, properties);
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+
+        List<Future<RecentTasksResult>> results = new ArrayList<>();
+        results.add(executor.submit(service::getRecentUncompletedTasks));
+        assertTrue(queryStarted.await(5, TimeUnit.SECONDS));
+        for (int i = 1; i < callers; i++) {
+            results.add(executor.submit(service::getRecentUncompletedTasks));
+        }
+        // Give the callers time to join the running query; any that arrive late would only add queries.
+        Thread.sleep(200);
+        releaseQuery.countDown();
+
+
+        for (Future<RecentTasksResult> result : results) {
+            assertEquals(1L, result.get(5, TimeUnit.SECONDS).getTasks().get(0).getId());
+        }
+        executor.shutdown();
+        verify(taskService, times(1)).getRecentUncompletedTasks();
+    }
+
+    @Test
+    void getRecentUncompletedTasks_ShouldNotJoinQueryStartedBeforeATaskChanged() throws Exception {
+
+        CountDownLatch queryStarted = new CountDownLatch(1);
+        CountDownLatch releaseQuery = new CountDownLatch(1);
+        when(taskService.getRecentUncompletedTasks())
+                .thenAnswer(invocation -> {
+                    queryStarted.countDown();
+                    assertTrue(releaseQuery.await(5, TimeUnit.SECONDS));
+                    return List.of(task(1L));
+                })
+                .thenReturn(List.of(task(2L), task(1L)));
+        RecentTasksServiceImpl service = new RecentTasksServiceImpl(taskService, properties);
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+
+        Future<RecentTasksResult> before = executor.submit(service::getRecentUncompletedTasks);
+        assertTrue(queryStarted.await(5, TimeUnit.SECONDS));
+        service.onTaskChanged(new TaskChangedEvent(
+                2L, TaskChangeType.CREATED, "Task 2", false, LocalDateTime.now(), null, null, null, 0, null));
+        RecentTasksResult after = service.getRecentUncompletedTasks();
+        releaseQuery.countDown();
+
+
+        assertEquals(2, after.getTasks().size());
+        assertEquals(1, before.get(5, TimeUnit.SECONDS).getTasks().size());
+        executor.shutdown();
+        verify(taskService, times(2)).getRecentUncompletedTasks();
+    }
+
+    private RecentTasksResult awaitFresh(RecentTasksService service) {
+        long deadline = System.nanoTime() + Duration.ofSeconds(1).toNanos();
+        RecentTasksResult result = service.getRecentUncompletedTasks();
+        while (result.isStale() && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+            result = service.getRecentUncompletedTasks();
+        }
+        assertFalse(result.isStale());
+        return result;
+    }
+
+    private TaskResponse task(Long id) {
+        return TaskResponse.builder()
+                .id(id)
+                .title("Task " + id)
+                .createdAt(LocalDateTime.now())
+                .completed(false)
+                .build();
+    }
+}
@@ -0,0 +1,159 @@
+package edu.icet.ecom.service;
+
+import edu.icet.ecom.service.impl.SingleFlight;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    private final SingleFlight<String, String> singleFlight = new SingleFlight<>();
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void execute_ShouldShareOneExecution_BetweenConcurrentCallers() throws Exception {
+
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        Future<String> leader = executor.submit(() -> singleFlight.execute("recent", TIMEOUT, () -> {
+            executions.incrementAndGet();
+            await(release);
+            return "result";
+        }));
+        awaitInFlight();
+
+
+        List<Future<String>> followers = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            followers.add(startWaiting(() -> singleFlight.execute("recent", TIMEOUT, () -> {
+                executions.incrementAndGet();
+                return "other";
+            })));
+        }
+        release.countDown();
+
+
+        assertEquals("result", leader.get(5, TimeUnit.SECONDS));
+        for (Future<String> follower : followers) {
+            assertEquals("result", follower.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, executions.get());
+        assertEquals(0, singleFlight.inFlightCount());
+    }
+
+    @Test
+    void execute_ShouldShareFailure_WithoutCachingIt() throws Exception {
+
+        CountDownLatch release = new CountDownLatch(1);
+        Future<String> leader = executor.submit(() -> singleFlight.execute("recent", TIMEOUT, () -> {
+            await(release);
+            throw new DataAccessResourceFailureException("down");
+        }));
+        awaitInFlight();
+        Future<String> follower = startWaiting(() -> singleFlight.execute("recent", TIMEOUT, () -> "other"));
+        release.countDown();
+
+
+        ExecutionException leaderFailure = assertThrows(ExecutionException.class, () -> leader.get(5, TimeUnit.SECONDS));
+        ExecutionException followerFailure =
+                assertThrows(ExecutionException.class, () -> follower.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(DataAccessResourceFailureException.class, leaderFailure.getCause());
+        assertInstanceOf(DataAccessResourceFailureException.class, followerFailure.getCause());
+
+
+        assertEquals("fresh", singleFlight.execute("recent", TIMEOUT, () -> "fresh"));
+    }
+
+    @Test
+    void execute_ShouldTimeOutWaitingCaller_WhenCallRunsTooLong() throws Exception {
+
+        CountDownLatch release = new CountDownLatch(1);
+        Future<String> leader = executor.submit(() -> singleFlight.execute("recent", TIMEOUT, () -> {
+            await(release);
+            return "result";
+        }));
+        awaitInFlight();
+
+
+        assertThrows(QueryTimeoutException.class,
+                () -> singleFlight.execute("recent", Duration.ofMillis(50), () -> "other"));
+
+
+        release.countDown();
+        assertEquals("result", leader.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void execute_ShouldNotCoalesce_DifferentKeys() throws Exception {
+
+        CountDownLatch release = new CountDownLatch(1);
+        Future<String> first = executor.submit(() -> singleFlight.execute("task:1", TIMEOUT, () -> {
+            await(release);
+            return "one";
+        }));
+        awaitInFlight();
+
+
+        assertEquals("two", singleFlight.execute("task:2", TIMEOUT, () -> "two"));
+
+
+        release.countDown();
+        assertEquals("one", first.get(5, TimeUnit.SECONDS));
+    }
+
+    /**
+     * Runs the call on its own thread and returns once that thread is parked waiting on the in-flight call.
+     */
+    private Future<String> startWaiting(Callable<String> call) throws InterruptedException {
+        FutureTask<String> task = new FutureTask<>(call);
+        Thread thread = new Thread(task);
+        thread.start();
+
+        long deadline = System.nanoTime() + TIMEOUT.toNanos();
+        while (thread.getState() != Thread.State.TIMED_WAITING && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assertEquals(Thread.State.TIMED_WAITING, thread.getState());
+        return task;
+    }
+
+    private void awaitInFlight() throws InterruptedException {
+        long deadline = System.nanoTime() + TIMEOUT.toNanos();
+        while (singleFlight.inFlightCount() == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assertEquals(1, singleFlight.inFlightCount());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(ex);
+        }
+    }
+}
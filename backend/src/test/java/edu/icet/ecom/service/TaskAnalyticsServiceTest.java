@@ -0,0 +1,195 @@
+package edu.icet.ecom.service;
+
+import edu.icet.ecom.analytics.CompletionGranularity;
+import edu.icet.ecom.analytics.DurationHistogram;
+import edu.icet.ecom.config.TaskAnalyticsProperties;
+import edu.icet.ecom.dto.TaskCompletionAnalyticsResponse;
+import edu.icet.ecom.entity.TaskChangeType;
+import edu.icet.ecom.entity.TaskCompletionRollup;
+import edu.icet.ecom.event.TaskChangedEvent;
+import edu.icet.ecom.repository.TaskCompletionRollupRepository;
+import edu.icet.ecom.repository.TaskRepository;
+import edu.icet.ecom.repository.projection.TaskCompletionView;
+import edu.icet.ecom.service.impl.TaskAnalyticsServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaskAnalyticsServiceTest {
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private TaskCompletionRollupRepository rollupRepository;
+
+    private final List<TaskCompletionView> completions = new ArrayList<>();
+    private TaskAnalyticsServiceImpl taskAnalyticsService;
+    private LocalDateTime currentHour;
+
+    @BeforeEach
+    void setUp() {
+        TaskAnalyticsProperties properties = new TaskAnalyticsProperties();
+        properties.setRollupDelay(Duration.ZERO);
+        taskAnalyticsService = new TaskAnalyticsServiceImpl(taskRepository, rollupRepository, properties);
+        currentHour = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS);
+
+        // Behaves like the indexed range query over the tasks in the list.
+        lenient().when(taskRepository.findCompletionsBetween(any(), any())).thenAnswer(invocation -> {
+            LocalDateTime from = invocation.getArgument(0);
+            LocalDateTime to = invocation.getArgument(1);
+            return completions.stream()
+                    .filter(view -> !view.completedAt().isBefore(from) && view.completedAt().isBefore(to))
+                    .toList();
+        });
+    }
+
+    @Test
+    void load_ShouldRestoreRollupsAndRollUpOnlyLaterHours() {
+
+        LocalDateTime storedHour = currentHour.minusHours(3);
+        DurationHistogram stored = new DurationHistogram();
+        stored.record(60);
+        stored.record(120);
+        TaskCompletionRollup rollup = new TaskCompletionRollup(storedHour, 2L, stored.toBytes());
+        when(rollupRepository.findByHourStartGreaterThanEqualOrderByHourStartAsc(any())).thenReturn(List.of(rollup));
+        when(rollupRepository.findTopByOrderByHourStartDesc()).thenReturn(Optional.of(rollup));
+        completions.add(completion(currentHour.minusHours(1).plusMinutes(10), Duration.ofHours(2)));
+        completions.add(completion(currentHour.plusSeconds(1), Duration.ofMinutes(30)));
+
+
+        taskAnalyticsService.load();
+        TaskCompletionAnalyticsResponse response = taskAnalyticsService.getCompletionAnalytics(
+                storedHour, currentHour.plusHours(1), CompletionGranularity.HOUR);
+
+
+        assertTrue(taskAnalyticsService.isLoaded());
+        assertEquals(4, response.getCompleted());
+        assertEquals(List.of(2L, 0L, 1L, 1L),
+                response.getBuckets().stream().map(bucket -> bucket.getCompleted()).toList());
+
+        // Only the closed hour with completions is written; the stored hour is never recomputed.
+        ArgumentCaptor<TaskCompletionRollup> saved = ArgumentCaptor.forClass(TaskCompletionRollup.class);
+        verify(rollupRepository).save(saved.capture());
+        assertEquals(currentHour.minusHours(1), saved.getValue().getHourStart());
+        assertEquals(1L, saved.getValue().getCompletedCount());
+        verify(taskRepository, never()).findCompletionsBetween(eq(storedHour), any());
+    }
+
+    @Test
+    void onTaskChanged_ShouldCountOnlyCompletions() {
+
+        when(rollupRepository.findTopByOrderByHourStartDesc()).thenReturn(Optional.empty());
+        taskAnalyticsService.load();
+        LocalDateTime now = LocalDateTime.now();
+
+
+        taskAnalyticsService.onTaskChanged(event(TaskChangeType.COMPLETED, now.minusMinutes(90), now));
+        taskAnalyticsService.onTaskChanged(event(TaskChangeType.COMPLETED, now.minusDays(2), now));
+        taskAnalyticsService.onTaskChanged(event(TaskChangeType.UPDATED, now.minusDays(2), null));
+
+
+        TaskCompletionAnalyticsResponse response = taskAnalyticsService.getCompletionAnalytics(
+                null, now.plusMinutes(1), CompletionGranularity.DAY);
+        assertEquals(2, response.getCompleted());
+        assertEquals(5_400, response.getP50Seconds(), 5_400 * 0.0625);
+        assertEquals(172_800, response.getP99Seconds(), 172_800 * 0.0625);
+        assertEquals(2, response.getBuckets().stream().mapToLong(bucket -> bucket.getCompleted()).sum());
+    }
+
+    @Test
+    void load_ShouldCountEachCompletionOnce_WhenEventsRaceTheRead() {
+
+        when(rollupRepository.findTopByOrderByHourStartDesc()).thenReturn(Optional.empty());
+        LocalDateTime now = LocalDateTime.now();
+        TaskCompletionView first = completion(1L, now.minusSeconds(3), Duration.ofMinutes(5));
+        TaskCompletionView third = completion(3L, now.minusSeconds(1), Duration.ofMinutes(5));
+        when(taskRepository.findCompletionsBetween(eq(currentHour), any())).thenAnswer(invocation -> {
+            // Task 1 committed before the read and task 2 after it; both events arrive while it runs.
+            taskAnalyticsService.onTaskChanged(completed(first));
+            taskAnalyticsService.onTaskChanged(completed(completion(2L, now.minusSeconds(2), Duration.ofMinutes(5))));
+            return List.of(first, third);
+        });
+
+
+        taskAnalyticsService.load();
+        long afterLoad = taskAnalyticsService.getCompletionAnalytics(
+                null, now.plusMinutes(1), CompletionGranularity.HOUR).getCompleted();
+        // Task 3 committed before the read too, but its event only arrives now.
+        taskAnalyticsService.onTaskChanged(completed(third));
+
+
+        assertEquals(3, afterLoad);
+        assertEquals(3, taskAnalyticsService.getCompletionAnalytics(
+                null, now.plusMinutes(1), CompletionGranularity.HOUR).getCompleted());
+    }
+
+    @Test
+    void rollUp_ShouldNotRewriteHoursAlreadyRolledUp() {
+
+        when(rollupRepository.findTopByOrderByHourStartDesc()).thenReturn(Optional.empty());
+        when(taskRepository.findFirstCompletedAt()).thenReturn(currentHour.minusHours(2).plusMinutes(5));
+        completions.add(completion(currentHour.minusHours(2).plusMinutes(5), Duration.ofMinutes(5)));
+        taskAnalyticsService.load();
+
+
+        taskAnalyticsService.rollUp();
+
+
+        verify(rollupRepository, times(1)).save(any());
+    }
+
+    @Test
+    void getCompletionAnalytics_ShouldRejectQueriesBeforeLoadOrOutsideRetention() {
+
+        assertThrows(IllegalStateException.class, () -> taskAnalyticsService.getCompletionAnalytics(
+                null, null, CompletionGranularity.HOUR));
+
+        when(rollupRepository.findTopByOrderByHourStartDesc()).thenReturn(Optional.empty());
+        taskAnalyticsService.load();
+
+        assertThrows(IllegalArgumentException.class, () -> taskAnalyticsService.getCompletionAnalytics(
+                currentHour.minusDays(365), currentHour, CompletionGranularity.DAY));
+        assertThrows(IllegalArgumentException.class, () -> taskAnalyticsService.getCompletionAnalytics(
+                currentHour, currentHour.minusHours(1), CompletionGranularity.HOUR));
+    }
+
+    private static TaskCompletionView completion(LocalDateTime completedAt, Duration open) {
+        return completion(1L, completedAt, open);
+    }
+
+    private static TaskCompletionView completion(Long id, LocalDateTime completedAt, Duration open) {
+        return new TaskCompletionView(id, completedAt.minus(open), completedAt);
+    }
+
+    private static TaskChangedEvent event(TaskChangeType changeType, LocalDateTime createdAt,
+                                          LocalDateTime completedAt) {
+        return event(1L, changeType, createdAt, completedAt);
+    }
+
+    private static TaskChangedEvent event(Long id, TaskChangeType changeType, LocalDateTime createdAt,
+                                          LocalDateTime completedAt) {
+        return new TaskChangedEvent(id, changeType, "Task", completedAt != null, createdAt, null, completedAt, null, 0,
+                null);
+    }
+
+    private static TaskChangedEvent completed(TaskCompletionView completion) {
+        return event(completion.id(), TaskChangeType.COMPLETED, completion.createdAt(), completion.completedAt());
+    }
+}
@@ -0,0 +1,198 @@
+package edu.icet.ecom.service;
+
+import edu.icet.ecom.config.TaskChangeProperties;
+import edu.icet.ecom.dto.TaskChangesResponse;
+import edu.icet.ecom.entity.Task;
+import edu.icet.ecom.entity.TaskChange;
+import edu.icet.ecom.entity.TaskChangeType;
+import edu.icet.ecom.event.TaskChangedEvent;
+import edu.icet.ecom.repository.TaskChangeRepository;
+import edu.icet.ecom.service.impl.TaskChangeServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaskChangeServiceTest {
+
+    @Mock
+    private TaskChangeRepository taskChangeRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private TaskChangeProperties properties;
+
+    private TaskChangeService taskChangeService;
+
+    @BeforeEach
+    void setUp() {
+        properties = new TaskChangeProperties();
+        properties.setDefaultLimit(2);
+        properties.setMaxLimit(10);
+        properties.setCompactionBatchSize(3);
+        taskChangeService = new TaskChangeServiceImpl(taskChangeRepository, properties, eventPublisher);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void recordChange_ShouldInsertSnapshotOfTaskUnderLockOnCommitAndPublishEvent() {
+
+        LocalDateTime dueAt = LocalDateTime.now().plusDays(1);
+        Task task = Task.builder()
+                .id(7L)
+                .title("Task")
+                .description("Description")
+                .completed(true)
+                .dueAt(dueAt)
+                .build();
+
+
+        when(taskChangeRepository.lockSequence()).thenReturn(1);
+        when(taskChangeRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<TaskChange> inserted = invocation.getArgument(0);
+            inserted.forEach(change -> change.setSeq(42L));
+            return inserted;
+        });
+
+
+        TransactionSynchronizationManager.initSynchronization();
+        taskChangeService.recordChange(task, TaskChangeType.COMPLETED);
+        verifyNoInteractions(taskChangeRepository);
+        TransactionSynchronizationUtils.triggerBeforeCommit(false);
+        long deliveredBeforeListeners = taskChangeService.deliveredBefore();
+        TransactionSynchronizationUtils.invokeAfterCompletion(
+                TransactionSynchronizationManager.getSynchronizations(), TransactionSynchronization.STATUS_COMMITTED);
+
+
+        ArgumentCaptor<List<TaskChange>> captor = ArgumentCaptor.forClass(List.class);
+        InOrder inOrder = inOrder(taskChangeRepository);
+        inOrder.verify(taskChangeRepository).flush();
+        inOrder.verify(taskChangeRepository).lockSequence();
+        inOrder.verify(taskChangeRepository).saveAll(captor.capture());
+        assertEquals(1, captor.getValue().size());
+        TaskChange change = captor.getValue().get(0);
+        assertEquals(7L, change.getTaskId());
+        assertEquals(TaskChangeType.COMPLETED, change.getChangeType());
+        assertEquals("Task", change.getTitle());
+        assertEquals("Description", change.getDescription());
+        assertTrue(change.getCompleted());
+        assertEquals(dueAt, change.getDueAt());
+        assertNotNull(change.getChangedAt());
+
+        ArgumentCaptor<TaskChangedEvent> eventCaptor = ArgumentCaptor.forClass(TaskChangedEvent.class);
+        verify(eventPublisher).publishEvent(eventCaptor.capture());
+        assertEquals(7L, eventCaptor.getValue().getTaskId());
+        assertEquals(TaskChangeType.COMPLETED, eventCaptor.getValue().getChangeType());
+        assertEquals(dueAt, eventCaptor.getValue().getDueAt());
+        assertEquals(42L, eventCaptor.getValue().getSeq());
+        assertEquals(42L, deliveredBeforeListeners);
+        assertEquals(Long.MAX_VALUE, taskChangeService.deliveredBefore());
+        assertFalse(TransactionSynchronizationManager.hasResource(taskChangeService));
+    }
+
+    @Test
+    void getChangesSince_ShouldReturnPageAndCursor_WhenMoreChangesExist() {
+
+        List<TaskChange> changes = List.of(change(11L), change(12L), change(13L));
+        when(taskChangeRepository.findBySeqGreaterThanOrderBySeqAsc(10L, PageRequest.of(0, 3))).thenReturn(changes);
+
+
+        TaskChangesResponse response = taskChangeService.getChangesSince(10L, null);
+
+
+        assertEquals(2, response.getChanges().size());
+        assertEquals(11L, response.getChanges().get(0).getSeq());
+        assertEquals(12L, response.getNextSince());
+        assertTrue(response.getHasMore());
+    }
+
+    @Test
+    void getChangesSince_ShouldKeepCursor_WhenNoChanges() {
+
+        when(taskChangeRepository.findBySeqGreaterThanOrderBySeqAsc(eq(42L), any(Pageable.class)))
+                .thenReturn(Collections.emptyList());
+
+
+        TaskChangesResponse response = taskChangeService.getChangesSince(42L, 5);
+
+
+        assertTrue(response.getChanges().isEmpty());
+        assertEquals(42L, response.getNextSince());
+        assertFalse(response.getHasMore());
+    }
+
+    @Test
+    void getChangesSince_ShouldThrowIllegalArgumentException_WhenLimitTooLarge() {
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+            () -> taskChangeService.getChangesSince(0L, 11));
+
+        assertEquals("Limit must be between 1 and 10", exception.getMessage());
+        verifyNoInteractions(taskChangeRepository);
+    }
+
+    @Test
+    void compactChanges_ShouldDeleteSupersededEntries() {
+
+        List<Long> superseded = List.of(1L, 2L);
+        when(taskChangeRepository.findSupersededSeqsBefore(any(LocalDateTime.class), eq(PageRequest.of(0, 3))))
+                .thenReturn(superseded);
+
+
+        int removed = taskChangeService.compactChanges();
+
+
+        assertEquals(2, removed);
+        verify(taskChangeRepository).deleteAllByIdInBatch(superseded);
+    }
+
+    @Test
+    void compactChanges_ShouldNotDelete_WhenNothingSuperseded() {
+
+        when(taskChangeRepository.findSupersededSeqsBefore(any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(Collections.emptyList());
+
+
+        assertEquals(0, taskChangeService.compactChanges());
+        verify(taskChangeRepository, never()).deleteAllByIdInBatch(any());
+    }
+
+    private TaskChange change(Long seq) {
+        return TaskChange.builder()
+                .seq(seq)
+                .taskId(1L)
+                .changeType(TaskChangeType.UPDATED)
+                .title("Task " + seq)
+                .completed(false)
+                .build();
+    }
+}
@@ -0,0 +1,155 @@
+package edu.icet.ecom.service;
+
+import edu.icet.ecom.config.TaskDashboardProperties;
+import edu.icet.ecom.dto.RecentTasksResult;
+import edu.icet.ecom.dto.TaskDashboardResponse;
+import edu.icet.ecom.dto.TaskResponse;
+import edu.icet.ecom.dto.TaskStatsResponse;
+import edu.icet.ecom.repository.TaskRepository;
+import edu.icet.ecom.repository.projection.TaskSummaryView;
+import edu.icet.ecom.service.impl.TaskDashboardServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaskDashboardServiceTest {
+
+    @Mock
+    private RecentTasksService recentTasksService;
+
+    @Mock
+    private TaskStatsService taskStatsService;
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private TaskDashboardProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        properties = new TaskDashboardProperties();
+        properties.setDeadline(Duration.ofMillis(200));
+        when(taskStatsService.getStats())
+                .thenReturn(TaskStatsResponse.builder().open(2L).completed(1L).total(3L).build());
+    }
+
+    @Test
+    void getDashboard_ShouldRunPartsConcurrently() {
+
+        // Every part waits until all three are running at once, so this only completes if they overlap.
+        CountDownLatch running = new CountDownLatch(3);
+        when(recentTasksService.getRecentUncompletedTasks()).thenAnswer(invocation -> {
+            awaitOthers(running);
+            return new RecentTasksResult(List.of(task(1L)), LocalDateTime.now(), false);
+        });
+        when(taskRepository.findOverdueSummaries(any(LocalDateTime.class), anyInt(), any())).thenAnswer(invocation -> {
+            awaitOthers(running);
+            return List.of(summary(2L));
+        });
+        when(taskRepository.findOldestUncompletedSummaries(anyInt(), any())).thenAnswer(invocation -> {
+            awaitOthers(running);
+            return List.of(summary(3L), summary(4L));
+        });
+        properties.setDeadline(Duration.ofSeconds(5));
+
+
+        TaskDashboardResponse response = service().getDashboard();
+
+
+        assertFalse(response.getPartial());
+        assertTrue(response.getTimedOut().isEmpty());
+        assertEquals(1L, response.getRecent().get(0).getId());
+        assertFalse(response.getRecentStale());
+        assertEquals(2L, response.getOverdue().get(0).getId());
+        assertEquals(2, response.getOldestOpen().size());
+        assertEquals(3L, response.getStats().getTotal());
+    }
+
+    @Test
+    void getDashboard_ShouldReturnPartialResult_WhenPartMissesDeadline() throws Exception {
+
+        CountDownLatch interrupted = new CountDownLatch(1);
+        when(recentTasksService.getRecentUncompletedTasks()).thenAnswer(invocation -> blockUntilInterrupted(interrupted));
+        when(taskRepository.findOverdueSummaries(any(LocalDateTime.class), anyInt(), any()))
+                .thenReturn(List.of(summary(2L)));
+        when(taskRepository.findOldestUncompletedSummaries(anyInt(), any())).thenReturn(List.of(summary(3L)));
+
+
+        TaskDashboardResponse response = service().getDashboard();
+
+
+        assertTrue(response.getPartial());
+        assertEquals(List.of("recent"), response.getTimedOut());
+        assertNull(response.getRecent());
+        assertEquals(1, response.getOverdue().size());
+        assertEquals(1, response.getOldestOpen().size());
+        assertNotNull(response.getStats());
+        assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void getDashboard_ShouldCancelOtherParts_WhenPartFails() throws Exception {
+
+        CountDownLatch interrupted = new CountDownLatch(1);
+        when(recentTasksService.getRecentUncompletedTasks()).thenAnswer(invocation -> blockUntilInterrupted(interrupted));
+        when(taskRepository.findOverdueSummaries(any(LocalDateTime.class), anyInt(), any()))
+                .thenThrow(new DataAccessResourceFailureException("down"));
+        lenient().when(taskRepository.findOldestUncompletedSummaries(anyInt(), any())).thenReturn(List.of());
+        properties.setDeadline(Duration.ofSeconds(30));
+
+
+        long startedAt = System.nanoTime();
+        assertThrows(DataAccessException.class, () -> service().getDashboard());
+
+
+        assertTrue(System.nanoTime() - startedAt < Duration.ofSeconds(10).toNanos());
+        assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+    }
+
+    private TaskDashboardService service() {
+        return new TaskDashboardServiceImpl(recentTasksService, taskStatsService, taskRepository, transactionManager,
+                properties);
+    }
+
+    private static void awaitOthers(CountDownLatch running) throws InterruptedException {
+        running.countDown();
+        assertTrue(running.await(5, TimeUnit.SECONDS), "parts did not run concurrently");
+    }
+
+    private static RecentTasksResult blockUntilInterrupted(CountDownLatch interrupted) {
+        try {
+            Thread.sleep(Duration.ofMinutes(1));
+        } catch (InterruptedException ex) {
+            interrupted.countDown();
+        }
+        return null;
+    }
+
+    private static TaskResponse task(Long id) {
+        return TaskResponse.builder().id(id).title("Task " + id).completed(false).build();
+    }
+
+    private static TaskSummaryView summary(Long id) {
+        return new TaskSummaryView(id, "Task " + id, "Description", LocalDateTime.now(), false, null);
+    }
+}
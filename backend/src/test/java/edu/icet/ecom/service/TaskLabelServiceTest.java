@@ -0,0 +1,113 @@
+package edu.icet.ecom.service;
+
+import edu.icet.ecom.config.TaskQueryProperties;
+import edu.icet.ecom.dto.TaskBatchResponse;
+import edu.icet.ecom.entity.TaskChangeType;
+import edu.icet.ecom.event.TaskChangedEvent;
+import edu.icet.ecom.event.TaskLabelsChangedEvent;
+import edu.icet.ecom.repository.TaskLabelRepository;
+import edu.icet.ecom.repository.TaskRepository;
+import edu.icet.ecom.repository.projection.TaskColumnView;
+import edu.icet.ecom.service.impl.TaskLabelServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaskLabelServiceTest {
+
+    @Mock
+    private TaskLabelRepository labelRepository;
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private TaskService taskService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private TaskChangeService taskChangeService;
+
+    private TaskLabelServiceImpl taskLabelService;
+
+    @BeforeEach
+    void setUp() {
+        taskLabelService = new TaskLabelServiceImpl(labelRepository, taskRepository, taskService,
+                new TaskQueryProperties(), eventPublisher, taskChangeService);
+        lenient().when(taskChangeService.deliveredBefore()).thenReturn(1L);
+        lenient().when(taskService.getTasks(anyList())).thenReturn(TaskBatchResponse.builder().tasks(List.of()).build());
+    }
+
+    @Test
+    void onLabelsChanged_ShouldKeepCommittedLabels_WhenListenersRunOutOfOrder() {
+
+        when(taskRepository.findColumnViewsAfter(anyLong(), any()))
+                .thenReturn(List.of(new TaskColumnView(1L, "Task", LocalDateTime.now(), false, null)));
+        taskLabelService.load();
+        // The second write removed "work" and added "home"; both have committed.
+        when(labelRepository.findLabelsByTaskId(1L)).thenReturn(List.of("home"));
+
+
+        taskLabelService.onLabelsChanged(new TaskLabelsChangedEvent(1L));
+        taskLabelService.onLabelsChanged(new TaskLabelsChangedEvent(1L));
+
+
+        assertEquals(0, taskLabelService.findByLabels(List.of("work"), true, null, 20).getMatched());
+        assertEquals(1, taskLabelService.findByLabels(List.of("home"), true, null, 20).getMatched());
+    }
+
+    @Test
+    void onLabelsChanged_ShouldSkipOlderRead_WhenLaterReadFinishesFirst() {
+
+        when(taskRepository.findColumnViewsAfter(anyLong(), any()))
+                .thenReturn(List.of(new TaskColumnView(1L, "Task", LocalDateTime.now(), false, null)));
+        taskLabelService.load();
+        when(labelRepository.findLabelsByTaskId(1L))
+                .thenAnswer(invocation -> {
+                    // The second change commits and its listener reads and applies while the first one still reads.
+                    taskLabelService.onLabelsChanged(new TaskLabelsChangedEvent(1L));
+                    return List.of("work");
+                })
+                .thenReturn(List.of("home"));
+
+
+        taskLabelService.onLabelsChanged(new TaskLabelsChangedEvent(1L));
+
+
+        assertEquals(0, taskLabelService.findByLabels(List.of("work"), true, null, 20).getMatched());
+        assertEquals(1, taskLabelService.findByLabels(List.of("home"), true, null, 20).getMatched());
+    }
+
+    @Test
+    void onTaskChanged_ShouldApplyEarlierLabels_WhenTaskArrivesAfterThem() {
+
+        taskLabelService.load();
+        when(labelRepository.findLabelsByTaskId(1L)).thenReturn(List.of("work"));
+
+
+        taskLabelService.onLabelsChanged(new TaskLabelsChangedEvent(1L));
+        taskLabelService.onTaskChanged(event(TaskChangeType.CREATED, 4L));
+
+
+        assertEquals(1, taskLabelService.findByLabels(List.of("work"), true, null, 20).getMatched());
+    }
+
+    private TaskChangedEvent event(TaskChangeType changeType, Long seq) {
+        return new TaskChangedEvent(1L, changeType, "Task", false, LocalDateTime.now(), null, null, null, 0, seq);
+    }
+}
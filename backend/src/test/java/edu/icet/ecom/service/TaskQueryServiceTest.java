@@ -0,0 +1,84 @@
+package edu.icet.ecom.service;
+
+import edu.icet.ecom.config.TaskQueryProperties;
+import edu.icet.ecom.dto.TaskQueryResponse;
+import edu.icet.ecom.entity.TaskChangeType;
+import edu.icet.ecom.event.TaskChangedEvent;
+import edu.icet.ecom.query.TaskQuery;
+import edu.icet.ecom.repository.TaskRepository;
+import edu.icet.ecom.repository.projection.TaskColumnView;
+import edu.icet.ecom.service.impl.TaskQueryServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaskQueryServiceTest {
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private TaskChangeService taskChangeService;
+
+    private TaskQueryServiceImpl taskQueryService;
+    private final LocalDateTime createdAt = LocalDateTime.now().minusDays(1);
+
+    @BeforeEach
+    void setUp() {
+        taskQueryService = new TaskQueryServiceImpl(taskRepository, new TaskQueryProperties(), taskChangeService);
+        // Listeners of both transactions may still be running.
+        lenient().when(taskChangeService.deliveredBefore()).thenReturn(1L);
+    }
+
+    @Test
+    void onTaskChanged_ShouldSkipChange_WhenNewerChangeToTaskArrivedFirst() {
+
+        when(taskRepository.findColumnViewsAfter(anyLong(), any())).thenReturn(List.of());
+        taskQueryService.load();
+
+
+        taskQueryService.onTaskChanged(event(1L, TaskChangeType.UPDATED, "Renamed", 5L));
+        taskQueryService.onTaskChanged(event(1L, TaskChangeType.CREATED, "Created", 4L));
+        taskQueryService.onTaskChanged(event(2L, TaskChangeType.DELETED, "Deleted", 7L));
+        taskQueryService.onTaskChanged(event(2L, TaskChangeType.CREATED, "Deleted", 6L));
+
+
+        TaskQueryResponse response = taskQueryService.query(TaskQuery.builder().build());
+        assertEquals(1, response.getMatched());
+        assertEquals("Renamed", response.getTasks().get(0).getTitle());
+    }
+
+    @Test
+    void load_ShouldNotReplayOlderChangeOverNewer_WhenBothArriveDuringRead() {
+
+        when(taskRepository.findColumnViewsAfter(anyLong(), any())).thenAnswer(invocation -> {
+            // Both changes commit while the table is read, the newer one's listener running first.
+            taskQueryService.onTaskChanged(event(1L, TaskChangeType.UPDATED, "Renamed", 5L));
+            taskQueryService.onTaskChanged(event(1L, TaskChangeType.UPDATED, "Renamed earlier", 4L));
+            return List.of(new TaskColumnView(1L, "Created", createdAt, false, null));
+        });
+
+
+        taskQueryService.load();
+
+
+        TaskQueryResponse response = taskQueryService.query(TaskQuery.builder().build());
+        assertEquals(1, response.getMatched());
+        assertEquals("Renamed", response.getTasks().get(0).getTitle());
+    }
+
+    private TaskChangedEvent event(Long id, TaskChangeType changeType, String title, Long seq) {
+        return new TaskChangedEvent(id, changeType, title, false, createdAt, null, null, null, 0, seq);
+    }
+}
@@ -0,0 +1,99 @@
+package edu.icet.ecom.service;
+
+import edu.icet.ecom.config.TaskCacheProperties;
+import edu.icet.ecom.dto.TaskResponse;
+import edu.icet.ecom.service.impl.TaskResponseCache;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskResponseCacheTest {
+
+    @Test
+    void put_ShouldNotRestoreStaleCopy_WhenCacheOverflowsDuringRead() {
+
+        TaskCacheProperties properties = new TaskCacheProperties();
+        properties.setMaxEntries(10);
+        TaskResponseCache cache = new TaskResponseCache(properties);
+
+
+        // A read of task 1 starts, then a change to task 1 commits.
+        long staleRead = cache.ticket();
+        cache.invalidate(1L);
+        // Other reads push the cache over its limit while the first read still runs.
+        for (long id = 2; id <= 11; id++) {
+            long ticket = cache.ticket();
+            cache.put(task(id, "Task " + id), ticket);
+            cache.release(ticket);
+        }
+        cache.put(task(1L, "Before the change"), staleRead);
+        cache.release(staleRead);
+
+
+        assertNull(cache.get(1L));
+        assertEquals("After the change", cache.get(1L, () -> task(1L, "After the change")).getTitle());
+    }
+
+    @Test
+    void put_ShouldEvictAgain_WhenLongReadFinishes() {
+
+        TaskCacheProperties properties = new TaskCacheProperties();
+        properties.setMaxEntries(10);
+        TaskResponseCache cache = new TaskResponseCache(properties);
+
+
+        // A slow read stays open while the cache is filled well past its limit.
+        long slowRead = cache.ticket();
+        for (long id = 1; id <= 1000; id++) {
+            long ticket = cache.ticket();
+            cache.put(task(id, "Task " + id), ticket);
+            cache.release(ticket);
+        }
+        long heldBack = countCached(cache, 1000);
+        cache.release(slowRead);
+        long ticket = cache.ticket();
+        cache.put(task(1001L, "Task 1001"), ticket);
+        cache.release(ticket);
+
+
+        assertEquals(1000, heldBack);
+        assertTrue(countCached(cache, 1001) <= 10);
+    }
+
+    @Test
+    void get_ShouldReload_WhenEntryIsOlderThanTtl() throws Exception {
+
+        TaskCacheProperties properties = new TaskCacheProperties();
+        properties.setTtl(Duration.ofMillis(10));
+        TaskResponseCache cache = new TaskResponseCache(properties);
+        cache.get(1L, () -> task(1L, "Cached"));
+
+
+        Thread.sleep(20);
+
+
+        assertNull(cache.get(1L));
+        assertEquals("Changed elsewhere", cache.get(1L, () -> task(1L, "Changed elsewhere")).getTitle());
+        assertEquals("Changed elsewhere", cache.get(1L).getTitle());
+    }
+
+    private long countCached(TaskResponseCache cache, long maxId) {
+        long cached = 0;
+        for (long id = 1; id <= maxId; id++) {
+            if (cache.get(id) != null) {
+                cached++;
+            }
+        }
+        return cached;
+    }
+
+    private TaskResponse task(Long id, String title) {
+        return TaskResponse.builder()
+                .id(id)
+                .title(title)
+                .completed(false)
+                .build();
+    }
+}
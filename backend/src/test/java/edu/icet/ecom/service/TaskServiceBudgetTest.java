@@ -0,0 +1,193 @@
+package edu.icet.ecom.service;
+
+import edu.icet.ecom.dto.CreateTaskRequest;
+import edu.icet.ecom.dto.PatchTaskRequest;
+import edu.icet.ecom.support.CallBudget;
+import edu.icet.ecom.support.CallBudget.CallCost;
+import edu.icet.ecom.support.H2SpringBootTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * SQL statement and allocation budgets for every {@link TaskService} method, measured on H2 after a warm-up so that
+ * class loading and JIT compilation do not count. Allocation budgets sit at roughly twice the measured cost; statement
+ * budgets are exact. Every write includes one statement to lock the change log before its entries are inserted.
+ */
+@H2SpringBootTest
+@TestPropertySource(properties = {
+    "spring.jpa.properties.hibernate.session_factory.statement_inspector=edu.icet.ecom.support.CapturingStatementInspector"
+})
+class TaskServiceBudgetTest {
+
+    private static final int WARMUP_CALLS = 200;
+    private static final int BULK_DELETE_SIZE = 5;
+    private static final int BATCH_GET_SIZE = 20;
+
+    @Autowired
+    private TaskService taskService;
+
+    private Long taskId;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < 10; i++) {
+            taskId = newTask();
+        }
+    }
+
+    @Test
+    void createTask_ShouldStayWithinBudget() throws Exception {
+
+        CallCost cost = measureWarm(() -> () -> taskService.createTask(request()));
+
+
+        cost.assertStatementsAtMost(3).assertAllocatedAtMost(160 * 1024);
+    }
+
+    @Test
+    void getRecentUncompletedTasks_ShouldStayWithinBudget() throws Exception {
+
+        CallCost cost = measureWarm(() -> () -> taskService.getRecentUncompletedTasks());
+
+
+        cost.assertStatementsAtMost(1).assertSelectsBounded().assertAllocatedAtMost(128 * 1024);
+    }
+
+    @Test
+    void getTask_ShouldStayWithinBudget() throws Exception {
+
+        CallCost cost = measureWarm(() -> {
+            Long id = newTask();
+            return () -> taskService.getTask(id);
+        });
+
+
+        cost.assertStatementsAtMost(1).assertSelectsBounded().assertAllocatedAtMost(64 * 1024);
+    }
+
+    @Test
+    void getTask_ShouldNotQuery_WhenCached() throws Exception {
+
+        CallCost cost = measureWarm(() -> () -> taskService.getTask(taskId));
+
+
+        cost.assertStatementsAtMost(0).assertAllocatedAtMost(16 * 1024);
+    }
+
+    @Test
+    void getTasks_ShouldReadAllTasksInOneQuery() throws Exception {
+
+        CallCost cost = measureWarm(() -> {
+            List<Long> ids = Stream.generate(this::newTask).limit(BATCH_GET_SIZE).toList();
+            return () -> taskService.getTasks(ids);
+        });
+
+
+        cost.assertStatementsAtMost(1)
+                .assertSelectsBounded()
+                .assertAllocatedAtMost(BATCH_GET_SIZE * 64 * 1024);
+    }
+
+    @Test
+    void completeTask_ShouldStayWithinBudget() throws Exception {
+
+        CallCost cost = measureWarm(() -> {
+            Long id = newTask();
+            return () -> taskService.completeTask(id);
+        });
+
+
+        cost.assertStatementsAtMost(4).assertSelectsBounded().assertAllocatedAtMost(192 * 1024);
+    }
+
+    @Test
+    void updateTask_ShouldStayWithinBudget() throws Exception {
+
+        CallCost cost = measureWarm(() -> () -> taskService.updateTask(taskId, request()));
+
+
+        cost.assertStatementsAtMost(4).assertSelectsBounded().assertAllocatedAtMost(192 * 1024);
+    }
+
+    @Test
+    void patchTask_ShouldStayWithinBudget() throws Exception {
+
+        CallCost cost = measureWarm(() -> {
+            PatchTaskRequest request = PatchTaskRequest.builder().title("Patched " + System.nanoTime()).build();
+            return () -> taskService.patchTask(taskId, request);
+        });
+
+
+        cost.assertStatementsAtMost(4).assertSelectsBounded().assertAllocatedAtMost(192 * 1024);
+    }
+
+    @Test
+    void patchTask_ShouldOnlyRead_WhenNothingChanges() throws Exception {
+
+        PatchTaskRequest request = PatchTaskRequest.builder().title("Unchanged").build();
+        taskService.patchTask(taskId, request);
+
+
+        CallCost cost = measureWarm(() -> () -> taskService.patchTask(taskId, request));
+
+
+        cost.assertStatementsAtMost(1).assertSelectsBounded().assertAllocatedAtMost(64 * 1024);
+    }
+
+    @Test
+    void deleteTask_ShouldStayWithinBudget() throws Exception {
+
+        CallCost cost = measureWarm(() -> {
+            Long id = newTask();
+            return () -> {
+                taskService.deleteTask(id);
+                return null;
+            };
+        });
+
+
+        cost.assertStatementsAtMost(4).assertSelectsBounded().assertAllocatedAtMost(192 * 1024);
+    }
+
+    @Test
+    void deleteTasks_ShouldReadAllTasksInOneQuery() throws Exception {
+
+        CallCost cost = measureWarm(() -> {
+            List<Long> ids = Stream.generate(this::newTask).limit(BULK_DELETE_SIZE).toList();
+            return () -> taskService.deleteTasks(ids);
+        });
+
+
+        // One read for the whole batch and one change log lock, then an update and a change entry per task.
+        cost.assertStatementsAtMost(2 + 2 * BULK_DELETE_SIZE)
+                .assertSelectsBounded()
+                .assertAllocatedAtMost(BULK_DELETE_SIZE * 128 * 1024);
+    }
+
+    /**
+     * Runs the call enough times to warm it up, then measures one more run. The supplier prepares each run outside
+     * the measurement.
+     */
+    private CallCost measureWarm(Supplier<Callable<?>> prepare) throws Exception {
+        for (int i = 0; i < WARMUP_CALLS; i++) {
+            prepare.get().call();
+        }
+        return CallBudget.measure(prepare.get());
+    }
+
+    private Long newTask() {
+        return taskService.createTask(request()).getId();
+    }
+
+    private static CreateTaskRequest request() {
+        return new CreateTaskRequest("Budget task", "Description", LocalDateTime.now().plusDays(1));
+    }
+}
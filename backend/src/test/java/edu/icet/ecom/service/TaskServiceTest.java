@@ -1,11 +1,18 @@
 package edu.icet.ecom.service;
 
+import edu.icet.ecom.config.TaskCacheProperties;
+import edu.icet.ecom.dto.BulkDeleteResponse;
 import edu.icet.ecom.dto.CreateTaskRequest;
+import edu.icet.ecom.dto.PatchTaskRequest;
+import edu.icet.ecom.dto.TaskBatchResponse;
 import edu.icet.ecom.dto.TaskResponse;
 import edu.icet.ecom.entity.Task;
+import edu.icet.ecom.entity.TaskChangeType;
 import edu.icet.ecom.exception.TaskCreationException;
 import edu.icet.ecom.exception.TaskNotFoundException;
 import edu.icet.ecom.repository.TaskRepository;
+import edu.icet.ecom.repository.projection.TaskSummaryView;
+import edu.icet.ecom.service.impl.TaskResponseCache;
 import edu.icet.ecom.service.impl.TaskServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -14,14 +21,20 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.modelmapper.ModelMapper;
 import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
@@ -34,11 +47,17 @@ class TaskServiceTest {
     @Mock
     private ModelMapper modelMapper;
 
+    @Mock
+    private TaskChangeService taskChangeService;
+
     private TaskService taskService;
 
+    private TaskResponseCache taskCache;
+
     @BeforeEach
     void setUp() {
-        taskService = new TaskServiceImpl(taskRepository, modelMapper);
+        taskCache = new TaskResponseCache(new TaskCacheProperties());
+        taskService = new TaskServiceImpl(taskRepository, modelMapper, taskChangeService, taskCache);
     }
 
     @Test
@@ -79,6 +98,7 @@ class TaskServiceTest {
 
         verify(modelMapper).map(request, Task.class);
         verify(taskRepository).save(task);
+        verify(taskChangeService).recordChange(savedTask, TaskChangeType.CREATED);
         verify(modelMapper).map(savedTask, TaskResponse.class);
     }
 
@@ -128,53 +148,218 @@ class TaskServiceTest {
     @Test
     void getRecentUncompletedTasks_ShouldReturnTop5Tasks() {
 
-        Task task1 = Task.builder()
-                .id(1L)
-                .title("Task 1")
-                .description("Description 1")
-                .createdAt(LocalDateTime.now())
-                .completed(false)
-                .build();
+        TaskSummaryView task1 = new TaskSummaryView(1L, "Task 1", "Description 1", LocalDateTime.now(), false, null);
+        TaskSummaryView task2 = new TaskSummaryView(2L, "Task 2", "Description 2", LocalDateTime.now(), false, null);
 
-        Task task2 = Task.builder()
-                .id(2L)
-                .title("Task 2")
-                .description("Description 2")
-                .createdAt(LocalDateTime.now())
-                .completed(false)
-                .build();
+        when(taskRepository.findRecentUncompletedSummaries(201, PageRequest.of(0, 5)))
+                .thenReturn(Arrays.asList(task1, task2));
 
-        List<Task> tasks = Arrays.asList(task1, task2);
 
-        TaskResponse response1 = TaskResponse.builder()
-                .id(1L)
-                .title("Task 1")
-                .description("Description 1")
+        List<TaskResponse> responses = taskService.getRecentUncompletedTasks();
+
+
+        assertEquals(2, responses.size());
+        assertEquals("Task 1", responses.get(0).getTitle());
+        assertEquals("Description 1", responses.get(0).getDescription());
+        assertFalse(responses.get(0).getDescriptionTruncated());
+        assertEquals("Task 2", responses.get(1).getTitle());
+
+        verify(taskRepository).findRecentUncompletedSummaries(201, PageRequest.of(0, 5));
+        verifyNoInteractions(modelMapper);
+    }
+
+    @Test
+    void getRecentUncompletedTasks_ShouldTruncateLongDescriptions() {
+
+        String head = "x".repeat(201);
+        TaskSummaryView task = new TaskSummaryView(1L, "Task 1", head, LocalDateTime.now(), false, null);
+
+        when(taskRepository.findRecentUncompletedSummaries(201, PageRequest.of(0, 5))).thenReturn(List.of(task));
+
+
+        List<TaskResponse> responses = taskService.getRecentUncompletedTasks();
+
+
+        assertEquals(200, responses.get(0).getDescription().length());
+        assertTrue(responses.get(0).getDescriptionTruncated());
+    }
+
+    @Test
+    void getTask_ShouldReturnFullTask() {
+
+        Long taskId = 1L;
+        Task task = Task.builder()
+                .id(taskId)
+                .title("Test Task")
+                .description("x".repeat(10_000))
                 .completed(false)
                 .build();
-
-        TaskResponse response2 = TaskResponse.builder()
-                .id(2L)
-                .title("Task 2")
-                .description("Description 2")
+        TaskResponse expectedResponse = TaskResponse.builder()
+                .id(taskId)
+                .title("Test Task")
+                .description(task.getDescription())
                 .completed(false)
                 .build();
 
-        when(taskRepository.findTop5UncompletedTasksOrderByCreatedAtDesc()).thenReturn(tasks);
-        when(modelMapper.map(task1, TaskResponse.class)).thenReturn(response1);
-        when(modelMapper.map(task2, TaskResponse.class)).thenReturn(response2);
+        when(taskRepository.findById(taskId)).thenReturn(Optional.of(task));
+        when(modelMapper.map(task, TaskResponse.class)).thenReturn(expectedResponse);
 
 
-        List<TaskResponse> responses = taskService.getRecentUncompletedTasks();
+        TaskResponse response = taskService.getTask(taskId);
 
 
-        assertEquals(2, responses.size());
-        assertEquals("Task 1", responses.get(0).getTitle());
-        assertEquals("Task 2", responses.get(1).getTitle());
+        assertEquals(10_000, response.getDescription().length());
+    }
+
+    @Test
+    void getTask_ShouldThrowTaskNotFoundException_WhenTaskNotFound() {
+
+        when(taskRepository.findById(1L)).thenReturn(Optional.empty());
+
+
+        assertThrows(TaskNotFoundException.class, () -> taskService.getTask(1L));
+    }
+
+    @Test
+    void getTask_ShouldServeRepeatedReadsFromCache() {
+
+        Task task = Task.builder().id(1L).title("Test Task").completed(false).build();
+        TaskResponse expectedResponse = TaskResponse.builder().id(1L).title("Test Task").completed(false).build();
+
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
+        when(modelMapper.map(task, TaskResponse.class)).thenReturn(expectedResponse);
+
+
+        taskService.getTask(1L);
+        TaskResponse response = taskService.getTask(1L);
+
+
+        assertSame(expectedResponse, response);
+        verify(taskRepository, times(1)).findById(1L);
+    }
+
+    @Test
+    void getTask_ShouldReloadAfterInvalidation() {
+
+        Task task = Task.builder().id(1L).title("Test Task").completed(false).build();
+        TaskResponse expectedResponse = TaskResponse.builder().id(1L).title("Test Task").completed(false).build();
+
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
+        when(modelMapper.map(task, TaskResponse.class)).thenReturn(expectedResponse);
+
+
+        taskService.getTask(1L);
+        taskCache.invalidate(1L);
+        taskService.getTask(1L);
+
+
+        verify(taskRepository, times(2)).findById(1L);
+    }
+
+    @Test
+    void getTask_ShouldShareConcurrentLoad_UntilATaskChanges() throws Exception {
+
+        Task task = Task.builder().id(1L).title("Test Task").completed(false).build();
+        TaskResponse expectedResponse = TaskResponse.builder().id(1L).title("Test Task").completed(false).build();
+        CountDownLatch loadStarted = new CountDownLatch(1);
+        CountDownLatch releaseLoad = new CountDownLatch(1);
+        when(taskRepository.findById(1L))
+                .thenAnswer(invocation -> {
+                    loadStarted.countDown();
+                    assertTrue(releaseLoad.await(5, TimeUnit.SECONDS));
+                    return Optional.of(task);
+                })
+                .thenReturn(Optional.of(task));
+        when(modelMapper.map(task, TaskResponse.class)).thenReturn(expectedResponse);
+
+
+        CompletableFuture<TaskResponse> first = CompletableFuture.supplyAsync(() -> taskService.getTask(1L));
+        assertTrue(loadStarted.await(5, TimeUnit.SECONDS));
+        CompletableFuture<TaskResponse> joined = CompletableFuture.supplyAsync(() -> taskService.getTask(1L));
+        // Give the second caller time to join the running load.
+        Thread.sleep(200);
+        taskCache.invalidate(1L);
+        // Arriving after the change, this caller must not wait on the load that started before it.
+        TaskResponse afterChange = taskService.getTask(1L);
+        releaseLoad.countDown();
+
+
+        assertSame(expectedResponse, afterChange);
+        assertSame(expectedResponse, first.get(5, TimeUnit.SECONDS));
+        assertSame(expectedResponse, joined.get(5, TimeUnit.SECONDS));
+        verify(taskRepository, times(2)).findById(1L);
+    }
+
+    @Test
+    void getTasks_ShouldReturnTasksInRequestOrderWithMisses() {
+
+        Task first = Task.builder().id(1L).title("First").completed(false).build();
+        Task third = Task.builder().id(3L).title("Third").completed(false).build();
+        TaskResponse firstResponse = TaskResponse.builder().id(1L).title("First").completed(false).build();
+        TaskResponse thirdResponse = TaskResponse.builder().id(3L).title("Third").completed(false).build();
+
+        when(taskRepository.findAllById(List.of(3L, 2L, 1L))).thenReturn(List.of(first, third));
+        when(modelMapper.map(first, TaskResponse.class)).thenReturn(firstResponse);
+        when(modelMapper.map(third, TaskResponse.class)).thenReturn(thirdResponse);
+
+
+        TaskBatchResponse response = taskService.getTasks(List.of(3L, 2L, 1L, 2L));
+
+
+        assertEquals(Arrays.asList(thirdResponse, null, firstResponse, null), response.getTasks());
+        assertEquals(List.of(2L), response.getMissing());
+    }
+
+    @Test
+    void getTasks_ShouldOnlyLoadUncachedTasks() {
+
+        Task first = Task.builder().id(1L).title("First").completed(false).build();
+        Task second = Task.builder().id(2L).title("Second").completed(false).build();
+        TaskResponse firstResponse = TaskResponse.builder().id(1L).title("First").completed(false).build();
+        TaskResponse secondResponse = TaskResponse.builder().id(2L).title("Second").completed(false).build();
+
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(first));
+        when(taskRepository.findAllById(List.of(2L))).thenReturn(List.of(second));
+        when(modelMapper.map(first, TaskResponse.class)).thenReturn(firstResponse);
+        when(modelMapper.map(second, TaskResponse.class)).thenReturn(secondResponse);
+        taskService.getTask(1L);
+
+
+        TaskBatchResponse response = taskService.getTasks(List.of(1L, 2L));
+
+
+        assertEquals(List.of(firstResponse, secondResponse), response.getTasks());
+        assertTrue(response.getMissing().isEmpty());
+        verify(taskRepository).findAllById(List.of(2L));
+    }
+
+    @Test
+    void getTasks_ShouldLoadInChunks() {
+
+        List<Long> ids = LongStream.rangeClosed(1, 1000).boxed().toList();
+
+        when(taskRepository.findAllById(anyList())).thenReturn(List.of());
+
+
+        TaskBatchResponse response = taskService.getTasks(ids);
+
 
-        verify(taskRepository).findTop5UncompletedTasksOrderByCreatedAtDesc();
-        verify(modelMapper).map(task1, TaskResponse.class);
-        verify(modelMapper).map(task2, TaskResponse.class);
+        assertEquals(1000, response.getMissing().size());
+        verify(taskRepository).findAllById(ids.subList(0, 500));
+        verify(taskRepository).findAllById(ids.subList(500, 1000));
+    }
+
+    @Test
+    void getTasks_ShouldRejectTooManyIds() {
+
+        List<Long> ids = LongStream.rangeClosed(1, 1001).boxed().toList();
+
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+            () -> taskService.getTasks(ids));
+
+        assertEquals("At most 1000 tasks can be fetched at once", exception.getMessage());
+        verifyNoInteractions(taskRepository);
     }
 
     @Test
@@ -211,8 +396,11 @@ class TaskServiceTest {
 
 
         assertTrue(response.getCompleted());
+        assertTrue(task.getCompleted());
+        assertNotNull(task.getCompletedAt());
         verify(taskRepository).findById(taskId);
         verify(taskRepository).save(task);
+        verify(taskChangeService).recordChange(completedTask, TaskChangeType.COMPLETED);
         verify(modelMapper).map(completedTask, TaskResponse.class);
     }
 
@@ -280,6 +468,142 @@ class TaskServiceTest {
         assertTrue(response.getCompleted());
         verify(taskRepository).findById(taskId);
         verify(taskRepository, never()).save(any()); // Should not save since already completed
+        verifyNoInteractions(taskChangeService);
         verify(modelMapper).map(alreadyCompletedTask, TaskResponse.class);
     }
+
+    @Test
+    void patchTask_ShouldOnlyChangeProvidedFields() {
+
+        Long taskId = 1L;
+        Task task = Task.builder()
+                .id(taskId)
+                .title("Old Title")
+                .description("Long Description")
+                .completed(false)
+                .build();
+
+        TaskResponse expectedResponse = TaskResponse.builder()
+                .id(taskId)
+                .title("New Title")
+                .description("Long Description")
+                .completed(false)
+                .build();
+
+        when(taskRepository.findById(taskId)).thenReturn(Optional.of(task));
+        when(taskRepository.save(task)).thenReturn(task);
+        when(modelMapper.map(task, TaskResponse.class)).thenReturn(expectedResponse);
+
+
+        TaskResponse response = taskService.patchTask(taskId, PatchTaskRequest.builder().title(" New Title ").build());
+
+
+        assertEquals("New Title", response.getTitle());
+        assertEquals("New Title", task.getTitle());
+        assertEquals("Long Description", task.getDescription());
+        verify(taskRepository).save(task);
+        verify(taskChangeService).recordChange(task, TaskChangeType.UPDATED);
+    }
+
+    @Test
+    void patchTask_ShouldNotSave_WhenNothingChanges() {
+
+        Long taskId = 1L;
+        Task task = Task.builder()
+                .id(taskId)
+                .title("Title")
+                .description("Description")
+                .completed(false)
+                .build();
+
+        when(taskRepository.findById(taskId)).thenReturn(Optional.of(task));
+
+
+        taskService.patchTask(taskId, PatchTaskRequest.builder().title("Title").description("Description").build());
+
+
+        verify(taskRepository, never()).save(any());
+        verifyNoInteractions(taskChangeService);
+    }
+
+    @Test
+    void patchTask_ShouldThrowIllegalArgumentException_WhenTitleIsBlank() {
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+            () -> taskService.patchTask(1L, PatchTaskRequest.builder().title("  ").build()));
+
+        assertEquals("Task title cannot be empty", exception.getMessage());
+        verifyNoInteractions(taskRepository);
+    }
+
+    @Test
+    void deleteTask_ShouldTombstoneTask() {
+
+        Long taskId = 1L;
+        Task task = Task.builder()
+                .id(taskId)
+                .title("Test Task")
+                .completed(false)
+                .build();
+
+        when(taskRepository.findById(taskId)).thenReturn(Optional.of(task));
+        when(taskRepository.save(task)).thenReturn(task);
+
+
+        taskService.deleteTask(taskId);
+
+
+        assertTrue(task.getDeleted());
+        assertNotNull(task.getDeletedAt());
+        verify(taskRepository).save(task);
+        verify(taskRepository, never()).deleteById(any());
+        verify(taskChangeService).recordChange(task, TaskChangeType.DELETED);
+    }
+
+    @Test
+    void deleteTask_ShouldThrowTaskNotFoundException_WhenTaskNotFound() {
+
+        Long taskId = 1L;
+        when(taskRepository.findById(taskId)).thenReturn(Optional.empty());
+
+
+        assertThrows(TaskNotFoundException.class, () -> taskService.deleteTask(taskId));
+
+        verify(taskRepository, never()).save(any());
+        verifyNoInteractions(taskChangeService);
+    }
+
+    @Test
+    void deleteTasks_ShouldSkipMissingIds() {
+
+        Task first = Task.builder().id(1L).title("First").completed(false).build();
+        Task third = Task.builder().id(3L).title("Third").completed(true).build();
+
+        when(taskRepository.findAllById(List.of(1L, 2L, 3L))).thenReturn(List.of(first, third));
+        when(taskRepository.save(any(Task.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+
+        BulkDeleteResponse response = taskService.deleteTasks(List.of(1L, 2L, 3L, 1L));
+
+
+        assertEquals(4, response.getRequested());
+        assertEquals(2, response.getDeleted());
+        assertTrue(first.getDeleted());
+        assertTrue(third.getDeleted());
+        verify(taskChangeService).recordChange(first, TaskChangeType.DELETED);
+        verify(taskChangeService).recordChange(third, TaskChangeType.DELETED);
+    }
+
+    @Test
+    void deleteTasks_ShouldRejectTooManyIds() {
+
+        List<Long> ids = LongStream.rangeClosed(1, 1001).boxed().toList();
+
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+            () -> taskService.deleteTasks(ids));
+
+        assertEquals("At most 1000 tasks can be deleted at once", exception.getMessage());
+        verifyNoInteractions(taskRepository);
+    }
 }
@@ -0,0 +1,175 @@
+package edu.icet.ecom.service;
+
+import edu.icet.ecom.dto.TaskStatsResponse;
+import edu.icet.ecom.entity.TaskChangeType;
+import edu.icet.ecom.event.TaskChangedEvent;
+import edu.icet.ecom.repository.TaskRepository;
+import edu.icet.ecom.repository.projection.TaskCountView;
+import edu.icet.ecom.service.impl.TaskStatsServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaskStatsServiceTest {
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    private TaskStatsServiceImpl taskStatsService;
+
+    @BeforeEach
+    void setUp() {
+        taskStatsService = new TaskStatsServiceImpl(taskRepository);
+    }
+
+    @Test
+    void reconcile_ShouldLoadCountsFromDatabase() {
+
+        when(taskRepository.countByCompleted())
+                .thenReturn(List.of(new TaskCountView(false, 7L), new TaskCountView(true, 3L)));
+
+
+        taskStatsService.reconcile();
+        TaskStatsResponse stats = taskStatsService.getStats();
+
+
+        assertEquals(7L, stats.getOpen());
+        assertEquals(3L, stats.getCompleted());
+        assertEquals(10L, stats.getTotal());
+        assertNotNull(stats.getReconciledAt());
+    }
+
+    @Test
+    void getStats_ShouldNotQueryDatabase() {
+
+        taskStatsService.onTaskChanged(event(1L, TaskChangeType.CREATED, false));
+
+
+        assertEquals(1L, taskStatsService.getStats().getOpen());
+        verifyNoInteractions(taskRepository);
+    }
+
+    @Test
+    void onTaskChanged_ShouldDecrementMatchingCounter_WhenTaskDeleted() {
+
+        taskStatsService.onTaskChanged(event(1L, TaskChangeType.CREATED, false));
+        taskStatsService.onTaskChanged(event(2L, TaskChangeType.CREATED, false));
+        taskStatsService.onTaskChanged(event(2L, TaskChangeType.COMPLETED, true));
+
+
+        taskStatsService.onTaskChanged(event(1L, TaskChangeType.DELETED, false));
+        taskStatsService.onTaskChanged(event(2L, TaskChangeType.DELETED, true));
+
+
+        TaskStatsResponse stats = taskStatsService.getStats();
+        assertEquals(0L, stats.getOpen());
+        assertEquals(0L, stats.getCompleted());
+    }
+
+    @Test
+    void counters_ShouldStayAccurate_UnderConcurrentWrites() throws Exception {
+
+        int threads = 8;
+        int tasksPerThread = 5_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int t = 0; t < threads; t++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < tasksPerThread; i++) {
+                    taskStatsService.onTaskChanged(event((long) i, TaskChangeType.CREATED, false));
+                    taskStatsService.onTaskChanged(event((long) i, TaskChangeType.UPDATED, false));
+                    if (i % 2 == 0) {
+                        taskStatsService.onTaskChanged(event((long) i, TaskChangeType.COMPLETED, true));
+                    }
+                }
+                return null;
+            }));
+        }
+
+
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+
+        TaskStatsResponse stats = taskStatsService.getStats();
+        assertEquals(threads * tasksPerThread / 2, stats.getOpen());
+        assertEquals(threads * tasksPerThread / 2, stats.getCompleted());
+        assertEquals(threads * tasksPerThread, stats.getTotal());
+    }
+
+    @Test
+    void reconcile_ShouldRepeatQuery_WhenWriteCommitsDuringIt() {
+
+        taskStatsService.onTaskChanged(event(1L, TaskChangeType.CREATED, false));
+        when(taskRepository.countByCompleted())
+                .thenAnswer(invocation -> {
+                    // Committed while the count ran; whether the count saw it is unknown.
+                    taskStatsService.onTaskChanged(event(2L, TaskChangeType.CREATED, false));
+                    return List.of(new TaskCountView(false, 5L));
+                })
+                .thenReturn(List.of(new TaskCountView(false, 6L)));
+
+
+        taskStatsService.reconcile();
+
+
+        verify(taskRepository, times(2)).countByCompleted();
+        assertEquals(6L, taskStatsService.getStats().getOpen());
+        assertEquals(0L, taskStatsService.getStats().getCompleted());
+    }
+
+    @Test
+    void reconcile_ShouldKeepWritesCommittedAfterQuery() {
+
+        when(taskRepository.countByCompleted()).thenReturn(List.of(new TaskCountView(false, 5L)));
+        taskStatsService.onTaskChanged(event(1L, TaskChangeType.CREATED, false));
+        taskStatsService.reconcile();
+
+
+        taskStatsService.onTaskChanged(event(2L, TaskChangeType.CREATED, false));
+
+
+        assertEquals(6L, taskStatsService.getStats().getOpen());
+    }
+
+    @Test
+    void reconcile_ShouldStopRepeating_WhenWritesNeverPause() {
+
+        when(taskRepository.countByCompleted()).thenAnswer(invocation -> {
+            taskStatsService.onTaskChanged(event(1L, TaskChangeType.CREATED, false));
+            return List.of(new TaskCountView(false, 5L));
+        });
+
+
+        taskStatsService.reconcile();
+
+
+        verify(taskRepository, times(3)).countByCompleted();
+        assertEquals(5L, taskStatsService.getStats().getOpen());
+    }
+
+    private TaskChangedEvent event(Long taskId, TaskChangeType changeType, boolean completed) {
+        return new TaskChangedEvent(taskId, changeType, "Task " + taskId, completed, LocalDateTime.now(), null, null,
+                null, 0, null);
+    }
+}
@@ -0,0 +1,79 @@
+package edu.icet.ecom.service;
+
+import edu.icet.ecom.config.TaskQueryProperties;
+import edu.icet.ecom.config.TaskSuggestProperties;
+import edu.icet.ecom.entity.TaskChangeType;
+import edu.icet.ecom.event.TaskChangedEvent;
+import edu.icet.ecom.repository.TaskRepository;
+import edu.icet.ecom.repository.projection.TaskColumnView;
+import edu.icet.ecom.service.impl.TaskSuggestServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaskSuggestServiceTest {
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private TaskChangeService taskChangeService;
+
+    private TaskSuggestServiceImpl taskSuggestService;
+    private final LocalDateTime createdAt = LocalDateTime.now().minusDays(1);
+
+    @BeforeEach
+    void setUp() {
+        taskSuggestService = new TaskSuggestServiceImpl(taskRepository, new TaskQueryProperties(),
+                new TaskSuggestProperties(), taskChangeService);
+        // Listeners of both transactions may still be running.
+        when(taskChangeService.deliveredBefore()).thenReturn(1L);
+    }
+
+    @Test
+    void onTaskChanged_ShouldNotRestoreTitle_WhenRenameArrivesAfterCompletion() {
+
+        when(taskRepository.findColumnViewsAfter(anyLong(), any()))
+                .thenReturn(List.of(new TaskColumnView(1L, "Buy milk", createdAt, false, null)));
+        taskSuggestService.load();
+
+
+        taskSuggestService.onTaskChanged(event(TaskChangeType.COMPLETED, "Buy milk", true, 6L));
+        taskSuggestService.onTaskChanged(event(TaskChangeType.UPDATED, "Buy oat milk", false, 5L));
+
+
+        assertEquals(List.of(), taskSuggestService.suggest("buy", null));
+    }
+
+    @Test
+    void load_ShouldNotReplayOlderChangeOverNewer_WhenBothArriveDuringRead() {
+
+        when(taskRepository.findColumnViewsAfter(anyLong(), any())).thenAnswer(invocation -> {
+            // Both changes commit while the table is read, the newer one's listener running first.
+            taskSuggestService.onTaskChanged(event(TaskChangeType.UPDATED, "Buy oat milk", false, 5L));
+            taskSuggestService.onTaskChanged(event(TaskChangeType.UPDATED, "Buy soy milk", false, 4L));
+            return List.of(new TaskColumnView(1L, "Buy milk", createdAt, false, null));
+        });
+
+
+        taskSuggestService.load();
+
+
+        assertEquals(List.of("Buy oat milk"), taskSuggestService.suggest("buy", null));
+    }
+
+    private TaskChangedEvent event(TaskChangeType changeType, String title, boolean completed, Long seq) {
+        return new TaskChangedEvent(1L, changeType, title, completed, createdAt, null, null, null, 0, seq);
+    }
+}
@@ -0,0 +1,71 @@
+package edu.icet.ecom.support;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Measures what one call costs on the current thread: the SQL statements it runs, captured by
+ * {@link CapturingStatementInspector}, and the bytes it allocates. Assertions fail with the captured SQL so that an
+ * N+1 or an extra flush is visible in the build output.
+ */
+public final class CallBudget {
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private static final Pattern ROW_LIMIT = Pattern.compile("(?i)\\b(limit|fetch\\s+first)\\b");
+    private static final Pattern ID_LOOKUP = Pattern.compile("(?is)\\bwhere\\b.*\\bid\\s*(=|in\\b)");
+
+    private CallBudget() {
+    }
+
+    public static CallCost measure(Callable<?> call) throws Exception {
+        CapturingStatementInspector.start();
+        long allocatedBefore = THREADS.getCurrentThreadAllocatedBytes();
+        try {
+            call.call();
+        } catch (Exception ex) {
+            CapturingStatementInspector.stop();
+            throw ex;
+        }
+        long allocated = THREADS.getCurrentThreadAllocatedBytes() - allocatedBefore;
+        return new CallCost(CapturingStatementInspector.stop(), allocated);
+    }
+
+    public record CallCost(List<String> statements, long allocatedBytes) {
+
+        public CallCost assertStatementsAtMost(int max) {
+            if (statements.size() > max) {
+                fail("Expected at most " + max + " SQL statements but ran " + statements.size() + ":\n"
+                        + String.join("\n", statements));
+            }
+            return this;
+        }
+
+        public CallCost assertAllocatedAtMost(long maxBytes) {
+            if (allocatedBytes > maxBytes) {
+                fail("Expected at most " + maxBytes + " allocated bytes but allocated " + allocatedBytes);
+            }
+            return this;
+        }
+
+        /**
+         * Every SELECT must either carry a row limit or look rows up by id, so a list read cannot quietly turn into a
+         * full fetch.
+         */
+        public CallCost assertSelectsBounded() {
+            for (String sql : statements) {
+                if (sql.trim().regionMatches(true, 0, "select", 0, 6)) {
+                    assertTrue(ROW_LIMIT.matcher(sql).find() || ID_LOOKUP.matcher(sql).find(),
+                            "Unbounded SELECT: " + sql);
+                }
+            }
+            return this;
+        }
+    }
+}
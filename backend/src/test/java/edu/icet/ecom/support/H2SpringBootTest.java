@@ -0,0 +1,34 @@
+package edu.icet.ecom.support;
+
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.annotation.AliasFor;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * A {@link SpringBootTest} against a fresh in-memory H2 database, set up in {@code application-test.yml}, with the
+ * schema from the migrations. Test-specific settings still go in {@code @TestPropertySource}.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@SpringBootTest
+@ActiveProfiles
+@Import(MigrationScriptsConfiguration.class)
+public @interface H2SpringBootTest {
+
+    @AliasFor(annotation = SpringBootTest.class)
+    SpringBootTest.WebEnvironment webEnvironment() default SpringBootTest.WebEnvironment.MOCK;
+
+    /**
+     * Further profiles go before {@code test}, so the test database settings win.
+     */
+    @AliasFor(annotation = ActiveProfiles.class, attribute = "profiles")
+    String[] profiles() default "test";
+}
@@ -0,0 +1,70 @@
+package edu.icet.ecom.support;
+
+import io.r2dbc.spi.ConnectionFactory;
+import org.springframework.boot.autoconfigure.sql.init.SqlDataSourceScriptDatabaseInitializer;
+import org.springframework.boot.autoconfigure.sql.init.SqlR2dbcScriptDatabaseInitializer;
+import org.springframework.boot.sql.init.DatabaseInitializationMode;
+import org.springframework.boot.sql.init.DatabaseInitializationSettings;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Creates the test schema from the Flyway migrations in {@code db/migration}. Flyway is not on the test classpath, and
+ * Spring's own script initializer runs scripts in name order, which puts {@code V10} before {@code V2}. Scripts are
+ * therefore run here in version order.
+ */
+@TestConfiguration(proxyBeanMethods = false)
+public class MigrationScriptsConfiguration {
+
+    private static final String LOCATION = "classpath:db/migration/*.sql";
+
+    @Bean
+    @Profile("!reactive")
+    SqlDataSourceScriptDatabaseInitializer migrationScripts(DataSource dataSource) {
+        return new SqlDataSourceScriptDatabaseInitializer(dataSource, settings());
+    }
+
+    @Bean
+    @Profile("reactive")
+    SqlR2dbcScriptDatabaseInitializer reactiveMigrationScripts(ConnectionFactory connectionFactory) {
+        return new SqlR2dbcScriptDatabaseInitializer(connectionFactory, settings());
+    }
+
+    private static DatabaseInitializationSettings settings() {
+        DatabaseInitializationSettings settings = new DatabaseInitializationSettings();
+        settings.setSchemaLocations(inVersionOrder());
+        settings.setMode(DatabaseInitializationMode.ALWAYS);
+        return settings;
+    }
+
+    static List<String> inVersionOrder() {
+        try {
+            Resource[] scripts = new PathMatchingResourcePatternResolver().getResources(LOCATION);
+            return Arrays.stream(scripts)
+                    .map(Resource::getFilename)
+                    .sorted(Comparator.comparing(MigrationScriptsConfiguration::version, Arrays::compare))
+                    .map(name -> "classpath:db/migration/" + name)
+                    .toList();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * {@code V2_1__Name.sql} is version {@code [2, 1]}, ordered part by part as Flyway does.
+     */
+    private static int[] version(String filename) {
+        String version = filename.substring(1, filename.indexOf("__"));
+        return Arrays.stream(version.split("[._]")).mapToInt(Integer::parseInt).toArray();
+    }
+}
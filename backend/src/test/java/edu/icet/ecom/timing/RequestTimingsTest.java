@@ -0,0 +1,69 @@
+package edu.icet.ecom.timing;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestTimingsTest {
+
+    @AfterEach
+    void tearDown() {
+        RequestTimings.begin().finish();
+    }
+
+    @Test
+    void shouldAccumulatePhasesOfTheCurrentRequest() {
+
+        RequestTimings timings = RequestTimings.begin();
+
+
+        RequestTimings.stop(TimingPhase.DB, System.nanoTime() - 2_000_000);
+        RequestTimings.stop(TimingPhase.DB, System.nanoTime() - 1_000_000);
+        RequestTimings.countStatement();
+        RequestTimings.countStatement();
+        RequestTimings.stop(TimingPhase.MAPPING, System.nanoTime() - 500_000);
+        timings.finish();
+
+
+        assertTrue(timings.nanos(TimingPhase.DB) >= 3_000_000);
+        assertTrue(timings.nanos(TimingPhase.MAPPING) >= 500_000);
+        assertEquals(0, timings.nanos(TimingPhase.SERIALIZATION));
+        assertEquals(2, timings.statements());
+        assertTrue(timings.toHeaderValue().startsWith("db;dur=3."));
+        assertTrue(timings.toHeaderValue().contains(";desc=\"2 statements\", val;dur=0.000, map;dur=0.5"));
+    }
+
+    @Test
+    void shouldIgnoreMeasurementsOutsideRequests() {
+
+        RequestTimings timings = RequestTimings.begin();
+        timings.finish();
+
+
+        RequestTimings.stop(TimingPhase.DB, System.nanoTime() - 1_000_000);
+        RequestTimings.countStatement();
+
+
+        assertEquals(0, timings.nanos(TimingPhase.DB));
+        assertEquals(0, timings.statements());
+    }
+
+    @Test
+    void shouldResetAndReuseTheRecorderForTheNextRequest() {
+
+        RequestTimings first = RequestTimings.begin();
+        RequestTimings.stop(TimingPhase.VALIDATION, System.nanoTime() - 1_000_000);
+        RequestTimings.markSerializationStart();
+        first.finish();
+
+
+        RequestTimings second = RequestTimings.begin();
+        second.finish();
+
+
+        assertSame(first, second);
+        assertTrue(second.nanos(TimingPhase.VALIDATION) == 0);
+        assertTrue(second.nanos(TimingPhase.SERIALIZATION) < 1_000_000);
+    }
+}
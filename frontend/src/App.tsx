@@ -18,6 +18,7 @@ const App: React.FC = () => {
   const [notifications, setNotifications] = useState<Notification[]>([]);
   const [editingTask, setEditingTask] = useState<Task | null>(null);
   const [editForm, setEditForm] = useState<CreateTaskRequest>({ title: '', description: '' });
+  const [titleSuggestions, setTitleSuggestions] = useState<string[]>([]);
 
   useEffect(() => {
     const fetchTasks = async () => {
@@ -33,6 +34,28 @@ const App: React.FC = () => {
     fetchTasks();
   }, []);
 
+  // Suggestions for the title being typed; a newer keystroke cancels the request of the previous one.
+  useEffect(() => {
+    const prefix = newTask.title.trim();
+    if (!prefix) {
+      setTitleSuggestions([]);
+      return;
+    }
+    const controller = new AbortController();
+    const timer = setTimeout(async () => {
+      try {
+        const suggestions = await taskService.suggestTitles(prefix, controller.signal);
+        setTitleSuggestions(suggestions.filter(title => title !== newTask.title));
+      } catch {
+        // Suggestions are optional; the form works without them.
+      }
+    }, 150);
+    return () => {
+      clearTimeout(timer);
+      controller.abort();
+    };
+  }, [newTask.title]);
+
   const showNotification = (message: string, type: 'success' | 'error') => {
     const id = Date.now();
     setNotifications(prev => [...prev, { id, message, type }]);
@@ -69,9 +92,18 @@ const App: React.FC = () => {
     }
   };
 
-  const startEditTask = (task: Task) => {
+  const startEditTask = async (task: Task) => {
     setEditingTask(task);
     setEditForm({ title: task.title, description: task.description || '' });
+    if (task.descriptionTruncated) {
+      try {
+        // The list only carries a preview, so load the full description before editing.
+        const full = await taskService.getTask(task.id);
+        setEditForm({ title: full.title, description: full.description || '' });
+      } catch (e: any) {
+        showNotification(e.message || 'Failed to load task', 'error');
+      }
+    }
   };
 
   const cancelEdit = () => {
@@ -133,10 +165,15 @@ const App: React.FC = () => {
                   placeholder="Enter task title..."
                   value={newTask.title}
                   maxLength={100}
+                  list="task-title-suggestions"
+                  autoComplete="off"
                   onChange={e => setNewTask({ ...newTask, title: e.target.value })}
                   onKeyDown={handleKeyDown}
                   required
                 />
+                <datalist id="task-title-suggestions">
+                  {titleSuggestions.map(title => <option key={title} value={title} />)}
+                </datalist>
               </div>
               <div className="form-group">
                 <label htmlFor="task-description" className="form-label">Description</label>
@@ -7,11 +7,14 @@ export interface Task {
   description: string;
   createdAt: string;
   completed: boolean;
+  dueAt?: string | null;
+  descriptionTruncated?: boolean | null;
 }
 
 export interface CreateTaskRequest {
   title: string;
   description: string;
+  dueAt?: string | null;
 }
 
 export interface ApiError {
@@ -35,6 +38,15 @@ class TaskService {
     }
   }
 
+  async getTask(id: number): Promise<Task> {
+    try {
+      const response: AxiosResponse<Task> = await axios.get(`${this.baseURL}/${id}`);
+      return response.data;
+    } catch (error) {
+      throw this.handleError(error);
+    }
+  }
+
   async createTask(task: CreateTaskRequest): Promise<Task> {
     try {
       const response: AxiosResponse<Task> = await axios.post(this.baseURL, task);
@@ -62,6 +74,27 @@ class TaskService {
     }
   }
 
+  async patchTask(id: number, task: Partial<CreateTaskRequest>): Promise<Task> {
+    try {
+      const response: AxiosResponse<Task> = await axios.patch(`${this.baseURL}/${id}`, task);
+      return response.data;
+    } catch (error) {
+      throw this.handleError(error);
+    }
+  }
+
+  async suggestTitles(prefix: string, signal?: AbortSignal): Promise<string[]> {
+    try {
+      const response: AxiosResponse<string[]> = await axios.get(`${this.baseURL}/suggest`, {
+        params: { prefix },
+        signal
+      });
+      return response.data;
+    } catch (error) {
+      throw this.handleError(error);
+    }
+  }
+
   async deleteTask(id: number): Promise<void> {
     try {
       await axios.delete(`${this.baseURL}/${id}`);